@@ -0,0 +1,58 @@
+package com.quantbackengine.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated fork-join pool for CPU-bound backtest fan-out (parameter sweeps).
+ *
+ * <p>Sized to the cores the JVM sees in its container, capped by
+ * {@code backtest.compute.core-budget} so sweeps cannot take every core away
+ * from the Tomcat request threads. A budget of 0 means "all available cores".
+ *
+ * <p>Also the worker pool for submitted backtest jobs: a fixed number of
+ * threads in front of a bounded queue. A full queue rejects the submission
+ * instead of growing, so callers see back-pressure rather than latency.
+ */
+@Configuration
+@Slf4j
+public class BacktestComputeConfig {
+
+    @Bean(name = "backtestComputePool", destroyMethod = "shutdown")
+    public ForkJoinPool backtestComputePool(@Value("${backtest.compute.core-budget:0}") int coreBudget) {
+        int available = Runtime.getRuntime().availableProcessors();
+        int parallelism = coreBudget > 0 ? Math.min(coreBudget, available) : available;
+        log.info("Backtest compute pool: parallelism {} ({} cores available, budget {})",
+                parallelism, available, coreBudget);
+        return new ForkJoinPool(parallelism, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("backtest-compute-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    @Bean(name = "backtestJobExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor backtestJobExecutor(@Value("${backtest.jobs.parallelism:2}") int parallelism,
+                                                  @Value("${backtest.jobs.queue-depth:32}") int queueDepth) {
+        if (parallelism < 1 || queueDepth < 1) {
+            throw new IllegalArgumentException("backtest.jobs.parallelism and queue-depth must be positive");
+        }
+        log.info("Backtest job pool: {} workers, queue depth {}", parallelism, queueDepth);
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), r -> {
+                    Thread thread = new Thread(r, "backtest-job-" + index.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
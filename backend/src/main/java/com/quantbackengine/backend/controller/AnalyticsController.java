@@ -1,8 +1,12 @@
 package com.quantbackengine.backend.controller;
 
+import com.quantbackengine.backend.dto.MonteCarloRequest;
+import com.quantbackengine.backend.dto.MonteCarloResponse;
 import com.quantbackengine.backend.dto.QuantstatsRequest;
 import com.quantbackengine.backend.dto.QuantstatsResult;
 import com.quantbackengine.backend.service.AnalyticsService;
+import com.quantbackengine.backend.service.MonteCarloService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final MonteCarloService monteCarloService;
 
     /**
      * POST /api/v1/analytics/quantstats
@@ -31,4 +36,15 @@ public class AnalyticsController {
         QuantstatsResult result = analyticsService.runQuantstats(request);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * POST /api/v1/analytics/montecarlo
+     *
+     * <p>Bootstrap or shuffle resampling of a backtest's trades or returns,
+     * computed in-process. Bad input is a 400.</p>
+     */
+    @PostMapping("/montecarlo")
+    public ResponseEntity<MonteCarloResponse> runMonteCarlo(@Valid @RequestBody MonteCarloRequest request) {
+        return ResponseEntity.ok(monteCarloService.simulate(request));
+    }
 }
@@ -1,22 +1,68 @@
 package com.quantbackengine.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantbackengine.backend.domain.BacktestRun;
+import com.quantbackengine.backend.dto.AdmissionStatsDto;
+import com.quantbackengine.backend.dto.BacktestJobDto;
 import com.quantbackengine.backend.dto.BacktestRequest;
 import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.dto.BacktestStreamEvent;
+import com.quantbackengine.backend.dto.BatchBacktestRequest;
+import com.quantbackengine.backend.dto.CacheStatsDto;
+import com.quantbackengine.backend.dto.ContinueBacktestRequest;
+import com.quantbackengine.backend.dto.PairScanRequest;
+import com.quantbackengine.backend.dto.PairScanResponse;
+import com.quantbackengine.backend.dto.PairsBacktestRequest;
+import com.quantbackengine.backend.dto.PairsBacktestResponse;
+import com.quantbackengine.backend.dto.PortfolioBacktestRequest;
+import com.quantbackengine.backend.dto.PortfolioBacktestResponse;
 import com.quantbackengine.backend.dto.StrategyDto;
+import com.quantbackengine.backend.dto.SweepRequest;
+import com.quantbackengine.backend.dto.SweepResponse;
+import com.quantbackengine.backend.dto.WalkForwardRequest;
+import com.quantbackengine.backend.dto.WalkForwardResponse;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.service.BacktestAdmission;
+import com.quantbackengine.backend.service.BacktestJobService;
+import com.quantbackengine.backend.service.BacktestResultCache;
 import com.quantbackengine.backend.service.BacktestService;
+import com.quantbackengine.backend.service.BacktestStream;
+import com.quantbackengine.backend.service.BatchBacktestService;
+import com.quantbackengine.backend.service.BenchmarkCache;
+import com.quantbackengine.backend.service.IndicatorCaches;
+import com.quantbackengine.backend.service.PairScanService;
+import com.quantbackengine.backend.service.PairsBacktestService;
+import com.quantbackengine.backend.service.ParameterSweepService;
+import com.quantbackengine.backend.service.PortfolioBacktestService;
+import com.quantbackengine.backend.service.WalkForwardService;
 import com.quantbackengine.backend.strategy.StrategyRegistry;
 import com.quantbackengine.backend.strategy.TradingStrategy;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * REST API for backtesting operations.
+ *
+ * <p>Synchronous runs carry a deadline of {@code backtest.request-timeout-ms}
+ * and stop with a 503 once it passes, rather than computing a response the
+ * proxy in front has already given up on. Streamed runs stop when a write to
+ * the client fails.
  */
 @RestController
 @RequestMapping("/api/v1/backtest")
@@ -27,14 +73,169 @@ public class BacktestController {
 
     private final BacktestService backtestService;
     private final StrategyRegistry strategyRegistry;
+    private final ParameterSweepService parameterSweepService;
+    private final WalkForwardService walkForwardService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final PairsBacktestService pairsBacktestService;
+    private final PairScanService pairScanService;
+    private final BatchBacktestService batchBacktestService;
+    private final BacktestResultCache resultCache;
+    private final IndicatorCaches indicatorCaches;
+    private final BenchmarkCache benchmarkCache;
+    private final BacktestJobService backtestJobService;
+    private final BacktestAdmission admission;
+    private final ObjectMapper objectMapper;
+
+    @Value("${backtest.request-timeout-ms:60000}")
+    private long requestTimeoutMillis;
 
     @PostMapping("/run")
     @Operation(summary = "Run a backtest", description = "Execute a trading strategy on historical data")
     public ResponseEntity<BacktestResponse> runBacktest(@Valid @RequestBody BacktestRequest request) {
-        BacktestResponse response = backtestService.runBacktest(request);
+        BacktestResponse response = withDeadline(() -> backtestService.runBacktest(request));
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit a backtest job",
+            description = "Queue a backtest to run in the background; poll /jobs/{id} and fetch /jobs/{id}/result. 429 when the queue is full")
+    public ResponseEntity<BacktestJobDto> submitJob(@Valid @RequestBody BacktestRequest request) {
+        BacktestRun run = backtestJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(toDto(run));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List backtest jobs", description = "The 50 most recently submitted jobs, newest first")
+    public ResponseEntity<List<BacktestJobDto>> listJobs() {
+        return ResponseEntity.ok(backtestJobService.listRuns().stream().map(this::toDto).toList());
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Backtest job status")
+    public ResponseEntity<BacktestJobDto> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(toDto(backtestJobService.getRun(id)));
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    @Operation(summary = "Cancel a backtest job",
+            description = "A queued job is cancelled at once, a running one stops at its next cancellation check; finished jobs are unchanged")
+    public ResponseEntity<BacktestJobDto> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(toDto(backtestJobService.cancel(id)));
+    }
+
+    @GetMapping(value = "/jobs/{id}/result", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Backtest job result", description = "The backtest response once DONE; 409 while queued, running or failed")
+    public ResponseEntity<String> getJobResult(@PathVariable String id) {
+        BacktestRun run = backtestJobService.getRun(id);
+        if (run.getStatus() != BacktestRun.Status.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("{\"status\":\"" + run.getStatus() + "\",\"message\":\"Result not ready\"}");
+        }
+        return ResponseEntity.ok(run.getResultJson());
+    }
+
+    @PostMapping("/continue")
+    @Operation(summary = "Continue a backtest",
+            description = "Extend a run from the snapshot returned with includeSnapshot, processing only bars after it")
+    public ResponseEntity<BacktestResponse> continueBacktest(@Valid @RequestBody ContinueBacktestRequest request) {
+        return ResponseEntity.ok(withDeadline(() -> backtestService.continueBacktest(request)));
+    }
+
+    @PostMapping(value = "/run/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Run a backtest, streamed",
+            description = "Same as /run, but written incrementally as newline-delimited JSON events while the simulation advances")
+    public ResponseEntity<StreamingResponseBody> runBacktestStream(@Valid @RequestBody BacktestRequest request) {
+        BacktestStream stream = backtestService.prepareStream(request);
+        StreamingResponseBody body = out -> stream.writeTo(event -> writeLine(out, event, false));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/run/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Run a backtest, streamed as server-sent events",
+            description = "Same events as the NDJSON stream; the SSE event name is the event type")
+    public ResponseEntity<StreamingResponseBody> runBacktestEvents(@Valid @RequestBody BacktestRequest request) {
+        BacktestStream stream = backtestService.prepareStream(request);
+        StreamingResponseBody body = out -> stream.writeTo(event -> writeEvent(out, event));
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(body);
+    }
+
+    @PostMapping("/sweep")
+    @Operation(summary = "Run a parameter sweep", description = "Grid-search a built-in strategy's parameters and rank the results")
+    public ResponseEntity<SweepResponse> sweep(@Valid @RequestBody SweepRequest request) {
+        return ResponseEntity.ok(withDeadline(() -> parameterSweepService.sweep(request)));
+    }
+
+    @PostMapping("/walk-forward")
+    @Operation(summary = "Run a walk-forward optimization",
+            description = "Optimize on rolling train windows, run each winner on the next test window and stitch the out-of-sample equity")
+    public ResponseEntity<WalkForwardResponse> walkForward(@Valid @RequestBody WalkForwardRequest request) {
+        return ResponseEntity.ok(withDeadline(() -> walkForwardService.run(request)));
+    }
+
+    @PostMapping("/portfolio")
+    @Operation(summary = "Run a portfolio backtest",
+            description = "Run one built-in strategy over many symbols sharing one cash account, with per-symbol attribution")
+    public ResponseEntity<PortfolioBacktestResponse> portfolio(@Valid @RequestBody PortfolioBacktestRequest request) {
+        return ResponseEntity.ok(withDeadline(() -> portfolioBacktestService.run(request)));
+    }
+
+    @PostMapping("/pairs")
+    @Operation(summary = "Run a pairs backtest",
+            description = "Trade the spread between two symbols with a pairs strategy, over their bars matched on timestamp")
+    public ResponseEntity<PairsBacktestResponse> pairs(@Valid @RequestBody PairsBacktestRequest request) {
+        return ResponseEntity.ok(withDeadline(() -> pairsBacktestService.run(request)));
+    }
+
+    @PostMapping("/pairs/scan")
+    @Operation(summary = "Scan for cointegrated pairs",
+            description = "Screen every pair of cached symbols by return correlation, then rank the most correlated by Engle-Granger statistic")
+    public ResponseEntity<PairScanResponse> scanPairs(@Valid @RequestBody PairScanRequest request) {
+        return ResponseEntity.ok(withDeadline(() -> pairScanService.scan(request)));
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Run a batch of backtests",
+            description = "Run every symbol against every strategy and parameter set; results stream back as newline-delimited JSON in completion order")
+    public ResponseEntity<StreamingResponseBody> batch(@Valid @RequestBody BatchBacktestRequest request) {
+        BacktestAdmission.Ticket ticket = batchBacktestService.admit(request);
+        StreamingResponseBody body = out -> batchBacktestService.run(request, ticket,
+                result -> writeLine(out, result, true));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Result cache statistics", description = "Hit, miss, eviction and invalidation counts of the backtest result cache")
+    public ResponseEntity<CacheStatsDto> cacheStats() {
+        return ResponseEntity.ok(resultCache.stats());
+    }
+
+    @GetMapping("/cache/indicators/stats")
+    @Operation(summary = "Indicator cache statistics",
+            description = "Hit, miss and eviction counts of the per-series indicator caches, totalled; maxBytes is the per-series bound")
+    public ResponseEntity<CacheStatsDto> indicatorCacheStats() {
+        return ResponseEntity.ok(indicatorCaches.stats());
+    }
+
+    @GetMapping("/cache/benchmarks/stats")
+    @Operation(summary = "Benchmark cache statistics",
+            description = "Hit, miss, eviction and invalidation counts of the in-memory benchmark series used for benchmark-relative metrics")
+    public ResponseEntity<CacheStatsDto> benchmarkCacheStats() {
+        return ResponseEntity.ok(benchmarkCache.stats());
+    }
+
+    @GetMapping("/admission/stats")
+    @Operation(summary = "Admission control statistics",
+            description = "Memory and CPU budget for single backtests, the estimates currently held against it, and admit/wait/reject counts")
+    public ResponseEntity<AdmissionStatsDto> admissionStats() {
+        return ResponseEntity.ok(admission.stats());
+    }
+
     @GetMapping("/strategies")
     @Operation(summary = "List available strategies", description = "Get all available trading strategies and their parameters")
     public ResponseEntity<List<StrategyDto>> listStrategies() {
@@ -53,6 +254,55 @@ public class BacktestController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    private <T> T withDeadline(Supplier<T> work) {
+        CancellationToken cancellation = CancellationToken.withTimeout(Duration.ofMillis(requestTimeoutMillis));
+        try (CancellationToken.Scope ignored = cancellation.bind()) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Batch results are flushed one by one since each may take a while;
+     * per-bar stream events are left to the servlet buffer, which sends a
+     * chunk whenever it fills.
+     */
+    private void writeLine(OutputStream out, Object value, boolean flush) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEvent(OutputStream out, BacktestStreamEvent event) {
+        try {
+            out.write(("event: " + event.getType() + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BacktestJobDto toDto(BacktestRun run) {
+        return BacktestJobDto.builder()
+                .id(run.getId())
+                .status(run.getStatus())
+                .symbol(run.getSymbol())
+                .strategy(run.getStrategyName())
+                .parameters(run.getParameters())
+                .createdAt(run.getCreatedAt())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .errorMessage(run.getErrorMessage())
+                .build();
+    }
+
     private StrategyDto toDto(TradingStrategy strategy) {
         return StrategyDto.builder()
                 .id(strategy.getId())
@@ -0,0 +1,131 @@
+package com.quantbackengine.backend.controller;
+
+import com.quantbackengine.backend.dto.LiveSubscriptionRequest;
+import com.quantbackengine.backend.service.LiveSignalEngine;
+import com.quantbackengine.backend.service.LiveStreamFilter;
+import com.quantbackengine.backend.service.LiveStreamService;
+import com.quantbackengine.backend.service.LiveSubscription;
+import com.quantbackengine.backend.service.MarketDataService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Live API: strategy subscriptions evaluated on live bars, and a server-sent
+ * event stream of their signals, the bars themselves and paper account P&L.
+ */
+@RestController
+@RequestMapping("/api/v1/live")
+@RequiredArgsConstructor
+@Tag(name = "Live", description = "Live strategy signals, bars and paper P&L pushed over server-sent events")
+@CrossOrigin(origins = "${app.cors.allowed-origins:*}")
+public class LiveController {
+
+    private final LiveSignalEngine liveSignalEngine;
+    private final LiveStreamService liveStreamService;
+
+    @GetMapping("/subscriptions")
+    @Operation(summary = "Live strategy subscriptions")
+    public ResponseEntity<Set<LiveSubscription>> getSubscriptions() {
+        return ResponseEntity.ok(liveSignalEngine.subscriptions());
+    }
+
+    @PostMapping("/subscriptions")
+    @Operation(summary = "Evaluate a strategy live",
+            description = "Signals from the symbol's next live bar on are published to the stream")
+    public ResponseEntity<LiveSubscription> subscribe(@Valid @RequestBody LiveSubscriptionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                liveSignalEngine.subscribe(request.getSymbol(), request.getStrategy(), request.getParameters()));
+    }
+
+    @DeleteMapping("/subscriptions")
+    @Operation(summary = "Stop evaluating a strategy live", description = "404 if it was not subscribed")
+    public ResponseEntity<Void> unsubscribe(@Valid @RequestBody LiveSubscriptionRequest request) {
+        LiveSubscription subscription = new LiveSubscription(MarketDataService.sanitize(request.getSymbol()), request.getStrategy(),
+                request.getParameters());
+        if (!liveSignalEngine.unsubscribe(subscription)) {
+            throw new NoSuchElementException("No live subscription " + subscription);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Live signal engine statistics")
+    public ResponseEntity<LiveSignalEngine.Stats> getStats() {
+        return ResponseEntity.ok(liveSignalEngine.stats());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live events",
+            description = "Server-sent events: signal, bar (latest per symbol and interval), pnl (latest per "
+                    + "account) and dropped (events a slow client missed). Types default to all, symbols to all, "
+                    + "intervals to the signal interval; 400 for an invalid filter, 503 when the stream is at "
+                    + "capacity")
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) List<String> types,
+                                             @RequestParam(required = false) List<String> symbols,
+                                             @RequestParam(required = false) List<String> intervals,
+                                             @RequestParam(required = false) List<String> accounts) {
+        LiveStreamFilter filter;
+        try {
+            filter = LiveStreamFilter.parse(types, symbols, intervals, accounts, liveStreamService.defaultInterval());
+        } catch (IllegalArgumentException e) {
+            // an EventSource accepts only text/event-stream, so the usual JSON error body could not be sent
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = new SseEmitter();
+        Optional<LiveStreamService.Subscription> subscription =
+                liveStreamService.subscribe(filter, new EmitterSink(emitter));
+        if (subscription.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        emitter.onCompletion(subscription.get()::close);
+        emitter.onTimeout(subscription.get()::close);
+        emitter.onError(e -> subscription.get().close());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @GetMapping("/stream/stats")
+    @Operation(summary = "Live stream statistics",
+            description = "Subscribers, and events pending, sent, coalesced and dropped")
+    public ResponseEntity<LiveStreamService.Stats> getStreamStats() {
+        return ResponseEntity.ok(liveStreamService.stats());
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements LiveStreamService.EventSink {
+
+        @Override
+        public void send(String event, String data) throws IOException {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.TEXT_PLAIN));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // already completed by a timeout or a client disconnect
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.quantbackengine.backend.controller;
+
+import com.quantbackengine.backend.dto.PaperAccountDto;
+import com.quantbackengine.backend.dto.PaperAccountRequest;
+import com.quantbackengine.backend.dto.PaperOrderDto;
+import com.quantbackengine.backend.dto.PaperOrderRequest;
+import com.quantbackengine.backend.service.paper.PaperTradingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Paper trading API: accounts, orders filled on live bars, and their value.
+ */
+@RestController
+@RequestMapping("/api/v1/paper")
+@RequiredArgsConstructor
+@Tag(name = "Paper Trading", description = "Simulated accounts filled on live bars")
+@CrossOrigin(origins = "${app.cors.allowed-origins:*}")
+public class PaperTradingController {
+
+    private final PaperTradingService paperTradingService;
+
+    @PostMapping("/accounts")
+    @Operation(summary = "Open a paper account", description = "422 if the account id is taken")
+    public ResponseEntity<PaperAccountDto> openAccount(@Valid @RequestBody PaperAccountRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(paperTradingService.openAccount(request));
+    }
+
+    @GetMapping("/accounts/{id}")
+    @Operation(summary = "Paper account", description = "Cash, positions at the last bar close, P&L and open orders")
+    public ResponseEntity<PaperAccountDto> getAccount(@PathVariable String id) {
+        return ResponseEntity.ok(paperTradingService.getAccount(id));
+    }
+
+    @DeleteMapping("/accounts/{id}")
+    @Operation(summary = "Close a paper account", description = "Removes the account and its open orders")
+    public ResponseEntity<Void> closeAccount(@PathVariable String id) {
+        paperTradingService.closeAccount(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/accounts/{id}/orders")
+    @Operation(summary = "Place a paper order",
+            description = "Fills on the next completed live bar of the symbol; 422 if the account cannot cover it")
+    public ResponseEntity<PaperOrderDto> placeOrder(@PathVariable String id,
+                                                    @Valid @RequestBody PaperOrderRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(paperTradingService.placeOrder(id, request));
+    }
+
+    @DeleteMapping("/accounts/{id}/orders/{orderId}")
+    @Operation(summary = "Cancel an open paper order")
+    public ResponseEntity<PaperOrderDto> cancelOrder(@PathVariable String id, @PathVariable long orderId) {
+        return ResponseEntity.ok(paperTradingService.cancelOrder(id, orderId));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Paper trading statistics", description = "Accounts, open orders, journal position and fill persistence")
+    public ResponseEntity<PaperTradingService.Stats> stats() {
+        return ResponseEntity.ok(paperTradingService.stats());
+    }
+}
@@ -12,16 +12,19 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 /**
- * Entity representing a saved backtest run.
+ * Entity representing a saved backtest run, including runs submitted to the
+ * asynchronous job queue.
  */
 @Entity
-@Table(name = "backtest_runs")
+@Table(name = "backtest_runs", indexes = @Index(name = "idx_backtest_runs_status", columnList = "status"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class BacktestRun {
 
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -46,9 +49,28 @@ public class BacktestRun {
     @Column(nullable = false)
     private LocalDateTime endDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private Status status;
+
+    /** The submitted {@code BacktestRequest} as JSON. */
+    @Lob
+    private String requestJson;
+
+    /** The full {@code BacktestResponse} as JSON once DONE. */
+    @Lob
+    private String resultJson;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
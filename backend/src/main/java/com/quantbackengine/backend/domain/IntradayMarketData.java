@@ -0,0 +1,60 @@
+package com.quantbackengine.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an OHLCV bar shorter than a day, built from live
+ * ticks. Kept apart from {@link MarketData}, whose rows are daily bars keyed
+ * by (symbol, timestamp) alone: bars of several intervals start at the same
+ * instant.
+ */
+@Entity
+@Table(name = "intraday_market_data",
+        uniqueConstraints = @UniqueConstraint(name = "uk_intraday_symbol_interval_timestamp",
+                columnNames = {"symbol", "interval_seconds", "timestamp"}),
+        indexes = {
+                @Index(name = "idx_intraday_symbol_interval_timestamp",
+                        columnList = "symbol, interval_seconds, timestamp")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntradayMarketData {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    @Column(name = "interval_seconds", nullable = false)
+    private Integer intervalSeconds;
+
+    /** Bar open time, UTC. */
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal open;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal high;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal low;
+
+    @Column(name = "close_price", nullable = false, precision = 19, scale = 4)
+    private BigDecimal close;
+
+    @Column(nullable = false)
+    private Long volume;
+}
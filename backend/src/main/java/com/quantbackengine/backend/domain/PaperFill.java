@@ -0,0 +1,60 @@
+package com.quantbackengine.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one paper trading fill, copied from the paper journal
+ * in the background. The journal is the record of account state; these rows
+ * are for querying trade history.
+ */
+@Entity
+@Table(name = "paper_fills",
+        uniqueConstraints = @UniqueConstraint(name = "uk_paper_fills_sequence", columnNames = "sequence"),
+        indexes = @Index(name = "idx_paper_fills_account", columnList = "account_id, executed_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperFill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    /** The fill's sequence number in the paper journal. */
+    @Column(nullable = false)
+    private Long sequence;
+
+    @Column(name = "account_id", nullable = false, length = 64)
+    private String accountId;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    /** BUY or SELL. */
+    @Column(nullable = false, length = 4)
+    private String side;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal price;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal commission;
+
+    /** UTC. */
+    @Column(name = "executed_at", nullable = false)
+    private LocalDateTime executedAt;
+}
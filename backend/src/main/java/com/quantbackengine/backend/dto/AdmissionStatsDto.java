@@ -0,0 +1,27 @@
+package com.quantbackengine.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Budget and current usage of backtest admission control. Used figures are
+ * the estimates held by running backtests, not measurements.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionStatsDto {
+
+    private long memoryBudgetBytes;
+    private long memoryUsedBytes;
+    private long cpuBudgetMillis;
+    private long cpuUsedMillis;
+    private int running;
+    private int queued;
+    private long admitted;
+    private long waited;
+    private long rejected;
+}
@@ -0,0 +1,31 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.domain.BacktestRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Status of a submitted backtest job. The result itself is fetched
+ * separately once {@code status} is DONE.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestJobDto {
+
+    private String id;
+    private BacktestRun.Status status;
+    private String symbol;
+    private String strategy;
+    private Map<String, Object> parameters;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
@@ -1,8 +1,10 @@
 package com.quantbackengine.backend.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -38,4 +40,32 @@ public class BacktestRequest {
     private Double initialCapital;
 
     private Double commissionRate;
+
+    /**
+     * Upper bound on equity points and candles in the response; full
+     * resolution when absent. Metrics always use every bar.
+     */
+    @Min(value = 3, message = "maxPoints must be at least 3")
+    private Integer maxPoints;
+
+    /**
+     * Also return a {@link BacktestSnapshot} the run can later be continued
+     * from. Only for strategies with a bounded signal lookback.
+     */
+    private Boolean includeSnapshot;
+
+    /**
+     * Returns per rolling Sharpe ratio / volatility window; the response
+     * carries no rolling series when absent.
+     */
+    @Min(value = 2, message = "rollingWindow must be at least 2")
+    private Integer rollingWindow;
+
+    /**
+     * Symbol to compare the run against (e.g. SPY); the response carries
+     * benchmark-relative metrics when set. Built-in strategies only, not
+     * streamed runs.
+     */
+    @Size(max = 10, message = "benchmark must be at most 10 characters")
+    private String benchmark;
 }
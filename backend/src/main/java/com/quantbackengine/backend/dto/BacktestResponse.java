@@ -1,5 +1,6 @@
 package com.quantbackengine.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,9 @@ import java.util.List;
 
 /**
  * Response DTO for backtest results.
+ *
+ * <p>For a continuation, trades, equity curve and candles cover only the
+ * newly processed bars; metrics cover the whole run.
  */
 @Data
 @Builder
@@ -25,6 +29,22 @@ public class BacktestResponse {
     private List<EquityPointDto> equityCurve;
     private List<CandleDto> candles;
 
+    /**
+     * Rolling Sharpe ratio and volatility at the equity curve's points, from
+     * the first full window on; only with {@code rollingWindow}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<RollingPointDto> rolling;
+
+    /**
+     * The run against the request's {@code benchmark}; only when one was given.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BenchmarkMetricsDto benchmark;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BacktestSnapshot snapshot;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -35,11 +55,34 @@ public class BacktestResponse {
         private double maxDrawdown;
         private double maxDrawdownPercent;
         private double sharpeRatio;
+        private double sortinoRatio; // downside deviation of returns below zero
+        private double calmarRatio; // annualized return / max drawdown percent
+        private double ulcerIndex; // RMS of the drawdown fraction over every point
         private double backtestYears;
+        private double exposure; // position time / elapsed time; above 1 with several positions at once
         private int totalTrades;
         private int winningTrades;
         private int losingTrades;
         private double winRate;
+        private double profitFactor; // gross profit / gross loss; 0 without losing trades
+        private double averageTradeDays;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BenchmarkMetricsDto {
+        private String symbol;
+        private long observations; // returns over bars present in both series
+        private double benchmarkReturn;
+        private double beta;
+        private double alpha; // Jensen's, annualized
+        private double correlation;
+        private double trackingError; // annualized
+        private double informationRatio;
+        private double upCapture;
+        private double downCapture;
     }
 
     @Data
@@ -66,6 +109,16 @@ public class BacktestResponse {
         private double value;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollingPointDto {
+        private long timestamp; // Unix timestamp in milliseconds
+        private double sharpeRatio;
+        private double volatility; // annualized
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,88 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.util.MetricsAccumulator;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * End state of a backtest, enough to extend it with later bars without
+ * replaying the history: the account and open position, the running metric
+ * totals, and the trailing bars the strategy's indicators still look at.
+ * Returned when {@link BacktestRequest#getIncludeSnapshot()} is set and by
+ * every continuation, and sent back in {@link ContinueBacktestRequest}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestSnapshot {
+
+    @NotBlank(message = "Symbol is required")
+    private String symbol;
+
+    @NotBlank(message = "Strategy name is required")
+    private String strategy;
+
+    private Map<String, Object> parameters;
+
+    /** First date of the original run; metrics cover everything since. */
+    private LocalDate startDate;
+
+    private double initialCapital;
+    private double commissionRate;
+
+    /** Time of the last bar processed, epoch milliseconds. */
+    private long lastBarTime;
+
+    private double cash;
+    private double shares;
+    private boolean open;
+    /** Entry time of the open position, epoch milliseconds; null while flat. */
+    private Long entryTime;
+    private double entryPrice;
+
+    private int totalTrades;
+    private int winningTrades;
+    private int losingTrades;
+
+    @NotNull(message = "Metrics state is required")
+    private MetricsAccumulator.State metrics;
+
+    @NotNull(message = "Tail bars are required")
+    @Valid
+    private TailBars tail;
+
+    /**
+     * Trailing bars in column form, oldest first; the last one is at
+     * {@code lastBarTime}.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TailBars {
+        @NotNull
+        private Duration barDuration;
+        @NotNull
+        private long[] epochMillis;
+        @NotNull
+        private double[] open;
+        @NotNull
+        private double[] high;
+        @NotNull
+        private double[] low;
+        @NotNull
+        private double[] close;
+        @NotNull
+        private long[] volume;
+    }
+}
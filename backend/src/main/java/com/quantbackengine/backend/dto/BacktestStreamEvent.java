@@ -0,0 +1,67 @@
+package com.quantbackengine.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.quantbackengine.backend.dto.BacktestResponse.CandleDto;
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.BacktestResponse.TradeDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of a streamed backtest. {@code type} says which payload is set:
+ *
+ * <ul>
+ *   <li>{@code start} — {@code id}, {@code symbol}, {@code strategy}, {@code bars}; always first</li>
+ *   <li>{@code candle} and {@code equity} — one of each per bar, in bar order</li>
+ *   <li>{@code trade} — a round trip, sent at its exit bar</li>
+ *   <li>{@code metrics} — full-resolution metrics; always last</li>
+ * </ul>
+ *
+ * Unset payloads are omitted so each line stays small.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BacktestStreamEvent {
+
+    public static final String START = "start";
+    public static final String CANDLE = "candle";
+    public static final String EQUITY = "equity";
+    public static final String TRADE = "trade";
+    public static final String METRICS = "metrics";
+
+    private String type;
+    private String id;
+    private String symbol;
+    private String strategy;
+    private Integer bars;
+    private CandleDto candle;
+    private EquityPointDto equity;
+    private TradeDto trade;
+    private MetricsDto metrics;
+
+    public static BacktestStreamEvent start(String id, String symbol, String strategy, int bars) {
+        return BacktestStreamEvent.builder().type(START).id(id).symbol(symbol).strategy(strategy).bars(bars).build();
+    }
+
+    public static BacktestStreamEvent candle(CandleDto candle) {
+        return BacktestStreamEvent.builder().type(CANDLE).candle(candle).build();
+    }
+
+    public static BacktestStreamEvent equity(EquityPointDto equity) {
+        return BacktestStreamEvent.builder().type(EQUITY).equity(equity).build();
+    }
+
+    public static BacktestStreamEvent trade(TradeDto trade) {
+        return BacktestStreamEvent.builder().type(TRADE).trade(trade).build();
+    }
+
+    public static BacktestStreamEvent metrics(MetricsDto metrics) {
+        return BacktestStreamEvent.builder().type(METRICS).metrics(metrics).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for a batch backtest: every symbol is run against every
+ * strategy entry and each of that entry's parameter sets.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBacktestRequest {
+
+    @NotEmpty(message = "At least one symbol is required")
+    private List<String> symbols;
+
+    @NotEmpty(message = "At least one strategy is required")
+    private List<@Valid StrategyRun> strategies;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Positive(message = "Initial capital must be positive")
+    private Double initialCapital;
+
+    private Double commissionRate;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StrategyRun {
+        @NotBlank(message = "Strategy name is required")
+        private String strategy;
+
+        /** One run per entry; a single run with the defaults when absent or empty. */
+        private List<Map<String, Object>> parameterSets;
+    }
+}
@@ -0,0 +1,27 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One line of a batch backtest stream: metrics for a single
+ * (symbol, strategy, parameters) run, or the error that stopped it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBacktestResult {
+
+    private String symbol;
+    private String strategy;
+    private Map<String, Object> parameters;
+    private MetricsDto metrics;
+    private String error;
+    private long elapsedMs;
+}
@@ -0,0 +1,25 @@
+package com.quantbackengine.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of a backtest cache (results or indicators). {@code bytes} and
+ * {@code maxBytes} are the cache's heap estimate, not a measurement.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private int entries;
+    private long bytes;
+    private long maxBytes;
+}
@@ -0,0 +1,28 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for extending a backtest from its snapshot to a later end date.
+ * Only bars after the snapshot's last bar are loaded and simulated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContinueBacktestRequest {
+
+    @NotNull(message = "Snapshot is required")
+    @Valid
+    private BacktestSnapshot snapshot;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+}
@@ -0,0 +1,29 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Request DTO for evaluating a strategy live against one symbol.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveSubscriptionRequest {
+
+    @NotBlank(message = "Symbol is required")
+    @Size(max = 10, message = "Symbol must be at most 10 characters")
+    private String symbol;
+
+    @NotBlank(message = "Strategy is required")
+    private String strategy;
+
+    private Map<String, Object> parameters;
+}
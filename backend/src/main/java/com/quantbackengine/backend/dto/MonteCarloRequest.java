@@ -0,0 +1,41 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.dto.BacktestResponse.TradeDto;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for Monte Carlo resampling of a backtest.
+ *
+ * <p>Give either {@code trades} (as returned by a backtest; each trade's
+ * return is its P&L over the notional at entry) or {@code returns} (per-bar
+ * or per-trade simple returns, e.g. from the equity curve), not both.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloRequest {
+
+    private List<TradeDto> trades;
+
+    private List<Double> returns;
+
+    /** BOOTSTRAP (default, with replacement) or SHUFFLE (permutation). */
+    private String method;
+
+    /** Number of paths; defaults to 10,000. */
+    @Positive(message = "simulations must be positive")
+    private Integer simulations;
+
+    @Positive(message = "Initial capital must be positive")
+    private Double initialCapital;
+
+    /** Fixes the random streams for a reproducible result. */
+    private Long seed;
+}
@@ -0,0 +1,56 @@
+package com.quantbackengine.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for Monte Carlo resampling: the distribution of terminal
+ * wealth and of maximum drawdown (fraction of peak) over all paths, next to
+ * the values of the path as observed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloResponse {
+
+    private String method;
+    private int simulations;
+    /** Returns per path. */
+    private int steps;
+    private long seed;
+    private double initialCapital;
+    private long elapsedMs;
+
+    private Distribution terminalWealth;
+    private Distribution maxDrawdown;
+    /** Share of paths that end below the initial capital. */
+    private double probabilityOfLoss;
+
+    private double observedTerminalWealth;
+    private double observedMaxDrawdown;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Distribution {
+        private double mean;
+        private double min;
+        private double max;
+        private List<PercentileDto> percentiles;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PercentileDto {
+        private double percentile;
+        private double value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for a pair-discovery scan over cached market data.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairScanRequest {
+
+    /** Symbols to scan; empty or null for every cached symbol. */
+    private List<String> symbols;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    /** Most-correlated pairs to run the cointegration test on (default 1000). */
+    @Min(value = 1, message = "At least one candidate is required")
+    @Max(value = 20000, message = "At most 20000 candidates can be tested")
+    private Integer candidates;
+
+    /** Minimum correlation of daily log returns for a candidate (default 0.5). */
+    @DecimalMin(value = "-1.0", message = "Correlation is at least -1")
+    @DecimalMax(value = "1.0", message = "Correlation is at most 1")
+    private Double minCorrelation;
+
+    /** Lagged differences in the ADF regression (default 1). */
+    @Min(value = 0, message = "Lags must not be negative")
+    @Max(value = 20, message = "At most 20 lags")
+    private Integer adfLags;
+
+    /** Minimum bar count relative to the best-covered symbol (default 0.9). */
+    @DecimalMin(value = "0.0", message = "Coverage is at least 0")
+    @DecimalMax(value = "1.0", message = "Coverage is at most 1")
+    private Double minCoverage;
+
+    /** Ranked pairs to return (default 50). */
+    @Min(value = 1, message = "Limit must be positive")
+    @Max(value = 1000, message = "At most 1000 pairs can be returned")
+    private Integer limit;
+}
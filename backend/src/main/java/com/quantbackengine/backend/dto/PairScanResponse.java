@@ -0,0 +1,51 @@
+package com.quantbackengine.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Pairs ranked by Engle-Granger statistic, strongest evidence of
+ * cointegration first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairScanResponse {
+
+    /** Symbols on the aligned matrix. */
+    private int symbols;
+    /** Requested symbols with no cached bars, too few bars or non-positive closes. */
+    private List<String> excludedSymbols;
+    private int bars;
+    /** Pairs whose correlation was computed. */
+    private long pairsScreened;
+    /** Pairs that went on to the cointegration test. */
+    private int candidatesTested;
+    private List<ScannedPairDto> pairs;
+    private long elapsedMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScannedPairDto {
+        /** The dependent leg of the cointegrating regression. */
+        private String symbolA;
+        private String symbolB;
+        /** Correlation of daily log returns. */
+        private double correlation;
+        /** Slope of log(A) on log(B). */
+        private double hedgeRatio;
+        private double adfStatistic;
+        /** 5% critical value for this sample size. */
+        private double criticalValue;
+        private boolean cointegrated;
+        /** Bars for a spread deviation to halve; null when it does not revert. */
+        private Double halfLifeBars;
+    }
+}
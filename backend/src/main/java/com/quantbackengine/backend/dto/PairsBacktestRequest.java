@@ -0,0 +1,51 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Request DTO for a pairs backtest: one spread strategy trading
+ * {@code symbolA} against {@code symbolB}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairsBacktestRequest {
+
+    @NotBlank(message = "First symbol is required")
+    @Size(max = 10, message = "Symbol must be at most 10 characters")
+    private String symbolA;
+
+    @NotBlank(message = "Second symbol is required")
+    @Size(max = 10, message = "Symbol must be at most 10 characters")
+    private String symbolB;
+
+    @NotBlank(message = "Strategy name is required")
+    private String strategy;
+
+    private Map<String, Object> parameters;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Positive(message = "Initial capital must be positive")
+    private Double initialCapital;
+
+    private Double commissionRate;
+
+    /** INNER (default) or AS_OF. */
+    private String join;
+}
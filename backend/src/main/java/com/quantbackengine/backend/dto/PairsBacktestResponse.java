@@ -0,0 +1,52 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a pairs backtest over the two legs' aligned bars.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairsBacktestResponse {
+
+    private String id;
+    private String strategy;
+    private String symbolA;
+    private String symbolB;
+    private String join;
+    /** Bars left after the join; the length of the equity curve. */
+    private int bars;
+    private MetricsDto metrics;
+    private List<EquityPointDto> equityCurve;
+    private List<PairTradeDto> trades;
+    /** Hedge ratio and z-score at the last bar; null before the first full window. */
+    private Double hedgeRatio;
+    private Double zScore;
+    private long elapsedMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PairTradeDto {
+        /** LONG_SPREAD (long A, short B) or SHORT_SPREAD. */
+        private String direction;
+        private long entryTime;
+        private long exitTime;
+        /** Shares of B per share of A, fixed at entry. */
+        private double hedgeRatio;
+        private double entrySpread;
+        private double exitSpread;
+        private double units;
+        private double pnl;
+    }
+}
@@ -0,0 +1,44 @@
+package com.quantbackengine.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A paper trading account, valued at the last live bar close of each
+ * position's symbol (its average price until a bar arrives).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperAccountDto {
+
+    private String id;
+    private double initialCash;
+    private double cash;
+    private double equity;
+    private double realizedPnl;
+    private double unrealizedPnl;
+    private double totalPnl; // equity - initial cash, net of commissions
+    private double totalReturn;
+    private double commissions;
+    private List<PositionDto> positions;
+    private List<PaperOrderDto> openOrders;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PositionDto {
+        private String symbol;
+        private long quantity;
+        private double averagePrice;
+        private double lastPrice;
+        private double marketValue;
+        private double unrealizedPnl;
+    }
+}
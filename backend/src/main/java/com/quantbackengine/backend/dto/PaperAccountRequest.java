@@ -0,0 +1,27 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO to open a paper trading account.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperAccountRequest {
+
+    /** Chosen by the caller (a browser session id, say); generated when absent. */
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "Account id must be 1-64 letters, digits, '-' or '_'")
+    private String accountId;
+
+    @NotNull(message = "Initial cash is required")
+    @Positive(message = "Initial cash must be positive")
+    private Double initialCash;
+}
@@ -0,0 +1,31 @@
+package com.quantbackengine.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A paper order as placed or cancelled.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaperOrderDto {
+
+    public enum Status { OPEN, CANCELLED }
+
+    private long id;
+    private String accountId;
+    private String symbol;
+    private String side;
+    private long quantity;
+
+    /** Null for a market order. */
+    private Double limitPrice;
+
+    private Status status;
+}
@@ -0,0 +1,37 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for a paper order. Orders fill whole, on the first live bar of
+ * the symbol that starts after they are placed, by the feed's clock.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaperOrderRequest {
+
+    @NotBlank(message = "Symbol is required")
+    @Size(max = 10, message = "Symbol must be at most 10 characters")
+    private String symbol;
+
+    /** BUY or SELL. */
+    @NotBlank(message = "Side is required")
+    private String side;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Long quantity;
+
+    /** Absent for a market order. */
+    @Positive(message = "Limit price must be positive")
+    private Double limitPrice;
+}
@@ -0,0 +1,47 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for a multi-symbol portfolio backtest: one strategy and
+ * parameter set applied to every symbol, sharing one cash account.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioBacktestRequest {
+
+    @NotEmpty(message = "At least one symbol is required")
+    private List<String> symbols;
+
+    @NotBlank(message = "Strategy name is required")
+    private String strategy;
+
+    private Map<String, Object> parameters;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Positive(message = "Initial capital must be positive")
+    private Double initialCapital;
+
+    private Double commissionRate;
+
+    /** EQUAL_WEIGHT (default) or CASH_SPLIT. */
+    private String allocation;
+}
@@ -0,0 +1,47 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Combined portfolio result with per-symbol attribution.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioBacktestResponse {
+
+    private String id;
+    private String strategy;
+    private String allocation;
+    private MetricsDto metrics;
+    private List<EquityPointDto> equityCurve;
+    private List<SymbolAttributionDto> attribution;
+    /** Requested symbols with no market data in the range; not simulated. */
+    private List<String> missingSymbols;
+    private long elapsedMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SymbolAttributionDto {
+        private String symbol;
+        private int bars;
+        private int totalTrades;
+        private int winningTrades;
+        private int losingTrades;
+        private double realizedPnl;
+        private double unrealizedPnl;
+        private double commission;
+        /** Net P&amp;L after all commissions / initial capital; sums to the portfolio return. */
+        private double contribution;
+    }
+}
@@ -0,0 +1,68 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for a parameter sweep over one built-in strategy.
+ *
+ * <p>Each parameter is taken from {@code grid} (explicit values) or
+ * {@code ranges} (min/max/step); parameters in neither keep their default.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepRequest {
+
+    @NotBlank(message = "Symbol is required")
+    private String symbol;
+
+    @NotBlank(message = "Strategy name is required")
+    private String strategy;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Positive(message = "Initial capital must be positive")
+    private Double initialCapital;
+
+    private Double commissionRate;
+
+    private Map<String, List<Object>> grid;
+
+    private Map<String, ParameterRange> ranges;
+
+    /** Metric to rank by: sharpeRatio (default), totalReturn, annualizedReturn, winRate, maxDrawdownPercent. */
+    private String rankBy;
+
+    /** Return only the best N rows; all rows when absent. */
+    @Positive(message = "top must be positive")
+    private Integer top;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ParameterRange {
+        @NotNull
+        private Double min;
+        @NotNull
+        private Double max;
+        @NotNull
+        @Positive
+        private Double step;
+    }
+}
@@ -0,0 +1,38 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked parameter-sweep results: metrics only, no candles or equity curves.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepResponse {
+
+    private String symbol;
+    private String strategy;
+    private String rankBy;
+    private int combinations;
+    private int skipped;
+    private long elapsedMs;
+    private List<SweepResultDto> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SweepResultDto {
+        private int rank;
+        private Map<String, Object> parameters;
+        private MetricsDto metrics;
+    }
+}
@@ -0,0 +1,63 @@
+package com.quantbackengine.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for walk-forward optimization.
+ *
+ * <p>The loaded range is cut into train/test windows measured in bars. Each
+ * train window is searched over {@code grid}/{@code ranges} (same semantics as
+ * {@link SweepRequest}); the winner is then run on the following test window.
+ * Windows advance by {@code testBars}. With {@code anchored} the train window
+ * always starts at the first bar and grows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardRequest {
+
+    @NotBlank(message = "Symbol is required")
+    private String symbol;
+
+    @NotBlank(message = "Strategy name is required")
+    private String strategy;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Positive(message = "Initial capital must be positive")
+    private Double initialCapital;
+
+    private Double commissionRate;
+
+    private Map<String, List<Object>> grid;
+
+    private Map<String, SweepRequest.ParameterRange> ranges;
+
+    /** In-sample ranking metric, same names as {@link SweepRequest#getRankBy()}. */
+    private String rankBy;
+
+    @NotNull(message = "trainBars is required")
+    @Positive(message = "trainBars must be positive")
+    private Integer trainBars;
+
+    @NotNull(message = "testBars is required")
+    @Positive(message = "testBars must be positive")
+    private Integer testBars;
+
+    private boolean anchored;
+}
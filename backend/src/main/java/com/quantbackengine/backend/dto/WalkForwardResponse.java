@@ -0,0 +1,48 @@
+package com.quantbackengine.backend.dto;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walk-forward result: the per-window winners and the out-of-sample equity
+ * curve stitched across all test windows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardResponse {
+
+    private String symbol;
+    private String strategy;
+    private String rankBy;
+    private int combinations;
+    private int skipped;
+    private long elapsedMs;
+    private List<WindowDto> windows;
+    private MetricsDto outOfSampleMetrics;
+    private List<EquityPointDto> outOfSampleEquity;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WindowDto {
+        private int index;
+        private LocalDateTime trainStart;
+        private LocalDateTime trainEnd;
+        private LocalDateTime testStart;
+        private LocalDateTime testEnd;
+        private Map<String, Object> parameters;
+        private MetricsDto inSampleMetrics;
+        private MetricsDto outOfSampleMetrics;
+    }
+}
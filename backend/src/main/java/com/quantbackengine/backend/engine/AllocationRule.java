@@ -0,0 +1,24 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * How much cash a portfolio entry may commit.
+ */
+public enum AllocationRule {
+
+    /** Target {@code 1/N} of current portfolio equity per position, capped by available cash. */
+    EQUAL_WEIGHT,
+
+    /** Split available cash evenly across the symbols that are currently flat. */
+    CASH_SPLIT;
+
+    public static AllocationRule fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return EQUAL_WEIGHT;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported allocation rule: " + name);
+        }
+    }
+}
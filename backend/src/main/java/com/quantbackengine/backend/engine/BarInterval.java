@@ -0,0 +1,49 @@
+package com.quantbackengine.backend.engine;
+
+import java.time.Duration;
+
+/**
+ * Bar lengths the {@link TickAggregator} builds from ticks.
+ */
+public enum BarInterval {
+
+    SECOND_1("1s", Duration.ofSeconds(1)),
+    MINUTE_1("1m", Duration.ofMinutes(1)),
+    MINUTE_5("5m", Duration.ofMinutes(5)),
+    HOUR_1("1h", Duration.ofHours(1));
+
+    private final String label;
+    private final Duration duration;
+
+    BarInterval(String label, Duration duration) {
+        this.label = label;
+        this.duration = duration;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public long millis() {
+        return duration.toMillis();
+    }
+
+    /**
+     * By label ({@code 1m}) or constant name ({@code MINUTE_1}).
+     */
+    public static BarInterval fromName(String name) {
+        if (name != null) {
+            String trimmed = name.trim();
+            for (BarInterval interval : values()) {
+                if (interval.label.equalsIgnoreCase(trimmed) || interval.name().equalsIgnoreCase(trimmed)) {
+                    return interval;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bar interval: " + name);
+    }
+}
@@ -0,0 +1,13 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Receives each bar the {@link TickAggregator} completes, on the thread
+ * feeding it ticks. {@code startMillis} is the bar's open time, the
+ * timestamp the {@code market_data} cache keys bars by.
+ */
+@FunctionalInterface
+public interface BarListener {
+
+    void onBar(BarInterval interval, String symbol, long startMillis, double open, double high, double low,
+               double close, long volume);
+}
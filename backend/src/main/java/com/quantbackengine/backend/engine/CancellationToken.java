@@ -0,0 +1,126 @@
+package com.quantbackengine.backend.engine;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+
+/**
+ * Cooperative cancellation for long-running work: a flag any thread may set,
+ * plus an optional deadline. The work checks the token at safe points and
+ * stops with a {@link CancellationException}; nothing is interrupted.
+ *
+ * <p>A token is bound to the thread doing the work with {@link #bind}, so
+ * code deep in the call stack — the simulation loop, the Python bridge —
+ * finds it through {@link #current} without it being passed through every
+ * signature. Fan-out code carries it onto worker threads with
+ * {@link #bound}.
+ */
+public final class CancellationToken {
+
+    /** Never cancelled; what {@link #current} returns when nothing is bound. */
+    public static final CancellationToken NONE = new CancellationToken(0);
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final long timeoutMillis;
+    private final long deadlineNanos;
+    private volatile String reason;
+
+    private CancellationToken(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = System.nanoTime() + Duration.ofMillis(timeoutMillis).toNanos();
+    }
+
+    /** A token without a deadline, cancelled only by {@link #cancel}. */
+    public static CancellationToken create() {
+        return new CancellationToken(0);
+    }
+
+    /**
+     * A token that also cancels itself {@code timeout} from now; zero or
+     * negative means no deadline.
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(Math.max(0, timeout.toMillis()));
+    }
+
+    /** The token bound to this thread, or {@link #NONE}. */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Make this the {@linkplain #current current} token of the calling thread
+     * until the returned scope is closed.
+     */
+    public Scope bind() {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * {@code function} run with this token bound, after checking it — for
+     * the per-item step of a parallel stream, whose items run on other
+     * threads.
+     */
+    public <T, R> Function<T, R> bound(Function<T, R> function) {
+        return item -> {
+            try (Scope ignored = bind()) {
+                throwIfCancelled();
+                return function.apply(item);
+            }
+        };
+    }
+
+    /** Ask the work to stop. The first reason wins; {@link #NONE} ignores it. */
+    public void cancel(String reason) {
+        if (this != NONE && this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        if (reason != null) {
+            return true;
+        }
+        if (timeoutMillis > 0 && System.nanoTime() - deadlineNanos >= 0) {
+            cancel("deadline of " + timeoutMillis + " ms exceeded");
+            return true;
+        }
+        return false;
+    }
+
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Cancelled: " + reason);
+        }
+    }
+
+    /** Why the token was cancelled; {@code null} while it is not. */
+    public String reason() {
+        return isCancelled() ? reason : null;
+    }
+
+    /** Milliseconds until the deadline; {@link Long#MAX_VALUE} without one. */
+    public long remainingMillis() {
+        if (timeoutMillis == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    /** Restores the previously bound token. */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Reduces chart payloads to a point budget. Both methods make one pass over
+ * primitive columns; metrics are never computed from their output.
+ */
+public final class Downsampler {
+
+    private Downsampler() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Largest-triangle-three-buckets: indices of at most {@code maxPoints}
+     * points of {@code (x[i], y[i])}, {@code i < size}, that keep the visual
+     * shape of the line. First and last points are always kept; each middle
+     * bucket keeps the point forming the largest triangle with the previously
+     * kept point and the average of the next bucket. Returns every index when
+     * {@code size <= maxPoints} or {@code maxPoints < 3}.
+     */
+    public static int[] lttb(long[] x, double[] y, int size, int maxPoints) {
+        if (maxPoints < 3 || size <= maxPoints) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] kept = new int[maxPoints];
+        double every = (double) (size - 2) / (maxPoints - 2);
+        long origin = x[0]; // keep x small so the area products stay exact enough
+        int a = 0;
+        kept[0] = 0;
+
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int nextFrom = (int) Math.floor((bucket + 1) * every) + 1;
+            int nextTo = Math.min((int) Math.floor((bucket + 2) * every) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextFrom; j < nextTo; j++) {
+                avgX += x[j] - origin;
+                avgY += y[j];
+            }
+            int nextCount = nextTo - nextFrom;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int from = (int) Math.floor(bucket * every) + 1;
+            int to = (int) Math.floor((bucket + 1) * every) + 1;
+            double ax = x[a] - origin;
+            double ay = y[a];
+            double maxArea = -1;
+            int chosen = from;
+            for (int j = from; j < to; j++) {
+                double area = Math.abs((ax - avgX) * (y[j] - ay) - (ax - (x[j] - origin)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            kept[bucket + 1] = chosen;
+            a = chosen;
+        }
+
+        kept[maxPoints - 1] = size - 1;
+        return kept;
+    }
+
+    /**
+     * OHLC-preserving aggregation into at most {@code maxBars} bars of
+     * consecutive, equally sized buckets: first open, highest high, lowest
+     * low, last close, summed volume, stamped with the bucket's first time.
+     * Returns {@code columns} itself when it already fits.
+     */
+    public static BarColumns aggregate(BarColumns columns, int maxBars) {
+        int size = columns.size();
+        if (maxBars < 1 || size <= maxBars) {
+            return columns;
+        }
+        int perBucket = (size + maxBars - 1) / maxBars;
+        long[] time = columns.epochMillis();
+        double[] open = columns.open();
+        double[] high = columns.high();
+        double[] low = columns.low();
+        double[] close = columns.close();
+        long[] volume = columns.volume();
+
+        BarColumns.Builder builder = BarColumns.builder(columns.symbol(),
+                columns.barDuration().multipliedBy(perBucket), (size + perBucket - 1) / perBucket);
+        for (int start = 0; start < size; start += perBucket) {
+            int end = Math.min(start + perBucket, size);
+            double h = high[start];
+            double l = low[start];
+            long v = 0;
+            for (int i = start; i < end; i++) {
+                h = Math.max(h, high[i]);
+                l = Math.min(l, low[i]);
+                v += volume[i];
+            }
+            builder.add(time[start], open[start], h, l, close[end - 1], v);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Indicator values computed over one loaded series, kept as primitive arrays
+ * and keyed by indicator type and parameters.
+ *
+ * <p>Sweeps and batch runs evaluate many parameter sets against the same
+ * bars, and most of them share indicators: every SMA crossover with a 200-bar
+ * long leg needs the same SMA(200). The first run computes it and the others
+ * read the stored array.
+ *
+ * <p>Safe for concurrent use. Each key has its own slot: threads asking for a
+ * value that is being computed wait for it instead of repeating the work,
+ * while different keys compute in parallel, and a computation may itself
+ * read other keys. The cache is bounded by the arrays' heap size and evicts
+ * least-recently-used entries first. Returned arrays are shared — callers
+ * must treat them as read-only.
+ */
+public final class IndicatorCache {
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    private final long maxBytes;
+    private final Counters counters = new Counters();
+    private final Counters shared;
+    private final LinkedHashMap<Key, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public IndicatorCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * @param shared counters to update alongside this cache's own, e.g. totals
+     *               over every series; may be {@code null}
+     */
+    public IndicatorCache(long maxBytes, Counters shared) {
+        this.maxBytes = maxBytes;
+        this.shared = shared;
+    }
+
+    /**
+     * The array stored under {@code key}, computing and storing it first if
+     * needed.
+     */
+    public double[] get(Key key, Supplier<double[]> compute) {
+        Slot slot;
+        synchronized (this) {
+            slot = slots.computeIfAbsent(key, Slot::new);
+        }
+        double[] values = slot.values;
+        if (values == null) {
+            synchronized (slot) {
+                values = slot.values;
+                if (values == null) {
+                    counters.misses.incrementAndGet();
+                    if (shared != null) {
+                        shared.misses.incrementAndGet();
+                    }
+                    values = compute.get();
+                    slot.values = values;
+                    store(slot, ARRAY_HEADER_BYTES + 8L * values.length);
+                    return values;
+                }
+            }
+        }
+        counters.hits.incrementAndGet();
+        if (shared != null) {
+            shared.hits.incrementAndGet();
+        }
+        return values;
+    }
+
+    private synchronized void store(Slot slot, long size) {
+        if (slots.get(slot.key) != slot) {
+            return; // evicted while computing
+        }
+        if (size > maxBytes) {
+            slots.remove(slot.key);
+            return;
+        }
+        slot.bytes = size;
+        bytes += size;
+
+        Iterator<Slot> eldest = slots.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Slot evicted = eldest.next();
+            if (evicted == slot) {
+                continue;
+            }
+            eldest.remove();
+            bytes -= evicted.bytes;
+            if (evicted.bytes > 0) {
+                counters.evictions.incrementAndGet();
+                if (shared != null) {
+                    shared.evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public Counters counters() {
+        return counters;
+    }
+
+    public synchronized int entries() {
+        return slots.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Indicator type and its parameters, e.g. {@code ("SMA", 50)}.
+     */
+    public record Key(String type, List<Number> parameters) {
+
+        public static Key of(String type, Number... parameters) {
+            return new Key(type, List.of(parameters));
+        }
+    }
+
+    /**
+     * Hit, miss and eviction counts.
+     */
+    public static final class Counters {
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+
+        public long hits() {
+            return hits.get();
+        }
+
+        public long misses() {
+            return misses.get();
+        }
+
+        public long evictions() {
+            return evictions.get();
+        }
+
+        /**
+         * Share of lookups answered without computing; 0 before the first.
+         */
+        public double hitRate() {
+            long h = hits.get();
+            long total = h + misses.get();
+            return total > 0 ? (double) h / total : 0;
+        }
+    }
+
+    private static final class Slot {
+
+        private final Key key;
+        private volatile double[] values;
+        private long bytes;
+
+        private Slot(Key key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Log closes of many symbols on one timeline, one row per symbol.
+ *
+ * <p>Symbols with fewer than {@code minCoverage} of the best-covered
+ * symbol's bar count are dropped. The timeline is every timestamp any
+ * remaining symbol has, between the latest first bar and the earliest last
+ * bar; each row carries its symbol's latest close at or before each
+ * timestamp, as {@link PairJoin#AS_OF} does for two.
+ */
+public record LogPriceMatrix(List<String> symbols, long[] epochMillis, double[][] logClose,
+                             List<String> excluded) {
+
+    public static LogPriceMatrix align(List<BarColumns> columns, double minCoverage) {
+        int maxBars = 0;
+        for (BarColumns c : columns) {
+            maxBars = Math.max(maxBars, c.size());
+        }
+        List<BarColumns> kept = new ArrayList<>(columns.size());
+        List<String> excluded = new ArrayList<>();
+        long first = Long.MIN_VALUE;
+        long last = Long.MAX_VALUE;
+        for (BarColumns c : columns) {
+            if (c.isEmpty() || c.size() < minCoverage * maxBars || !allPositive(c.close(), c.size())) {
+                excluded.add(c.symbol());
+                continue;
+            }
+            kept.add(c);
+            first = Math.max(first, c.epochMillis()[0]);
+            last = Math.min(last, c.epochMillis()[c.size() - 1]);
+        }
+        if (kept.isEmpty() || first > last) {
+            return new LogPriceMatrix(symbolsOf(kept), new long[0], new double[kept.size()][0], excluded);
+        }
+
+        long[] timeline = timeline(kept, first, last);
+        double[][] logClose = new double[kept.size()][];
+        for (int s = 0; s < kept.size(); s++) {
+            logClose[s] = forwardFilled(kept.get(s), timeline);
+        }
+        return new LogPriceMatrix(symbolsOf(kept), timeline, logClose, excluded);
+    }
+
+    public int bars() {
+        return epochMillis.length;
+    }
+
+    private static boolean allPositive(double[] close, int size) {
+        for (int i = 0; i < size; i++) {
+            if (!(close[i] > 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> symbolsOf(List<BarColumns> columns) {
+        return columns.stream().map(BarColumns::symbol).toList();
+    }
+
+    /**
+     * Sorted distinct timestamps in {@code [first, last]} across all symbols.
+     */
+    private static long[] timeline(List<BarColumns> columns, long first, long last) {
+        int total = 0;
+        for (BarColumns c : columns) {
+            total += c.size();
+        }
+        long[] all = new long[total];
+        int size = 0;
+        for (BarColumns c : columns) {
+            long[] times = c.epochMillis();
+            for (int i = 0; i < c.size(); i++) {
+                if (times[i] >= first && times[i] <= last) {
+                    all[size++] = times[i];
+                }
+            }
+        }
+        Arrays.sort(all, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || all[i] != all[distinct - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    private static double[] forwardFilled(BarColumns columns, long[] timeline) {
+        long[] times = columns.epochMillis();
+        double[] close = columns.close();
+        double[] row = new double[timeline.length];
+        int j = 0;
+        for (int t = 0; t < timeline.length; t++) {
+            while (j + 1 < columns.size() && times[j + 1] <= timeline[t]) {
+                j++;
+            }
+            row[t] = Math.log(close[j]);
+        }
+        return row;
+    }
+}
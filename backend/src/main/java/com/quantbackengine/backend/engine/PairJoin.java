@@ -0,0 +1,65 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * How the bars of two symbols are matched up for a pairs backtest.
+ */
+public enum PairJoin {
+
+    /** Only timestamps both symbols have a bar for; a day missing from either is skipped. */
+    INNER,
+
+    /**
+     * Every bar of the first symbol, paired with the second symbol's latest
+     * close at or before it; bars before the second symbol's first bar are
+     * dropped. A halted second leg is carried at its last price.
+     */
+    AS_OF;
+
+    public static PairJoin fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return INNER;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported pair join: " + name);
+        }
+    }
+
+    /**
+     * Match {@code a}'s bars with {@code b}'s in one forward pass over both
+     * timestamp columns.
+     */
+    public PairedSeries align(BarColumns a, BarColumns b) {
+        long[] timesA = a.epochMillis();
+        long[] timesB = b.epochMillis();
+        double[] closeA = a.close();
+        double[] closeB = b.close();
+        int capacity = this == INNER ? Math.min(a.size(), b.size()) : a.size();
+        long[] times = new long[capacity];
+        double[] left = new double[capacity];
+        double[] right = new double[capacity];
+
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < a.size(); i++) {
+            long t = timesA[i];
+            while (j < b.size() && timesB[j] < t) {
+                j++;
+            }
+            int match;
+            if (j < b.size() && timesB[j] == t) {
+                match = j;
+            } else if (this == AS_OF && j > 0) {
+                match = j - 1;
+            } else {
+                continue;
+            }
+            times[size] = t;
+            left[size] = closeA[i];
+            right[size] = closeB[match];
+            size++;
+        }
+        return PairedSeries.of(a.symbol(), b.symbol(), size, times, left, right);
+    }
+}
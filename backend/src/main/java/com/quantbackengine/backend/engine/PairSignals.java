@@ -0,0 +1,22 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.BitSet;
+
+/**
+ * Per-bar decisions for a pairs trade, consumed by {@link PairsSimulator}.
+ *
+ * <p>A long spread position holds one share of the first leg against
+ * {@code hedgeRatio[i]} shares short of the second; a short spread the
+ * reverse. The simulator asks {@code enterLong}/{@code enterShort} only
+ * while flat and the matching exit only while that side is open, and sizes
+ * an entry with the hedge ratio of its bar. {@code zScore} is reported, not
+ * acted on.
+ */
+public record PairSignals(
+        double[] hedgeRatio,
+        double[] zScore,
+        BitSet enterLong,
+        BitSet enterShort,
+        BitSet exitLong,
+        BitSet exitShort) {
+}
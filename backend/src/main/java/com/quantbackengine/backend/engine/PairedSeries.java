@@ -0,0 +1,25 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.Arrays;
+
+/**
+ * Two symbols' closes on one timeline, as produced by {@link PairJoin}:
+ * {@code closeA[i]} and {@code closeB[i]} are the legs' prices at
+ * {@code epochMillis[i]}, ascending.
+ */
+public record PairedSeries(String symbolA, String symbolB, long[] epochMillis, double[] closeA, double[] closeB) {
+
+    static PairedSeries of(String symbolA, String symbolB, int size, long[] epochMillis,
+                           double[] closeA, double[] closeB) {
+        if (size != epochMillis.length) {
+            epochMillis = Arrays.copyOf(epochMillis, size);
+            closeA = Arrays.copyOf(closeA, size);
+            closeB = Arrays.copyOf(closeB, size);
+        }
+        return new PairedSeries(symbolA, symbolB, epochMillis, closeA, closeB);
+    }
+
+    public int size() {
+        return epochMillis.length;
+    }
+}
@@ -0,0 +1,19 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Output of {@link PairsSimulator#run}: the per-bar equity curve (aligned
+ * with the {@link PairedSeries}) and the closed spread trades.
+ *
+ * <p>In {@code trades}, prices are spread values per unit
+ * ({@code closeA - hedgeRatio * closeB} at the entry's hedge ratio) and
+ * shares are units of the spread, negative for a short spread.
+ * {@code openEntryIndex} is the entry bar of a position still open after
+ * the last bar, or -1.
+ */
+public record PairsResult(
+        double[] equity,
+        TradeLog trades,
+        int winningTrades,
+        int losingTrades,
+        int openEntryIndex) {
+}
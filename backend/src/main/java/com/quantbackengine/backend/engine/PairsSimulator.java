@@ -0,0 +1,89 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Market-neutral execution of a two-leg spread over a {@link PairedSeries}.
+ *
+ * <p>An entry commits the account's equity, less commission, as gross
+ * exposure across both legs: {@code units} of the spread cost
+ * {@code units * (closeA + |hedgeRatio| * closeB)} in notional, long one leg
+ * and short the other. Short proceeds are credited to cash, so equity is
+ * always {@code cash + sharesA * closeA + sharesB * closeB}. Exits close both
+ * legs at the bar close and pay commission on their gross notional; as in
+ * {@link SimulationEngine}, a trade's P&amp;L is net of the exit commission
+ * only. One action per bar: a position closed on a bar is not reopened on it.
+ *
+ * <p>The thread's {@link CancellationToken} is checked every
+ * {@value SimulationEngine#CANCELLATION_CHECK_BARS} bars.
+ */
+public final class PairsSimulator {
+
+    private PairsSimulator() {
+        // Prevent instantiation
+    }
+
+    public static PairsResult run(PairedSeries pair, PairSignals signals, double initialCapital,
+                                  double commissionRate) {
+        int n = pair.size();
+        double[] closeA = pair.closeA();
+        double[] closeB = pair.closeB();
+        double[] hedgeRatio = signals.hedgeRatio();
+        CancellationToken cancellation = CancellationToken.current();
+
+        double[] equity = new double[n];
+        TradeLog trades = new TradeLog(Math.min(n / 2 + 1, 64));
+        int wins = 0;
+        int losses = 0;
+
+        double cash = initialCapital;
+        double sharesA = 0.0;
+        double sharesB = 0.0;
+        int direction = 0;
+        int entryIndex = -1;
+        double entryBeta = 0.0;
+        double entrySpread = 0.0;
+        double units = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            if ((i & (SimulationEngine.CANCELLATION_CHECK_BARS - 1)) == 0) {
+                cancellation.throwIfCancelled();
+            }
+            double a = closeA[i];
+            double b = closeB[i];
+
+            if (direction == 0) {
+                int side = signals.enterLong().get(i) ? 1 : signals.enterShort().get(i) ? -1 : 0;
+                double beta = hedgeRatio[i];
+                if (side != 0 && Double.isFinite(beta)) {
+                    double commission = cash * commissionRate;
+                    units = (cash - commission) / (a + Math.abs(beta) * b);
+                    direction = side;
+                    sharesA = side * units;
+                    sharesB = -side * beta * units;
+                    cash -= commission + sharesA * a + sharesB * b;
+                    entryIndex = i;
+                    entryBeta = beta;
+                    entrySpread = a - beta * b;
+                }
+            } else if (direction > 0 ? signals.exitLong().get(i) : signals.exitShort().get(i)) {
+                double commission = (Math.abs(sharesA) * a + Math.abs(sharesB) * b) * commissionRate;
+                double exitSpread = a - entryBeta * b;
+                double pnl = direction * units * (exitSpread - entrySpread) - commission;
+                if (pnl > 0) {
+                    wins++;
+                } else {
+                    losses++;
+                }
+                trades.add(entryIndex, i, entrySpread, exitSpread, direction * units, pnl, commission);
+
+                cash += sharesA * a + sharesB * b - commission;
+                sharesA = 0.0;
+                sharesB = 0.0;
+                direction = 0;
+                entryIndex = -1;
+            }
+
+            equity[i] = cash + sharesA * a + sharesB * b;
+        }
+        return new PairsResult(equity, trades, wins, losses, entryIndex);
+    }
+}
@@ -0,0 +1,67 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Output of {@link PortfolioSimulator#run}.
+ *
+ * <p>{@code equity[t]} is the portfolio value at {@code epochMillis[t]} on the
+ * merged timeline. Per-symbol arrays are indexed like the simulator's input
+ * lists; trade indices in {@code trades[s]} are bar indices into that
+ * symbol's own columns.
+ */
+public record PortfolioResult(
+        long[] epochMillis,
+        double[] equity,
+        TradeLog[] trades,
+        int[] winningTrades,
+        int[] losingTrades,
+        double[] commissions,
+        double[] unrealizedPnl) {
+
+    public int totalTrades() {
+        int total = 0;
+        for (TradeLog log : trades) {
+            total += log.size();
+        }
+        return total;
+    }
+
+    public int totalWins() {
+        int total = 0;
+        for (int w : winningTrades) {
+            total += w;
+        }
+        return total;
+    }
+
+    public int totalLosses() {
+        int total = 0;
+        for (int l : losingTrades) {
+            total += l;
+        }
+        return total;
+    }
+
+    public double realizedPnl(int symbol) {
+        double total = 0.0;
+        TradeLog log = trades[symbol];
+        for (int t = 0; t < log.size(); t++) {
+            total += log.pnl(t);
+        }
+        return total;
+    }
+
+    /**
+     * Change in portfolio value caused by this symbol: realized and unrealized
+     * P&amp;L less the entry commissions, which trade P&amp;L does not include.
+     * Summed over all symbols this is the final equity minus initial capital.
+     */
+    public double netPnl(int symbol) {
+        TradeLog log = trades[symbol];
+        double exitCommissions = 0.0;
+        for (int t = 0; t < log.size(); t++) {
+            exitCommissions += log.commission(t);
+        }
+        double entryCommissions = commissions[symbol] - exitCommissions;
+        return realizedPnl(symbol) + unrealizedPnl[symbol] - entryCommissions;
+    }
+}
@@ -0,0 +1,239 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Long-only multi-symbol execution over one shared cash account.
+ *
+ * <p>Each symbol keeps its own bar columns and signals. A k-way merge over the
+ * symbols' timestamps turns them into one time-ordered event stream; bars
+ * sharing a timestamp form a group that is processed as marks first, then
+ * exits (freeing cash), then entries, each in input order so runs are
+ * deterministic. Fills and commission follow {@link SimulationEngine}.
+ *
+ * <p>Signal sources are replayed, not re-evaluated against the portfolio's
+ * positions, so they must not depend on a trading record
+ * ({@link PrecomputedSignals}). An entry skipped for lack of cash leaves the
+ * symbol flat until its next entry signal.
+ */
+public final class PortfolioSimulator {
+
+    private static final double MIN_ALLOCATION = 1e-9;
+
+    private PortfolioSimulator() {
+        // Prevent instantiation
+    }
+
+    public static PortfolioResult run(List<BarColumns> columns, List<? extends SignalSource> signals,
+                                      AllocationRule rule, double initialCapital, double commissionRate) {
+        if (columns.size() != signals.size()) {
+            throw new IllegalArgumentException("Need one signal source per symbol");
+        }
+        int k = columns.size();
+        long[][] times = new long[k][];
+        double[][] closes = new double[k][];
+        int totalBars = 0;
+        for (int s = 0; s < k; s++) {
+            times[s] = columns.get(s).epochMillis();
+            closes[s] = columns.get(s).close();
+            totalBars += columns.get(s).size();
+        }
+
+        int[] cursor = new int[k];
+        double[] shares = new double[k];
+        double[] lastClose = new double[k];
+        double[] entryPrice = new double[k];
+        int[] entryIndex = new int[k];
+        boolean[] open = new boolean[k];
+        TradeLog[] trades = new TradeLog[k];
+        int[] wins = new int[k];
+        int[] losses = new int[k];
+        double[] commissions = new double[k];
+        for (int s = 0; s < k; s++) {
+            trades[s] = new TradeLog(16);
+        }
+
+        long[] timeline = new long[totalBars];
+        double[] equity = new double[totalBars];
+        int steps = 0;
+
+        double cash = initialCapital;
+        double positionsValue = 0.0;
+        int openCount = 0;
+
+        TimeHeap heap = new TimeHeap(k);
+        for (int s = 0; s < k; s++) {
+            if (columns.get(s).size() > 0) {
+                heap.push(s, times[s][0]);
+            }
+        }
+        int[] group = new int[k];
+
+        while (!heap.isEmpty()) {
+            long now = heap.peekTime();
+            int groupSize = 0;
+            while (!heap.isEmpty() && heap.peekTime() == now) {
+                group[groupSize++] = heap.pop();
+            }
+            // 1. Mark to market
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                double price = closes[s][cursor[s]];
+                if (open[s]) {
+                    positionsValue += shares[s] * (price - lastClose[s]);
+                }
+                lastClose[s] = price;
+            }
+
+            // 2. Exits free cash before any entry at the same timestamp
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                int i = cursor[s];
+                if (open[s] && signals.get(s).shouldExit(i)) {
+                    double price = lastClose[s];
+                    double gross = shares[s] * price;
+                    double commission = gross * commissionRate;
+                    double proceeds = gross - commission;
+                    double pnl = proceeds - entryPrice[s] * shares[s];
+                    if (pnl > 0) {
+                        wins[s]++;
+                    } else {
+                        losses[s]++;
+                    }
+                    trades[s].add(entryIndex[s], i, entryPrice[s], price, shares[s], pnl, commission);
+                    commissions[s] += commission;
+
+                    cash += proceeds;
+                    positionsValue -= gross;
+                    shares[s] = 0.0;
+                    open[s] = false;
+                    openCount--;
+                    signals.get(s).onExit(i);
+                }
+            }
+            if (openCount == 0) {
+                positionsValue = 0.0; // drop accumulated rounding once flat
+            }
+
+            // 3. Entries, sized by the allocation rule
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                int i = cursor[s];
+                if (!open[s] && signals.get(s).shouldEnter(i)) {
+                    double allocation = switch (rule) {
+                        case EQUAL_WEIGHT -> Math.min(cash, (cash + positionsValue) / k);
+                        case CASH_SPLIT -> cash / (k - openCount);
+                    };
+                    if (allocation <= MIN_ALLOCATION) {
+                        continue;
+                    }
+                    double price = lastClose[s];
+                    double commission = allocation * commissionRate;
+                    shares[s] = (allocation - commission) / price;
+                    cash -= allocation;
+                    positionsValue += shares[s] * price;
+                    commissions[s] += commission;
+                    entryPrice[s] = price;
+                    entryIndex[s] = i;
+                    open[s] = true;
+                    openCount++;
+                    signals.get(s).onEnter(i);
+                }
+            }
+
+            timeline[steps] = now;
+            equity[steps] = cash + positionsValue;
+            steps++;
+
+            for (int g = 0; g < groupSize; g++) {
+                int s = group[g];
+                if (++cursor[s] < columns.get(s).size()) {
+                    heap.push(s, times[s][cursor[s]]);
+                }
+            }
+        }
+
+        double[] unrealized = new double[k];
+        for (int s = 0; s < k; s++) {
+            if (open[s]) {
+                unrealized[s] = shares[s] * (lastClose[s] - entryPrice[s]);
+            }
+        }
+
+        return new PortfolioResult(Arrays.copyOf(timeline, steps), Arrays.copyOf(equity, steps),
+                trades, wins, losses, commissions, unrealized);
+    }
+
+    /**
+     * Binary min-heap of symbol indices keyed by their next bar time, ties by
+     * symbol index. Primitive arrays only — no boxing per event.
+     */
+    private static final class TimeHeap {
+
+        private final int[] symbols;
+        private final long[] keys;
+        private int size;
+
+        TimeHeap(int capacity) {
+            symbols = new int[capacity];
+            keys = new long[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekTime() {
+            return keys[0];
+        }
+
+        void push(int symbol, long time) {
+            int i = size++;
+            symbols[i] = symbol;
+            keys[i] = time;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(i, parent)) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        int pop() {
+            int top = symbols[0];
+            size--;
+            symbols[0] = symbols[size];
+            keys[0] = keys[size];
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int child = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+                if (!less(child, i)) {
+                    break;
+                }
+                swap(i, child);
+                i = child;
+            }
+            return top;
+        }
+
+        private boolean less(int a, int b) {
+            return keys[a] < keys[b] || keys[a] == keys[b] && symbols[a] < symbols[b];
+        }
+
+        private void swap(int a, int b) {
+            int sym = symbols[a];
+            symbols[a] = symbols[b];
+            symbols[b] = sym;
+            long key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.quantbackengine.backend.engine;
+
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+
+import java.util.BitSet;
+
+/**
+ * Entry/exit signals evaluated once for every bar and stored as bit sets.
+ *
+ * <p>Only valid for strategies whose rules ignore the trading record — the
+ * built-in crossover strategies. The bits can then be replayed over any
+ * sub-range of the series, so walk-forward windows share one set of
+ * indicator computations per parameter set instead of rebuilding them per
+ * window. Instances are immutable and safe to share between threads.
+ */
+public final class PrecomputedSignals implements SignalSource {
+
+    private final BitSet entries;
+    private final BitSet exits;
+
+    private PrecomputedSignals(BitSet entries, BitSet exits) {
+        this.entries = entries;
+        this.exits = exits;
+    }
+
+    /**
+     * Evaluate {@code strategy} on bars {@code [0, size)} against an empty
+     * trading record.
+     */
+    public static PrecomputedSignals of(Strategy strategy, int size) {
+        TradingRecord record = new BaseTradingRecord();
+        BitSet entries = new BitSet(size);
+        BitSet exits = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (strategy.shouldEnter(i, record)) {
+                entries.set(i);
+            }
+            if (strategy.shouldExit(i, record)) {
+                exits.set(i);
+            }
+        }
+        return new PrecomputedSignals(entries, exits);
+    }
+
+    /**
+     * Wrap signals computed elsewhere, e.g. by a vectorized strategy. The bit
+     * sets are taken over, not copied; callers must not modify them after.
+     */
+    public static PrecomputedSignals of(BitSet entries, BitSet exits) {
+        return new PrecomputedSignals(entries, exits);
+    }
+
+    @Override
+    public boolean shouldEnter(int index) {
+        return entries.get(index);
+    }
+
+    @Override
+    public boolean shouldExit(int index) {
+        return exits.get(index);
+    }
+}
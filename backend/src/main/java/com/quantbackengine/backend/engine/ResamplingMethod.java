@@ -0,0 +1,24 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * How {@link MonteCarloSimulator} reorders the observed returns into a path.
+ */
+public enum ResamplingMethod {
+
+    /** Draw each step with replacement: paths differ in composition as well as order. */
+    BOOTSTRAP,
+
+    /** Permute the observed returns: every path ends at the same wealth, only drawdowns vary. */
+    SHUFFLE;
+
+    public static ResamplingMethod fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return BOOTSTRAP;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported resampling method: " + name);
+        }
+    }
+}
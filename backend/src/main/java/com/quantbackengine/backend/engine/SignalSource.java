@@ -0,0 +1,28 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Per-bar entry/exit decisions consumed by {@link SimulationEngine}.
+ *
+ * <p>The engine asks {@link #shouldEnter} only while flat and {@link #shouldExit}
+ * only while a position is open — the same contract as ta4j's
+ * {@code Strategy.shouldOperate}.
+ */
+public interface SignalSource {
+
+    boolean shouldEnter(int index);
+
+    boolean shouldExit(int index);
+
+    /**
+     * Called after the engine opens a position at {@code index}.
+     * Stateful sources (e.g. a ta4j trading record) keep in sync here.
+     */
+    default void onEnter(int index) {
+    }
+
+    /**
+     * Called after the engine closes the open position at {@code index}.
+     */
+    default void onExit(int index) {
+    }
+}
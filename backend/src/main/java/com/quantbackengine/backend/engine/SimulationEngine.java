@@ -0,0 +1,163 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Single-pass, long-only execution engine.
+ *
+ * <p>Evaluates entry/exit signals, fills at the bar close, charges commission
+ * on both legs and marks the portfolio to market — all in primitive doubles.
+ * One bar is visited once; the only allocations are the equity buffer (sized
+ * to the bar count up front) and the trade log, or none at all when the run
+ * is streamed to a {@link SimulationListener}.
+ *
+ * <p>Fill model (unchanged from the original ta4j-based loop): an entry
+ * invests all cash, commission taken from the notional; an exit sells all
+ * shares and deducts commission from the proceeds.
+ *
+ * <p>The thread's {@link CancellationToken} is checked every
+ * {@value #CANCELLATION_CHECK_BARS} bars.
+ */
+public final class SimulationEngine {
+
+    static final int CANCELLATION_CHECK_BARS = 1024;
+
+    private SimulationEngine() {
+        // Prevent instantiation
+    }
+
+    public static SimulationResult run(BarColumns columns, SignalSource signals,
+                                       double initialCapital, double commissionRate) {
+        return run(columns, signals, 0, columns.size(), initialCapital, commissionRate);
+    }
+
+    /**
+     * Simulate bars {@code [from, to)} only, starting flat with
+     * {@code initialCapital}. {@code equity[j]} is the value at bar
+     * {@code from + j}; trade indices stay absolute.
+     */
+    public static SimulationResult run(BarColumns columns, SignalSource signals, int from, int to,
+                                       double initialCapital, double commissionRate) {
+        checkRange(columns, from, to);
+        Recorder recorder = new Recorder(from, to);
+        SimulationState end = simulate(columns, signals, from, to, SimulationState.flat(initialCapital),
+                commissionRate, recorder);
+        return new SimulationResult(recorder.equity, recorder.trades, recorder.wins, recorder.losses, end);
+    }
+
+    /**
+     * Same fills as {@link #run(BarColumns, SignalSource, double, double)}, but
+     * every bar and closed trade goes to {@code listener} as it happens and
+     * nothing per-bar is retained.
+     *
+     * @return the state after the last bar
+     */
+    public static SimulationState run(BarColumns columns, SignalSource signals, double initialCapital,
+                                      double commissionRate, SimulationListener listener) {
+        return simulate(columns, signals, 0, columns.size(), SimulationState.flat(initialCapital), commissionRate,
+                listener);
+    }
+
+    /**
+     * Continue from {@code start} over bars {@code [from, to)}, reporting to
+     * {@code listener}. Resuming a run's final state on the bars that follow
+     * gives the same fills as one run over all of them, provided
+     * {@code signals} gives the same answers for those bars.
+     *
+     * @return the state after bar {@code to - 1}
+     */
+    public static SimulationState resume(BarColumns columns, SignalSource signals, int from, int to,
+                                         SimulationState start, double commissionRate,
+                                         SimulationListener listener) {
+        checkRange(columns, from, to);
+        return simulate(columns, signals, from, to, start, commissionRate, listener);
+    }
+
+    private static void checkRange(BarColumns columns, int from, int to) {
+        if (from < 0 || to > columns.size() || from > to) {
+            throw new IllegalArgumentException("Invalid bar range [" + from + ", " + to + ") for "
+                    + columns.size() + " bars");
+        }
+    }
+
+    private static SimulationState simulate(BarColumns columns, SignalSource signals, int from, int to,
+                                            SimulationState start, double commissionRate,
+                                            SimulationListener listener) {
+        double[] close = columns.close();
+        CancellationToken cancellation = CancellationToken.current();
+
+        double cash = start.cash();
+        double shares = start.shares();
+        boolean open = start.open();
+        int entryIndex = start.entryIndex();
+        double entryPrice = start.entryPrice();
+
+        for (int i = from; i < to; i++) {
+            if (((i - from) & (CANCELLATION_CHECK_BARS - 1)) == 0) {
+                cancellation.throwIfCancelled();
+            }
+            double price = close[i];
+
+            if (!open) {
+                if (signals.shouldEnter(i)) {
+                    double commission = cash * commissionRate;
+                    double amount = cash - commission;
+                    shares = amount / price;
+                    cash = cash - amount - commission;
+                    open = true;
+                    entryIndex = i;
+                    entryPrice = price;
+                    signals.onEnter(i);
+                }
+            } else if (signals.shouldExit(i)) {
+                double gross = shares * price;
+                double commission = gross * commissionRate;
+                double proceeds = gross - commission;
+                double pnl = proceeds - entryPrice * shares;
+
+                listener.onTrade(entryIndex, i, entryPrice, price, shares, pnl, commission);
+
+                cash += proceeds;
+                shares = 0.0;
+                open = false;
+                signals.onExit(i);
+            }
+
+            listener.onBar(i, cash + shares * price);
+        }
+        return new SimulationState(cash, shares, open, entryIndex, entryPrice);
+    }
+
+    /**
+     * Buffers a run into a {@link SimulationResult}: the equity buffer is sized
+     * to the bar range up front.
+     */
+    private static final class Recorder implements SimulationListener {
+
+        private final int from;
+        private final double[] equity;
+        private final TradeLog trades;
+        private int wins;
+        private int losses;
+
+        Recorder(int from, int to) {
+            this.from = from;
+            this.equity = new double[to - from];
+            this.trades = new TradeLog(Math.min((to - from) / 2 + 1, 64));
+        }
+
+        @Override
+        public void onBar(int index, double value) {
+            equity[index - from] = value;
+        }
+
+        @Override
+        public void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                            double shares, double pnl, double commission) {
+            if (pnl > 0) {
+                wins++;
+            } else {
+                losses++;
+            }
+            trades.add(entryIndex, exitIndex, entryPrice, exitPrice, shares, pnl, commission);
+        }
+    }
+}
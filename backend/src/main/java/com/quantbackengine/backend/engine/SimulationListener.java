@@ -0,0 +1,22 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Receives a {@link SimulationEngine} run as it advances, one bar at a time,
+ * instead of a buffered {@link SimulationResult}. Used to stream results
+ * without holding per-bar output.
+ */
+public interface SimulationListener {
+
+    /**
+     * Called once per bar, after any fill at that bar, with the marked-to-market
+     * portfolio value.
+     */
+    void onBar(int index, double equity);
+
+    /**
+     * Called when the open position is closed at bar {@code exitIndex}, before
+     * {@link #onBar} for that bar.
+     */
+    void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                 double shares, double pnl, double commission);
+}
@@ -0,0 +1,15 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Output of one {@link SimulationEngine} run: the per-bar equity curve
+ * (aligned with the input columns), the closed trades and the account
+ * state after the last bar.
+ */
+public record SimulationResult(
+        double[] equity,
+        TradeLog trades,
+        int winningTrades,
+        int losingTrades,
+        SimulationState finalState
+) {
+}
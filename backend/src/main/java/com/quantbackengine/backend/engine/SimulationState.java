@@ -0,0 +1,21 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Account state of a {@link SimulationEngine} run between two bars: enough
+ * to carry on from where a previous run stopped.
+ *
+ * <p>{@code entryIndex} is relative to the columns being simulated and may be
+ * negative when the open position was entered before the first of them.
+ *
+ * @param cash       uninvested cash
+ * @param shares     shares held (0 while flat)
+ * @param open       whether a position is open
+ * @param entryIndex bar index of the open position's entry
+ * @param entryPrice fill price of the open position's entry
+ */
+public record SimulationState(double cash, double shares, boolean open, int entryIndex, double entryPrice) {
+
+    public static SimulationState flat(double cash) {
+        return new SimulationState(cash, 0.0, false, -1, 0.0);
+    }
+}
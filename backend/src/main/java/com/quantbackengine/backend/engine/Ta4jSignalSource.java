@@ -0,0 +1,48 @@
+package com.quantbackengine.backend.engine;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * Adapts a ta4j {@link Strategy} to {@link SignalSource}.
+ *
+ * <p>Rules may inspect the trading record (stop-loss, holding period, ...), so a
+ * {@link BaseTradingRecord} is kept in step with the engine. It only changes on
+ * entries and exits, never per bar.
+ */
+public class Ta4jSignalSource implements SignalSource {
+
+    private final Strategy strategy;
+    private final BarSeries series;
+    private final TradingRecord record = new BaseTradingRecord();
+    private final Num amount;
+
+    public Ta4jSignalSource(Strategy strategy, BarSeries series) {
+        this.strategy = strategy;
+        this.series = series;
+        this.amount = series.numOf(1);
+    }
+
+    @Override
+    public boolean shouldEnter(int index) {
+        return strategy.shouldEnter(index, record);
+    }
+
+    @Override
+    public boolean shouldExit(int index) {
+        return strategy.shouldExit(index, record);
+    }
+
+    @Override
+    public void onEnter(int index) {
+        record.enter(index, series.getBar(index).getClosePrice(), amount);
+    }
+
+    @Override
+    public void onExit(int index) {
+        record.exit(index, series.getBar(index).getClosePrice(), amount);
+    }
+}
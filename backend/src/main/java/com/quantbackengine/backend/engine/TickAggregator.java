@@ -0,0 +1,240 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolls trade and quote ticks into OHLCV bars of several intervals at once,
+ * per symbol, within a {@link TradingSession}.
+ *
+ * <p>Bar state lives in primitive columns indexed by symbol slot and
+ * interval, so a tick is a map lookup and a few array writes: nothing is
+ * allocated per tick once a symbol has been seen. Quotes contribute their
+ * mid price and no volume; ticks with a non-positive or non-finite price are
+ * ignored.
+ *
+ * <p>A bar completes when time reaches its end: the latest tick of any
+ * symbol, or {@link #advanceTo}, sets a watermark, and every bar ending at or
+ * before it is handed to the {@link BarListener}. A tick whose shortest bar
+ * has already completed is late and dropped whole, so each longer bar stays
+ * the exact sum of the shorter ones inside it. Ticks outside the session
+ * move the watermark but build no bars, so the last bar of a day completes
+ * at the close. Intervals with no ticks produce no bar.
+ *
+ * <p>Not thread-safe: one feed thread drives an instance.
+ */
+public final class TickAggregator implements TickSink {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final TradingSession session;
+    private final BarInterval[] intervals;
+    private final long[] intervalMillis;
+    private final BarListener listener;
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    private String[] symbols = new String[16];
+    // One entry per (symbol slot, interval): index slot * intervals.length + k
+    private long[] barStart;
+    private long[] barEnd;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private long[] volume;
+    private final long[] nextEnd;
+
+    // [dayStart, dayEnd, sessionOpen, sessionClose) of the day last looked up
+    private final long[] day = {NONE, NONE, NONE, NONE};
+    private long watermark = NONE;
+
+    private long ticks;
+    private long lateTicks;
+    private long outOfSessionTicks;
+    private long invalidTicks;
+    private long bars;
+
+    public TickAggregator(TradingSession session, List<BarInterval> intervals, BarListener listener) {
+        if (intervals.isEmpty()) {
+            throw new IllegalArgumentException("At least one bar interval is required");
+        }
+        this.session = session;
+        this.intervals = intervals.stream().distinct().sorted().toArray(BarInterval[]::new);
+        this.intervalMillis = Arrays.stream(this.intervals).mapToLong(BarInterval::millis).toArray();
+        this.listener = listener;
+        this.nextEnd = new long[this.intervals.length];
+        Arrays.fill(nextEnd, Long.MAX_VALUE);
+        int capacity = symbols.length * this.intervals.length;
+        barStart = new long[capacity];
+        Arrays.fill(barStart, NONE);
+        barEnd = new long[capacity];
+        Arrays.fill(barEnd, NONE);
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        volume = new long[capacity];
+    }
+
+    @Override
+    public void onTrade(String symbol, long epochMillis, double price, long size) {
+        onTick(symbol, epochMillis, price, Math.max(0, size));
+    }
+
+    @Override
+    public void onQuote(String symbol, long epochMillis, double bid, double ask) {
+        onTick(symbol, epochMillis, ask >= bid ? (bid + ask) / 2 : Double.NaN, 0);
+    }
+
+    private void onTick(String symbol, long t, double price, long size) {
+        ticks++;
+        if (!(price > 0) || price == Double.POSITIVE_INFINITY) {
+            invalidTicks++;
+            return;
+        }
+        if (!inSession(t)) {
+            outOfSessionTicks++;
+            advanceTo(t);
+            return;
+        }
+        long sessionOpen = day[2];
+        long sessionClose = day[3];
+        // the shortest bar ends first: if it has completed, so has this tick's moment
+        long fineStart = sessionOpen + Math.floorDiv(t - sessionOpen, intervalMillis[0]) * intervalMillis[0];
+        if (Math.min(fineStart + intervalMillis[0], sessionClose) <= watermark) {
+            lateTicks++;
+            return;
+        }
+        advanceTo(t);
+
+        int base = slotOf(symbol) * intervals.length;
+        for (int k = 0; k < intervals.length; k++) {
+            int i = base + k;
+            if (barStart[i] == NONE) {
+                long length = intervalMillis[k];
+                long start = sessionOpen + Math.floorDiv(t - sessionOpen, length) * length;
+                long end = Math.min(start + length, sessionClose);
+                barStart[i] = start;
+                barEnd[i] = end;
+                open[i] = price;
+                high[i] = price;
+                low[i] = price;
+                close[i] = price;
+                volume[i] = size;
+                if (end < nextEnd[k]) {
+                    nextEnd[k] = end;
+                }
+            } else {
+                if (price > high[i]) {
+                    high[i] = price;
+                }
+                if (price < low[i]) {
+                    low[i] = price;
+                }
+                close[i] = price;
+                volume[i] += size;
+            }
+        }
+    }
+
+    /**
+     * Complete every bar ending at or before {@code epochMillis}.
+     */
+    @Override
+    public void advanceTo(long epochMillis) {
+        if (epochMillis <= watermark) {
+            return;
+        }
+        watermark = epochMillis;
+        int count = intervals.length;
+        for (int k = 0; k < count; k++) {
+            if (nextEnd[k] > epochMillis) {
+                continue;
+            }
+            long earliest = Long.MAX_VALUE;
+            int size = slots.size() * count;
+            for (int i = k; i < size; i += count) {
+                if (barStart[i] == NONE) {
+                    continue;
+                }
+                if (barEnd[i] <= epochMillis) {
+                    complete(i, k);
+                } else if (barEnd[i] < earliest) {
+                    earliest = barEnd[i];
+                }
+            }
+            nextEnd[k] = earliest;
+        }
+    }
+
+    /**
+     * End of stream: complete every bar still open, as it stands.
+     */
+    public void flush() {
+        int count = intervals.length;
+        int size = slots.size() * count;
+        for (int i = 0; i < size; i++) {
+            if (barStart[i] != NONE) {
+                complete(i, i % count);
+            }
+        }
+        Arrays.fill(nextEnd, Long.MAX_VALUE);
+    }
+
+    private void complete(int i, int k) {
+        bars++;
+        long start = barStart[i];
+        barStart[i] = NONE;
+        listener.onBar(intervals[k], symbols[i / intervals.length], start,
+                open[i], high[i], low[i], close[i], volume[i]);
+    }
+
+    private boolean inSession(long t) {
+        if (t < day[0] || t >= day[1]) {
+            session.bounds(session.dateOf(t), day);
+        }
+        return t >= day[2] && t < day[3];
+    }
+
+    private int slotOf(String symbol) {
+        Integer slot = slots.get(symbol);
+        if (slot != null) {
+            return slot;
+        }
+        int next = slots.size();
+        if (next == symbols.length) {
+            grow();
+        }
+        symbols[next] = symbol;
+        slots.put(symbol, next);
+        return next;
+    }
+
+    private void grow() {
+        int previous = barStart.length;
+        symbols = Arrays.copyOf(symbols, symbols.length * 2);
+        int capacity = symbols.length * intervals.length;
+        barStart = Arrays.copyOf(barStart, capacity);
+        Arrays.fill(barStart, previous, capacity, NONE);
+        barEnd = Arrays.copyOf(barEnd, capacity);
+        Arrays.fill(barEnd, previous, capacity, NONE);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+    }
+
+    public Stats stats() {
+        return new Stats(slots.size(), ticks, lateTicks, outOfSessionTicks, invalidTicks, bars);
+    }
+
+    /**
+     * Counts since construction; {@code ticks} includes every kind dropped.
+     */
+    public record Stats(int symbols, long ticks, long lateTicks, long outOfSessionTicks, long invalidTicks,
+                        long bars) {
+    }
+}
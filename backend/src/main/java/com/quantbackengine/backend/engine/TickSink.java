@@ -0,0 +1,18 @@
+package com.quantbackengine.backend.engine;
+
+/**
+ * Receives ticks in time order. Primitive arguments, so a feed can deliver
+ * them without allocating.
+ */
+public interface TickSink {
+
+    void onTrade(String symbol, long epochMillis, double price, long size);
+
+    void onQuote(String symbol, long epochMillis, double bid, double ask);
+
+    /**
+     * No tick after {@code epochMillis} will be earlier than it: bars ending
+     * by then can close even if their symbol has gone quiet.
+     */
+    void advanceTo(long epochMillis);
+}
@@ -0,0 +1,88 @@
+package com.quantbackengine.backend.engine;
+
+import java.util.Arrays;
+
+/**
+ * Closed round trips as parallel primitive arrays. Grows by doubling;
+ * DTOs are only built from it at the API boundary.
+ */
+public final class TradeLog {
+
+    private int size;
+    private int[] entryIndex;
+    private int[] exitIndex;
+    private double[] entryPrice;
+    private double[] exitPrice;
+    private double[] shares;
+    private double[] pnl;
+    private double[] commission;
+
+    public TradeLog(int initialCapacity) {
+        int cap = Math.max(initialCapacity, 4);
+        entryIndex = new int[cap];
+        exitIndex = new int[cap];
+        entryPrice = new double[cap];
+        exitPrice = new double[cap];
+        shares = new double[cap];
+        pnl = new double[cap];
+        commission = new double[cap];
+    }
+
+    void add(int entryIdx, int exitIdx, double entryPx, double exitPx,
+             double qty, double profit, double fee) {
+        if (size == entryIndex.length) {
+            grow();
+        }
+        entryIndex[size] = entryIdx;
+        exitIndex[size] = exitIdx;
+        entryPrice[size] = entryPx;
+        exitPrice[size] = exitPx;
+        shares[size] = qty;
+        pnl[size] = profit;
+        commission[size] = fee;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int entryIndex(int i) {
+        return entryIndex[i];
+    }
+
+    public int exitIndex(int i) {
+        return exitIndex[i];
+    }
+
+    public double entryPrice(int i) {
+        return entryPrice[i];
+    }
+
+    public double exitPrice(int i) {
+        return exitPrice[i];
+    }
+
+    public double shares(int i) {
+        return shares[i];
+    }
+
+    public double pnl(int i) {
+        return pnl[i];
+    }
+
+    public double commission(int i) {
+        return commission[i];
+    }
+
+    private void grow() {
+        int cap = entryIndex.length << 1;
+        entryIndex = Arrays.copyOf(entryIndex, cap);
+        exitIndex = Arrays.copyOf(exitIndex, cap);
+        entryPrice = Arrays.copyOf(entryPrice, cap);
+        exitPrice = Arrays.copyOf(exitPrice, cap);
+        shares = Arrays.copyOf(shares, cap);
+        pnl = Arrays.copyOf(pnl, cap);
+        commission = Arrays.copyOf(commission, cap);
+    }
+}
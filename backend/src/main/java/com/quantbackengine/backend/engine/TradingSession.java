@@ -0,0 +1,58 @@
+package com.quantbackengine.backend.engine;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * The daily trading window bars are built within: {@code open} to
+ * {@code close} local time in {@code zone}, or the whole calendar day when
+ * the two are equal (markets that never close). Bars are anchored at the
+ * open, so an hour bar of a 09:30 session runs 09:30 to 10:30, and the last
+ * bar of the day is cut short at the close rather than running into the
+ * next session.
+ */
+public record TradingSession(ZoneId zone, LocalTime open, LocalTime close) {
+
+    public TradingSession {
+        if (close.isBefore(open)) {
+            throw new IllegalArgumentException("Session must close after it opens: " + open + "-" + close);
+        }
+    }
+
+    /**
+     * Around the clock, UTC days.
+     */
+    public static TradingSession allDay() {
+        return new TradingSession(ZoneId.of("UTC"), LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+    }
+
+    public boolean isAllDay() {
+        return open.equals(close);
+    }
+
+    /**
+     * The local date {@code epochMillis} falls on in the session's zone.
+     */
+    public LocalDate dateOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+    }
+
+    /**
+     * Writes {@code [dayStart, dayEnd, sessionOpen, sessionClose)} of
+     * {@code date}, in epoch millis, to {@code bounds}. Across a daylight
+     * saving change the day is 23 or 25 hours long.
+     */
+    public void bounds(LocalDate date, long[] bounds) {
+        bounds[0] = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        bounds[1] = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        if (isAllDay()) {
+            bounds[2] = bounds[0];
+            bounds[3] = bounds[1];
+        } else {
+            bounds[2] = date.atTime(open).atZone(zone).toInstant().toEpochMilli();
+            bounds[3] = date.atTime(close).atZone(zone).toInstant().toEpochMilli();
+        }
+    }
+}
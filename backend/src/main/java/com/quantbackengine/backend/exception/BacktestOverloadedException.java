@@ -0,0 +1,13 @@
+package com.quantbackengine.backend.exception;
+
+/**
+ * Thrown when admission control cannot fit a backtest into the memory and
+ * CPU budget in time. Maps to HTTP 429 — the request itself is fine and may
+ * be retried once running backtests finish.
+ */
+public class BacktestOverloadedException extends RuntimeException {
+
+    public BacktestOverloadedException(String reason) {
+        super("Backtest capacity exhausted (" + reason + ") — retry later");
+    }
+}
@@ -0,0 +1,13 @@
+package com.quantbackengine.backend.exception;
+
+/**
+ * Thrown when a backtest job is submitted while every worker is busy and the
+ * queue is at {@code backtest.jobs.queue-depth}. Maps to HTTP 429 — clients
+ * should retry later rather than wait behind an ever-growing backlog.
+ */
+public class BacktestQueueFullException extends RuntimeException {
+
+    public BacktestQueueFullException(int queueDepth) {
+        super("Backtest job queue is full (" + queueDepth + " waiting) — retry later");
+    }
+}
@@ -55,6 +55,15 @@ public class GlobalExceptionHandler {
                 "message", ex.getMessage()));
     }
 
+    @ExceptionHandler({BacktestQueueFullException.class, BacktestOverloadedException.class})
+    public ResponseEntity<Map<String, Object>> handleBacktestCapacity(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                "error", "Too Many Requests",
+                "message", ex.getMessage()));
+    }
+
     @ExceptionHandler(MlLabDisabledException.class)
     public ResponseEntity<Map<String, Object>> handleMlLabDisabled(MlLabDisabledException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
@@ -84,6 +93,16 @@ public class GlobalExceptionHandler {
                 "cachedSymbols", ex.getCachedSymbols()));
     }
 
+    @ExceptionHandler(java.util.concurrent.CancellationException.class)
+    public ResponseEntity<Map<String, Object>> handleCancellation(java.util.concurrent.CancellationException ex) {
+        log.warn("Request cancelled: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "error", "Service Unavailable",
+                "message", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalState(IllegalStateException ex) {
         log.warn("Invalid state: {}", ex.getMessage());
@@ -0,0 +1,14 @@
+package com.quantbackengine.backend.repository;
+
+import com.quantbackengine.backend.domain.BacktestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BacktestRunRepository extends JpaRepository<BacktestRun, String> {
+
+    List<BacktestRun> findTop50ByOrderByCreatedAtDesc();
+
+    List<BacktestRun> findByStatusIn(Collection<BacktestRun.Status> statuses);
+}
@@ -0,0 +1,33 @@
+package com.quantbackengine.backend.repository;
+
+import com.quantbackengine.backend.domain.IntradayMarketData;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistence for intraday bars keyed by (symbol, interval, timestamp).
+ */
+public interface IntradayMarketDataRepository extends JpaRepository<IntradayMarketData, String> {
+
+    List<IntradayMarketData> findBySymbolAndIntervalSecondsAndTimestampBetweenOrderByTimestampAsc(
+            String symbol, Integer intervalSeconds, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Keys already stored for a batch about to be written, from one query.
+     */
+    List<BarKey> findBySymbolInAndTimestampBetween(Collection<String> symbols, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Projection of the unique key only.
+     */
+    interface BarKey {
+        String getSymbol();
+
+        Integer getIntervalSeconds();
+
+        LocalDateTime getTimestamp();
+    }
+}
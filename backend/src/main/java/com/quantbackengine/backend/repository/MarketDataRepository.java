@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,6 +16,12 @@ public interface MarketDataRepository extends JpaRepository<MarketData, String>
     List<MarketData> findBySymbolAndTimestampBetweenOrderByTimestampAsc(
             String symbol, LocalDateTime from, LocalDateTime to);
 
+    /**
+     * One round trip for a whole universe; rows come grouped by symbol, time-ordered within each.
+     */
+    List<MarketData> findBySymbolInAndTimestampBetweenOrderBySymbolAscTimestampAsc(
+            Collection<String> symbols, LocalDateTime from, LocalDateTime to);
+
     @Query("select distinct m.symbol from MarketData m order by m.symbol")
     List<String> findDistinctSymbols();
 }
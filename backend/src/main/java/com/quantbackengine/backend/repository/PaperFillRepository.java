@@ -0,0 +1,26 @@
+package com.quantbackengine.backend.repository;
+
+import com.quantbackengine.backend.domain.PaperFill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Persistence for paper trading fills keyed by journal sequence.
+ */
+public interface PaperFillRepository extends JpaRepository<PaperFill, String> {
+
+    List<PaperFill> findByAccountIdOrderBySequenceAsc(String accountId);
+
+    /**
+     * Sequences already stored for a batch about to be written, from one query.
+     */
+    List<SequenceOnly> findBySequenceBetween(Long from, Long to);
+
+    /**
+     * Projection of the journal sequence only.
+     */
+    interface SequenceOnly {
+        Long getSequence();
+    }
+}
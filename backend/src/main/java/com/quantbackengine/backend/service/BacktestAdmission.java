@@ -0,0 +1,307 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.AdmissionStatsDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.exception.BacktestOverloadedException;
+import com.quantbackengine.backend.strategy.PythonStrategyAdapter;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.strategy.VectorizedStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost-based admission control for backtests and the other jobs that load
+ * daily series: batches, portfolios, sweeps, walk-forwards and pair scans.
+ *
+ * <p>Each run is estimated from its bar count, the way its strategy computes
+ * signals and how much of the series its response returns, in heap bytes
+ * and CPU milliseconds. Runs hold their estimate against a global budget
+ * until they finish: a run that fits is admitted at once, one that does not
+ * waits up to {@code backtest.admission.queue-timeout-ms} (at most
+ * {@code backtest.admission.max-queued} wait at a time) and is then rejected
+ * with {@link BacktestOverloadedException}. A run that could never fit is
+ * rejected up front as a bad request.
+ *
+ * <p>The first estimate is made from the date range before any data is
+ * loaded; once the bars are in, {@link Ticket#actualBars} re-checks it with
+ * the real count. A job over many series holds all of them at once, so it
+ * reserves their bars summed.
+ *
+ * <p>A waiting run still honours the caller's {@link CancellationToken}, so
+ * a cancelled job or an expired request deadline leaves the line promptly.
+ *
+ * <p>The constants are deliberately coarse: measured for daily bars on the
+ * columnar engine and rounded up.
+ */
+@Component
+@Slf4j
+public class BacktestAdmission {
+
+    static final long BASE_BYTES = 64 * 1024;
+    // Rows read from the DB or bridge while building the columns, plus the columns
+    static final long LOAD_BYTES_PER_BAR = 450;
+    // Equity curve, signal bit sets and indicator arrays
+    static final long VECTOR_BYTES_PER_BAR = 120;
+    // ta4j bar series with Num values and its cached indicators
+    static final long TA4J_BYTES_PER_BAR = 700;
+    // Candle and equity DTOs plus their JSON
+    static final long RESPONSE_BYTES_PER_POINT = 300;
+    static final long PYTHON_PROCESS_BYTES = 64L * 1024 * 1024;
+    static final long PYTHON_BYTES_PER_BAR = 500;
+
+    static final long LOAD_NANOS_PER_BAR = 4_000;
+    static final long VECTOR_NANOS_PER_BAR = 300;
+    static final long TA4J_NANOS_PER_BAR = 3_000;
+    static final long RESPONSE_NANOS_PER_POINT = 1_500;
+    static final long PYTHON_PROCESS_MILLIS = 1_500;
+    static final long PYTHON_NANOS_PER_BAR = 20_000;
+
+    static final long CANCELLATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final long memoryBudgetBytes;
+    private final long cpuBudgetMillis;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+
+    private long usedBytes;
+    private long usedCpuMillis;
+    private int running;
+    private int queued;
+    private long admitted;
+    private long waited;
+    private long rejected;
+
+    /**
+     * @param memoryBudgetBytes bytes admitted runs may hold in total; 0 for half the max heap
+     * @param cpuBudgetMillis   estimated CPU milliseconds admitted runs may hold in total; 0 for
+     *                          30 seconds per available core
+     */
+    public BacktestAdmission(@Value("${backtest.admission.memory-budget-bytes:0}") long memoryBudgetBytes,
+                             @Value("${backtest.admission.cpu-budget-ms:0}") long cpuBudgetMillis,
+                             @Value("${backtest.admission.max-queued:16}") int maxQueued,
+                             @Value("${backtest.admission.queue-timeout-ms:10000}") long queueTimeoutMillis) {
+        this.memoryBudgetBytes = memoryBudgetBytes > 0 ? memoryBudgetBytes : Runtime.getRuntime().maxMemory() / 2;
+        this.cpuBudgetMillis = cpuBudgetMillis > 0
+                ? cpuBudgetMillis
+                : 30_000L * Runtime.getRuntime().availableProcessors();
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    /**
+     * Heap bytes and CPU milliseconds a run is expected to need.
+     */
+    public record Cost(long bytes, long cpuMillis) {
+    }
+
+    /**
+     * @param strategy  {@code null} for work on the columns alone, such as a
+     *                  pair scan, costed like a vectorized strategy
+     * @param maxPoints the request's response cap; {@code null} for every bar
+     * @param streamed  whether the response is written out as it is produced
+     *                  instead of being built in memory
+     */
+    public static Cost estimate(TradingStrategy strategy, int bars, Integer maxPoints, boolean streamed) {
+        long points = streamed ? 0 : (maxPoints != null ? Math.min(bars, maxPoints) : bars);
+        long bytes = BASE_BYTES + points * RESPONSE_BYTES_PER_POINT;
+        long nanos = points * RESPONSE_NANOS_PER_POINT;
+        if (strategy instanceof PythonStrategyAdapter) {
+            bytes += PYTHON_PROCESS_BYTES + bars * PYTHON_BYTES_PER_BAR;
+            nanos += PYTHON_PROCESS_MILLIS * 1_000_000 + bars * PYTHON_NANOS_PER_BAR;
+        } else if (strategy == null || strategy instanceof VectorizedStrategy) {
+            bytes += bars * (LOAD_BYTES_PER_BAR + VECTOR_BYTES_PER_BAR);
+            nanos += bars * (LOAD_NANOS_PER_BAR + VECTOR_NANOS_PER_BAR);
+        } else {
+            bytes += bars * (LOAD_BYTES_PER_BAR + VECTOR_BYTES_PER_BAR + TA4J_BYTES_PER_BAR);
+            nanos += bars * (LOAD_NANOS_PER_BAR + VECTOR_NANOS_PER_BAR + TA4J_NANOS_PER_BAR);
+        }
+        return new Cost(bytes, Math.max(1, nanos / 1_000_000));
+    }
+
+    /**
+     * Daily bars a date range is expected to hold, before any are loaded:
+     * about 252 trading days a year, nothing past today.
+     */
+    public static int estimateBars(LocalDate start, LocalDate end) {
+        LocalDate today = LocalDate.now();
+        long days = ChronoUnit.DAYS.between(start, end.isAfter(today) ? today : end) + 1;
+        return days > 0 ? (int) Math.min(Integer.MAX_VALUE, days * 252 / 365 + 1) : 0;
+    }
+
+    /**
+     * {@link #estimateBars(LocalDate, LocalDate)} for each of {@code series}
+     * series over the range, summed.
+     */
+    public static int estimateBars(LocalDate start, LocalDate end, int series) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) estimateBars(start, end) * series);
+    }
+
+    /**
+     * Bars loaded across {@code series}, for {@link Ticket#actualBars}.
+     */
+    public static int totalBars(Collection<BarColumns> series) {
+        long bars = 0;
+        for (BarColumns columns : series) {
+            bars += columns.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bars);
+    }
+
+    /**
+     * Reserve the estimated cost of a run, waiting for capacity if needed.
+     * The returned ticket must be closed when the run's output is done.
+     *
+     * @throws IllegalArgumentException    if the run exceeds the whole budget
+     * @throws BacktestOverloadedException if no capacity frees up in time
+     * @throws java.util.concurrent.CancellationException if the current token is cancelled while waiting
+     */
+    public synchronized Ticket admit(TradingStrategy strategy, int bars, Integer maxPoints, boolean streamed) {
+        Cost cost = estimate(strategy, bars, maxPoints, streamed);
+        requireWithinBudget(cost, bars);
+
+        if (!fits(cost)) {
+            if (queued >= maxQueued) {
+                throw overloaded("too many backtests waiting");
+            }
+            queued++;
+            waited++;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+            CancellationToken cancellation = CancellationToken.current();
+            try {
+                while (!fits(cost)) {
+                    cancellation.throwIfCancelled();
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw overloaded("no capacity within " + queueTimeoutMillis + " ms");
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.min(remaining, CANCELLATION_POLL_NANOS));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw overloaded("interrupted while waiting");
+            } finally {
+                queued--;
+            }
+        }
+
+        usedBytes += cost.bytes();
+        usedCpuMillis += cost.cpuMillis();
+        running++;
+        admitted++;
+        return new Ticket(strategy, maxPoints, streamed, cost);
+    }
+
+    public synchronized AdmissionStatsDto stats() {
+        return AdmissionStatsDto.builder()
+                .memoryBudgetBytes(memoryBudgetBytes)
+                .memoryUsedBytes(usedBytes)
+                .cpuBudgetMillis(cpuBudgetMillis)
+                .cpuUsedMillis(usedCpuMillis)
+                .running(running)
+                .queued(queued)
+                .admitted(admitted)
+                .waited(waited)
+                .rejected(rejected)
+                .build();
+    }
+
+    private boolean fits(Cost cost) {
+        return cost.bytes() <= memoryBudgetBytes - usedBytes && cost.cpuMillis() <= cpuBudgetMillis - usedCpuMillis;
+    }
+
+    private void requireWithinBudget(Cost cost, int bars) {
+        if (cost.bytes() > memoryBudgetBytes || cost.cpuMillis() > cpuBudgetMillis) {
+            rejected++;
+            throw new IllegalArgumentException(String.format(
+                    "Backtest too large: %d bars need an estimated %d MB and %d ms of CPU, over the budget of "
+                            + "%d MB and %d ms; narrow the date range or symbols, or set maxPoints",
+                    bars, cost.bytes() >> 20, cost.cpuMillis(), memoryBudgetBytes >> 20, cpuBudgetMillis));
+        }
+    }
+
+    private BacktestOverloadedException overloaded(String reason) {
+        rejected++;
+        log.warn("Backtest rejected: {} ({} running, {} MB of {} MB in use)",
+                reason, running, usedBytes >> 20, memoryBudgetBytes >> 20);
+        return new BacktestOverloadedException(reason);
+    }
+
+    private synchronized void release(Cost cost) {
+        usedBytes -= cost.bytes();
+        usedCpuMillis -= cost.cpuMillis();
+        notifyAll();
+    }
+
+    /**
+     * An admitted run's reservation. Closing it more than once is harmless.
+     */
+    public final class Ticket implements AutoCloseable {
+
+        private final TradingStrategy strategy;
+        private final Integer maxPoints;
+        private final boolean streamed;
+        private Cost cost;
+        private boolean closed;
+
+        private Ticket(TradingStrategy strategy, Integer maxPoints, boolean streamed, Cost cost) {
+            this.strategy = strategy;
+            this.maxPoints = maxPoints;
+            this.streamed = streamed;
+            this.cost = cost;
+        }
+
+        public Cost cost() {
+            return cost;
+        }
+
+        /**
+         * Re-check the reservation against the bars actually loaded. A
+         * smaller run hands the difference back; a larger one takes more if
+         * it is free right now — the data is already in memory, so it does
+         * not wait — and is otherwise rejected, releasing the ticket.
+         */
+        public void actualBars(int bars) {
+            Cost actual = estimate(strategy, bars, maxPoints, streamed);
+            synchronized (BacktestAdmission.this) {
+                if (closed) {
+                    return;
+                }
+                try {
+                    requireWithinBudget(actual, bars);
+                    long extraBytes = actual.bytes() - cost.bytes();
+                    long extraCpu = actual.cpuMillis() - cost.cpuMillis();
+                    if (extraBytes > memoryBudgetBytes - usedBytes || extraCpu > cpuBudgetMillis - usedCpuMillis) {
+                        throw overloaded("loaded series is larger than estimated");
+                    }
+                    usedBytes += extraBytes;
+                    usedCpuMillis += extraCpu;
+                    cost = actual;
+                    if (extraBytes < 0 || extraCpu < 0) {
+                        BacktestAdmission.this.notifyAll();
+                    }
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (BacktestAdmission.this) {
+                if (!closed) {
+                    closed = true;
+                    running--;
+                    release(cost);
+                }
+            }
+        }
+    }
+}
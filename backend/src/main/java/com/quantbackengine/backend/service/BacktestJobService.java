@@ -0,0 +1,207 @@
+package com.quantbackengine.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantbackengine.backend.domain.BacktestRun;
+import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.exception.BacktestQueueFullException;
+import com.quantbackengine.backend.repository.BacktestRunRepository;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Asynchronous backtests: persists each submitted request as a QUEUED
+ * {@link BacktestRun}, runs it on the bounded {@code backtestJobExecutor} and
+ * records the outcome. A submission that finds the queue full is rejected
+ * with {@link BacktestQueueFullException} and leaves no row behind.
+ *
+ * <p>Each running job has a {@link CancellationToken} with a deadline of
+ * {@code backtest.jobs.timeout-ms}; {@link #cancel} trips it, or marks a job
+ * that has not started yet so the worker skips it.
+ */
+@Service
+@Slf4j
+public class BacktestJobService {
+
+    private static final EnumSet<BacktestRun.Status> ACTIVE =
+            EnumSet.of(BacktestRun.Status.QUEUED, BacktestRun.Status.RUNNING);
+    private static final int MAX_SYMBOL_LENGTH = 10;
+    private static final int MAX_STRATEGY_LENGTH = 50;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BacktestRunRepository runRepository;
+    private final BacktestService backtestService;
+    private final StrategyRegistry strategyRegistry;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Map<String, CancellationToken> running = new ConcurrentHashMap<>();
+
+    public BacktestJobService(BacktestRunRepository runRepository,
+                              BacktestService backtestService,
+                              StrategyRegistry strategyRegistry,
+                              ObjectMapper objectMapper,
+                              @Qualifier("backtestJobExecutor") ThreadPoolExecutor executor,
+                              @Value("${backtest.jobs.timeout-ms:600000}") long timeoutMillis) {
+        this.runRepository = runRepository;
+        this.backtestService = backtestService;
+        this.strategyRegistry = strategyRegistry;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    public BacktestRun submit(BacktestRequest request) {
+        if (!strategyRegistry.hasStrategy(request.getStrategy())) {
+            throw new IllegalArgumentException("Unknown strategy: " + request.getStrategy());
+        }
+        if (request.getSymbol().length() > MAX_SYMBOL_LENGTH) {
+            throw new IllegalArgumentException("Symbol must be at most " + MAX_SYMBOL_LENGTH + " characters");
+        }
+        if (request.getStrategy().length() > MAX_STRATEGY_LENGTH) {
+            throw new IllegalArgumentException("Strategy must be at most " + MAX_STRATEGY_LENGTH + " characters");
+        }
+
+        BacktestRun run = runRepository.save(BacktestRun.builder()
+                .status(BacktestRun.Status.QUEUED)
+                .symbol(request.getSymbol())
+                .strategyName(request.getStrategy())
+                .parameters(request.getParameters())
+                .startDate(request.getStartDate().atStartOfDay())
+                .endDate(request.getEndDate().atStartOfDay())
+                .requestJson(writeJson(request))
+                .build());
+
+        try {
+            executor.execute(() -> executeRun(run.getId(), request));
+        } catch (RejectedExecutionException e) {
+            runRepository.delete(run);
+            log.warn("Backtest job for {} rejected: queue full", request.getSymbol());
+            throw new BacktestQueueFullException(executor.getQueue().size());
+        }
+        return run;
+    }
+
+    public BacktestRun getRun(String id) {
+        return runRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Unknown backtest job: " + id));
+    }
+
+    public List<BacktestRun> listRuns() {
+        return runRepository.findTop50ByOrderByCreatedAtDesc();
+    }
+
+    /**
+     * Cancel a job: one still QUEUED is marked CANCELLED at once, a RUNNING
+     * one stops at its next cancellation check. Finished jobs are left as
+     * they are.
+     */
+    public synchronized BacktestRun cancel(String id) {
+        BacktestRun run = getRun(id);
+        if (run.getStatus() == BacktestRun.Status.QUEUED) {
+            run.setStatus(BacktestRun.Status.CANCELLED);
+            run.setErrorMessage("Cancelled before it started");
+            run.setFinishedAt(LocalDateTime.now());
+            return runRepository.save(run);
+        }
+        CancellationToken cancellation = running.get(id);
+        if (cancellation != null) {
+            cancellation.cancel("cancelled by request");
+            log.info("Backtest job {} cancellation requested", id);
+        }
+        return run;
+    }
+
+    /**
+     * Jobs persisted as QUEUED or RUNNING by a previous process never finish;
+     * mark them FAILED so pollers stop waiting.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedRuns() {
+        List<BacktestRun> stale = runRepository.findByStatusIn(ACTIVE);
+        for (BacktestRun run : stale) {
+            run.setStatus(BacktestRun.Status.FAILED);
+            run.setErrorMessage("Interrupted by a server restart");
+            run.setFinishedAt(LocalDateTime.now());
+        }
+        if (!stale.isEmpty()) {
+            runRepository.saveAll(stale);
+            log.info("Marked {} interrupted backtest jobs FAILED", stale.size());
+        }
+    }
+
+    // -------------------------------------------------------------------
+    // Async execution
+    // -------------------------------------------------------------------
+
+    void executeRun(String runId, BacktestRequest request) {
+        BacktestRun run;
+        CancellationToken cancellation = CancellationToken.withTimeout(timeout);
+        synchronized (this) {
+            run = runRepository.findById(runId).orElseThrow();
+            if (run.getStatus() != BacktestRun.Status.QUEUED) {
+                return; // cancelled while queued
+            }
+            run.setStatus(BacktestRun.Status.RUNNING);
+            run.setStartedAt(LocalDateTime.now());
+            runRepository.save(run);
+            running.put(runId, cancellation);
+        }
+
+        try (CancellationToken.Scope ignored = cancellation.bind()) {
+            BacktestResponse response = backtestService.runBacktest(request);
+            run.setMetrics(objectMapper.convertValue(response.getMetrics(), new TypeReference<Map<String, Object>>() {
+            }));
+            run.setResultJson(writeJson(response));
+            run.setStatus(BacktestRun.Status.DONE);
+            run.setFinishedAt(LocalDateTime.now());
+            runRepository.save(run);
+            log.info("Backtest job {} DONE", runId);
+        } catch (CancellationException e) {
+            finish(runId, BacktestRun.Status.CANCELLED, e.getMessage());
+        } catch (Exception e) {
+            finish(runId, BacktestRun.Status.FAILED,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            running.remove(runId);
+        }
+    }
+
+    private void finish(String runId, BacktestRun.Status status, String message) {
+        String truncated = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        runRepository.findById(runId).ifPresent(run -> {
+            run.setStatus(status);
+            run.setErrorMessage(truncated);
+            run.setFinishedAt(LocalDateTime.now());
+            runRepository.save(run);
+        });
+        log.warn("Backtest job {} {}: {}", runId, status, message);
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON serialization failed", e);
+        }
+    }
+}
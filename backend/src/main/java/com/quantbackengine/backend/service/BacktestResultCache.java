@@ -0,0 +1,264 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.dto.BacktestSnapshot;
+import com.quantbackengine.backend.dto.CacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache of complete {@link BacktestResponse}s.
+ *
+ * <p>Keys are a SHA-256 of the normalized request: sanitized symbol, dates,
+ * strategy id, parameters sorted by name (numbers compared by value, so
+ * {@code 10} and {@code 10.0} match), the resolved capital and commission,
+ * {@code maxPoints}, whether a snapshot was asked for, the rolling window and the
+ * benchmark. The cache is bounded by an estimate of the responses' heap size and
+ * evicts least-recently-used entries first.
+ *
+ * <p>When market data is written ({@link MarketDataWrittenEvent}), entries
+ * for that symbol, as run symbol or benchmark, whose date range overlaps the
+ * written bars are dropped. Per-symbol generation counters stop a run that
+ * loaded its bars before such a write from caching its now stale result.
+ */
+@Component
+@Slf4j
+public class BacktestResultCache {
+
+    // Rough per-element heap cost of the response DTOs (object header, fields, boxed list slot)
+    private static final long BASE_BYTES = 1_024;
+    private static final long CANDLE_BYTES = 72;
+    private static final long EQUITY_POINT_BYTES = 48;
+    private static final long ROLLING_POINT_BYTES = 56;
+    private static final long TRADE_BYTES = 160;
+    private static final long SNAPSHOT_BYTES = 512;
+    // One element in each of the tail's six primitive columns
+    private static final long TAIL_BAR_BYTES = 6 * Long.BYTES;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Long> generations = new HashMap<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BacktestResultCache(@Value("${backtest.cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Return the cached response for {@code key}, or run {@code compute} and
+     * cache its result. Concurrent misses on the same key both compute; the
+     * results are identical, so the duplicate work is the only cost.
+     *
+     * <p>Every call gets its own response object, so setting its fields never
+     * reaches the cache, but its lists are unmodifiable and, with the DTOs in
+     * them, shared with the cache and every other caller: they must not be
+     * modified.
+     */
+    public BacktestResponse get(Key key, Supplier<BacktestResponse> compute) {
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(key.hash());
+            if (entry != null) {
+                hits.incrementAndGet();
+                return copy(entry.response());
+            }
+            misses.incrementAndGet();
+            generation = generation(key);
+        }
+
+        BacktestResponse response = freeze(compute.get());
+        put(key, response, generation);
+        return copy(response);
+    }
+
+    private static BacktestResponse freeze(BacktestResponse response) {
+        BacktestResponse frozen = copy(response);
+        frozen.setTrades(unmodifiable(response.getTrades()));
+        frozen.setEquityCurve(unmodifiable(response.getEquityCurve()));
+        frozen.setCandles(unmodifiable(response.getCandles()));
+        frozen.setRolling(unmodifiable(response.getRolling()));
+        return frozen;
+    }
+
+    private static <T> List<T> unmodifiable(List<T> list) {
+        return list != null ? List.copyOf(list) : null;
+    }
+
+    private static BacktestResponse copy(BacktestResponse response) {
+        return BacktestResponse.builder()
+                .id(response.getId())
+                .symbol(response.getSymbol())
+                .strategy(response.getStrategy())
+                .metrics(response.getMetrics())
+                .trades(response.getTrades())
+                .equityCurve(response.getEquityCurve())
+                .candles(response.getCandles())
+                .rolling(response.getRolling())
+                .benchmark(response.getBenchmark())
+                .snapshot(response.getSnapshot())
+                .build();
+    }
+
+    private synchronized void put(Key key, BacktestResponse response, long generation) {
+        if (maxBytes <= 0 || generation(key) != generation) {
+            return;
+        }
+        long size = estimateBytes(response);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key.hash(), new Entry(key, response, size));
+        if (previous != null) {
+            bytes -= previous.bytes();
+        }
+        bytes += size;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.bytes();
+            evictions.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public synchronized void onMarketDataWritten(MarketDataWrittenEvent event) {
+        generations.merge(event.symbol(), 1L, Long::sum);
+        int dropped = 0;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            Key key = entry.key();
+            if ((key.symbol().equals(event.symbol()) || event.symbol().equals(key.benchmark()))
+                    && !key.startDate().isAfter(event.to()) && !key.endDate().isBefore(event.from())) {
+                it.remove();
+                bytes -= entry.bytes();
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            invalidations.addAndGet(dropped);
+            log.info("Invalidated {} cached backtests for {} after new bars {}..{}",
+                    dropped, event.symbol(), event.from(), event.to());
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized CacheStatsDto stats() {
+        return CacheStatsDto.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .entries(entries.size())
+                .bytes(bytes)
+                .maxBytes(maxBytes)
+                .build();
+    }
+
+    // Counters only grow, so the sum changes whenever either does
+    private long generation(Key key) {
+        long generation = generations.getOrDefault(key.symbol(), 0L);
+        return key.benchmark() != null ? generation + generations.getOrDefault(key.benchmark(), 0L) : generation;
+    }
+
+    static long estimateBytes(BacktestResponse response) {
+        long size = BASE_BYTES;
+        if (response.getCandles() != null) {
+            size += CANDLE_BYTES * response.getCandles().size();
+        }
+        if (response.getEquityCurve() != null) {
+            size += EQUITY_POINT_BYTES * response.getEquityCurve().size();
+        }
+        if (response.getTrades() != null) {
+            size += TRADE_BYTES * response.getTrades().size();
+        }
+        if (response.getRolling() != null) {
+            size += ROLLING_POINT_BYTES * response.getRolling().size();
+        }
+        BacktestSnapshot snapshot = response.getSnapshot();
+        if (snapshot != null) {
+            size += SNAPSHOT_BYTES;
+            if (snapshot.getTail() != null && snapshot.getTail().getEpochMillis() != null) {
+                size += TAIL_BAR_BYTES * snapshot.getTail().getEpochMillis().length;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Build the key for {@code request} as run with the given resolved
+     * capital and commission.
+     */
+    public static Key key(BacktestRequest request, String strategyId, double initialCapital, double commissionRate) {
+        String symbol = MarketDataService.sanitize(request.getSymbol());
+        StringBuilder normalized = new StringBuilder()
+                .append(symbol).append('|')
+                .append(request.getStartDate()).append('|')
+                .append(request.getEndDate()).append('|')
+                .append(strategyId).append('|');
+        Map<String, Object> parameters = request.getParameters() != null ? request.getParameters() : Map.of();
+        new TreeMap<>(parameters).forEach((name, value) ->
+                normalized.append(name).append('=').append(normalizeValue(value)).append(';'));
+        normalized.append('|').append(normalizeValue(initialCapital))
+                .append('|').append(normalizeValue(commissionRate))
+                .append('|').append(request.getMaxPoints())
+                .append('|').append(Boolean.TRUE.equals(request.getIncludeSnapshot()))
+                .append('|').append(request.getRollingWindow());
+        String benchmark = request.getBenchmark() != null && !request.getBenchmark().isBlank()
+                ? MarketDataService.sanitize(request.getBenchmark())
+                : null;
+        normalized.append('|').append(benchmark);
+        return new Key(sha256(normalized.toString()), symbol, request.getStartDate(), request.getEndDate(), benchmark);
+    }
+
+    private static String normalizeValue(Object value) {
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Key(String hash, String symbol, LocalDate startDate, LocalDate endDate, String benchmark) {
+    }
+
+    private record Entry(Key key, BacktestResponse response, long bytes) {
+    }
+}
@@ -3,18 +3,45 @@ package com.quantbackengine.backend.service;
 import com.quantbackengine.backend.dto.BacktestRequest;
 import com.quantbackengine.backend.dto.BacktestResponse;
 import com.quantbackengine.backend.dto.BacktestResponse.*;
+import com.quantbackengine.backend.dto.BacktestSnapshot;
+import com.quantbackengine.backend.dto.BacktestSnapshot.TailBars;
+import com.quantbackengine.backend.dto.BacktestStreamEvent;
+import com.quantbackengine.backend.dto.ContinueBacktestRequest;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.Downsampler;
+import com.quantbackengine.backend.engine.PrecomputedSignals;
+import com.quantbackengine.backend.engine.SignalSource;
+import com.quantbackengine.backend.engine.SimulationListener;
+import com.quantbackengine.backend.engine.SimulationEngine;
+import com.quantbackengine.backend.engine.SimulationResult;
+import com.quantbackengine.backend.engine.SimulationState;
+import com.quantbackengine.backend.engine.Ta4jSignalSource;
+import com.quantbackengine.backend.engine.TradeLog;
+import com.quantbackengine.backend.strategy.PairsTradingStrategy;
 import com.quantbackengine.backend.strategy.PythonStrategyAdapter;
 import com.quantbackengine.backend.strategy.StrategyRegistry;
 import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.strategy.VectorizedStrategy;
+import com.quantbackengine.backend.util.BenchmarkAccumulator;
+import com.quantbackengine.backend.util.MetricsAccumulator;
 import com.quantbackengine.backend.util.MetricsCalculator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.ta4j.core.*;
-import org.ta4j.core.num.Num;
-
-import java.util.*;
+import org.ta4j.core.BarSeries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Core backtesting service.
@@ -27,6 +54,10 @@ public class BacktestService {
 
     private final StrategyRegistry strategyRegistry;
     private final MarketDataService marketDataService;
+    private final BacktestResultCache resultCache;
+    private final IndicatorCaches indicatorCaches;
+    private final BacktestAdmission admission;
+    private final BenchmarkCache benchmarkCache;
 
     @Value("${backtest.default.initial-capital:100000.0}")
     private double defaultInitialCapital;
@@ -39,155 +70,679 @@ public class BacktestService {
 
     /**
      * Run a backtest based on the provided request.
+     *
+     * <p>Built-in strategies are served from {@link BacktestResultCache} when
+     * an identical request has already been run over unchanged bars. Python
+     * strategies fetch their own data in the bridge and are never cached.
+     *
+     * <p>Runs that are not served from the cache go through
+     * {@link BacktestAdmission} first.
      */
     public BacktestResponse runBacktest(BacktestRequest request) {
         log.info("Starting backtest for {} with strategy {}", request.getSymbol(), request.getStrategy());
 
-        // Validate strategy
-        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategy())
-                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + request.getStrategy()));
+        TradingStrategy strategy = resolveStrategy(request);
+        int lookback = Boolean.TRUE.equals(request.getIncludeSnapshot())
+                ? signalLookback(strategy, request.getParameters())
+                : 0;
 
         // fct: prefix → delegate entirely to PythonStrategyAdapter (no TA4J, no market data fetch)
         if (strategy instanceof PythonStrategyAdapter pythonAdapter) {
             log.info("Routing to PythonStrategyAdapter for strategy '{}'", request.getStrategy());
-            return pythonAdapter.runPythonBacktest(request);
+            try (BacktestAdmission.Ticket ignored = admit(strategy, request, false)) {
+                return downsample(pythonAdapter.runPythonBacktest(request), request.getMaxPoints());
+            }
+        }
+
+        double initialCapital = resolveInitialCapital(request.getInitialCapital());
+        double commissionRate = resolveCommissionRate(request.getCommissionRate());
+
+        return resultCache.get(
+                BacktestResultCache.key(request, strategy.getId(), initialCapital, commissionRate),
+                () -> {
+                    try (BacktestAdmission.Ticket ticket = admit(strategy, request, false)) {
+                        return runBacktest(request, strategy, initialCapital, commissionRate, lookback, ticket);
+                    }
+                });
+    }
+
+    /**
+     * @param lookback trailing bars to keep in the snapshot; 0 for no snapshot
+     */
+    private BacktestResponse runBacktest(BacktestRequest request, TradingStrategy strategy,
+                                         double initialCapital, double commissionRate, int lookback,
+                                         BacktestAdmission.Ticket ticket) {
+        BarColumns columns = loadColumns(request, ticket);
+        BenchmarkAccumulator benchmark = benchmarkFor(request);
+
+        SimulationResult result = simulate(strategy, columns, request.getParameters(), initialCapital, commissionRate);
+        TradeLog tradeLog = result.trades();
+        int rollingWindow = request.getRollingWindow() != null ? request.getRollingWindow() : 0;
+        MetricsAccumulator accumulator = new MetricsAccumulator(initialCapital, riskFreeRate, rollingWindow,
+                columns.size());
+        long[] epochMillis = columns.epochMillis();
+        double[] equity = result.equity();
+        for (int i = 0; i < equity.length; i++) {
+            accumulator.add(epochMillis[i], equity[i]);
+            if (benchmark != null) {
+                benchmark.add(epochMillis[i], equity[i]);
+            }
+        }
+        MetricsCalculator.addTrades(accumulator, epochMillis, tradeLog);
+        if (result.finalState().open()) {
+            accumulator.openPosition(epochMillis[result.finalState().entryIndex()]);
+        }
+        MetricsDto metrics = accumulator.result();
+        int[] chartPoints = chartPoints(columns, equity, request.getMaxPoints());
+
+        log.info("Backtest complete. Total Return: {}%", String.format("%.2f", metrics.getTotalReturn() * 100));
+
+        return BacktestResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .symbol(request.getSymbol())
+                .strategy(request.getStrategy())
+                .metrics(metrics)
+                .trades(toTradeDtos(columns, tradeLog))
+                .equityCurve(toEquityDtos(epochMillis, equity, chartPoints))
+                .candles(toCandleDtos(columns, request.getMaxPoints()))
+                .rolling(rollingWindow > 0
+                        ? toRollingDtos(epochMillis, accumulator.rollingSharpe(), accumulator.rollingVolatility(),
+                                chartPoints)
+                        : null)
+                .benchmark(benchmark != null ? benchmark.result() : null)
+                .snapshot(lookback > 0
+                        ? snapshot(BacktestSnapshot.builder()
+                                        .symbol(request.getSymbol())
+                                        .strategy(request.getStrategy())
+                                        .parameters(request.getParameters())
+                                        .startDate(request.getStartDate())
+                                        .initialCapital(initialCapital)
+                                        .commissionRate(commissionRate)
+                                        .totalTrades(tradeLog.size())
+                                        .winningTrades(result.winningTrades())
+                                        .losingTrades(result.losingTrades()),
+                                columns, result.finalState(),
+                                entryTime(epochMillis, result.finalState(), null), accumulator.state(), lookback)
+                        : null)
+                .build();
+    }
+
+    /**
+     * Extend a snapshotted run to {@code request.endDate}. Only bars after
+     * the snapshot's last bar are loaded; the strategy is rebuilt over the
+     * snapshot's tail plus those bars, and the simulation and metrics resume
+     * from the snapshot's totals. The cost is proportional to the strategy's
+     * lookback and the new bars, not to the length of the run.
+     *
+     * <p>The response carries the updated metrics, the trades closed and the
+     * equity points and candles of the new bars only, and a fresh snapshot.
+     */
+    public BacktestResponse continueBacktest(ContinueBacktestRequest request) {
+        BacktestSnapshot snapshot = request.getSnapshot();
+        TradingStrategy strategy = strategyRegistry.getStrategy(snapshot.getStrategy())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + snapshot.getStrategy()));
+        int lookback = signalLookback(strategy, snapshot.getParameters());
+        if (snapshot.isOpen() && snapshot.getEntryTime() == null) {
+            throw new IllegalArgumentException("Snapshot has an open position without an entry time");
+        }
+
+        BarColumns tail = fromTail(snapshot);
+        int newBars = BacktestAdmission.estimateBars(toDateTime(snapshot.getLastBarTime()).toLocalDate(),
+                request.getEndDate());
+        try (BacktestAdmission.Ticket ticket = admission.admit(strategy, tail.size() + newBars, null, false)) {
+            BarColumns window = appendNewBars(tail, snapshot.getLastBarTime(), request.getEndDate());
+            ticket.actualBars(window.size());
+            return resume(snapshot, strategy, lookback, window, tail.size());
+        }
+    }
+
+    /**
+     * The simulation half of {@link #continueBacktest}, over a window whose
+     * first {@code from} bars are the snapshot's tail.
+     */
+    private BacktestResponse resume(BacktestSnapshot snapshot, TradingStrategy strategy, int lookback,
+                                    BarColumns window, int from) {
+        log.info("Continuing {} {} from {} with {} new bars", snapshot.getSymbol(), snapshot.getStrategy(),
+                toDateTime(snapshot.getLastBarTime()), window.size() - from);
+
+        long[] epochMillis = window.epochMillis();
+        int entryIndex = snapshot.isOpen() ? Arrays.binarySearch(epochMillis, 0, from, snapshot.getEntryTime()) : -1;
+        SimulationState start = new SimulationState(snapshot.getCash(), snapshot.getShares(), snapshot.isOpen(),
+                Math.max(entryIndex, -1), snapshot.getEntryPrice());
+
+        MetricsAccumulator accumulator = MetricsAccumulator.restore(snapshot.getMetrics(),
+                snapshot.getInitialCapital(), riskFreeRate);
+        ContinuationListener listener = new ContinuationListener(epochMillis, accumulator, snapshot.getEntryTime());
+        SignalSource signals = signalSource(strategy, window, snapshot.getParameters());
+        SimulationState end = SimulationEngine.resume(window, signals, from, window.size(), start,
+                snapshot.getCommissionRate(), listener);
+        Long entryTime = entryTime(epochMillis, end, snapshot.getEntryTime());
+        if (entryTime != null) {
+            accumulator.openPosition(entryTime);
+        }
+
+        int trades = snapshot.getTotalTrades() + listener.trades.size();
+        int wins = snapshot.getWinningTrades() + listener.wins;
+        int losses = snapshot.getLosingTrades() + listener.losses;
+        List<CandleDto> candles = new ArrayList<>(window.size() - from);
+        for (int i = from; i < window.size(); i++) {
+            candles.add(toCandleDto(window, i));
         }
 
-        // Load market data
-        BarSeries series = marketDataService.getBarSeries(
+        return BacktestResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .symbol(snapshot.getSymbol())
+                .strategy(snapshot.getStrategy())
+                .metrics(accumulator.result())
+                .trades(listener.trades)
+                .equityCurve(listener.equity)
+                .candles(candles)
+                .snapshot(snapshot(BacktestSnapshot.builder()
+                                .symbol(snapshot.getSymbol())
+                                .strategy(snapshot.getStrategy())
+                                .parameters(snapshot.getParameters())
+                                .startDate(snapshot.getStartDate())
+                                .initialCapital(snapshot.getInitialCapital())
+                                .commissionRate(snapshot.getCommissionRate())
+                                .totalTrades(trades)
+                                .winningTrades(wins)
+                                .losingTrades(losses),
+                        window, end, entryTime, accumulator.state(), lookback))
+                .build();
+    }
+
+    private static int signalLookback(TradingStrategy strategy, Map<String, Object> parameters) {
+        return strategy.signalLookback(parameters).orElseThrow(() -> new IllegalArgumentException(
+                "Strategy " + strategy.getId() + " cannot be continued from a snapshot"));
+    }
+
+    /**
+     * Entry time of the position open at {@code end}, if any. One entered
+     * before the first bar keeps {@code carriedEntryTime}.
+     */
+    private static Long entryTime(long[] epochMillis, SimulationState end, Long carriedEntryTime) {
+        if (!end.open()) {
+            return null;
+        }
+        return end.entryIndex() >= 0 ? epochMillis[end.entryIndex()] : carriedEntryTime;
+    }
+
+    /**
+     * Fill in the end state of a run over {@code columns}.
+     */
+    private static BacktestSnapshot snapshot(BacktestSnapshot.BacktestSnapshotBuilder header, BarColumns columns,
+                                             SimulationState end, Long entryTime,
+                                             MetricsAccumulator.State metrics, int lookback) {
+        long[] epochMillis = columns.epochMillis();
+        int size = columns.size();
+        int from = Math.max(0, size - lookback);
+        return header
+                .lastBarTime(epochMillis[size - 1])
+                .cash(end.cash())
+                .shares(end.shares())
+                .open(end.open())
+                .entryTime(entryTime)
+                .entryPrice(end.entryPrice())
+                .metrics(metrics)
+                .tail(TailBars.builder()
+                        .barDuration(columns.barDuration())
+                        .epochMillis(Arrays.copyOfRange(epochMillis, from, size))
+                        .open(Arrays.copyOfRange(columns.open(), from, size))
+                        .high(Arrays.copyOfRange(columns.high(), from, size))
+                        .low(Arrays.copyOfRange(columns.low(), from, size))
+                        .close(Arrays.copyOfRange(columns.close(), from, size))
+                        .volume(Arrays.copyOfRange(columns.volume(), from, size))
+                        .build())
+                .build();
+    }
+
+    private static BarColumns fromTail(BacktestSnapshot snapshot) {
+        TailBars tail = snapshot.getTail();
+        long[] epochMillis = tail.getEpochMillis();
+        int size = epochMillis.length;
+        if (size == 0 || tail.getOpen().length != size || tail.getHigh().length != size
+                || tail.getLow().length != size || tail.getClose().length != size
+                || tail.getVolume().length != size || epochMillis[size - 1] != snapshot.getLastBarTime()) {
+            throw new IllegalArgumentException("Snapshot tail bars are inconsistent");
+        }
+        BarColumns.Builder columns = BarColumns.builder(snapshot.getSymbol(), tail.getBarDuration(), size);
+        for (int i = 0; i < size; i++) {
+            columns.add(epochMillis[i], tail.getOpen()[i], tail.getHigh()[i], tail.getLow()[i],
+                    tail.getClose()[i], tail.getVolume()[i]);
+        }
+        return columns.build();
+    }
+
+    /**
+     * {@code tail} followed by the stored bars after {@code lastBarTime} up
+     * to {@code endDate}; {@code tail} itself when there are none.
+     */
+    private BarColumns appendNewBars(BarColumns tail, long lastBarTime, LocalDate endDate) {
+        LocalDate lastDate = toDateTime(lastBarTime).toLocalDate();
+        if (!endDate.isAfter(lastDate)) {
+            return tail;
+        }
+        BarColumns loaded = marketDataService.getBarColumns(tail.symbol(), lastDate, endDate);
+        long[] loadedMillis = loaded.epochMillis();
+        int first = 0;
+        while (first < loaded.size() && loadedMillis[first] <= lastBarTime) {
+            first++;
+        }
+        if (first == loaded.size()) {
+            return tail;
+        }
+
+        BarColumns.Builder window = BarColumns.builder(tail.symbol(), tail.barDuration(),
+                tail.size() + loaded.size() - first);
+        for (int i = 0; i < tail.size(); i++) {
+            window.add(tail.epochMillis()[i], tail.open()[i], tail.high()[i], tail.low()[i],
+                    tail.close()[i], tail.volume()[i]);
+        }
+        for (int i = first; i < loaded.size(); i++) {
+            window.add(loadedMillis[i], loaded.open()[i], loaded.high()[i], loaded.low()[i],
+                    loaded.close()[i], loaded.volume()[i]);
+        }
+        return window.build();
+    }
+
+    /**
+     * Resolve and load everything a streamed run needs; errors are thrown
+     * here, before the caller commits a response. The returned stream
+     * simulates while it writes: one candle and one equity event per bar, a
+     * trade event at each exit and the metrics last. No per-bar output is
+     * buffered, so memory beyond the loaded bars does not grow with the
+     * bar count.
+     *
+     * <p>Python ({@code fct:}) strategies run in the bridge and return a
+     * complete response, which is replayed as the same events.
+     */
+    public BacktestStream prepareStream(BacktestRequest request) {
+        TradingStrategy strategy = resolveStrategy(request);
+        String id = UUID.randomUUID().toString();
+
+        if (strategy instanceof PythonStrategyAdapter pythonAdapter) {
+            BacktestResponse response;
+            try (BacktestAdmission.Ticket ignored = admit(strategy, request, false)) {
+                response = pythonAdapter.runPythonBacktest(request);
+            }
+            return sink -> replay(response, sink);
+        }
+
+        // Held until the stream is written out, not just until it is prepared
+        BacktestAdmission.Ticket ticket = admit(strategy, request, true);
+        BarColumns columns;
+        SignalSource signals;
+        try {
+            columns = loadColumns(request, ticket);
+            signals = signalSource(strategy, columns, request.getParameters());
+        } catch (RuntimeException e) {
+            ticket.close();
+            throw e;
+        }
+        double initialCapital = resolveInitialCapital(request.getInitialCapital());
+        double commissionRate = resolveCommissionRate(request.getCommissionRate());
+
+        return sink -> {
+            try {
+                sink.accept(BacktestStreamEvent.start(id, request.getSymbol(), request.getStrategy(), columns.size()));
+                MetricsAccumulator metrics = new MetricsAccumulator(initialCapital, riskFreeRate);
+                StreamingListener listener = new StreamingListener(columns, sink, metrics);
+                SimulationState end = SimulationEngine.run(columns, signals, initialCapital, commissionRate, listener);
+                if (end.open()) {
+                    metrics.openPosition(columns.epochMillis()[end.entryIndex()]);
+                }
+                sink.accept(BacktestStreamEvent.metrics(metrics.result()));
+            } finally {
+                ticket.close();
+            }
+        };
+    }
+
+    /**
+     * A join against the request's benchmark, read through {@link BenchmarkCache};
+     * {@code null} without one.
+     */
+    private BenchmarkAccumulator benchmarkFor(BacktestRequest request) {
+        if (request.getBenchmark() == null || request.getBenchmark().isBlank()) {
+            return null;
+        }
+        BenchmarkCache.BenchmarkSeries series = benchmarkCache.get(request.getBenchmark(),
+                request.getStartDate(), request.getEndDate());
+        return new BenchmarkAccumulator(series.symbol(), series.epochMillis(), series.close(), riskFreeRate);
+    }
+
+    private TradingStrategy resolveStrategy(BacktestRequest request) {
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategy())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + request.getStrategy()));
+        if (strategy instanceof PairsTradingStrategy) {
+            throw new IllegalArgumentException("Strategy " + request.getStrategy()
+                    + " trades two symbols; run it as a pairs backtest");
+        }
+        return strategy;
+    }
+
+    private BacktestAdmission.Ticket admit(TradingStrategy strategy, BacktestRequest request, boolean streamed) {
+        int bars = BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate());
+        return admission.admit(strategy, bars, request.getMaxPoints(), streamed);
+    }
+
+    /**
+     * Load the request's bars and re-check {@code ticket} against their real count.
+     */
+    private BarColumns loadColumns(BacktestRequest request, BacktestAdmission.Ticket ticket) {
+        BarColumns columns = marketDataService.getBarColumns(
                 request.getSymbol(),
                 request.getStartDate(),
                 request.getEndDate());
 
-        if (series.isEmpty()) {
+        if (columns.isEmpty()) {
             throw new IllegalStateException("No market data available for " + request.getSymbol());
         }
+        ticket.actualBars(columns.size());
 
-        log.info("Loaded {} bars for {}", series.getBarCount(), request.getSymbol());
-
-        // Get config
-        double initialCapital = request.getInitialCapital() != null
-                ? request.getInitialCapital()
-                : defaultInitialCapital;
-        double commissionRate = request.getCommissionRate() != null
-                ? request.getCommissionRate()
-                : defaultCommissionRate;
-
-        // Build & run strategy
-        Strategy ta4jStrategy = strategy.buildStrategy(series, request.getParameters());
-        BarSeriesManager seriesManager = new BarSeriesManager(series);
-        TradingRecord tradingRecord = seriesManager.run(ta4jStrategy);
-
-        // Process results
-        int barCount = series.getBarCount();
-        List<TradeDto> trades = new ArrayList<>(barCount);
-        List<EquityPointDto> equityCurve = new ArrayList<>(barCount);
-        List<CandleDto> candles = new ArrayList<>(barCount);
-
-        Num cash = series.numOf(initialCapital);
-        Num sharesHeld = series.numOf(0);
-        Num zero = series.numOf(0);
-        Num commRate = series.numOf(commissionRate);
-
-        // Map positions
-        Map<Integer, Position> entries = new HashMap<>();
-        Map<Integer, Position> exits = new HashMap<>();
-
-        for (Position p : tradingRecord.getPositions()) {
-            entries.put(p.getEntry().getIndex(), p);
-            exits.put(p.getExit().getIndex(), p);
-        }
-
-        Position currentPos = tradingRecord.getCurrentPosition();
-        if (currentPos.isOpened()) {
-            entries.put(currentPos.getEntry().getIndex(), currentPos);
-        }
-
-        int winCount = 0;
-        int lossCount = 0;
-
-        for (int i = 0; i < series.getBarCount(); i++) {
-            Bar bar = series.getBar(i);
-            Num price = bar.getClosePrice();
-
-            // Record candle for charting
-            candles.add(CandleDto.builder()
-                    .time(bar.getEndTime().toEpochSecond())
-                    .open(bar.getOpenPrice().doubleValue())
-                    .high(bar.getHighPrice().doubleValue())
-                    .low(bar.getLowPrice().doubleValue())
-                    .close(bar.getClosePrice().doubleValue())
-                    .volume(bar.getVolume().longValue())
-                    .build());
-
-            // Check for Entry
-            if (entries.containsKey(i)) {
-                Num amount = cash;
-                Num commission = amount.multipliedBy(commRate);
-                amount = amount.minus(commission);
-
-                Num sharesToBuy = amount.dividedBy(price);
-                sharesHeld = sharesHeld.plus(sharesToBuy);
-                cash = cash.minus(amount).minus(commission);
-            }
+        log.info("Loaded {} bars for {}", columns.size(), request.getSymbol());
+        return columns;
+    }
 
-            // Check for Exit
-            if (exits.containsKey(i)) {
-                Position pos = exits.get(i);
-                Num proceeds = sharesHeld.multipliedBy(price);
-                Num commission = proceeds.multipliedBy(commRate);
-                proceeds = proceeds.minus(commission);
-
-                double entryVal = pos.getEntry().getPricePerAsset().doubleValue() * sharesHeld.doubleValue();
-                double exitVal = proceeds.doubleValue();
-                double pnl = exitVal - entryVal;
-
-                if (pnl > 0)
-                    winCount++;
-                else
-                    lossCount++;
-
-                trades.add(TradeDto.builder()
-                        .type("ROUND_TRIP")
-                        .entryDate(series.getBar(pos.getEntry().getIndex()).getEndTime().toLocalDateTime())
-                        .entryPrice(pos.getEntry().getPricePerAsset().doubleValue())
-                        .exitDate(bar.getEndTime().toLocalDateTime())
-                        .exitPrice(price.doubleValue())
-                        .shares(sharesHeld.doubleValue())
-                        .pnl(pnl)
-                        .commission(commission.doubleValue())
-                        .build());
+    private static void replay(BacktestResponse response, Consumer<BacktestStreamEvent> sink) {
+        List<CandleDto> candles = response.getCandles() != null ? response.getCandles() : List.of();
+        sink.accept(BacktestStreamEvent.start(response.getId(), response.getSymbol(), response.getStrategy(),
+                candles.size()));
+        candles.forEach(c -> sink.accept(BacktestStreamEvent.candle(c)));
+        if (response.getEquityCurve() != null) {
+            response.getEquityCurve().forEach(e -> sink.accept(BacktestStreamEvent.equity(e)));
+        }
+        if (response.getTrades() != null) {
+            response.getTrades().forEach(t -> sink.accept(BacktestStreamEvent.trade(t)));
+        }
+        sink.accept(BacktestStreamEvent.metrics(response.getMetrics()));
+    }
 
-                cash = cash.plus(proceeds);
-                sharesHeld = zero;
-            }
+    /**
+     * Metrics-only run over already loaded columns: no candle, equity or trade
+     * DTOs are built. Used by parameter sweeps, which load the series once and
+     * evaluate many parameter sets against it concurrently.
+     */
+    public MetricsDto evaluate(TradingStrategy strategy, BarColumns columns, Map<String, Object> parameters,
+                               Double initialCapital, Double commissionRate) {
+        double capital = resolveInitialCapital(initialCapital);
+        SimulationResult result = simulate(strategy, columns, parameters, capital,
+                resolveCommissionRate(commissionRate));
+        return computeMetrics(columns, result, capital);
+    }
+
+    private SimulationResult simulate(TradingStrategy strategy, BarColumns columns, Map<String, Object> parameters,
+                                      double initialCapital, double commissionRate) {
+        return SimulationEngine.run(columns, signalSource(strategy, columns, parameters), initialCapital,
+                commissionRate);
+    }
+
+    /**
+     * Signals of {@code strategy} over {@code columns}: the array kernels of a
+     * {@link VectorizedStrategy}, reading indicators from the series' cache,
+     * otherwise its ta4j rules on the series view.
+     */
+    SignalSource signalSource(TradingStrategy strategy, BarColumns columns, Map<String, Object> parameters) {
+        if (strategy instanceof VectorizedStrategy vectorized) {
+            return vectorized.computeSignals(indicatorCaches.indicatorsFor(columns), parameters);
+        }
+        BarSeries series = columns.toBarSeries();
+        return new Ta4jSignalSource(strategy.buildStrategy(series, parameters), series);
+    }
 
-            Num portfolioValue = cash.plus(sharesHeld.multipliedBy(price));
-            equityCurve.add(EquityPointDto.builder()
-                    .timestamp(bar.getEndTime().toInstant().toEpochMilli())
-                    .value(portfolioValue.doubleValue())
-                    .build());
+    /**
+     * Like {@link #signalSource}, evaluated up front for every bar so the
+     * result can be replayed over any sub-range or shared between runs. Only
+     * valid for strategies whose rules ignore the trading record.
+     */
+    PrecomputedSignals precomputeSignals(TradingStrategy strategy, BarColumns columns,
+                                         Map<String, Object> parameters) {
+        if (strategy instanceof VectorizedStrategy vectorized) {
+            return vectorized.computeSignals(indicatorCaches.indicatorsFor(columns), parameters);
         }
+        return PrecomputedSignals.of(strategy.buildStrategy(columns.toBarSeries(), parameters), columns.size());
+    }
+
+    private MetricsDto computeMetrics(BarColumns columns, SimulationResult result, double initialCapital) {
+        return computeMetrics(columns, 0, result, initialCapital);
+    }
 
-        // Calculate metrics
-        MetricsDto metrics = MetricsCalculator.calculateMetrics(
-                equityCurve,
+    /**
+     * Metrics for a run over bars {@code [from, from + equity.length)} of {@code columns}.
+     */
+    MetricsDto computeMetrics(BarColumns columns, int from, SimulationResult result, double initialCapital) {
+        return MetricsCalculator.calculateMetrics(
+                columns.epochMillis(),
+                from,
+                result.equity(),
+                result.equity().length,
                 initialCapital,
-                trades.size(),
-                winCount,
-                lossCount,
+                result.trades(),
                 riskFreeRate);
+    }
 
-        log.info("Backtest complete. Total Return: {:.2f}%", metrics.getTotalReturn() * 100);
+    /**
+     * An empty accumulator with the configured risk-free rate, for callers
+     * that assemble an equity curve and trades themselves.
+     */
+    MetricsAccumulator metricsAccumulator(double initialCapital) {
+        return new MetricsAccumulator(initialCapital, riskFreeRate);
+    }
 
-        return BacktestResponse.builder()
-                .id(UUID.randomUUID().toString())
-                .symbol(request.getSymbol())
-                .strategy(request.getStrategy())
-                .metrics(metrics)
-                .trades(trades)
-                .equityCurve(equityCurve)
-                .candles(candles)
+    double resolveInitialCapital(Double requested) {
+        return requested != null ? requested : defaultInitialCapital;
+    }
+
+    double resolveCommissionRate(Double requested) {
+        return requested != null ? requested : defaultCommissionRate;
+    }
+
+    // -------------------------------------------------------------------------
+    // API boundary: primitive buffers -> DTOs
+    // -------------------------------------------------------------------------
+
+    private static List<TradeDto> toTradeDtos(BarColumns columns, TradeLog tradeLog) {
+        long[] epochMillis = columns.epochMillis();
+        List<TradeDto> trades = new ArrayList<>(tradeLog.size());
+        for (int t = 0; t < tradeLog.size(); t++) {
+            trades.add(toTradeDto(epochMillis[tradeLog.entryIndex(t)], epochMillis[tradeLog.exitIndex(t)],
+                    tradeLog.entryPrice(t), tradeLog.exitPrice(t), tradeLog.shares(t),
+                    tradeLog.pnl(t), tradeLog.commission(t)));
+        }
+        return trades;
+    }
+
+    private static TradeDto toTradeDto(long entryTime, long exitTime, double entryPrice,
+                                       double exitPrice, double shares, double pnl, double commission) {
+        return TradeDto.builder()
+                .type("ROUND_TRIP")
+                .entryDate(toDateTime(entryTime))
+                .entryPrice(entryPrice)
+                .exitDate(toDateTime(exitTime))
+                .exitPrice(exitPrice)
+                .shares(shares)
+                .pnl(pnl)
+                .commission(commission)
                 .build();
     }
+
+    /**
+     * Bars shown on the chart: LTTB-downsampled to {@code maxPoints} when
+     * set, {@code null} for every bar.
+     */
+    private static int[] chartPoints(BarColumns columns, double[] equity, Integer maxPoints) {
+        if (maxPoints == null || columns.size() <= maxPoints) {
+            return null;
+        }
+        return Downsampler.lttb(columns.epochMillis(), equity, columns.size(), maxPoints);
+    }
+
+    private static List<EquityPointDto> toEquityDtos(long[] epochMillis, double[] equity, int[] points) {
+        int count = points != null ? points.length : equity.length;
+        List<EquityPointDto> curve = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            int i = points != null ? points[p] : p;
+            curve.add(toEquityDto(epochMillis[i], equity[i]));
+        }
+        return curve;
+    }
+
+    private static List<RollingPointDto> toRollingDtos(long[] epochMillis, double[] sharpe, double[] volatility,
+                                                       int[] points) {
+        int count = points != null ? points.length : sharpe.length;
+        List<RollingPointDto> rolling = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            int i = points != null ? points[p] : p;
+            if (!Double.isNaN(sharpe[i])) {
+                rolling.add(RollingPointDto.builder()
+                        .timestamp(epochMillis[i])
+                        .sharpeRatio(sharpe[i])
+                        .volatility(volatility[i])
+                        .build());
+            }
+        }
+        return rolling;
+    }
+
+    private static EquityPointDto toEquityDto(long epochMillis, double value) {
+        return EquityPointDto.builder()
+                .timestamp(epochMillis)
+                .value(value)
+                .build();
+    }
+
+    private static List<CandleDto> toCandleDtos(BarColumns columns, Integer maxPoints) {
+        return toCandleDtos(maxPoints != null ? Downsampler.aggregate(columns, maxPoints) : columns);
+    }
+
+    private static List<CandleDto> toCandleDtos(BarColumns columns) {
+        List<CandleDto> candles = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            candles.add(toCandleDto(columns, i));
+        }
+        return candles;
+    }
+
+    private static CandleDto toCandleDto(BarColumns columns, int i) {
+        return CandleDto.builder()
+                .time(columns.epochMillis()[i] / 1000)
+                .open(columns.open()[i])
+                .high(columns.high()[i])
+                .low(columns.low()[i])
+                .close(columns.close()[i])
+                .volume(columns.volume()[i])
+                .build();
+    }
+
+    /**
+     * Apply {@code maxPoints} to a response built elsewhere (the Python
+     * bridge) by converting its chart series back to columns.
+     */
+    private static BacktestResponse downsample(BacktestResponse response, Integer maxPoints) {
+        if (maxPoints == null) {
+            return response;
+        }
+        List<EquityPointDto> curve = response.getEquityCurve();
+        if (curve != null && curve.size() > maxPoints) {
+            long[] epochMillis = new long[curve.size()];
+            double[] values = new double[curve.size()];
+            for (int i = 0; i < curve.size(); i++) {
+                epochMillis[i] = curve.get(i).getTimestamp();
+                values[i] = curve.get(i).getValue();
+            }
+            List<EquityPointDto> kept = new ArrayList<>(maxPoints);
+            for (int i : Downsampler.lttb(epochMillis, values, curve.size(), maxPoints)) {
+                kept.add(curve.get(i));
+            }
+            response.setEquityCurve(kept);
+        }
+        List<CandleDto> candles = response.getCandles();
+        if (candles != null && candles.size() > maxPoints) {
+            BarColumns.Builder columns = BarColumns.builder(response.getSymbol(), Duration.ofDays(1), candles.size());
+            for (CandleDto c : candles) {
+                columns.add(c.getTime() * 1000, c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+            }
+            response.setCandles(toCandleDtos(columns.build(), maxPoints));
+        }
+        return response;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Turns engine callbacks into stream events and folds each bar into the
+     * metrics as it passes.
+     */
+    private static final class StreamingListener implements SimulationListener {
+
+        private final BarColumns columns;
+        private final long[] epochMillis;
+        private final Consumer<BacktestStreamEvent> sink;
+        private final MetricsAccumulator metrics;
+
+        StreamingListener(BarColumns columns, Consumer<BacktestStreamEvent> sink, MetricsAccumulator metrics) {
+            this.columns = columns;
+            this.epochMillis = columns.epochMillis();
+            this.sink = sink;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onBar(int index, double equity) {
+            metrics.add(epochMillis[index], equity);
+            sink.accept(BacktestStreamEvent.candle(toCandleDto(columns, index)));
+            sink.accept(BacktestStreamEvent.equity(toEquityDto(epochMillis[index], equity)));
+        }
+
+        @Override
+        public void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                            double shares, double pnl, double commission) {
+            metrics.addTrade(epochMillis[entryIndex], epochMillis[exitIndex], pnl);
+            sink.accept(BacktestStreamEvent.trade(toTradeDto(epochMillis[entryIndex], epochMillis[exitIndex],
+                    entryPrice, exitPrice, shares, pnl, commission)));
+        }
+    }
+
+    /**
+     * Collects the new bars of a continuation and folds them into the
+     * restored metrics.
+     */
+    private static final class ContinuationListener implements SimulationListener {
+
+        private final long[] epochMillis;
+        private final MetricsAccumulator metrics;
+        private final Long carriedEntryTime;
+        private final List<EquityPointDto> equity = new ArrayList<>();
+        private final List<TradeDto> trades = new ArrayList<>();
+        private int wins;
+        private int losses;
+
+        ContinuationListener(long[] epochMillis, MetricsAccumulator metrics, Long carriedEntryTime) {
+            this.epochMillis = epochMillis;
+            this.metrics = metrics;
+            this.carriedEntryTime = carriedEntryTime;
+        }
+
+        @Override
+        public void onBar(int index, double value) {
+            metrics.add(epochMillis[index], value);
+            equity.add(toEquityDto(epochMillis[index], value));
+        }
+
+        @Override
+        public void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                            double shares, double pnl, double commission) {
+            if (pnl > 0) {
+                wins++;
+            } else {
+                losses++;
+            }
+            // Negative: entered before the snapshot's tail
+            long entryTime = entryIndex >= 0 ? epochMillis[entryIndex] : carriedEntryTime;
+            metrics.addTrade(entryTime, epochMillis[exitIndex], pnl);
+            trades.add(toTradeDto(entryTime, epochMillis[exitIndex], entryPrice, exitPrice, shares, pnl, commission));
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestStreamEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * A backtest whose inputs are resolved and loaded, ready to be run and
+ * written out event by event. Obtained from
+ * {@link BacktestService#prepareStream}, so request errors surface before
+ * any output is committed.
+ */
+@FunctionalInterface
+public interface BacktestStream {
+
+    void writeTo(Consumer<BacktestStreamEvent> sink);
+}
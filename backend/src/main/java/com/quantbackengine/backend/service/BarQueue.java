@@ -0,0 +1,115 @@
+package com.quantbackengine.backend.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of bar updates from any number of producers to a
+ * single consumer, after Vyukov's array queue: each slot carries a sequence
+ * number that says whether it is free for the producer at a position or
+ * holds the bar the consumer expects next. Producers claim a position with
+ * one CAS; the consumer needs none.
+ *
+ * <p>Bars are held in parallel primitive arrays, so neither side allocates.
+ */
+final class BarQueue {
+
+    /**
+     * Receives drained bars on the consumer thread.
+     */
+    interface Sink {
+        void accept(String symbol, long epochMillis, double close, long enqueuedNanos);
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] symbols;
+    private final long[] epochMillis;
+    private final double[] closes;
+    private final long[] enqueuedNanos;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    BarQueue(int capacity) {
+        // one slot cannot tell "published" (position + 1) from "free again" (position + size)
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Queue capacity must be between 2 and 2^30, got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.symbols = new String[size];
+        this.epochMillis = new long[size];
+        this.closes = new double[size];
+        this.enqueuedNanos = new long[size];
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Enqueue a bar unless the queue is full. Safe from any thread.
+     */
+    boolean offer(String symbol, long epochMillis, double close, long enqueuedNanos) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    symbols[index] = symbol;
+                    this.epochMillis[index] = epochMillis;
+                    closes[index] = close;
+                    this.enqueuedNanos[index] = enqueuedNanos;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // the consumer has not freed this slot yet
+            } else {
+                position = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    /**
+     * Hand up to {@code limit} bars to {@code sink}, oldest first. Consumer
+     * thread only.
+     *
+     * @return bars drained
+     */
+    int drain(Sink sink, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            String symbol = symbols[index];
+            long millis = epochMillis[index];
+            double close = closes[index];
+            long nanos = enqueuedNanos[index];
+            symbols[index] = null;
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+            sink.accept(symbol, millis, close, nanos);
+        }
+        return drained;
+    }
+
+    /**
+     * Whether the next bar is not yet published. Consumer thread only.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+}
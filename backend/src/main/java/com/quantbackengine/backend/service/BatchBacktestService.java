@@ -0,0 +1,240 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.BatchBacktestRequest;
+import com.quantbackengine.backend.dto.BatchBacktestRequest.StrategyRun;
+import com.quantbackengine.backend.dto.BatchBacktestResult;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.strategy.PairsTradingStrategy;
+import com.quantbackengine.backend.strategy.PythonStrategyAdapter;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.strategy.VectorizedStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Many symbols x strategies x parameter sets in one call.
+ *
+ * <p>All series are prefetched first: one batched cache query, with cache
+ * misses fetched a few at a time. Every run then gets its own virtual
+ * thread, but only as many run at once as the compute pool has cores
+ * ({@code backtest.compute.core-budget}); the permits are shared by all
+ * concurrent batches. Results are handed to the caller's sink as each run
+ * finishes, so the first lines arrive long before the slowest run ends.
+ *
+ * <p>Every series stays loaded until the batch ends, so the batch reserves
+ * their bars, summed, with {@link BacktestAdmission} before it starts.
+ */
+@Service
+@Slf4j
+public class BatchBacktestService {
+
+    private final StrategyRegistry strategyRegistry;
+    private final MarketDataService marketDataService;
+    private final BacktestService backtestService;
+    private final BacktestAdmission admission;
+    private final Semaphore cpuPermits;
+
+    @Value("${backtest.batch.max-runs:5000}")
+    private int maxRuns;
+
+    @Value("${backtest.batch.prefetch-concurrency:4}")
+    private int prefetchConcurrency;
+
+    public BatchBacktestService(StrategyRegistry strategyRegistry,
+                                MarketDataService marketDataService,
+                                BacktestService backtestService,
+                                BacktestAdmission admission,
+                                @Qualifier("backtestComputePool") ForkJoinPool computePool) {
+        this.strategyRegistry = strategyRegistry;
+        this.marketDataService = marketDataService;
+        this.backtestService = backtestService;
+        this.admission = admission;
+        this.cpuPermits = new Semaphore(computePool.getParallelism());
+    }
+
+    /**
+     * Reject unknown or unsupported strategies and oversized batches, and
+     * reserve the batch's series, before any output is written, so they
+     * surface as a normal 400 or 429. The ticket goes to {@link #run}, which
+     * closes it.
+     */
+    public BacktestAdmission.Ticket admit(BatchBacktestRequest request) {
+        List<Job> jobs = expand(request);
+        // Series are shared by every strategy, so they are costed for the heaviest
+        TradingStrategy costliest = null;
+        for (Job job : jobs) {
+            if (costliest == null || !(job.strategy() instanceof VectorizedStrategy)) {
+                costliest = job.strategy();
+            }
+        }
+        int symbols = new LinkedHashSet<>(request.getSymbols()).size();
+        return admission.admit(costliest,
+                BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate(), symbols), 0, false);
+    }
+
+    /**
+     * {@link #admit} the batch, then {@link #run(BatchBacktestRequest, BacktestAdmission.Ticket, Consumer) run} it.
+     */
+    public int run(BatchBacktestRequest request, Consumer<BatchBacktestResult> sink) {
+        return run(request, admit(request), sink);
+    }
+
+    /**
+     * Run the batch, calling {@code sink} once per run from the worker that
+     * finished it. Calls are serialized. If the sink throws (the client went
+     * away), runs that have not started yet are skipped and running ones are
+     * cancelled.
+     *
+     * @param ticket the batch's reservation from {@link #admit}, closed on return
+     * @return the number of results delivered
+     */
+    public int run(BatchBacktestRequest request, BacktestAdmission.Ticket ticket,
+                   Consumer<BatchBacktestResult> sink) {
+        try (ticket) {
+            return runAdmitted(request, ticket, sink);
+        }
+    }
+
+    private int runAdmitted(BatchBacktestRequest request, BacktestAdmission.Ticket ticket,
+                            Consumer<BatchBacktestResult> sink) {
+        List<Job> jobs = expand(request);
+        long started = System.nanoTime();
+
+        Map<String, BarColumns> series = marketDataService.getBarColumnsBatch(
+                request.getSymbols(), request.getStartDate(), request.getEndDate(), prefetchConcurrency);
+        ticket.actualBars(BacktestAdmission.totalBars(series.values()));
+        log.info("Batch of {} runs over {} symbols: {} series loaded in {} ms", jobs.size(),
+                request.getSymbols().size(), series.size(), (System.nanoTime() - started) / 1_000_000);
+
+        Object sinkLock = new Object();
+        CancellationToken cancellation = CancellationToken.create();
+        int[] delivered = new int[1];
+        Consumer<BatchBacktestResult> emit = result -> {
+            synchronized (sinkLock) {
+                if (cancellation.isCancelled()) {
+                    return;
+                }
+                try {
+                    sink.accept(result);
+                    delivered[0]++;
+                } catch (RuntimeException e) {
+                    cancellation.cancel("result sink failed");
+                    log.warn("Batch result sink failed, skipping remaining runs: {}", e.getMessage());
+                }
+            }
+        };
+
+        List<Callable<Void>> tasks = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            tasks.add(() -> {
+                if (!cancellation.isCancelled()) {
+                    try (CancellationToken.Scope ignored = cancellation.bind()) {
+                        emit.accept(execute(job, series.get(MarketDataService.sanitize(job.symbol())), request));
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch backtest interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Batch of {} runs done in {} ms, {} results delivered", jobs.size(),
+                (System.nanoTime() - started) / 1_000_000, delivered[0]);
+        return delivered[0];
+    }
+
+    private BatchBacktestResult execute(Job job, BarColumns columns, BatchBacktestRequest request)
+            throws InterruptedException {
+        BatchBacktestResult.BatchBacktestResultBuilder result = BatchBacktestResult.builder()
+                .symbol(job.symbol())
+                .strategy(job.strategy().getId())
+                .parameters(job.parameters());
+        if (columns == null) {
+            return result.error("No market data available for " + job.symbol()).build();
+        }
+
+        cpuPermits.acquire();
+        long started = System.nanoTime();
+        try {
+            MetricsDto metrics = backtestService.evaluate(job.strategy(), columns, job.parameters(),
+                    request.getInitialCapital(), request.getCommissionRate());
+            result.metrics(metrics);
+        } catch (RuntimeException e) {
+            log.debug("Batch run {} {} {} failed: {}", job.symbol(), job.strategy().getId(),
+                    job.parameters(), e.getMessage());
+            result.error(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            cpuPermits.release();
+        }
+        return result.elapsedMs((System.nanoTime() - started) / 1_000_000).build();
+    }
+
+    private List<Job> expand(BatchBacktestRequest request) {
+        List<StrategyRun> runs = request.getStrategies();
+        List<TradingStrategy> strategies = new ArrayList<>(runs.size());
+        long perSymbol = 0;
+        for (StrategyRun run : runs) {
+            TradingStrategy strategy = strategyRegistry.getStrategy(run.getStrategy())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + run.getStrategy()));
+            if (strategy instanceof PythonStrategyAdapter) {
+                throw new IllegalArgumentException("Strategy " + run.getStrategy()
+                        + " runs in the Python bridge and is not supported in batches");
+            }
+            if (strategy instanceof PairsTradingStrategy) {
+                throw new IllegalArgumentException("Strategy " + run.getStrategy()
+                        + " trades two symbols and is not supported in batches");
+            }
+            strategies.add(strategy);
+            perSymbol += parameterSets(run).size();
+        }
+
+        Set<String> symbols = new LinkedHashSet<>(request.getSymbols());
+        long total = perSymbol * symbols.size();
+        if (total > maxRuns) {
+            throw new IllegalArgumentException("Batch has " + total + " runs; the limit is " + maxRuns);
+        }
+
+        List<Job> jobs = new ArrayList<>((int) total);
+        for (String symbol : symbols) {
+            for (int r = 0; r < runs.size(); r++) {
+                for (Map<String, Object> parameters : parameterSets(runs.get(r))) {
+                    jobs.add(new Job(symbol, strategies.get(r), parameters));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private static List<Map<String, Object>> parameterSets(StrategyRun run) {
+        List<Map<String, Object>> sets = run.getParameterSets();
+        return sets == null || sets.isEmpty() ? List.of(Map.of()) : sets;
+    }
+
+    private record Job(String symbol, TradingStrategy strategy, Map<String, Object> parameters) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.CacheStatsDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark closes kept in memory between runs.
+ *
+ * <p>Nearly every benchmark-relative run uses one of a handful of index
+ * symbols (SPY, QQQ), so their timestamps and closes are held per symbol
+ * rather than re-read from the market data cache each time. An entry serves
+ * any date range inside the range it was loaded for; a wider request reloads
+ * the union of both. Entries are evicted least-recently-used beyond
+ * {@code backtest.benchmark-cache.max-bytes} and dropped when bars are
+ * written for their symbol ({@link MarketDataWrittenEvent}).
+ */
+@Component
+@Slf4j
+public class BenchmarkCache {
+
+    private static final long BYTES_PER_BAR = Long.BYTES + Double.BYTES;
+
+    private final MarketDataService marketDataService;
+    private final long maxBytes;
+    private final LinkedHashMap<String, BenchmarkSeries> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> generations = new HashMap<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BenchmarkCache(MarketDataService marketDataService,
+                          @Value("${backtest.benchmark-cache.max-bytes:4194304}") long maxBytes) {
+        this.marketDataService = marketDataService;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Closes of {@code symbol} covering at least {@code start..end}.
+     *
+     * @throws IllegalArgumentException if the loaded range holds no bars
+     */
+    public BenchmarkSeries get(String symbol, LocalDate start, LocalDate end) {
+        String key = MarketDataService.sanitize(symbol);
+        LocalDate from = start;
+        LocalDate to = end;
+        long generation;
+        synchronized (this) {
+            BenchmarkSeries cached = entries.get(key);
+            if (cached != null && !cached.start().isAfter(start) && !cached.end().isBefore(end)) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            misses.incrementAndGet();
+            if (cached != null) {
+                from = cached.start().isBefore(start) ? cached.start() : start;
+                to = cached.end().isAfter(end) ? cached.end() : end;
+            }
+            generation = generations.getOrDefault(key, 0L);
+        }
+
+        BarColumns columns = marketDataService.getBarColumns(key, from, to);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No market data available for benchmark " + key);
+        }
+        BenchmarkSeries series = new BenchmarkSeries(key, from, to, columns.epochMillis(), columns.close());
+        put(series, generation);
+        return series;
+    }
+
+    private synchronized void put(BenchmarkSeries series, long generation) {
+        long size = series.epochMillis().length * BYTES_PER_BAR;
+        if (maxBytes <= 0 || size > maxBytes || generations.getOrDefault(series.symbol(), 0L) != generation) {
+            return;
+        }
+        BenchmarkSeries previous = entries.put(series.symbol(), series);
+        if (previous != null) {
+            bytes -= previous.epochMillis().length * BYTES_PER_BAR;
+        }
+        bytes += size;
+
+        Iterator<BenchmarkSeries> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            BenchmarkSeries evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.epochMillis().length * BYTES_PER_BAR;
+            evictions.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public synchronized void onMarketDataWritten(MarketDataWrittenEvent event) {
+        generations.merge(event.symbol(), 1L, Long::sum);
+        BenchmarkSeries dropped = entries.remove(event.symbol());
+        if (dropped != null) {
+            bytes -= dropped.epochMillis().length * BYTES_PER_BAR;
+            invalidations.incrementAndGet();
+            log.info("Invalidated cached benchmark {} after new bars {}..{}", event.symbol(), event.from(), event.to());
+        }
+    }
+
+    public synchronized CacheStatsDto stats() {
+        return CacheStatsDto.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .entries(entries.size())
+                .bytes(bytes)
+                .maxBytes(maxBytes)
+                .build();
+    }
+
+    /**
+     * A benchmark's bar timestamps (epoch millis, ascending) and closes,
+     * loaded for {@code start..end}.
+     */
+    public record BenchmarkSeries(String symbol, LocalDate start, LocalDate end, long[] epochMillis, double[] close) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.quantbackengine.backend.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs a fan-out task on the compute pool and waits for it, so parallel
+ * streams inside the task use the pool's workers rather than the common pool.
+ */
+final class ComputeTasks {
+
+    private ComputeTasks() {
+    }
+
+    static <T> T invoke(ForkJoinPool pool, Callable<T> task, String description) {
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(description + " interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(description + " failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.TickSink;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replays ticks recorded in a CSV file, as fast as the sink takes them. One
+ * tick per line, in time order:
+ *
+ * <pre>
+ * epochMillis,symbol,T,price,size     a trade
+ * epochMillis,symbol,Q,bid,ask        a quote
+ * </pre>
+ *
+ * Blank lines, {@code #} comments and a {@code timestamp,...} header are
+ * skipped. Each distinct symbol is sanitized once and the same instance
+ * reused, so the sink sees one {@code String} per symbol.
+ */
+public class FileReplayTickSource implements TickSource {
+
+    private final Path file;
+
+    public FileReplayTickSource(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @throws IllegalArgumentException on a malformed line, naming it
+     */
+    @Override
+    public void run(TickSink sink) throws IOException {
+        Map<String, String> symbols = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("timestamp")) {
+                    continue;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Replay of " + file + " interrupted at line " + number);
+                }
+                try {
+                    parse(line, symbols, sink);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Malformed tick at " + file.getFileName() + ":" + number
+                            + ": " + line, e);
+                }
+            }
+        }
+    }
+
+    private static void parse(String line, Map<String, String> symbols, TickSink sink) {
+        int first = line.indexOf(',');
+        int second = line.indexOf(',', first + 1);
+        int third = line.indexOf(',', second + 1);
+        int fourth = line.indexOf(',', third + 1);
+        if (first < 0 || second < 0 || third < 0 || fourth < 0 || third != second + 2) {
+            throw new IllegalArgumentException("expected five fields");
+        }
+        long epochMillis = Long.parseLong(line, 0, first, 10);
+        String symbol = symbols.computeIfAbsent(line.substring(first + 1, second), MarketDataService::sanitize);
+        double a = Double.parseDouble(line.substring(third + 1, fourth));
+        String last = line.substring(fourth + 1).trim();
+        switch (line.charAt(second + 1)) {
+            case 'T' -> sink.onTrade(symbol, epochMillis, a, Long.parseLong(last));
+            case 'Q' -> sink.onQuote(symbol, epochMillis, a, Double.parseDouble(last));
+            default -> throw new IllegalArgumentException("tick type must be T or Q");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "file " + file;
+    }
+}
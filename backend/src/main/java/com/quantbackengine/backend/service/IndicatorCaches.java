@@ -0,0 +1,66 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.CacheStatsDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.IndicatorCache;
+import com.quantbackengine.backend.strategy.SeriesIndicators;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * One {@link IndicatorCache} per loaded series.
+ *
+ * <p>A cache lives exactly as long as its {@link BarColumns}: a sweep, batch
+ * or walk-forward run loads the columns once and every parameter set it
+ * evaluates reads indicators from the same cache; when the run drops the
+ * columns, the cache goes with them. Each cache is bounded by
+ * {@code backtest.indicator-cache.max-bytes}. Hits, misses and evictions are
+ * also totalled across all series for {@link #stats()}.
+ */
+@Component
+public class IndicatorCaches {
+
+    private final long maxBytesPerSeries;
+    private final IndicatorCache.Counters totals = new IndicatorCache.Counters();
+    // Keyed by identity (BarColumns has no equals), weakly: never keeps bars alive
+    private final Map<BarColumns, IndicatorCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public IndicatorCaches(@Value("${backtest.indicator-cache.max-bytes:33554432}") long maxBytesPerSeries) {
+        this.maxBytesPerSeries = maxBytesPerSeries;
+    }
+
+    public IndicatorCache cacheFor(BarColumns columns) {
+        return caches.computeIfAbsent(columns, c -> new IndicatorCache(maxBytesPerSeries, totals));
+    }
+
+    public SeriesIndicators indicatorsFor(BarColumns columns) {
+        return new SeriesIndicators(columns.close(), cacheFor(columns));
+    }
+
+    /**
+     * Totals across every series so far; {@code entries} and {@code bytes}
+     * cover the series still loaded, {@code maxBytes} is the per-series bound.
+     */
+    public CacheStatsDto stats() {
+        int entries = 0;
+        long bytes = 0;
+        synchronized (caches) {
+            for (IndicatorCache cache : caches.values()) {
+                entries += cache.entries();
+                bytes += cache.bytes();
+            }
+        }
+        return CacheStatsDto.builder()
+                .hits(totals.hits())
+                .misses(totals.misses())
+                .evictions(totals.evictions())
+                .entries(entries)
+                .bytes(bytes)
+                .maxBytes(maxBytesPerSeries)
+                .build();
+    }
+}
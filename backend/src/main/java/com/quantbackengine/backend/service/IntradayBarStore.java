@@ -0,0 +1,212 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.domain.IntradayMarketData;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.repository.IntradayMarketDataRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Intraday bars built from live ticks: completed bars are buffered and
+ * written to {@code intraday_market_data} in batches, off the feed thread,
+ * and read back as {@link BarColumns} of their own interval.
+ *
+ * <p>The buffer is bounded by {@code live.bars.write-buffer}; when the
+ * database falls that far behind, new bars are dropped and counted rather
+ * than slowing the feed. Bars already stored (a replayed file, say) are
+ * skipped, so a flush never violates the table's unique key. A batch whose
+ * write fails is kept and written first by the next flush, up to
+ * {@code live.bars.write-attempts} times; after that it is dropped and
+ * counted as failed, so one bad batch cannot hold back the ones behind it.
+ */
+@Component
+@Slf4j
+public class IntradayBarStore implements AutoCloseable {
+
+    private final IntradayMarketDataRepository repository;
+    private final int batchSize;
+    private final int writeAttempts;
+    private final BlockingQueue<IntradayMarketData> pending;
+    private final List<IntradayMarketData> retry = new ArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private int retryFailures;
+
+    public IntradayBarStore(IntradayMarketDataRepository repository,
+                            @Value("${live.bars.write-buffer:100000}") int bufferCapacity,
+                            @Value("${live.bars.flush-batch:2000}") int batchSize,
+                            @Value("${live.bars.write-attempts:5}") int writeAttempts,
+                            @Value("${live.bars.flush-interval-ms:1000}") long flushIntervalMs) {
+        if (bufferCapacity < 1 || batchSize < 1 || writeAttempts < 1) {
+            throw new IllegalArgumentException("live.bars.write-buffer, flush-batch and write-attempts must be positive");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.writeAttempts = writeAttempts;
+        this.pending = new ArrayBlockingQueue<>(bufferCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "intraday-bar-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (flushIntervalMs > 0) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queue a completed bar for the next batch.
+     *
+     * @return false if the buffer was full and the bar was dropped
+     */
+    public boolean offer(BarInterval interval, String symbol, long startMillis, double open, double high, double low,
+                         double close, long volume) {
+        boolean queued = pending.offer(IntradayMarketData.builder()
+                .symbol(symbol)
+                .intervalSeconds((int) interval.duration().toSeconds())
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(startMillis), ZoneOffset.UTC))
+                .open(BigDecimal.valueOf(open))
+                .high(BigDecimal.valueOf(high))
+                .low(BigDecimal.valueOf(low))
+                .close(BigDecimal.valueOf(close))
+                .volume(volume)
+                .build());
+        if (!queued) {
+            dropped.incrementAndGet();
+        }
+        return queued;
+    }
+
+    /**
+     * Write everything buffered so far, a batch at a time.
+     *
+     * @return bars written
+     */
+    public synchronized int flush() {
+        int total = 0;
+        while (true) {
+            if (retry.isEmpty() && pending.drainTo(retry, batchSize) == 0) {
+                break;
+            }
+            List<IntradayMarketData> fresh;
+            try {
+                fresh = withoutStored(retry);
+                if (!fresh.isEmpty()) {
+                    repository.saveAll(fresh);
+                }
+            } catch (RuntimeException e) {
+                if (++retryFailures < writeAttempts) {
+                    throw e;
+                }
+                log.error("Dropping {} intraday bars after {} failed writes: {}", retry.size(), retryFailures,
+                        e.getMessage());
+                failed.addAndGet(retry.size());
+                retryFailures = 0;
+                retry.clear();
+                continue;
+            }
+            retryFailures = 0;
+            total += fresh.size();
+            skipped.addAndGet(retry.size() - fresh.size());
+            retry.clear();
+        }
+        if (total > 0) {
+            written.addAndGet(total);
+            log.debug("Wrote {} intraday bars", total);
+        }
+        return total;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Intraday bar flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private List<IntradayMarketData> withoutStored(List<IntradayMarketData> batch) {
+        Set<String> symbols = new HashSet<>();
+        LocalDateTime from = batch.get(0).getTimestamp();
+        LocalDateTime to = from;
+        for (IntradayMarketData bar : batch) {
+            symbols.add(bar.getSymbol());
+            from = bar.getTimestamp().isBefore(from) ? bar.getTimestamp() : from;
+            to = bar.getTimestamp().isAfter(to) ? bar.getTimestamp() : to;
+        }
+        Set<Key> seen = new HashSet<>();
+        for (IntradayMarketDataRepository.BarKey key : repository.findBySymbolInAndTimestampBetween(symbols, from, to)) {
+            seen.add(new Key(key.getSymbol(), key.getIntervalSeconds(), key.getTimestamp()));
+        }
+        List<IntradayMarketData> fresh = new ArrayList<>(batch.size());
+        for (IntradayMarketData bar : batch) {
+            if (seen.add(new Key(bar.getSymbol(), bar.getIntervalSeconds(), bar.getTimestamp()))) {
+                fresh.add(bar);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Stored bars of {@code symbol} at {@code interval} starting in
+     * {@code from..to} (epoch millis, inclusive).
+     */
+    public BarColumns getBarColumns(String symbol, BarInterval interval, long fromMillis, long toMillis) {
+        String key = MarketDataService.sanitize(symbol);
+        List<IntradayMarketData> rows = repository.findBySymbolAndIntervalSecondsAndTimestampBetweenOrderByTimestampAsc(
+                key, (int) interval.duration().toSeconds(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(fromMillis), ZoneOffset.UTC),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(toMillis), ZoneOffset.UTC));
+        BarColumns.Builder columns = BarColumns.builder(key, interval.duration(), rows.size());
+        for (IntradayMarketData row : rows) {
+            columns.add(row.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                    row.getOpen().doubleValue(),
+                    row.getHigh().doubleValue(),
+                    row.getLow().doubleValue(),
+                    row.getClose().doubleValue(),
+                    row.getVolume());
+        }
+        return columns.build();
+    }
+
+    public Stats stats() {
+        return new Stats(pending.size(), written.get(), skipped.get(), dropped.get(), failed.get());
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    /**
+     * {@code skipped} bars were already stored; {@code dropped} ones found
+     * the buffer full; {@code failed} ones were given up on after their
+     * batch ran out of write attempts.
+     */
+    public record Stats(int pending, long written, long skipped, long dropped, long failed) {
+    }
+
+    private record Key(String symbol, Integer intervalSeconds, LocalDateTime timestamp) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.strategy.LiveSignalCalculator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The symbols of one {@link LiveSignalEngine} shard and the thread that owns
+ * them. Every calculator is touched only by that thread, so bar updates take
+ * no locks: bars arrive through a {@link BarQueue}, and subscription changes
+ * through a command queue drained between batches of bars.
+ *
+ * <p>Per symbol the calculators sit in a flat array next to a
+ * {@code long[]} of the last bar each has seen; a bar at or before that
+ * time is skipped for that calculator rather than fed twice.
+ */
+final class LiveShard implements Runnable, BarQueue.Sink {
+
+    private static final int DRAIN_BATCH = 1024;
+    private static final int IDLE_SPINS = 200;
+    private static final long PARK_NANOS = 1_000_000;
+
+    private final BarQueue queue;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Map<String, SymbolState> symbols = new HashMap<>();
+    private final Consumer<LiveSignalEvent> publisher;
+
+    private volatile Thread thread;
+    private volatile boolean parked;
+    private volatile boolean running = true;
+
+    // Written by the shard thread only; volatile so stats can read them
+    private volatile long barsProcessed;
+    private volatile long staleUpdates;
+    private volatile long signals;
+
+    LiveShard(int queueCapacity, Consumer<LiveSignalEvent> publisher) {
+        this.queue = new BarQueue(queueCapacity);
+        this.publisher = publisher;
+    }
+
+    void start(String name) {
+        Thread worker = new Thread(this, name);
+        worker.setDaemon(true);
+        thread = worker;
+        worker.start();
+    }
+
+    boolean offer(String symbol, long epochMillis, double close, long enqueuedNanos) {
+        if (!queue.offer(symbol, epochMillis, close, enqueuedNanos)) {
+            return false;
+        }
+        wake();
+        return true;
+    }
+
+    /**
+     * Run {@code command} on the shard thread, between bars.
+     */
+    void execute(Runnable command) {
+        commands.add(command);
+        wake();
+    }
+
+    void add(LiveSubscription subscription, LiveSignalCalculator calculator, long lastEpochMillis) {
+        symbols.computeIfAbsent(subscription.symbol(), s -> new SymbolState())
+                .add(subscription, calculator, lastEpochMillis);
+    }
+
+    void remove(LiveSubscription subscription) {
+        SymbolState state = symbols.get(subscription.symbol());
+        if (state != null && state.remove(subscription) && state.size == 0) {
+            symbols.remove(subscription.symbol());
+        }
+    }
+
+    private void wake() {
+        // Pairs with the parked write / queue re-check in idle(): one side always sees the other
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    void join(long millis) throws InterruptedException {
+        Thread worker = thread;
+        if (worker != null) {
+            worker.join(millis);
+        }
+    }
+
+    @Override
+    public void run() {
+        int idle = 0;
+        while (running) {
+            boolean worked = runCommands();
+            if (queue.drain(this, DRAIN_BATCH) > 0) {
+                worked = true;
+            }
+            if (worked) {
+                idle = 0;
+            } else if (++idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                parked = true;
+                if (queue.isEmpty() && commands.isEmpty() && running) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                parked = false;
+                idle = 0;
+            }
+        }
+    }
+
+    private boolean runCommands() {
+        boolean ran = false;
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+            ran = true;
+        }
+        return ran;
+    }
+
+    @Override
+    public void accept(String symbol, long epochMillis, double close, long enqueuedNanos) {
+        barsProcessed++;
+        SymbolState state = symbols.get(symbol);
+        if (state == null) {
+            return;
+        }
+        LiveSignalCalculator[] calculators = state.calculators;
+        long[] lastEpochMillis = state.lastEpochMillis;
+        for (int i = 0; i < state.size; i++) {
+            if (epochMillis <= lastEpochMillis[i]) {
+                staleUpdates++;
+                continue;
+            }
+            lastEpochMillis[i] = epochMillis;
+            LiveSignalCalculator calculator = calculators[i];
+            calculator.update(close);
+            if (calculator.isEntrySignal()) {
+                publish(LiveSignalEvent.Type.ENTRY, state.subscriptions[i], epochMillis, close, enqueuedNanos);
+            }
+            if (calculator.isExitSignal()) {
+                publish(LiveSignalEvent.Type.EXIT, state.subscriptions[i], epochMillis, close, enqueuedNanos);
+            }
+        }
+    }
+
+    private void publish(LiveSignalEvent.Type type, LiveSubscription subscription, long epochMillis, double close,
+                         long enqueuedNanos) {
+        signals++;
+        publisher.accept(new LiveSignalEvent(type, subscription, epochMillis, close,
+                System.nanoTime() - enqueuedNanos));
+    }
+
+    long barsProcessed() {
+        return barsProcessed;
+    }
+
+    long staleUpdates() {
+        return staleUpdates;
+    }
+
+    long signals() {
+        return signals;
+    }
+
+    /**
+     * One symbol's calculators, in flat arrays grown by doubling.
+     */
+    private static final class SymbolState {
+
+        private LiveSubscription[] subscriptions = new LiveSubscription[2];
+        private LiveSignalCalculator[] calculators = new LiveSignalCalculator[2];
+        private long[] lastEpochMillis = new long[2];
+        private int size;
+
+        void add(LiveSubscription subscription, LiveSignalCalculator calculator, long lastMillis) {
+            if (size == calculators.length) {
+                subscriptions = Arrays.copyOf(subscriptions, size * 2);
+                calculators = Arrays.copyOf(calculators, size * 2);
+                lastEpochMillis = Arrays.copyOf(lastEpochMillis, size * 2);
+            }
+            subscriptions[size] = subscription;
+            calculators[size] = calculator;
+            lastEpochMillis[size] = lastMillis;
+            size++;
+        }
+
+        boolean remove(LiveSubscription subscription) {
+            for (int i = 0; i < size; i++) {
+                if (subscriptions[i].equals(subscription)) {
+                    size--;
+                    subscriptions[i] = subscriptions[size];
+                    calculators[i] = calculators[size];
+                    lastEpochMillis[i] = lastEpochMillis[size];
+                    subscriptions[size] = null;
+                    calculators[size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
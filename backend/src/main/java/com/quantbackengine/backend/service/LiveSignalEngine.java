@@ -0,0 +1,208 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.LiveSignalCalculator;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates strategy subscriptions against live bars as they close.
+ *
+ * <p>Symbols are sharded by hash over a fixed set of {@link LiveShard}
+ * threads, each the only writer of its symbols' calculator state, so a bar
+ * update takes no locks: {@link #onBar} puts it on the shard's bounded
+ * lock-free queue and returns. The shard feeds it to every
+ * {@link LiveSignalCalculator} subscribed to the symbol and publishes each
+ * entry or exit as a {@link LiveSignalEvent} to the registered listeners, on
+ * the shard thread; listeners must hand off anything slow.
+ *
+ * <p>A full queue rejects the bar rather than blocking the producer.
+ */
+@Service
+@Slf4j
+public class LiveSignalEngine implements AutoCloseable {
+
+    private final StrategyRegistry strategyRegistry;
+    private final int maxSubscriptions;
+    private final LiveShard[] shards;
+    private final Set<LiveSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<LiveSignalEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder barsReceived = new LongAdder();
+    private final LongAdder barsRejected = new LongAdder();
+
+    public LiveSignalEngine(StrategyRegistry strategyRegistry,
+                            @Value("${live.engine.shards:0}") int shardCount,
+                            @Value("${live.engine.queue-capacity:65536}") int queueCapacity,
+                            @Value("${live.engine.max-subscriptions:100000}") int maxSubscriptions) {
+        this.strategyRegistry = strategyRegistry;
+        this.maxSubscriptions = maxSubscriptions;
+        int count = shardCount > 0 ? shardCount : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.shards = new LiveShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new LiveShard(queueCapacity, this::publish);
+        }
+        for (int i = 0; i < count; i++) {
+            shards[i].start("live-shard-" + i);
+        }
+        log.info("Live signal engine: {} shards, queue capacity {}", count, queueCapacity);
+    }
+
+    /**
+     * Evaluate {@code strategyId} on {@code symbol} from its next bar on.
+     *
+     * @see #subscribe(String, String, Map, BarColumns)
+     */
+    public LiveSubscription subscribe(String symbol, String strategyId, Map<String, Object> parameters) {
+        return subscribe(symbol, strategyId, parameters, null);
+    }
+
+    /**
+     * Evaluate {@code strategyId} on {@code symbol}, warmed up on
+     * {@code history} so its windows are already full when live bars
+     * arrive; signals within the history are not published, and live bars
+     * at or before its last bar are ignored. Subscribing again to an equal
+     * subscription returns the existing one.
+     *
+     * @param history earlier bars of the symbol, oldest first; may be null
+     * @throws IllegalArgumentException for an unknown strategy, one without
+     *                                  a live form, invalid parameters, or
+     *                                  beyond {@code live.engine.max-subscriptions}
+     */
+    public LiveSubscription subscribe(String symbol, String strategyId, Map<String, Object> parameters,
+                                      BarColumns history) {
+        TradingStrategy strategy = strategyRegistry.getStrategy(strategyId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + strategyId));
+        LiveSignalCalculator calculator = strategy.liveSignalCalculator(parameters)
+                .orElseThrow(() -> new IllegalArgumentException("Strategy " + strategyId + " cannot run live"));
+        LiveSubscription subscription = new LiveSubscription(MarketDataService.sanitize(symbol), strategyId, parameters);
+
+        long lastEpochMillis = Long.MIN_VALUE;
+        if (history != null && !history.isEmpty()) {
+            double[] close = history.close();
+            for (int i = 0; i < history.size(); i++) {
+                calculator.update(close[i]);
+            }
+            lastEpochMillis = history.epochMillis()[history.size() - 1];
+        }
+
+        long since = lastEpochMillis;
+        LiveShard shard = shardOf(subscription.symbol());
+        // the shard command is queued under the same lock as the set changes, so a racing
+        // unsubscribe's remove always reaches the shard after this add, never before it
+        synchronized (subscriptions) {
+            if (subscriptions.contains(subscription)) {
+                return subscription;
+            }
+            if (subscriptions.size() >= maxSubscriptions) {
+                throw new IllegalArgumentException("At most " + maxSubscriptions + " live subscriptions are allowed");
+            }
+            subscriptions.add(subscription);
+            shard.execute(() -> shard.add(subscription, calculator, since));
+        }
+        return subscription;
+    }
+
+    /**
+     * Stop evaluating {@code subscription}; bars already queued for it may
+     * still signal.
+     *
+     * @return whether it was subscribed
+     */
+    public boolean unsubscribe(LiveSubscription subscription) {
+        LiveShard shard = shardOf(subscription.symbol());
+        synchronized (subscriptions) {
+            if (!subscriptions.remove(subscription)) {
+                return false;
+            }
+            shard.execute(() -> shard.remove(subscription));
+        }
+        return true;
+    }
+
+    public Set<LiveSubscription> subscriptions() {
+        return Set.copyOf(subscriptions);
+    }
+
+    /**
+     * Queue a closed bar. {@code symbol} must already be sanitized, as
+     * {@link LiveSubscription#symbol()} is; bars for symbols nobody
+     * subscribes to are dropped by the shard. Safe from any thread.
+     *
+     * @return false if the symbol's shard queue was full and the bar was dropped
+     */
+    public boolean onBar(String symbol, long epochMillis, double close) {
+        barsReceived.increment();
+        if (shardOf(symbol).offer(symbol, epochMillis, close, System.nanoTime())) {
+            return true;
+        }
+        barsRejected.increment();
+        return false;
+    }
+
+    /**
+     * Called on a shard thread for every signal.
+     */
+    public void addListener(Consumer<LiveSignalEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<LiveSignalEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    private void publish(LiveSignalEvent event) {
+        for (Consumer<LiveSignalEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Live signal listener failed for {}: {}", event.subscription(), e.toString());
+            }
+        }
+    }
+
+    private LiveShard shardOf(String symbol) {
+        return shards[Math.floorMod(symbol.hashCode(), shards.length)];
+    }
+
+    public Stats stats() {
+        long processed = 0;
+        long stale = 0;
+        long signals = 0;
+        for (LiveShard shard : shards) {
+            processed += shard.barsProcessed();
+            stale += shard.staleUpdates();
+            signals += shard.signals();
+        }
+        return new Stats(shards.length, subscriptions.size(), barsReceived.sum(), barsRejected.sum(),
+                processed, stale, signals);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (LiveShard shard : shards) {
+            shard.stop();
+        }
+        for (LiveShard shard : shards) {
+            shard.join(1000);
+        }
+    }
+
+    /**
+     * Counters since startup. {@code staleUpdates} counts calculators that
+     * skipped a bar no newer than the last one they saw.
+     */
+    public record Stats(int shards, int subscriptions, long barsReceived, long barsRejected, long barsProcessed,
+                        long staleUpdates, long signals) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.quantbackengine.backend.service;
+
+/**
+ * An entry or exit signal fired by a live subscription on the bar at
+ * {@code epochMillis}. {@code latencyNanos} runs from the bar being queued
+ * to the signal being published.
+ */
+public record LiveSignalEvent(Type type, LiveSubscription subscription, long epochMillis, double close,
+                              long latencyNanos) {
+
+    public enum Type {
+        ENTRY,
+        EXIT
+    }
+}
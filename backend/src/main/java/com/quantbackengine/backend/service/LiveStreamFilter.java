@@ -0,0 +1,112 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarInterval;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * What one live stream subscriber receives: event types, symbols (empty for
+ * all) for signals and bars, bar intervals, and the paper accounts whose P&L
+ * it follows.
+ */
+public record LiveStreamFilter(Set<Type> types, Set<String> symbols, Set<BarInterval> intervals,
+                               Set<String> accounts) {
+
+    public static final int MAX_SYMBOLS = 500;
+    public static final int MAX_ACCOUNTS = 50;
+
+    private static final Pattern ACCOUNT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    public enum Type {
+        SIGNAL,
+        BAR,
+        PNL;
+
+        /**
+         * The SSE event name.
+         */
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Type fromName(String name) {
+            if (name != null) {
+                for (Type type : values()) {
+                    if (type.name().equalsIgnoreCase(name.trim())) {
+                        return type;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Unsupported live event type: " + name);
+        }
+    }
+
+    public LiveStreamFilter {
+        types = Set.copyOf(types);
+        symbols = Set.copyOf(symbols);
+        intervals = Set.copyOf(intervals);
+        accounts = Set.copyOf(accounts);
+    }
+
+    /**
+     * Parse request parameters; null or empty lists mean every type, every
+     * symbol, {@code defaultInterval} and no accounts.
+     *
+     * @throws IllegalArgumentException for an unknown type or interval, an
+     *                                  invalid symbol or account id, or too
+     *                                  many of either
+     */
+    public static LiveStreamFilter parse(List<String> types, List<String> symbols, List<String> intervals,
+                                         List<String> accounts, BarInterval defaultInterval) {
+        Set<Type> parsedTypes = EnumSet.noneOf(Type.class);
+        if (types == null || types.isEmpty()) {
+            parsedTypes.addAll(EnumSet.allOf(Type.class));
+        } else {
+            types.forEach(type -> parsedTypes.add(Type.fromName(type)));
+        }
+
+        Set<String> parsedSymbols = new LinkedHashSet<>();
+        if (symbols != null) {
+            for (String symbol : symbols) {
+                String clean = MarketDataService.sanitize(symbol);
+                if (clean.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid symbol: " + symbol);
+                }
+                parsedSymbols.add(clean);
+            }
+        }
+        if (parsedSymbols.size() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("At most " + MAX_SYMBOLS + " symbols per stream");
+        }
+
+        Set<BarInterval> parsedIntervals = EnumSet.noneOf(BarInterval.class);
+        if (intervals == null || intervals.isEmpty()) {
+            parsedIntervals.add(defaultInterval);
+        } else {
+            intervals.forEach(interval -> parsedIntervals.add(BarInterval.fromName(interval)));
+        }
+
+        Set<String> parsedAccounts = new LinkedHashSet<>();
+        if (accounts != null) {
+            for (String account : accounts) {
+                if (!ACCOUNT_ID.matcher(account).matches()) {
+                    throw new IllegalArgumentException("Invalid paper account id: " + account);
+                }
+                parsedAccounts.add(account);
+            }
+        }
+        if (parsedAccounts.size() > MAX_ACCOUNTS) {
+            throw new IllegalArgumentException("At most " + MAX_ACCOUNTS + " accounts per stream");
+        }
+        return new LiveStreamFilter(parsedTypes, parsedSymbols, parsedIntervals, parsedAccounts);
+    }
+
+    public boolean wants(Type type) {
+        return types.contains(type);
+    }
+}
@@ -0,0 +1,328 @@
+package com.quantbackengine.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.engine.BarListener;
+import com.quantbackengine.backend.service.paper.PaperTradingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+/**
+ * Pushes live signals, completed bars and paper account P&L to stream
+ * subscribers.
+ *
+ * <p>Publishers (the {@link LiveSignalEngine} shards, the feed thread of the
+ * {@link TickAggregationService}, the {@link PaperTradingService} under its
+ * lock) only look subscribers up by symbol or account and offer them a
+ * frame serialized once for all of them; each {@link LiveStreamSubscriber}
+ * buffers, coalesces or drops, and writes on its own virtual thread, so a
+ * slow client costs a parked virtual thread and a bounded buffer rather than
+ * a publisher's time. A P&L frame carries only the account id and is
+ * rendered when written from the account's
+ * {@linkplain PaperTradingService#publishedAccount published view}, so a
+ * writer never waits on the paper trading lock. Bars of an
+ * interval nobody subscribed to, such as the 1s bars by default, are
+ * skipped without looking at any subscriber.
+ */
+@Service
+@Slf4j
+public class LiveStreamService implements AutoCloseable {
+
+    /**
+     * Where a subscriber's events go, typically an SSE response. Called only
+     * from the subscriber's writer thread.
+     */
+    public interface EventSink {
+
+        void send(String event, String data) throws IOException;
+
+        /**
+         * Keep an idle connection open, and find out if it is gone.
+         */
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    /**
+     * A live subscription; closing it ends the stream.
+     */
+    public interface Subscription extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private final LiveSignalEngine liveSignalEngine;
+    private final TickAggregationService tickAggregationService;
+    private final PaperTradingService paperTradingService;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int bufferCapacity;
+    private final int maxKeys;
+    private final long batchMillis;
+    private final long heartbeatMillis;
+    private final BarInterval defaultInterval;
+
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<LiveStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<LiveStreamSubscriber> allSymbols = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<LiveStreamSubscriber>> bySymbol = new ConcurrentHashMap<>();
+    private final Map<String, Set<LiveStreamSubscriber>> byAccount = new ConcurrentHashMap<>();
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicIntegerArray barSubscribers = new AtomicIntegerArray(BarInterval.values().length);
+    private final LiveStreamSubscriber.Counters counters = new LiveStreamSubscriber.Counters();
+    private final Consumer<LiveSignalEvent> signalListener = this::onSignal;
+    private final BarListener barListener = this::onBar;
+    private final Consumer<String> accountListener = this::onAccountChanged;
+    private volatile boolean closed;
+
+    public LiveStreamService(LiveSignalEngine liveSignalEngine,
+                             TickAggregationService tickAggregationService,
+                             PaperTradingService paperTradingService,
+                             ObjectMapper objectMapper,
+                             @Value("${live.stream.max-subscribers:5000}") int maxSubscribers,
+                             @Value("${live.stream.buffer:256}") int bufferCapacity,
+                             @Value("${live.stream.max-keys:1024}") int maxKeys,
+                             @Value("${live.stream.batch-ms:50}") long batchMillis,
+                             @Value("${live.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                             @Value("${live.bars.signal-interval:1m}") String defaultInterval) {
+        if (maxSubscribers < 1 || bufferCapacity < 1 || maxKeys < 1 || batchMillis < 0 || heartbeatMillis < 1) {
+            throw new IllegalArgumentException("live.stream.max-subscribers, buffer, max-keys and heartbeat-ms "
+                    + "must be positive, and batch-ms not negative");
+        }
+        this.liveSignalEngine = liveSignalEngine;
+        this.tickAggregationService = tickAggregationService;
+        this.paperTradingService = paperTradingService;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferCapacity = bufferCapacity;
+        this.maxKeys = maxKeys;
+        this.batchMillis = batchMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.defaultInterval = BarInterval.fromName(defaultInterval);
+
+        liveSignalEngine.addListener(signalListener);
+        tickAggregationService.addBarListener(barListener);
+        paperTradingService.addAccountListener(accountListener);
+    }
+
+    /**
+     * The bar interval a filter without intervals receives.
+     */
+    public BarInterval defaultInterval() {
+        return defaultInterval;
+    }
+
+    /**
+     * Start streaming to {@code sink}, on a new writer thread. Accounts in
+     * the filter get their current P&L straight away.
+     *
+     * @return empty when {@code live.stream.max-subscribers} are connected
+     */
+    public Optional<Subscription> subscribe(LiveStreamFilter filter, EventSink sink) {
+        if (closed) {
+            throw new IllegalStateException("Live stream service is shut down");
+        }
+        if (admitted.incrementAndGet() > maxSubscribers) {
+            admitted.decrementAndGet();
+            return Optional.empty();
+        }
+        LiveStreamSubscriber subscriber = new LiveStreamSubscriber(filter, sink, this::render, bufferCapacity, maxKeys,
+                batchMillis, heartbeatMillis, counters, this::unregister);
+
+        subscribers.add(subscriber);
+        if (filter.wants(LiveStreamFilter.Type.BAR)) {
+            filter.intervals().forEach(interval -> barSubscribers.incrementAndGet(interval.ordinal()));
+        }
+        if (filter.symbols().isEmpty()) {
+            allSymbols.add(subscriber);
+        } else {
+            filter.symbols().forEach(symbol -> index(bySymbol, symbol, subscriber));
+        }
+        if (filter.wants(LiveStreamFilter.Type.PNL)) {
+            for (String account : filter.accounts()) {
+                index(byAccount, account, subscriber);
+                subscriber.offer(pnlFrame(account));
+            }
+        }
+        writers.execute(subscriber);
+        return Optional.of(subscriber::close);
+    }
+
+    private static void index(Map<String, Set<LiveStreamSubscriber>> index, String key,
+                              LiveStreamSubscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<LiveStreamSubscriber> subscribed = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribed.add(subscriber);
+            return subscribed;
+        });
+    }
+
+    private static void unindex(Map<String, Set<LiveStreamSubscriber>> index, String key,
+                                LiveStreamSubscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void unregister(LiveStreamSubscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        allSymbols.remove(subscriber);
+        subscriber.filter().symbols().forEach(symbol -> unindex(bySymbol, symbol, subscriber));
+        subscriber.filter().accounts().forEach(account -> unindex(byAccount, account, subscriber));
+        if (subscriber.filter().wants(LiveStreamFilter.Type.BAR)) {
+            subscriber.filter().intervals().forEach(interval -> barSubscribers.decrementAndGet(interval.ordinal()));
+        }
+        admitted.decrementAndGet();
+    }
+
+    // -------------------------------------------------------------------
+    // Publishers
+    // -------------------------------------------------------------------
+
+    private void onSignal(LiveSignalEvent event) {
+        Set<LiveStreamSubscriber> targeted = bySymbol.get(event.subscription().symbol());
+        if (targeted == null && allSymbols.isEmpty()) {
+            return;
+        }
+        LiveStreamSubscriber.Frame frame = new LiveStreamSubscriber.Frame(
+                LiveStreamFilter.Type.SIGNAL.eventName(), null, json(event));
+        offerSignal(frame, targeted);
+        offerSignal(frame, allSymbols);
+    }
+
+    private static void offerSignal(LiveStreamSubscriber.Frame frame, Set<LiveStreamSubscriber> subscribers) {
+        if (subscribers == null) {
+            return;
+        }
+        for (LiveStreamSubscriber subscriber : subscribers) {
+            if (subscriber.filter().wants(LiveStreamFilter.Type.SIGNAL)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    private void onBar(BarInterval interval, String symbol, long startMillis, double open, double high, double low,
+                       double close, long volume) {
+        if (barSubscribers.get(interval.ordinal()) == 0) {
+            return;
+        }
+        Set<LiveStreamSubscriber> targeted = bySymbol.get(symbol);
+        if (targeted == null && allSymbols.isEmpty()) {
+            return;
+        }
+        LiveStreamSubscriber.Frame frame = new LiveStreamSubscriber.Frame(LiveStreamFilter.Type.BAR.eventName(),
+                interval.label() + ":" + symbol,
+                json(new BarUpdate(interval.label(), symbol, startMillis, open, high, low, close, volume)));
+        offerBar(frame, interval, targeted);
+        offerBar(frame, interval, allSymbols);
+    }
+
+    private static boolean wantsBar(LiveStreamFilter filter, BarInterval interval) {
+        return filter.wants(LiveStreamFilter.Type.BAR) && filter.intervals().contains(interval);
+    }
+
+    private static void offerBar(LiveStreamSubscriber.Frame frame, BarInterval interval,
+                                 Set<LiveStreamSubscriber> subscribers) {
+        if (subscribers == null) {
+            return;
+        }
+        for (LiveStreamSubscriber subscriber : subscribers) {
+            if (wantsBar(subscriber.filter(), interval)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    private void onAccountChanged(String accountId) {
+        Set<LiveStreamSubscriber> watching = byAccount.get(accountId);
+        if (watching == null) {
+            return;
+        }
+        LiveStreamSubscriber.Frame frame = pnlFrame(accountId);
+        for (LiveStreamSubscriber subscriber : watching) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Account ids never contain {@code ':'}, so P&L keys cannot collide
+     * with bar keys.
+     */
+    private static LiveStreamSubscriber.Frame pnlFrame(String accountId) {
+        return new LiveStreamSubscriber.Frame(LiveStreamFilter.Type.PNL.eventName(), accountId, null);
+    }
+
+    /**
+     * Data for a frame rendered on write: the account's P&L as of its last
+     * change, or null (nothing sent) if it does not exist.
+     */
+    private String render(LiveStreamSubscriber.Frame frame) {
+        return paperTradingService.publishedAccount(frame.key()).map(this::json).orElse(null);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Stats stats() {
+        int pending = 0;
+        for (LiveStreamSubscriber subscriber : subscribers) {
+            pending += subscriber.pending();
+        }
+        return new Stats(subscribers.size(), maxSubscribers, pending, counters.sent.sum(), counters.coalesced.sum(),
+                counters.dropped.sum());
+    }
+
+    /**
+     * Ends every stream.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        liveSignalEngine.removeListener(signalListener);
+        tickAggregationService.removeBarListener(barListener);
+        paperTradingService.removeAccountListener(accountListener);
+        for (LiveStreamSubscriber subscriber : new ArrayList<>(subscribers)) {
+            subscriber.close();
+        }
+        writers.shutdown();
+    }
+
+    /**
+     * A completed bar, as streamed.
+     */
+    public record BarUpdate(String interval, String symbol, long startMillis, double open, double high, double low,
+                            double close, long volume) {
+    }
+
+    /**
+     * {@code coalesced} updates were replaced by newer ones before being
+     * written; {@code dropped} ones found a subscriber's buffer full.
+     */
+    public record Stats(int subscribers, int maxSubscribers, int pending, long sent, long coalesced, long dropped) {
+    }
+}
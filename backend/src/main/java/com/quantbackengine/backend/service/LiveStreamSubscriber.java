@@ -0,0 +1,233 @@
+package com.quantbackengine.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One live stream connection: a bounded buffer that publishers fill without
+ * ever waiting, drained by the connection's own writer thread, which may
+ * block on a slow client for as long as it takes.
+ *
+ * <p>Signals are discrete and queue in order; once {@code capacity} are
+ * waiting, each new one drops the oldest. Bars and P&L are state, so an
+ * update replaces the pending one with the same key and a slow client just
+ * sees fewer, fresher values; at most {@code maxKeys} keys are pending, and
+ * updates for further keys are dropped. Drops are reported to the client in
+ * a {@code dropped} event ahead of the next batch, so it knows to refetch.
+ * Frames are written in batches at most every {@code batchMillis}, which
+ * also caps how often publishers wake the writer.
+ *
+ * <p>The lock is a {@link ReentrantLock}, not a monitor, so a virtual writer
+ * thread waiting on it does not pin its carrier.
+ */
+@Slf4j
+final class LiveStreamSubscriber implements Runnable {
+
+    /**
+     * An SSE event: {@code key} is null for a queued event, or what coalesces
+     * it; {@code data} is null for one rendered when it is written.
+     */
+    record Frame(String event, String key, String data) {
+    }
+
+    /**
+     * Totals across every subscriber.
+     */
+    static final class Counters {
+        final LongAdder sent = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    private final LiveStreamFilter filter;
+    private final LiveStreamService.EventSink sink;
+    private final Function<Frame, String> renderer;
+    private final int capacity;
+    private final int maxKeys;
+    private final long batchMillis;
+    private final long heartbeatMillis;
+    private final Counters counters;
+    private final Consumer<LiveStreamSubscriber> onClose;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final ArrayDeque<Frame> queue;
+    private final Map<String, Frame> latest = new LinkedHashMap<>();
+    private long unreportedDrops;
+    private boolean closed;
+
+    LiveStreamSubscriber(LiveStreamFilter filter, LiveStreamService.EventSink sink, Function<Frame, String> renderer,
+                         int capacity, int maxKeys, long batchMillis, long heartbeatMillis, Counters counters,
+                         Consumer<LiveStreamSubscriber> onClose) {
+        this.filter = filter;
+        this.sink = sink;
+        this.renderer = renderer;
+        this.capacity = capacity;
+        this.maxKeys = maxKeys;
+        this.batchMillis = batchMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.counters = counters;
+        this.onClose = onClose;
+        this.queue = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    LiveStreamFilter filter() {
+        return filter;
+    }
+
+    /**
+     * Buffer {@code frame} for the writer; never blocks on the client.
+     */
+    void offer(Frame frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (frame.key() == null) {
+                if (queue.size() == capacity) {
+                    queue.pollFirst();
+                    drop();
+                }
+                queue.addLast(frame);
+            } else if (latest.containsKey(frame.key())) {
+                latest.put(frame.key(), frame);
+                counters.coalesced.increment();
+            } else if (latest.size() < maxKeys) {
+                latest.put(frame.key(), frame);
+            } else {
+                drop();
+                return;
+            }
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return whether there is anything to write, false after
+     *         {@code heartbeatMillis} idle or once closed
+     */
+    private boolean awaitFrames() throws InterruptedException {
+        lock.lock();
+        try {
+            long waitNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMillis);
+            while (!closed && isEmpty() && waitNanos > 0) {
+                waitNanos = ready.awaitNanos(waitNanos);
+            }
+            return !closed && !isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isEmpty() {
+        return queue.isEmpty() && latest.isEmpty() && unreportedDrops == 0;
+    }
+
+    private void drop() {
+        unreportedDrops++;
+        counters.dropped.increment();
+    }
+
+    /**
+     * Frames waiting to be written.
+     */
+    int pending() {
+        lock.lock();
+        try {
+            return queue.size() + latest.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop the writer and unregister; idempotent.
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            latest.clear();
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+        onClose.accept(this);
+    }
+
+    /**
+     * The writer loop: waits for frames, lets a burst gather for
+     * {@code batchMillis}, then writes all pending; sends a heartbeat after
+     * {@code heartbeatMillis} without any. Runs until closed or the client
+     * goes.
+     */
+    @Override
+    public void run() {
+        List<Frame> batch = new ArrayList<>();
+        try {
+            sink.heartbeat();
+            while (true) {
+                if (awaitFrames() && batchMillis > 0) {
+                    // offers do not wake a sleeping writer, so a burst costs one wake-up
+                    Thread.sleep(batchMillis);
+                }
+                long drops;
+                lock.lock();
+                try {
+                    if (closed) {
+                        return;
+                    }
+                    batch.addAll(queue);
+                    batch.addAll(latest.values());
+                    queue.clear();
+                    latest.clear();
+                    drops = unreportedDrops;
+                    unreportedDrops = 0;
+                } finally {
+                    lock.unlock();
+                }
+
+                if (drops > 0) {
+                    sink.send("dropped", "{\"count\":" + drops + "}");
+                }
+                for (Frame frame : batch) {
+                    String data = frame.data() != null ? frame.data() : renderer.apply(frame);
+                    if (data != null) {
+                        sink.send(frame.event(), data);
+                        counters.sent.increment();
+                    }
+                }
+                if (batch.isEmpty() && drops == 0) {
+                    sink.heartbeat();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Live stream closed: {}", e.getMessage());
+        } finally {
+            close();
+            sink.close();
+        }
+    }
+}
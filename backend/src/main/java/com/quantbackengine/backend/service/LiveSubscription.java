@@ -0,0 +1,14 @@
+package com.quantbackengine.backend.service;
+
+import java.util.Map;
+
+/**
+ * One strategy, with its parameters, evaluated live against one symbol.
+ * Equal subscriptions share a single calculator.
+ */
+public record LiveSubscription(String symbol, String strategy, Map<String, Object> parameters) {
+
+    public LiveSubscription {
+        parameters = parameters != null ? Map.copyOf(parameters) : Map.of();
+    }
+}
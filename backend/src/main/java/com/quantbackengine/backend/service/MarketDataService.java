@@ -2,16 +2,15 @@ package com.quantbackengine.backend.service;
 
 import com.quantbackengine.backend.domain.MarketData;
 import com.quantbackengine.backend.dto.OhlcvBar;
+import com.quantbackengine.backend.engine.BarColumns;
 import com.quantbackengine.backend.exception.MarketDataUnavailableException;
 import com.quantbackengine.backend.repository.MarketDataRepository;
 import com.quantbackengine.backend.service.python.PythonBridgeService;
 import com.quantbackengine.backend.service.python.PythonMarketDataProvider;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseBar;
-import org.ta4j.core.BaseBarSeries;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -19,11 +18,21 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service for loading market data.
@@ -35,44 +44,58 @@ public class MarketDataService {
 
     private static final ZoneId ZONE_ID = ZoneId.of("UTC");
     private static final String DEFAULT_SOURCE = "yfinance";
+    private static final Duration BAR_DURATION = Duration.ofDays(1);
 
     private final PythonMarketDataProvider marketDataProvider;
     private final PythonBridgeService bridgeService;
     private final MarketDataRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MarketDataService(PythonMarketDataProvider marketDataProvider,
                              PythonBridgeService bridgeService,
-                             MarketDataRepository repository) {
+                             MarketDataRepository repository,
+                             ApplicationEventPublisher eventPublisher) {
         this.marketDataProvider = marketDataProvider;
         this.bridgeService = bridgeService;
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     /** Calendar-day tolerance when judging whether cached bars cover a range (weekends/holidays). */
     private static final long COVERAGE_TOLERANCE_DAYS = 5;
 
     /**
-     * Load historical bar data for a symbol.
+     * Load historical bar data for a symbol as a ta4j series.
+     *
+     * <p>Thin view over {@link #getBarColumns}; kept for callers that still
+     * need ta4j types. The backtest hot path uses the columns directly.
+     */
+    public BarSeries getBarSeries(String symbol, LocalDate start, LocalDate end) {
+        return getBarColumns(symbol, start, end).toBarSeries();
+    }
+
+    /**
+     * Load historical bar data for a symbol as primitive columns.
      *
      * <p>DB cache first; on miss the Python bridge fetches and the bars are
      * upserted into the cache. Bridge down: cached bars are served if any
      * exist for the range, otherwise {@link MarketDataUnavailableException}.
      */
-    public BarSeries getBarSeries(String symbol, LocalDate start, LocalDate end) {
-        String sanitizedSymbol = symbol.toUpperCase().replaceAll("[^A-Z0-9\\-]", "");
+    public BarColumns getBarColumns(String symbol, LocalDate start, LocalDate end) {
+        String sanitizedSymbol = sanitize(symbol);
 
         List<MarketData> cached = repository.findBySymbolAndTimestampBetweenOrderByTimestampAsc(
                 sanitizedSymbol, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
 
         if (coversRange(cached, start, end)) {
             log.info("Serving {} bars for {} from DB cache", cached.size(), sanitizedSymbol);
-            return toBarSeriesFromEntities(sanitizedSymbol, cached);
+            return toBarColumnsFromEntities(sanitizedSymbol, cached);
         }
 
         if (!bridgeService.isAvailable()) {
             if (!cached.isEmpty()) {
                 log.warn("Bridge down — serving partial cache ({} bars) for {}", cached.size(), sanitizedSymbol);
-                return toBarSeriesFromEntities(sanitizedSymbol, cached);
+                return toBarColumnsFromEntities(sanitizedSymbol, cached);
             }
             throw new MarketDataUnavailableException(sanitizedSymbol, repository.findDistinctSymbols());
         }
@@ -80,13 +103,145 @@ public class MarketDataService {
         List<OhlcvBar> bars = marketDataProvider.fetchHistorical(sanitizedSymbol, start, end, DEFAULT_SOURCE);
         if (bars == null || bars.isEmpty()) {
             if (!cached.isEmpty()) {
-                return toBarSeriesFromEntities(sanitizedSymbol, cached);
+                return toBarColumnsFromEntities(sanitizedSymbol, cached);
             }
             throw new IllegalStateException("No market data available for " + sanitizedSymbol);
         }
 
         persistNewBars(sanitizedSymbol, bars, cached);
-        return toBarSeries(sanitizedSymbol, bars);
+        return toBarColumns(sanitizedSymbol, bars);
+    }
+
+    /**
+     * Load a universe of symbols with a single cache query.
+     *
+     * <p>Symbols whose cached bars cover the range are served from that one
+     * query; only the misses go through {@link #getBarColumns} (bridge fetch
+     * and upsert). Symbols with no data anywhere are logged and left out of
+     * the result, so callers can report them. Keys are sanitized symbols in
+     * request order.
+     */
+    public Map<String, BarColumns> getBarColumnsBatch(Collection<String> symbols, LocalDate start, LocalDate end) {
+        return getBarColumnsBatch(symbols, start, end, 1);
+    }
+
+    /**
+     * As {@link #getBarColumnsBatch(Collection, LocalDate, LocalDate)}, but
+     * fetches up to {@code missConcurrency} cache misses at once, each on its
+     * own virtual thread. Bridge fetches are I/O-bound subprocess calls, so
+     * overlapping a few of them shortens cold loads without holding platform
+     * threads.
+     */
+    public Map<String, BarColumns> getBarColumnsBatch(Collection<String> symbols, LocalDate start, LocalDate end,
+                                                      int missConcurrency) {
+        Set<String> sanitized = sanitizeAll(symbols);
+        Map<String, List<MarketData>> cachedBySymbol = queryCached(sanitized, start, end);
+
+        Map<String, BarColumns> loaded = new ConcurrentHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String symbol : sanitized) {
+            List<MarketData> cached = cachedBySymbol.getOrDefault(symbol, List.of());
+            if (coversRange(cached, start, end)) {
+                loaded.put(symbol, toBarColumnsFromEntities(symbol, cached));
+            } else {
+                misses.add(symbol);
+            }
+        }
+        loadMisses(misses, start, end, missConcurrency, loaded);
+
+        Map<String, BarColumns> result = new LinkedHashMap<>();
+        for (String symbol : sanitized) {
+            BarColumns columns = loaded.get(symbol);
+            if (columns != null) {
+                result.put(symbol, columns);
+            }
+        }
+        log.info("Batch-loaded {} of {} symbols ({} cache misses)", result.size(), sanitized.size(), misses.size());
+        return result;
+    }
+
+    /**
+     * Whatever the cache holds for {@code symbols} in the range, from one
+     * query: no coverage check and no bridge fetch, so a symbol's bars may
+     * not span the whole range. Symbols with no cached bars are left out.
+     * Keys are sanitized symbols in request order.
+     */
+    public Map<String, BarColumns> getCachedBarColumns(Collection<String> symbols, LocalDate start, LocalDate end) {
+        Set<String> sanitized = sanitizeAll(symbols);
+        Map<String, List<MarketData>> cachedBySymbol = queryCached(sanitized, start, end);
+        Map<String, BarColumns> result = new LinkedHashMap<>();
+        for (String symbol : sanitized) {
+            List<MarketData> cached = cachedBySymbol.get(symbol);
+            if (cached != null) {
+                result.put(symbol, toBarColumnsFromEntities(symbol, cached));
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> sanitizeAll(Collection<String> symbols) {
+        Set<String> sanitized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            sanitized.add(sanitize(symbol));
+        }
+        return sanitized;
+    }
+
+    private Map<String, List<MarketData>> queryCached(Set<String> sanitized, LocalDate start, LocalDate end) {
+        Map<String, List<MarketData>> cachedBySymbol = new HashMap<>();
+        for (MarketData m : repository.findBySymbolInAndTimestampBetweenOrderBySymbolAscTimestampAsc(
+                sanitized, start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+            cachedBySymbol.computeIfAbsent(m.getSymbol(), k -> new ArrayList<>()).add(m);
+        }
+        return cachedBySymbol;
+    }
+
+    private void loadMisses(List<String> misses, LocalDate start, LocalDate end, int concurrency,
+                            Map<String, BarColumns> loaded) {
+        if (concurrency <= 1 || misses.size() <= 1) {
+            misses.forEach(symbol -> loadMiss(symbol, start, end, loaded));
+            return;
+        }
+        Semaphore permits = new Semaphore(concurrency);
+        List<Callable<Void>> tasks = new ArrayList<>(misses.size());
+        for (String symbol : misses) {
+            tasks.add(() -> {
+                permits.acquire();
+                try {
+                    loadMiss(symbol, start, end, loaded);
+                } finally {
+                    permits.release();
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch market data load interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void loadMiss(String symbol, LocalDate start, LocalDate end, Map<String, BarColumns> loaded) {
+        try {
+            BarColumns columns = getBarColumns(symbol, start, end);
+            if (!columns.isEmpty()) {
+                loaded.put(symbol, columns);
+            }
+        } catch (MarketDataUnavailableException | IllegalStateException e) {
+            log.warn("No market data for {} in batch load: {}", symbol, e.getMessage());
+        }
+    }
+
+    /**
+     * The cache key for {@code symbol}: upper case, letters, digits and dashes only.
+     */
+    public static String sanitize(String symbol) {
+        return symbol.toUpperCase().replaceAll("[^A-Z0-9\\-]", "");
     }
 
     private boolean coversRange(List<MarketData> cached, LocalDate start, LocalDate end) {
@@ -116,6 +271,8 @@ public class MarketDataService {
             existing.add(m.getTimestamp());
         }
         List<MarketData> toSave = new ArrayList<>();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
         for (OhlcvBar b : bars) {
             LocalDateTime ts = LocalDateTime.ofInstant(toInstant(b.timestamp()), ZONE_ID);
             if (existing.add(ts)) {
@@ -128,53 +285,47 @@ public class MarketDataService {
                         .close(BigDecimal.valueOf(b.close()))
                         .volume(b.volume())
                         .build());
+                first = first == null || ts.isBefore(first) ? ts : first;
+                last = last == null || ts.isAfter(last) ? ts : last;
             }
         }
         if (!toSave.isEmpty()) {
             repository.saveAll(toSave);
             log.info("Cached {} new bars for {}", toSave.size(), symbol);
+            eventPublisher.publishEvent(new MarketDataWrittenEvent(symbol, first.toLocalDate(), last.toLocalDate()));
         }
     }
 
-    private BarSeries toBarSeriesFromEntities(String symbol, List<MarketData> entities) {
-        List<Bar> bars = new ArrayList<>(entities.size());
+    private BarColumns toBarColumnsFromEntities(String symbol, List<MarketData> entities) {
+        BarColumns.Builder columns = BarColumns.builder(symbol, BAR_DURATION, entities.size());
         for (MarketData m : entities) {
-            bars.add(new BaseBar(
-                    Duration.ofDays(1),
-                    m.getTimestamp().atZone(ZONE_ID),
-                    m.getOpen().toPlainString(),
-                    m.getHigh().toPlainString(),
-                    m.getLow().toPlainString(),
-                    m.getClose().toPlainString(),
-                    String.valueOf(m.getVolume())
-            ));
+            columns.add(
+                    m.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                    m.getOpen().doubleValue(),
+                    m.getHigh().doubleValue(),
+                    m.getLow().doubleValue(),
+                    m.getClose().doubleValue(),
+                    m.getVolume());
         }
-        return new BaseBarSeries(symbol, bars);
+        return columns.build();
     }
 
     /**
-     * Convert a list of {@link OhlcvBar} to a ta4j {@link BarSeries}.
+     * Convert a list of {@link OhlcvBar} straight into {@link BarColumns}.
      */
-    private BarSeries toBarSeries(String symbol, List<OhlcvBar> ohlcvBars) {
+    private BarColumns toBarColumns(String symbol, List<OhlcvBar> ohlcvBars) {
         if (ohlcvBars == null || ohlcvBars.isEmpty()) {
-            return new BaseBarSeries(symbol);
+            return BarColumns.empty(symbol);
         }
 
-        List<Bar> bars = new ArrayList<>(ohlcvBars.size());
+        BarColumns.Builder columns = BarColumns.builder(symbol, BAR_DURATION, ohlcvBars.size());
         for (OhlcvBar ob : ohlcvBars) {
-            bars.add(new BaseBar(
-                    Duration.ofDays(1),
-                    toInstant(ob.timestamp()).atZone(ZONE_ID),
-                    String.valueOf(ob.open()),
-                    String.valueOf(ob.high()),
-                    String.valueOf(ob.low()),
-                    String.valueOf(ob.close()),
-                    String.valueOf(ob.volume())
-            ));
-        }
-
-        log.info("Loaded {} bars for {} via Python bridge", bars.size(), symbol);
-        return new BaseBarSeries(symbol, bars);
+            columns.add(toInstant(ob.timestamp()).toEpochMilli(),
+                    ob.open(), ob.high(), ob.low(), ob.close(), ob.volume());
+        }
+
+        log.info("Loaded {} bars for {} via Python bridge", columns.size(), symbol);
+        return columns.build();
     }
 
     /**
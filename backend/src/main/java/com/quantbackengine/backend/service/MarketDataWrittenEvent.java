@@ -0,0 +1,11 @@
+package com.quantbackengine.backend.service;
+
+import java.time.LocalDate;
+
+/**
+ * Published after {@link MarketDataService} stores new bars for
+ * {@code symbol} dated {@code from}..{@code to} (inclusive, UTC), so caches
+ * derived from that data can drop what the write made stale.
+ */
+public record MarketDataWrittenEvent(String symbol, LocalDate from, LocalDate to) {
+}
@@ -0,0 +1,186 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.PairScanRequest;
+import com.quantbackengine.backend.dto.PairScanResponse;
+import com.quantbackengine.backend.dto.PairScanResponse.ScannedPairDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.engine.LogPriceMatrix;
+import com.quantbackengine.backend.util.Cointegration;
+import com.quantbackengine.backend.util.CorrelationMatrix;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Pair discovery over the cached universe, for
+ * {@link com.quantbackengine.backend.strategy.PairsTradingStrategy}.
+ *
+ * <p>Bars come from the market data cache only, in one query reserved with
+ * {@link BacktestAdmission} for every symbol at once, and are aligned into a
+ * {@link LogPriceMatrix}. Every pair is screened by the correlation of
+ * daily log returns ({@link CorrelationMatrix}, tiles in
+ * parallel on the {@code backtestComputePool}); the most correlated go on
+ * to an Engle-Granger test in both directions, also in parallel, and are
+ * ranked by the stronger of the two statistics.
+ */
+@Service
+@Slf4j
+public class PairScanService {
+
+    private static final int DEFAULT_CANDIDATES = 1000;
+    private static final double DEFAULT_MIN_CORRELATION = 0.5;
+    private static final int DEFAULT_ADF_LAGS = 1;
+    private static final double DEFAULT_MIN_COVERAGE = 0.9;
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MIN_BARS = 60;
+
+    private final MarketDataService marketDataService;
+    private final BacktestAdmission admission;
+    private final ForkJoinPool computePool;
+
+    @Value("${backtest.pair-scan.max-symbols:1000}")
+    private int maxSymbols;
+
+    public PairScanService(MarketDataService marketDataService,
+                           BacktestAdmission admission,
+                           @Qualifier("backtestComputePool") ForkJoinPool computePool) {
+        this.marketDataService = marketDataService;
+        this.admission = admission;
+        this.computePool = computePool;
+    }
+
+    public PairScanResponse scan(PairScanRequest request) {
+        List<String> requested = request.getSymbols() != null && !request.getSymbols().isEmpty()
+                ? request.getSymbols()
+                : marketDataService.getAvailableSymbols();
+        if (requested.size() > maxSymbols) {
+            throw new IllegalArgumentException("Scan has " + requested.size()
+                    + " symbols; the limit is " + maxSymbols);
+        }
+        // No strategy: the columns, the aligned matrix and its returns
+        try (BacktestAdmission.Ticket ticket = admission.admit(null,
+                BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate(), requested.size()),
+                0, false)) {
+            return scan(request, requested, ticket);
+        }
+    }
+
+    private PairScanResponse scan(PairScanRequest request, List<String> requested, BacktestAdmission.Ticket ticket) {
+        int candidates = request.getCandidates() != null ? request.getCandidates() : DEFAULT_CANDIDATES;
+        double minCorrelation = request.getMinCorrelation() != null
+                ? request.getMinCorrelation() : DEFAULT_MIN_CORRELATION;
+        int lags = request.getAdfLags() != null ? request.getAdfLags() : DEFAULT_ADF_LAGS;
+        double minCoverage = request.getMinCoverage() != null ? request.getMinCoverage() : DEFAULT_MIN_COVERAGE;
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        long started = System.nanoTime();
+        Map<String, BarColumns> loaded = marketDataService.getCachedBarColumns(
+                requested, request.getStartDate(), request.getEndDate());
+        ticket.actualBars(BacktestAdmission.totalBars(loaded.values()));
+        LogPriceMatrix matrix = LogPriceMatrix.align(new ArrayList<>(loaded.values()), minCoverage);
+        int n = matrix.symbols().size();
+        if (n < 2 || matrix.bars() < MIN_BARS) {
+            throw new IllegalStateException("Need at least 2 symbols with " + MIN_BARS
+                    + " common cached bars; have " + n + " symbols over " + matrix.bars() + " bars");
+        }
+
+        CancellationToken cancellation = CancellationToken.current();
+        double[][] z = CorrelationMatrix.standardizedReturns(matrix.logClose());
+        double[][] correlation = new double[n][n];
+        ComputeTasks.invoke(computePool, () -> IntStream.range(0, CorrelationMatrix.tileCount(n)).parallel().boxed()
+                .map(cancellation.bound(tile -> {
+                    CorrelationMatrix.computeTile(z, tile, correlation);
+                    return tile;
+                }))
+                .toList(), "Pair scan");
+
+        List<Candidate> shortlist = shortlist(correlation, minCorrelation, candidates);
+        List<ScannedPairDto> tested = ComputeTasks.invoke(computePool, () -> shortlist.parallelStream()
+                .map(cancellation.bound(c -> test(matrix, c, lags)))
+                .toList(), "Pair scan");
+
+        List<ScannedPairDto> ranked = tested.stream()
+                .filter(p -> !Double.isNaN(p.getAdfStatistic()))
+                .sorted(Comparator.comparingDouble(ScannedPairDto::getAdfStatistic))
+                .limit(limit)
+                .toList();
+
+        List<String> excluded = new ArrayList<>(matrix.excluded());
+        for (String symbol : requested) {
+            if (!loaded.containsKey(MarketDataService.sanitize(symbol))) {
+                excluded.add(symbol);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Pair scan of {} symbols over {} bars: {} candidates tested, {} cointegrated, {} ms", n,
+                matrix.bars(), shortlist.size(), tested.stream().filter(ScannedPairDto::isCointegrated).count(),
+                elapsedMs);
+
+        return PairScanResponse.builder()
+                .symbols(n)
+                .excludedSymbols(excluded)
+                .bars(matrix.bars())
+                .pairsScreened((long) n * (n - 1) / 2)
+                .candidatesTested(shortlist.size())
+                .pairs(ranked)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private record Candidate(int i, int j, double correlation) {
+    }
+
+    /**
+     * The {@code size} most correlated pairs at or above {@code minCorrelation}.
+     */
+    private static List<Candidate> shortlist(double[][] correlation, double minCorrelation, int size) {
+        PriorityQueue<Candidate> top = new PriorityQueue<>(Comparator.comparingDouble(Candidate::correlation));
+        for (int i = 0; i < correlation.length; i++) {
+            for (int j = i + 1; j < correlation.length; j++) {
+                double value = correlation[i][j];
+                if (value < minCorrelation || top.size() == size && value <= top.peek().correlation()) {
+                    continue;
+                }
+                if (top.size() == size) {
+                    top.poll();
+                }
+                top.add(new Candidate(i, j, value));
+            }
+        }
+        return new ArrayList<>(top);
+    }
+
+    /**
+     * Engle-Granger both ways round; the direction with the more negative
+     * statistic is reported.
+     */
+    private static ScannedPairDto test(LogPriceMatrix matrix, Candidate candidate, int lags) {
+        double[] a = matrix.logClose()[candidate.i()];
+        double[] b = matrix.logClose()[candidate.j()];
+        Cointegration.Result forward = Cointegration.engleGranger(a, b, lags);
+        Cointegration.Result reverse = Cointegration.engleGranger(b, a, lags);
+        boolean swap = Double.isNaN(forward.adfStatistic()) || reverse.adfStatistic() < forward.adfStatistic();
+        Cointegration.Result result = swap ? reverse : forward;
+        return ScannedPairDto.builder()
+                .symbolA(matrix.symbols().get(swap ? candidate.j() : candidate.i()))
+                .symbolB(matrix.symbols().get(swap ? candidate.i() : candidate.j()))
+                .correlation(candidate.correlation())
+                .hedgeRatio(result.hedgeRatio())
+                .adfStatistic(result.adfStatistic())
+                .criticalValue(result.criticalValue())
+                .cointegrated(result.cointegrated())
+                .halfLifeBars(Double.isNaN(result.halfLife()) ? null : result.halfLife())
+                .build();
+    }
+}
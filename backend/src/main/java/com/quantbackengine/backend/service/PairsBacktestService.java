@@ -0,0 +1,154 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.PairsBacktestRequest;
+import com.quantbackengine.backend.dto.PairsBacktestResponse;
+import com.quantbackengine.backend.dto.PairsBacktestResponse.PairTradeDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.PairJoin;
+import com.quantbackengine.backend.engine.PairSignals;
+import com.quantbackengine.backend.engine.PairedSeries;
+import com.quantbackengine.backend.engine.PairsResult;
+import com.quantbackengine.backend.engine.PairsSimulator;
+import com.quantbackengine.backend.engine.TradeLog;
+import com.quantbackengine.backend.strategy.PairsTradingStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.util.MetricsAccumulator;
+import com.quantbackengine.backend.util.MetricsCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pairs backtest: a {@link PairsTradingStrategy} trading the spread between
+ * two symbols.
+ *
+ * <p>Both legs are loaded with one batched cache query and matched on
+ * timestamp by the request's {@link PairJoin}, so a holiday or halt in one
+ * leg never pairs its prices with another day's. Signals and the
+ * {@link PairsSimulator} then run over the joined primitive columns.
+ */
+@Service
+@Slf4j
+public class PairsBacktestService {
+
+    private final StrategyRegistry strategyRegistry;
+    private final MarketDataService marketDataService;
+    private final BacktestService backtestService;
+
+    public PairsBacktestService(StrategyRegistry strategyRegistry,
+                                MarketDataService marketDataService,
+                                BacktestService backtestService) {
+        this.strategyRegistry = strategyRegistry;
+        this.marketDataService = marketDataService;
+        this.backtestService = backtestService;
+    }
+
+    public PairsBacktestResponse run(PairsBacktestRequest request) {
+        TradingStrategy resolved = strategyRegistry.getStrategy(request.getStrategy())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + request.getStrategy()));
+        if (!(resolved instanceof PairsTradingStrategy strategy)) {
+            throw new IllegalArgumentException("Strategy " + request.getStrategy() + " is not a pairs strategy");
+        }
+        PairJoin join = PairJoin.fromName(request.getJoin());
+        String symbolA = MarketDataService.sanitize(request.getSymbolA());
+        String symbolB = MarketDataService.sanitize(request.getSymbolB());
+        if (symbolA.equals(symbolB)) {
+            throw new IllegalArgumentException("A pair needs two different symbols");
+        }
+
+        long started = System.nanoTime();
+        Map<String, BarColumns> loaded = marketDataService.getBarColumnsBatch(
+                List.of(symbolA, symbolB), request.getStartDate(), request.getEndDate());
+        BarColumns a = require(loaded, symbolA);
+        BarColumns b = require(loaded, symbolB);
+        PairedSeries pair = join.align(a, b);
+        if (pair.size() < 2) {
+            throw new IllegalStateException("No overlapping market data for " + symbolA + " and " + symbolB);
+        }
+
+        double capital = backtestService.resolveInitialCapital(request.getInitialCapital());
+        double commission = backtestService.resolveCommissionRate(request.getCommissionRate());
+        PairSignals signals = strategy.computePairSignals(pair.closeA(), pair.closeB(), request.getParameters());
+        PairsResult result = PairsSimulator.run(pair, signals, capital, commission);
+
+        long[] epochMillis = pair.epochMillis();
+        MetricsAccumulator accumulator = backtestService.metricsAccumulator(capital);
+        for (int i = 0; i < result.equity().length; i++) {
+            accumulator.add(epochMillis[i], result.equity()[i]);
+        }
+        MetricsCalculator.addTrades(accumulator, epochMillis, result.trades());
+        if (result.openEntryIndex() >= 0) {
+            accumulator.openPosition(epochMillis[result.openEntryIndex()]);
+        }
+        MetricsDto metrics = accumulator.result();
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Pairs backtest of {} on {}/{} ({}, {} of {}/{} bars) done in {} ms, return {}%", strategy.getId(),
+                symbolA, symbolB, join, pair.size(), a.size(), b.size(), elapsedMs,
+                String.format("%.2f", metrics.getTotalReturn() * 100));
+
+        int last = pair.size() - 1;
+        return PairsBacktestResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .strategy(strategy.getId())
+                .symbolA(symbolA)
+                .symbolB(symbolB)
+                .join(join.name())
+                .bars(pair.size())
+                .metrics(metrics)
+                .equityCurve(toEquityDtos(epochMillis, result.equity()))
+                .trades(toTradeDtos(epochMillis, signals, result.trades()))
+                .hedgeRatio(finiteOrNull(signals.hedgeRatio()[last]))
+                .zScore(finiteOrNull(signals.zScore()[last]))
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private static BarColumns require(Map<String, BarColumns> loaded, String symbol) {
+        BarColumns columns = loaded.get(symbol);
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalStateException("No market data available for " + symbol);
+        }
+        return columns;
+    }
+
+    private static Double finiteOrNull(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+
+    private static List<EquityPointDto> toEquityDtos(long[] epochMillis, double[] equity) {
+        List<EquityPointDto> curve = new ArrayList<>(equity.length);
+        for (int i = 0; i < equity.length; i++) {
+            curve.add(EquityPointDto.builder()
+                    .timestamp(epochMillis[i])
+                    .value(equity[i])
+                    .build());
+        }
+        return curve;
+    }
+
+    private static List<PairTradeDto> toTradeDtos(long[] epochMillis, PairSignals signals, TradeLog trades) {
+        List<PairTradeDto> dtos = new ArrayList<>(trades.size());
+        for (int t = 0; t < trades.size(); t++) {
+            double units = trades.shares(t);
+            dtos.add(PairTradeDto.builder()
+                    .direction(units > 0 ? "LONG_SPREAD" : "SHORT_SPREAD")
+                    .entryTime(epochMillis[trades.entryIndex(t)])
+                    .exitTime(epochMillis[trades.exitIndex(t)])
+                    .hedgeRatio(signals.hedgeRatio()[trades.entryIndex(t)])
+                    .entrySpread(trades.entryPrice(t))
+                    .exitSpread(trades.exitPrice(t))
+                    .units(Math.abs(units))
+                    .pnl(trades.pnl(t))
+                    .build());
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,149 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.SweepRequest.ParameterRange;
+import com.quantbackengine.backend.strategy.BollingerBandsStrategy;
+import com.quantbackengine.backend.strategy.MacdStrategy;
+import com.quantbackengine.backend.strategy.RsiStrategy;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.strategy.TradingStrategy.ParameterDefinition;
+
+import java.util.*;
+
+/**
+ * Expands explicit value lists and min/max/step ranges into the cartesian
+ * product of parameter maps, validated against a strategy's
+ * {@link ParameterDefinition}s.
+ */
+final class ParameterGrid {
+
+    /**
+     * Built-in strategies whose rules are pure functions of the bars, so
+     * their parameters can be searched and their signals precomputed.
+     */
+    static final Set<String> SWEEPABLE = Set.of(
+            SmaStrategy.ID, RsiStrategy.ID, MacdStrategy.ID, BollingerBandsStrategy.ID);
+
+    private static final double STEP_EPSILON = 1e-9;
+
+    private ParameterGrid() {
+    }
+
+    static TradingStrategy requireSweepable(StrategyRegistry registry, String strategyId) {
+        TradingStrategy strategy = registry.getStrategy(strategyId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown strategy: " + strategyId));
+        if (!SWEEPABLE.contains(strategy.getId())) {
+            throw new IllegalArgumentException("Strategy " + strategyId + " does not support parameter sweeps");
+        }
+        return strategy;
+    }
+
+    static List<Map<String, Object>> expand(TradingStrategy strategy,
+                                            Map<String, List<Object>> grid,
+                                            Map<String, ParameterRange> ranges,
+                                            int maxCombinations) {
+        Map<String, List<Object>> safeGrid = grid != null ? grid : Map.of();
+        Map<String, ParameterRange> safeRanges = ranges != null ? ranges : Map.of();
+
+        List<ParameterDefinition> definitions = strategy.getParameterDefinitions();
+        Set<String> known = new HashSet<>();
+        definitions.forEach(d -> known.add(d.name()));
+        for (String name : concat(safeGrid.keySet(), safeRanges.keySet())) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException(
+                        "Unknown parameter '" + name + "' for strategy " + strategy.getId());
+            }
+        }
+
+        List<String> names = new ArrayList<>(definitions.size());
+        List<List<Object>> axes = new ArrayList<>(definitions.size());
+        long total = 1;
+        for (ParameterDefinition def : definitions) {
+            List<Object> values;
+            if (safeGrid.containsKey(def.name())) {
+                values = coerceAll(def, safeGrid.get(def.name()));
+            } else if (safeRanges.containsKey(def.name())) {
+                values = expandRange(def, safeRanges.get(def.name()));
+            } else {
+                values = List.of(def.defaultValue());
+            }
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("No values for parameter '" + def.name() + "'");
+            }
+            total *= values.size();
+            if (total > maxCombinations) {
+                throw new IllegalArgumentException(
+                        "Sweep exceeds the limit of " + maxCombinations + " combinations");
+            }
+            names.add(def.name());
+            axes.add(values);
+        }
+
+        List<Map<String, Object>> combinations = new ArrayList<>((int) total);
+        cartesian(names, axes, 0, new LinkedHashMap<>(), combinations);
+        return combinations;
+    }
+
+    private static void cartesian(List<String> names, List<List<Object>> axes, int depth,
+                                  LinkedHashMap<String, Object> current, List<Map<String, Object>> out) {
+        if (depth == names.size()) {
+            out.add(Collections.unmodifiableMap(new LinkedHashMap<>(current)));
+            return;
+        }
+        for (Object value : axes.get(depth)) {
+            current.put(names.get(depth), value);
+            cartesian(names, axes, depth + 1, current, out);
+        }
+        current.remove(names.get(depth));
+    }
+
+    private static List<Object> expandRange(ParameterDefinition def, ParameterRange range) {
+        if (range.getMin() == null || range.getMax() == null || range.getStep() == null || range.getStep() <= 0) {
+            throw new IllegalArgumentException("Range for '" + def.name() + "' needs min, max and a positive step");
+        }
+        if (range.getMin() > range.getMax()) {
+            throw new IllegalArgumentException("Range for '" + def.name() + "' has min > max");
+        }
+        Set<Object> values = new LinkedHashSet<>();
+        long steps = (long) Math.floor((range.getMax() - range.getMin()) / range.getStep() + STEP_EPSILON);
+        for (long k = 0; k <= steps; k++) {
+            values.add(coerce(def, range.getMin() + k * range.getStep()));
+        }
+        return new ArrayList<>(values);
+    }
+
+    private static List<Object> coerceAll(ParameterDefinition def, List<Object> raw) {
+        if (raw == null) {
+            return List.of();
+        }
+        Set<Object> values = new LinkedHashSet<>();
+        for (Object value : raw) {
+            values.add(coerce(def, value));
+        }
+        return new ArrayList<>(values);
+    }
+
+    private static Object coerce(ParameterDefinition def, Object raw) {
+        double value = raw instanceof Number num ? num.doubleValue() : Double.parseDouble(String.valueOf(raw));
+        checkBounds(def, value);
+        if ("INTEGER".equals(def.type())) {
+            return (int) Math.round(value);
+        }
+        return value;
+    }
+
+    private static void checkBounds(ParameterDefinition def, double value) {
+        if (def.minValue() instanceof Number min && value < min.doubleValue() - STEP_EPSILON
+                || def.maxValue() instanceof Number max && value > max.doubleValue() + STEP_EPSILON) {
+            throw new IllegalArgumentException("Parameter '" + def.name() + "' value " + value
+                    + " is outside [" + def.minValue() + ", " + def.maxValue() + "]");
+        }
+    }
+
+    private static Set<String> concat(Set<String> a, Set<String> b) {
+        Set<String> all = new LinkedHashSet<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
@@ -0,0 +1,136 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.SweepRequest;
+import com.quantbackengine.backend.dto.SweepResponse;
+import com.quantbackengine.backend.dto.SweepResponse.SweepResultDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.engine.IndicatorCache;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.strategy.VectorizedStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Grid search over a built-in strategy's parameters.
+ *
+ * <p>The series is loaded once, under a {@link BacktestAdmission} ticket;
+ * every combination is simulated against the same columns on the budgeted
+ * {@code backtestComputePool}, and only metrics are kept. Combinations the
+ * strategy rejects (e.g. short &gt;= long period) are skipped and counted.
+ */
+@Service
+@Slf4j
+public class ParameterSweepService {
+
+    private final StrategyRegistry strategyRegistry;
+    private final MarketDataService marketDataService;
+    private final BacktestService backtestService;
+    private final IndicatorCaches indicatorCaches;
+    private final BacktestAdmission admission;
+    private final ForkJoinPool computePool;
+
+    @Value("${backtest.sweep.max-combinations:5000}")
+    private int maxCombinations;
+
+    public ParameterSweepService(StrategyRegistry strategyRegistry,
+                                 MarketDataService marketDataService,
+                                 BacktestService backtestService,
+                                 IndicatorCaches indicatorCaches,
+                                 BacktestAdmission admission,
+                                 @Qualifier("backtestComputePool") ForkJoinPool computePool) {
+        this.strategyRegistry = strategyRegistry;
+        this.marketDataService = marketDataService;
+        this.backtestService = backtestService;
+        this.indicatorCaches = indicatorCaches;
+        this.admission = admission;
+        this.computePool = computePool;
+    }
+
+    public SweepResponse sweep(SweepRequest request) {
+        TradingStrategy strategy = ParameterGrid.requireSweepable(strategyRegistry, request.getStrategy());
+        RankMetric rankBy = RankMetric.fromName(request.getRankBy());
+        List<Map<String, Object>> combinations = ParameterGrid.expand(
+                strategy, request.getGrid(), request.getRanges(), maxCombinations);
+
+        // Only metrics are kept, so no part of the series goes into the response
+        try (BacktestAdmission.Ticket ticket = admission.admit(strategy,
+                BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate()), 0, false)) {
+            return sweep(request, strategy, rankBy, combinations, ticket);
+        }
+    }
+
+    private SweepResponse sweep(SweepRequest request, TradingStrategy strategy, RankMetric rankBy,
+                                List<Map<String, Object>> combinations, BacktestAdmission.Ticket ticket) {
+        long started = System.nanoTime();
+        BarColumns columns = marketDataService.getBarColumns(
+                request.getSymbol(), request.getStartDate(), request.getEndDate());
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("No market data available for " + request.getSymbol());
+        }
+        ticket.actualBars(columns.size());
+        if (!(strategy instanceof VectorizedStrategy)) {
+            // Build the shared ta4j view before fanning out
+            columns.toBarSeries();
+        }
+
+        log.info("Sweeping {} combinations of {} on {} ({} bars, parallelism {})",
+                combinations.size(), strategy.getId(), request.getSymbol(), columns.size(),
+                computePool.getParallelism());
+
+        CancellationToken cancellation = CancellationToken.current();
+        List<SweepResultDto> evaluated = ComputeTasks.invoke(computePool, () -> combinations.parallelStream()
+                .map(cancellation.bound(params -> evaluate(strategy, columns, params, request)))
+                .filter(Objects::nonNull)
+                .toList(), "Sweep");
+
+        Comparator<SweepResultDto> order = Comparator.comparing(SweepResultDto::getMetrics, rankBy.bestFirst());
+        List<SweepResultDto> ranked = new ArrayList<>(evaluated);
+        ranked.sort(order);
+        int limit = request.getTop() != null ? Math.min(request.getTop(), ranked.size()) : ranked.size();
+        List<SweepResultDto> results = new ArrayList<>(ranked.subList(0, limit));
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).setRank(i + 1);
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        IndicatorCache.Counters indicators = indicatorCaches.cacheFor(columns).counters();
+        log.info("Sweep of {} on {} done: {} evaluated, {} skipped in {} ms, {} indicators computed, {}% reused",
+                strategy.getId(), request.getSymbol(), evaluated.size(),
+                combinations.size() - evaluated.size(), elapsedMs, indicators.misses(),
+                String.format("%.1f", indicators.hitRate() * 100));
+
+        return SweepResponse.builder()
+                .symbol(request.getSymbol())
+                .strategy(strategy.getId())
+                .rankBy(rankBy.fieldName())
+                .combinations(combinations.size())
+                .skipped(combinations.size() - evaluated.size())
+                .elapsedMs(elapsedMs)
+                .results(results)
+                .build();
+    }
+
+    private SweepResultDto evaluate(TradingStrategy strategy, BarColumns columns,
+                                    Map<String, Object> params, SweepRequest request) {
+        try {
+            MetricsDto metrics = backtestService.evaluate(strategy, columns, params,
+                    request.getInitialCapital(), request.getCommissionRate());
+            return SweepResultDto.builder().parameters(params).metrics(metrics).build();
+        } catch (IllegalArgumentException e) {
+            log.debug("Skipping {} {}: {}", strategy.getId(), params, e.getMessage());
+            return null;
+        }
+    }
+}
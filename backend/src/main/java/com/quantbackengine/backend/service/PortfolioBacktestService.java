@@ -0,0 +1,175 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.PortfolioBacktestRequest;
+import com.quantbackengine.backend.dto.PortfolioBacktestResponse;
+import com.quantbackengine.backend.dto.PortfolioBacktestResponse.SymbolAttributionDto;
+import com.quantbackengine.backend.engine.AllocationRule;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.engine.PortfolioResult;
+import com.quantbackengine.backend.engine.PortfolioSimulator;
+import com.quantbackengine.backend.engine.PrecomputedSignals;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.util.MetricsAccumulator;
+import com.quantbackengine.backend.util.MetricsCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Multi-symbol portfolio backtest: one strategy over N symbols sharing one
+ * cash account.
+ *
+ * <p>The universe is reserved with {@link BacktestAdmission}, every series
+ * at once, and loaded with one batched cache query. Each symbol's signals
+ * are precomputed in parallel on the {@code backtestComputePool};
+ * the {@link PortfolioSimulator} then merges the symbols into one
+ * time-ordered event stream on the calling thread.
+ */
+@Service
+@Slf4j
+public class PortfolioBacktestService {
+
+    private final StrategyRegistry strategyRegistry;
+    private final MarketDataService marketDataService;
+    private final BacktestService backtestService;
+    private final BacktestAdmission admission;
+    private final ForkJoinPool computePool;
+
+    @Value("${backtest.portfolio.max-symbols:500}")
+    private int maxSymbols;
+
+    public PortfolioBacktestService(StrategyRegistry strategyRegistry,
+                                    MarketDataService marketDataService,
+                                    BacktestService backtestService,
+                                    BacktestAdmission admission,
+                                    @Qualifier("backtestComputePool") ForkJoinPool computePool) {
+        this.strategyRegistry = strategyRegistry;
+        this.marketDataService = marketDataService;
+        this.backtestService = backtestService;
+        this.admission = admission;
+        this.computePool = computePool;
+    }
+
+    public PortfolioBacktestResponse run(PortfolioBacktestRequest request) {
+        // Signals are replayed without the portfolio's trading record, so only record-free rules qualify
+        TradingStrategy strategy = ParameterGrid.requireSweepable(strategyRegistry, request.getStrategy());
+        AllocationRule rule = AllocationRule.fromName(request.getAllocation());
+        Set<String> requested = new LinkedHashSet<>(request.getSymbols());
+        if (requested.size() > maxSymbols) {
+            throw new IllegalArgumentException("Portfolio has " + requested.size()
+                    + " symbols; the limit is " + maxSymbols);
+        }
+
+        // The equity curve has a point per date, not per symbol and date
+        try (BacktestAdmission.Ticket ticket = admission.admit(strategy,
+                BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate(), requested.size()),
+                BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate()), false)) {
+            return run(request, strategy, rule, requested, ticket);
+        }
+    }
+
+    private PortfolioBacktestResponse run(PortfolioBacktestRequest request, TradingStrategy strategy,
+                                          AllocationRule rule, Set<String> requested,
+                                          BacktestAdmission.Ticket ticket) {
+        long started = System.nanoTime();
+        Map<String, BarColumns> loaded = marketDataService.getBarColumnsBatch(
+                requested, request.getStartDate(), request.getEndDate());
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No market data available for any of " + requested);
+        }
+        ticket.actualBars(BacktestAdmission.totalBars(loaded.values()));
+        List<String> symbols = new ArrayList<>(loaded.keySet());
+        List<BarColumns> columns = new ArrayList<>(loaded.values());
+
+        double capital = backtestService.resolveInitialCapital(request.getInitialCapital());
+        double commission = backtestService.resolveCommissionRate(request.getCommissionRate());
+        Map<String, Object> parameters = request.getParameters();
+
+        CancellationToken cancellation = CancellationToken.current();
+        List<PrecomputedSignals> signals = ComputeTasks.invoke(computePool, () -> columns.parallelStream()
+                .map(cancellation.bound(c -> backtestService.precomputeSignals(strategy, c, parameters)))
+                .toList(), "Portfolio backtest");
+
+        PortfolioResult result = PortfolioSimulator.run(columns, signals, rule, capital, commission);
+        MetricsAccumulator accumulator = backtestService.metricsAccumulator(capital);
+        for (int i = 0; i < result.equity().length; i++) {
+            accumulator.add(result.epochMillis()[i], result.equity()[i]);
+        }
+        for (int s = 0; s < columns.size(); s++) {
+            MetricsCalculator.addTrades(accumulator, columns.get(s).epochMillis(), result.trades()[s]);
+        }
+        MetricsDto metrics = accumulator.result();
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Portfolio backtest of {} on {} symbols ({}) done in {} ms, return {}%", strategy.getId(),
+                symbols.size(), rule, elapsedMs, String.format("%.2f", metrics.getTotalReturn() * 100));
+
+        return PortfolioBacktestResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .strategy(strategy.getId())
+                .allocation(rule.name())
+                .metrics(metrics)
+                .equityCurve(toEquityDtos(result))
+                .attribution(toAttribution(symbols, columns, result, capital))
+                .missingSymbols(missing(requested, loaded.keySet()))
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private static List<String> missing(Set<String> requested, Set<String> loaded) {
+        List<String> missing = new ArrayList<>();
+        for (String symbol : requested) {
+            if (!loaded.contains(MarketDataService.sanitize(symbol))) {
+                missing.add(symbol);
+            }
+        }
+        return missing;
+    }
+
+    private static List<SymbolAttributionDto> toAttribution(List<String> symbols, List<BarColumns> columns,
+                                                            PortfolioResult result, double capital) {
+        List<SymbolAttributionDto> attribution = new ArrayList<>(symbols.size());
+        for (int s = 0; s < symbols.size(); s++) {
+            double realized = result.realizedPnl(s);
+            double unrealized = result.unrealizedPnl()[s];
+            attribution.add(SymbolAttributionDto.builder()
+                    .symbol(symbols.get(s))
+                    .bars(columns.get(s).size())
+                    .totalTrades(result.trades()[s].size())
+                    .winningTrades(result.winningTrades()[s])
+                    .losingTrades(result.losingTrades()[s])
+                    .realizedPnl(realized)
+                    .unrealizedPnl(unrealized)
+                    .commission(result.commissions()[s])
+                    .contribution(result.netPnl(s) / capital)
+                    .build());
+        }
+        return attribution;
+    }
+
+    private static List<EquityPointDto> toEquityDtos(PortfolioResult result) {
+        long[] epochMillis = result.epochMillis();
+        double[] equity = result.equity();
+        List<EquityPointDto> curve = new ArrayList<>(equity.length);
+        for (int i = 0; i < equity.length; i++) {
+            curve.add(EquityPointDto.builder()
+                    .timestamp(epochMillis[i])
+                    .value(equity[i])
+                    .build());
+        }
+        return curve;
+    }
+}
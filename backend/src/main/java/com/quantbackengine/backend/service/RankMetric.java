@@ -0,0 +1,54 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics a sweep can be ranked by, best first.
+ */
+enum RankMetric {
+
+    SHARPE_RATIO("sharpeRatio", MetricsDto::getSharpeRatio, true),
+    TOTAL_RETURN("totalReturn", MetricsDto::getTotalReturn, true),
+    ANNUALIZED_RETURN("annualizedReturn", MetricsDto::getAnnualizedReturn, true),
+    WIN_RATE("winRate", MetricsDto::getWinRate, true),
+    MAX_DRAWDOWN_PERCENT("maxDrawdownPercent", MetricsDto::getMaxDrawdownPercent, false);
+
+    private final String fieldName;
+    private final ToDoubleFunction<MetricsDto> extractor;
+    private final boolean higherIsBetter;
+
+    RankMetric(String fieldName, ToDoubleFunction<MetricsDto> extractor, boolean higherIsBetter) {
+        this.fieldName = fieldName;
+        this.extractor = extractor;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    double valueOf(MetricsDto metrics) {
+        return extractor.applyAsDouble(metrics);
+    }
+
+    /** Orders metrics best-first. */
+    Comparator<MetricsDto> bestFirst() {
+        Comparator<MetricsDto> ascending = Comparator.comparingDouble(extractor);
+        return higherIsBetter ? ascending.reversed() : ascending;
+    }
+
+    static RankMetric fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return SHARPE_RATIO;
+        }
+        for (RankMetric metric : values()) {
+            if (metric.fieldName.equalsIgnoreCase(name)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported rankBy metric: " + name);
+    }
+}
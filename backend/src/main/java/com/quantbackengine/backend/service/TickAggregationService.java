@@ -0,0 +1,159 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.engine.BarListener;
+import com.quantbackengine.backend.engine.TickAggregator;
+import com.quantbackengine.backend.engine.TradingSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns a {@link TickSource} into bars: ticks are rolled up by a
+ * {@link TickAggregator} into every interval of {@code live.bars.intervals},
+ * and each completed bar goes to
+ *
+ * <ul>
+ *   <li>the {@link LiveSignalEngine}, for bars of {@code live.bars.signal-interval};</li>
+ *   <li>the {@link IntradayBarStore}, for intervals in {@code live.bars.persist-intervals};</li>
+ *   <li>every listener added with {@link #addBarListener}, on the feed thread.</li>
+ * </ul>
+ *
+ * <p>Sources run one at a time. {@code live.bars.replay-file}, when set, is
+ * replayed once at startup on a background thread.
+ */
+@Service
+@Slf4j
+public class TickAggregationService {
+
+    /** How long a completed bar waits for room in a full live engine queue before it is dropped. */
+    private static final int SIGNAL_RETRIES = 1000;
+
+    private final LiveSignalEngine liveSignalEngine;
+    private final IntradayBarStore barStore;
+    private final List<BarInterval> intervals;
+    private final EnumSet<BarInterval> persisted;
+    private final BarInterval signalInterval;
+    private final TradingSession session;
+    private final String replayFile;
+    private final List<BarListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong signalBarsDropped = new AtomicLong();
+
+    public TickAggregationService(LiveSignalEngine liveSignalEngine,
+                                  IntradayBarStore barStore,
+                                  @Value("${live.bars.intervals:1s,1m,5m,1h}") List<String> intervals,
+                                  @Value("${live.bars.persist-intervals:1m,5m,1h}") List<String> persistIntervals,
+                                  @Value("${live.bars.signal-interval:1m}") String signalInterval,
+                                  @Value("${live.bars.session-zone:America/New_York}") String sessionZone,
+                                  @Value("${live.bars.session-open:09:30}") String sessionOpen,
+                                  @Value("${live.bars.session-close:16:00}") String sessionClose,
+                                  @Value("${live.bars.replay-file:}") String replayFile) {
+        this.liveSignalEngine = liveSignalEngine;
+        this.barStore = barStore;
+        this.intervals = intervals.stream().map(BarInterval::fromName).toList();
+        this.persisted = EnumSet.noneOf(BarInterval.class);
+        persistIntervals.stream().filter(name -> !name.isBlank()).map(BarInterval::fromName).forEach(persisted::add);
+        this.signalInterval = BarInterval.fromName(signalInterval);
+        if (!this.intervals.contains(this.signalInterval) || !this.intervals.containsAll(persisted)) {
+            throw new IllegalArgumentException("live.bars.signal-interval and persist-intervals must be among "
+                    + "live.bars.intervals " + intervals);
+        }
+        this.session = new TradingSession(ZoneId.of(sessionZone), LocalTime.parse(sessionOpen),
+                LocalTime.parse(sessionClose));
+        this.replayFile = replayFile;
+    }
+
+    /**
+     * Called on the feed thread for every completed bar of every interval.
+     */
+    public void addBarListener(BarListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeBarListener(BarListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Aggregate {@code source} until it is exhausted, then complete the bars
+     * still open and write out everything buffered for the store.
+     */
+    public synchronized TickAggregator.Stats run(TickSource source) throws IOException {
+        TickAggregator aggregator = new TickAggregator(session, intervals, this::onBar);
+        long started = System.nanoTime();
+        try {
+            source.run(aggregator);
+        } finally {
+            aggregator.flush();
+            barStore.flush();
+        }
+        TickAggregator.Stats stats = aggregator.stats();
+        log.info("Aggregated {} ticks of {} symbols from {} into {} bars in {} ms ({} late, {} out of session)",
+                stats.ticks(), stats.symbols(), source, stats.bars(), (System.nanoTime() - started) / 1_000_000,
+                stats.lateTicks(), stats.outOfSessionTicks());
+        return stats;
+    }
+
+    private void onBar(BarInterval interval, String symbol, long startMillis, double open, double high, double low,
+                       double close, long volume) {
+        if (interval == signalInterval) {
+            toSignalEngine(symbol, startMillis, close);
+        }
+        if (persisted.contains(interval)) {
+            barStore.offer(interval, symbol, startMillis, open, high, low, close, volume);
+        }
+        for (BarListener listener : listeners) {
+            try {
+                listener.onBar(interval, symbol, startMillis, open, high, low, close, volume);
+            } catch (RuntimeException e) {
+                log.warn("Bar listener failed for {} {}: {}", symbol, interval.label(), e.toString());
+            }
+        }
+    }
+
+    private void toSignalEngine(String symbol, long startMillis, double close) {
+        for (int attempt = 0; attempt < SIGNAL_RETRIES; attempt++) {
+            if (liveSignalEngine.onBar(symbol, startMillis, close)) {
+                return;
+            }
+            Thread.yield();
+        }
+        if (signalBarsDropped.incrementAndGet() == 1) {
+            log.warn("Live signal engine is not keeping up; dropping {} bars", signalInterval.label());
+        }
+    }
+
+    /**
+     * Completed bars the live signal engine had no room for.
+     */
+    public long signalBarsDropped() {
+        return signalBarsDropped.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        if (replayFile == null || replayFile.isBlank()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                run(new FileReplayTickSource(Path.of(replayFile)));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Tick replay of {} failed: {}", replayFile, e.getMessage());
+            }
+        }, "tick-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
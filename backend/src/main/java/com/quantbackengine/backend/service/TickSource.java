@@ -0,0 +1,19 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.TickSink;
+
+import java.io.IOException;
+
+/**
+ * A feed of trade and quote ticks, for {@link TickAggregationService}.
+ * Implementations deliver ticks in time order, with sanitized symbols.
+ */
+@FunctionalInterface
+public interface TickSource {
+
+    /**
+     * Deliver ticks to {@code sink} until the source is exhausted or the
+     * calling thread is interrupted.
+     */
+    void run(TickSink sink) throws IOException;
+}
@@ -0,0 +1,242 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.WalkForwardRequest;
+import com.quantbackengine.backend.dto.WalkForwardResponse;
+import com.quantbackengine.backend.dto.WalkForwardResponse.WindowDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.engine.PrecomputedSignals;
+import com.quantbackengine.backend.engine.SimulationEngine;
+import com.quantbackengine.backend.engine.SimulationResult;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import com.quantbackengine.backend.util.MetricsAccumulator;
+import com.quantbackengine.backend.util.MetricsCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Walk-forward optimization over rolling (or anchored) train/test windows.
+ *
+ * <p>The series is loaded once, under a {@link BacktestAdmission} ticket.
+ * Every parameter combination's signals are computed once over the whole
+ * series ({@link PrecomputedSignals}) and then replayed on each window's
+ * bar range, so indicators are never rebuilt per window. Windows are
+ * independent and are evaluated concurrently on the
+ * {@code backtestComputePool}; the out-of-sample legs are stitched by
+ * compounding each test window's return onto the previous one's end value.
+ */
+@Service
+@Slf4j
+public class WalkForwardService {
+
+    private final StrategyRegistry strategyRegistry;
+    private final MarketDataService marketDataService;
+    private final BacktestService backtestService;
+    private final BacktestAdmission admission;
+    private final ForkJoinPool computePool;
+
+    @Value("${backtest.sweep.max-combinations:5000}")
+    private int maxCombinations;
+
+    public WalkForwardService(StrategyRegistry strategyRegistry,
+                              MarketDataService marketDataService,
+                              BacktestService backtestService,
+                              BacktestAdmission admission,
+                              @Qualifier("backtestComputePool") ForkJoinPool computePool) {
+        this.strategyRegistry = strategyRegistry;
+        this.marketDataService = marketDataService;
+        this.backtestService = backtestService;
+        this.admission = admission;
+        this.computePool = computePool;
+    }
+
+    public WalkForwardResponse run(WalkForwardRequest request) {
+        TradingStrategy strategy = ParameterGrid.requireSweepable(strategyRegistry, request.getStrategy());
+        RankMetric rankBy = RankMetric.fromName(request.getRankBy());
+        List<Map<String, Object>> combinations = ParameterGrid.expand(
+                strategy, request.getGrid(), request.getRanges(), maxCombinations);
+
+        try (BacktestAdmission.Ticket ticket = admission.admit(strategy,
+                BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate()), null, false)) {
+            return run(request, strategy, rankBy, combinations, ticket);
+        }
+    }
+
+    private WalkForwardResponse run(WalkForwardRequest request, TradingStrategy strategy, RankMetric rankBy,
+                                    List<Map<String, Object>> combinations, BacktestAdmission.Ticket ticket) {
+        long started = System.nanoTime();
+        BarColumns columns = marketDataService.getBarColumns(
+                request.getSymbol(), request.getStartDate(), request.getEndDate());
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("No market data available for " + request.getSymbol());
+        }
+        ticket.actualBars(columns.size());
+
+        List<Window> windows = planWindows(columns.size(), request.getTrainBars(), request.getTestBars(),
+                request.isAnchored());
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("Walk-forward needs more than " + request.getTrainBars()
+                    + " bars; " + request.getSymbol() + " has " + columns.size() + " in the requested range");
+        }
+
+        double capital = backtestService.resolveInitialCapital(request.getInitialCapital());
+        double commission = backtestService.resolveCommissionRate(request.getCommissionRate());
+        // One signal set per parameter combination, shared by every window
+        CancellationToken cancellation = CancellationToken.current();
+        List<Candidate> candidates = ComputeTasks.invoke(computePool, () -> combinations.parallelStream()
+                .map(cancellation.bound(params -> precompute(strategy, columns, params)))
+                .filter(Objects::nonNull)
+                .toList(), "Walk-forward");
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No valid parameter combination for " + strategy.getId());
+        }
+
+        log.info("Walk-forward of {} on {}: {} windows x {} combinations ({} bars, parallelism {})",
+                strategy.getId(), request.getSymbol(), windows.size(), candidates.size(), columns.size(),
+                computePool.getParallelism());
+
+        Comparator<MetricsDto> bestFirst = rankBy.bestFirst();
+        List<WindowResult> results = ComputeTasks.invoke(computePool, () -> windows.parallelStream()
+                .map(cancellation.bound(window -> evaluateWindow(window, candidates, columns, capital, commission,
+                        bestFirst)))
+                .toList(), "Walk-forward");
+
+        WalkForwardResponse response = stitch(columns, results, capital);
+        response.setSymbol(request.getSymbol());
+        response.setStrategy(strategy.getId());
+        response.setRankBy(rankBy.fieldName());
+        response.setCombinations(combinations.size());
+        response.setSkipped(combinations.size() - candidates.size());
+        response.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+
+        log.info("Walk-forward of {} on {} done in {} ms, out-of-sample return {}%", strategy.getId(),
+                request.getSymbol(), response.getElapsedMs(),
+                String.format("%.2f", response.getOutOfSampleMetrics().getTotalReturn() * 100));
+        return response;
+    }
+
+    /**
+     * Windows advance by {@code testBars}; the last test window is truncated
+     * at the end of the series. Test windows are therefore contiguous.
+     */
+    static List<Window> planWindows(int bars, int trainBars, int testBars, boolean anchored) {
+        List<Window> windows = new ArrayList<>();
+        for (int k = 0; ; k++) {
+            int trainTo = k * testBars + trainBars;
+            if (trainTo >= bars) {
+                break;
+            }
+            int trainFrom = anchored ? 0 : k * testBars;
+            windows.add(new Window(k, trainFrom, trainTo, trainTo, Math.min(trainTo + testBars, bars)));
+        }
+        return windows;
+    }
+
+    private Candidate precompute(TradingStrategy strategy, BarColumns columns, Map<String, Object> params) {
+        try {
+            return new Candidate(params, backtestService.precomputeSignals(strategy, columns, params));
+        } catch (IllegalArgumentException e) {
+            log.debug("Skipping {} {}: {}", strategy.getId(), params, e.getMessage());
+            return null;
+        }
+    }
+
+    private WindowResult evaluateWindow(Window window, List<Candidate> candidates, BarColumns columns,
+                                        double capital, double commission, Comparator<MetricsDto> bestFirst) {
+        Candidate best = null;
+        MetricsDto bestMetrics = null;
+        for (Candidate candidate : candidates) {
+            SimulationResult train = SimulationEngine.run(columns, candidate.signals(),
+                    window.trainFrom(), window.trainTo(), capital, commission);
+            MetricsDto metrics = backtestService.computeMetrics(columns, window.trainFrom(), train, capital);
+            // Strictly better only: ties keep the earlier combination
+            if (bestMetrics == null || bestFirst.compare(metrics, bestMetrics) < 0) {
+                best = candidate;
+                bestMetrics = metrics;
+            }
+        }
+
+        SimulationResult test = SimulationEngine.run(columns, best.signals(),
+                window.testFrom(), window.testTo(), capital, commission);
+        MetricsDto testMetrics = backtestService.computeMetrics(columns, window.testFrom(), test, capital);
+        return new WindowResult(window, best, bestMetrics, test, testMetrics);
+    }
+
+    private WalkForwardResponse stitch(BarColumns columns, List<WindowResult> results, double capital) {
+        int from = results.get(0).window().testFrom();
+        int to = results.get(results.size() - 1).window().testTo();
+        double[] stitched = new double[to - from];
+        long[] epochMillis = columns.epochMillis();
+
+        List<WindowDto> windows = new ArrayList<>(results.size());
+        int pos = 0;
+        double running = capital;
+        MetricsAccumulator metrics = backtestService.metricsAccumulator(capital);
+        for (WindowResult result : results) {
+            double[] equity = result.test().equity();
+            double scale = running / capital;
+            for (double value : equity) {
+                stitched[pos++] = value * scale;
+            }
+            running = stitched[pos - 1];
+            MetricsCalculator.addTrades(metrics, epochMillis, result.test().trades());
+
+            Window w = result.window();
+            windows.add(WindowDto.builder()
+                    .index(w.index())
+                    .trainStart(toDateTime(epochMillis[w.trainFrom()]))
+                    .trainEnd(toDateTime(epochMillis[w.trainTo() - 1]))
+                    .testStart(toDateTime(epochMillis[w.testFrom()]))
+                    .testEnd(toDateTime(epochMillis[w.testTo() - 1]))
+                    .parameters(result.best().parameters())
+                    .inSampleMetrics(result.inSample())
+                    .outOfSampleMetrics(result.outOfSample())
+                    .build());
+        }
+
+        List<EquityPointDto> curve = new ArrayList<>(stitched.length);
+        for (int j = 0; j < stitched.length; j++) {
+            metrics.add(epochMillis[from + j], stitched[j]);
+            curve.add(EquityPointDto.builder()
+                    .timestamp(epochMillis[from + j])
+                    .value(stitched[j])
+                    .build());
+        }
+
+        return WalkForwardResponse.builder()
+                .windows(windows)
+                .outOfSampleMetrics(metrics.result())
+                .outOfSampleEquity(curve)
+                .build();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /** Bar ranges are half-open: {@code [trainFrom, trainTo)} and {@code [testFrom, testTo)}. */
+    record Window(int index, int trainFrom, int trainTo, int testFrom, int testTo) {
+    }
+
+    private record Candidate(Map<String, Object> parameters, PrecomputedSignals signals) {
+    }
+
+    private record WindowResult(Window window, Candidate best, MetricsDto inSample,
+                                SimulationResult test, MetricsDto outOfSample) {
+    }
+}
@@ -116,7 +116,7 @@ public class MlLabService {
             Files.createDirectories(csvDir);
 
             for (String symbol : symbols) {
-                marketDataService.getBarSeries(symbol, start, end);
+                marketDataService.getBarColumns(symbol, start, end);
                 exportCsv(symbol, start, end, csvDir);
             }
 
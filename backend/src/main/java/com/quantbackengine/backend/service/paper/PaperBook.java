@@ -0,0 +1,281 @@
+package com.quantbackengine.backend.service.paper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paper trading state: accounts with their cash and positions, and the
+ * orders still working. It changes only through {@link #apply}, one event at
+ * a time, and is not thread-safe. Marks ({@link #mark}) are the exception:
+ * they are the last prices and bar starts seen, not journaled state, and
+ * start empty after a restart.
+ */
+final class PaperBook {
+
+    // 2 added the bar each order was placed during; a format 1 order fills on any bar
+    private static final int FORMAT = 2;
+
+    private final Map<String, Account> accounts = new LinkedHashMap<>();
+    private final Map<Long, Order> openOrders = new LinkedHashMap<>();
+    private final Map<String, List<Order>> ordersBySymbol = new HashMap<>();
+    private final Map<String, Mark> marks = new HashMap<>();
+    private long nextOrderId = 1;
+
+    /**
+     * @param epochMillis the record's time: for an order, the start of the
+     *                    bar of its symbol under way when it was placed
+     */
+    void apply(long epochMillis, PaperEvent event) {
+        if (event instanceof PaperEvent.AccountOpened opened) {
+            accounts.put(opened.accountId(), new Account(opened.accountId(), opened.cash()));
+        } else if (event instanceof PaperEvent.AccountClosed closed) {
+            accounts.remove(closed.accountId());
+            for (Order order : openOrdersOf(closed.accountId())) {
+                remove(order.id());
+            }
+        } else if (event instanceof PaperEvent.OrderPlaced placed) {
+            add(new Order(placed.orderId(), placed.accountId(), placed.symbol(), placed.side(), placed.quantity(),
+                    placed.limitPrice(), epochMillis));
+            nextOrderId = Math.max(nextOrderId, placed.orderId() + 1);
+        } else if (event instanceof PaperEvent.OrderFilled filled) {
+            remove(filled.orderId());
+            accounts.get(filled.accountId()).fill(filled);
+        } else if (event instanceof PaperEvent.OrderCancelled cancelled) {
+            remove(cancelled.orderId());
+        }
+    }
+
+    private void add(Order order) {
+        openOrders.put(order.id(), order);
+        ordersBySymbol.computeIfAbsent(order.symbol(), s -> new ArrayList<>(4)).add(order);
+    }
+
+    private void remove(long orderId) {
+        Order order = openOrders.remove(orderId);
+        if (order == null) {
+            return;
+        }
+        List<Order> forSymbol = ordersBySymbol.get(order.symbol());
+        forSymbol.remove(order);
+        if (forSymbol.isEmpty()) {
+            ordersBySymbol.remove(order.symbol());
+        }
+    }
+
+    Account account(String accountId) {
+        return accounts.get(accountId);
+    }
+
+    Collection<Account> accounts() {
+        return accounts.values();
+    }
+
+    Order order(long orderId) {
+        return openOrders.get(orderId);
+    }
+
+    int openOrderCount() {
+        return openOrders.size();
+    }
+
+    /**
+     * Orders working on {@code symbol}, oldest first; empty if none.
+     */
+    List<Order> openOrders(String symbol) {
+        return ordersBySymbol.getOrDefault(symbol, List.of());
+    }
+
+    List<Order> openOrdersOf(String accountId) {
+        List<Order> orders = new ArrayList<>();
+        for (Order order : openOrders.values()) {
+            if (order.accountId().equals(accountId)) {
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+
+    long nextOrderId() {
+        return nextOrderId;
+    }
+
+    void mark(String symbol, long barStartMillis, double price) {
+        Mark mark = marks.computeIfAbsent(symbol, s -> new Mark());
+        mark.barStartMillis = barStartMillis;
+        mark.price = price;
+    }
+
+    /**
+     * The last price seen for {@code symbol}, {@code NaN} if none yet.
+     */
+    double markOf(String symbol) {
+        Mark mark = marks.get(symbol);
+        return mark != null ? mark.price : Double.NaN;
+    }
+
+    /**
+     * The start of the last bar seen for {@code symbol},
+     * {@link Long#MIN_VALUE} if none yet.
+     */
+    long lastBarOf(String symbol) {
+        Mark mark = marks.get(symbol);
+        return mark != null ? mark.barStartMillis : Long.MIN_VALUE;
+    }
+
+    // -------------------------------------------------------------------
+    // Snapshots
+    // -------------------------------------------------------------------
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + 128 * (accounts.size() + openOrders.size()));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT);
+            out.writeLong(nextOrderId);
+            out.writeInt(accounts.size());
+            for (Account account : accounts.values()) {
+                out.writeUTF(account.id);
+                out.writeDouble(account.initialCash);
+                out.writeDouble(account.cash);
+                out.writeDouble(account.realizedPnl);
+                out.writeDouble(account.commissions);
+                out.writeInt(account.positions.size());
+                for (Position position : account.positions.values()) {
+                    out.writeUTF(position.symbol);
+                    out.writeLong(position.quantity);
+                    out.writeDouble(position.averagePrice);
+                }
+            }
+            out.writeInt(openOrders.size());
+            for (Order order : openOrders.values()) {
+                out.writeLong(order.id());
+                out.writeUTF(order.accountId());
+                out.writeUTF(order.symbol());
+                out.writeByte(order.side().ordinal());
+                out.writeLong(order.quantity());
+                out.writeDouble(order.limitPrice());
+                out.writeLong(order.placedDuringBar());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static PaperBook decode(byte[] state) {
+        PaperBook book = new PaperBook();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            int format = in.readInt();
+            if (format != FORMAT && format != 1) {
+                throw new IllegalStateException("Unsupported paper book snapshot format " + format);
+            }
+            book.nextOrderId = in.readLong();
+            for (int a = in.readInt(); a > 0; a--) {
+                Account account = new Account(in.readUTF(), in.readDouble());
+                account.cash = in.readDouble();
+                account.realizedPnl = in.readDouble();
+                account.commissions = in.readDouble();
+                for (int p = in.readInt(); p > 0; p--) {
+                    Position position = new Position(in.readUTF());
+                    position.quantity = in.readLong();
+                    position.averagePrice = in.readDouble();
+                    account.positions.put(position.symbol, position);
+                }
+                book.accounts.put(account.id, account);
+            }
+            for (int o = in.readInt(); o > 0; o--) {
+                book.add(new Order(in.readLong(), in.readUTF(), in.readUTF(),
+                        PaperEvent.Side.values()[in.readByte()], in.readLong(), in.readDouble(),
+                        format >= 2 ? in.readLong() : Long.MIN_VALUE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return book;
+    }
+
+    // -------------------------------------------------------------------
+    // State
+    // -------------------------------------------------------------------
+
+    static final class Account {
+
+        final String id;
+        final double initialCash;
+        final Map<String, Position> positions = new LinkedHashMap<>();
+        double cash;
+        double realizedPnl;
+        double commissions;
+
+        Account(String id, double initialCash) {
+            this.id = id;
+            this.initialCash = initialCash;
+            this.cash = initialCash;
+        }
+
+        long quantity(String symbol) {
+            Position position = positions.get(symbol);
+            return position != null ? position.quantity : 0;
+        }
+
+        private void fill(PaperEvent.OrderFilled fill) {
+            double notional = fill.price() * fill.quantity();
+            if (fill.side() == PaperEvent.Side.BUY) {
+                Position position = positions.computeIfAbsent(fill.symbol(), Position::new);
+                position.averagePrice = (position.averagePrice * position.quantity + notional)
+                        / (position.quantity + fill.quantity());
+                position.quantity += fill.quantity();
+                cash -= notional + fill.commission();
+            } else {
+                Position position = positions.get(fill.symbol());
+                realizedPnl += (fill.price() - position.averagePrice) * fill.quantity();
+                position.quantity -= fill.quantity();
+                if (position.quantity == 0) {
+                    positions.remove(fill.symbol());
+                }
+                cash += notional - fill.commission();
+            }
+            commissions += fill.commission();
+        }
+    }
+
+    static final class Position {
+
+        final String symbol;
+        long quantity;
+        double averagePrice;
+
+        Position(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    private static final class Mark {
+
+        long barStartMillis;
+        double price;
+    }
+
+    /**
+     * @param limitPrice      {@code NaN} for a market order
+     * @param placedDuringBar start of the bar of the symbol under way, by the
+     *                        feed's clock, when the order was placed;
+     *                        {@link Long#MIN_VALUE} if no bar had been seen
+     */
+    record Order(long id, String accountId, String symbol, PaperEvent.Side side, long quantity, double limitPrice,
+                 long placedDuringBar) {
+
+        boolean isMarket() {
+            return Double.isNaN(limitPrice);
+        }
+    }
+}
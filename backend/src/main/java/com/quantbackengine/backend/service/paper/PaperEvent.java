@@ -0,0 +1,54 @@
+package com.quantbackengine.backend.service.paper;
+
+/**
+ * A change to paper trading state. Every change is one of these: it is
+ * appended to the {@link PaperJournal} first and then applied to the
+ * {@link PaperBook}, so replaying the journal rebuilds the book exactly.
+ */
+public sealed interface PaperEvent {
+
+    enum Side {
+        BUY, SELL;
+
+        public static Side fromName(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("Order side is required");
+            }
+            try {
+                return valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported order side: " + name);
+            }
+        }
+    }
+
+    record AccountOpened(String accountId, double cash) implements PaperEvent {
+    }
+
+    /**
+     * The account is removed with its open orders.
+     */
+    record AccountClosed(String accountId) implements PaperEvent {
+    }
+
+    /**
+     * @param limitPrice {@code NaN} for a market order
+     */
+    record OrderPlaced(long orderId, String accountId, String symbol, Side side, long quantity, double limitPrice)
+            implements PaperEvent {
+    }
+
+    /**
+     * The whole order filled at {@code price}. Carries the order's terms as
+     * well, so a fill can be persisted after the order has left the book.
+     */
+    record OrderFilled(long orderId, String accountId, String symbol, Side side, long quantity, double price,
+                       double commission) implements PaperEvent {
+    }
+
+    /**
+     * Withdrawn by the account, or rejected by the simulator with the reason.
+     */
+    record OrderCancelled(long orderId, String reason) implements PaperEvent {
+    }
+}
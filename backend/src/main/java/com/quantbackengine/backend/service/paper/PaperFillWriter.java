@@ -0,0 +1,187 @@
+package com.quantbackengine.backend.service.paper;
+
+import com.quantbackengine.backend.domain.PaperFill;
+import com.quantbackengine.backend.repository.PaperFillRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies paper fills to {@code paper_fills} in batches, on its own thread,
+ * so the trading path never waits for the database.
+ *
+ * <p>A batch that fails to save is kept and retried first on the next run,
+ * up to {@code paper.persist.attempts} times, after which it is given up on
+ * so the batches behind it are written. When the buffer
+ * ({@code paper.persist.buffer}) is full, fills are dropped and counted.
+ * Either way they are still in the journal, which keeps every event from
+ * {@link #unpersistedFrom} on and offers them again after a restart. Fills
+ * already stored are skipped, so offering one twice is harmless.
+ */
+@Component
+@Slf4j
+public class PaperFillWriter implements AutoCloseable {
+
+    private final PaperFillRepository repository;
+    private final int batchSize;
+    private final int writeAttempts;
+    private final BlockingQueue<PaperFill> pending;
+    private final List<PaperFill> retry = new ArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private int retryFailures;
+    private final AtomicLong firstDropped = new AtomicLong(Long.MAX_VALUE);
+
+    public PaperFillWriter(PaperFillRepository repository,
+                           @Value("${paper.persist.buffer:100000}") int bufferCapacity,
+                           @Value("${paper.persist.batch:500}") int batchSize,
+                           @Value("${paper.persist.attempts:5}") int writeAttempts,
+                           @Value("${paper.persist.interval-ms:1000}") long intervalMs) {
+        if (bufferCapacity < 1 || batchSize < 1 || writeAttempts < 1) {
+            throw new IllegalArgumentException("paper.persist.buffer, batch and attempts must be positive");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.writeAttempts = writeAttempts;
+        this.pending = new ArrayBlockingQueue<>(bufferCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "paper-fill-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalMs > 0) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queue a fill for the next batch. Fills must be offered in sequence order.
+     *
+     * @return false if the buffer was full and the fill was dropped
+     */
+    public boolean offer(PaperFill fill) {
+        if (pending.offer(fill)) {
+            return true;
+        }
+        if (dropped.incrementAndGet() == 1) {
+            firstDropped.accumulateAndGet(fill.getSequence(), Math::min);
+            log.warn("Paper fill buffer full; fills from sequence {} are kept in the journal until a restart",
+                    fill.getSequence());
+        }
+        return false;
+    }
+
+    /**
+     * The lowest journal sequence of a fill not yet stored, or
+     * {@link Long#MAX_VALUE} if every fill offered so far has been.
+     */
+    public synchronized long unpersistedFrom() {
+        long from = firstDropped.get();
+        if (!retry.isEmpty()) {
+            from = Math.min(from, retry.get(0).getSequence());
+        }
+        PaperFill head = pending.peek();
+        if (head != null) {
+            from = Math.min(from, head.getSequence());
+        }
+        return from;
+    }
+
+    /**
+     * Write everything buffered so far, a batch at a time.
+     *
+     * @return fills written
+     */
+    public synchronized int flush() {
+        int total = 0;
+        while (true) {
+            if (retry.isEmpty() && pending.drainTo(retry, batchSize) == 0) {
+                break;
+            }
+            List<PaperFill> fresh;
+            try {
+                fresh = withoutStored(retry);
+                if (!fresh.isEmpty()) {
+                    repository.saveAll(fresh);
+                }
+            } catch (RuntimeException e) {
+                if (++retryFailures < writeAttempts) {
+                    throw e;
+                }
+                long from = retry.get(0).getSequence();
+                log.error("Giving up on {} paper fills from sequence {} after {} failed writes; "
+                        + "they are kept in the journal until a restart: {}", retry.size(), from, retryFailures,
+                        e.getMessage());
+                firstDropped.accumulateAndGet(from, Math::min);
+                failed.addAndGet(retry.size());
+                retryFailures = 0;
+                retry.clear();
+                continue;
+            }
+            retryFailures = 0;
+            total += fresh.size();
+            skipped.addAndGet(retry.size() - fresh.size());
+            retry.clear();
+        }
+        if (total > 0) {
+            written.addAndGet(total);
+            log.debug("Wrote {} paper fills", total);
+        }
+        return total;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Paper fill flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private List<PaperFill> withoutStored(List<PaperFill> batch) {
+        Set<Long> stored = new HashSet<>();
+        for (PaperFillRepository.SequenceOnly row : repository.findBySequenceBetween(
+                batch.get(0).getSequence(), batch.get(batch.size() - 1).getSequence())) {
+            stored.add(row.getSequence());
+        }
+        List<PaperFill> fresh = new ArrayList<>(batch.size());
+        for (PaperFill fill : batch) {
+            if (stored.add(fill.getSequence())) {
+                fresh.add(fill);
+            }
+        }
+        return fresh;
+    }
+
+    public Stats stats() {
+        return new Stats(pending.size(), written.get(), skipped.get(), dropped.get(), failed.get());
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    /**
+     * {@code skipped} fills were already stored; {@code dropped} ones found
+     * the buffer full; {@code failed} ones were given up on after their
+     * batch ran out of write attempts.
+     */
+    public record Stats(int pending, long written, long skipped, long dropped, long failed) {
+    }
+}
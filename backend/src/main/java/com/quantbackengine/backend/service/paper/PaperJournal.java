@@ -0,0 +1,425 @@
+package com.quantbackengine.backend.service.paper;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of {@link PaperEvent}s, with snapshots of the
+ * {@link PaperBook} so recovery replays only the tail.
+ *
+ * <p>Events go to fixed-size segment files ({@code journal-<first sequence>.log})
+ * mapped into memory: an append is a few stores into the page cache, with no
+ * system call, and the OS writes the pages back on its own; {@link #force}
+ * makes them durable. Each record is
+ *
+ * <pre>
+ * int length | int crc32c | long sequence | long epochMillis | byte type | fields...
+ * </pre>
+ *
+ * where the length and checksum cover everything after them. The length is
+ * written last, so a record cut short by a crash reads as length 0 or a bad
+ * checksum, and replay stops in front of it.
+ *
+ * <p>A snapshot ({@code snapshot-<sequence>.bin}) is the encoded book as of a
+ * sequence, written to a temporary file and moved into place. Segments wholly
+ * before a sequence are deleted by {@link #compact}.
+ */
+final class PaperJournal implements AutoCloseable {
+
+    static final int MAX_RECORD_BYTES = 1024;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_STRING_BYTES = 255;
+    private static final int SNAPSHOT_MAGIC = 0x50415052;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private static final byte ACCOUNT_OPENED = 1;
+    private static final byte ACCOUNT_CLOSED = 2;
+    private static final byte ORDER_PLACED = 3;
+    private static final byte ORDER_FILLED = 4;
+    private static final byte ORDER_CANCELLED = 5;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final CRC32C crc = new CRC32C();
+    private volatile MappedByteBuffer current;
+    private long lastSequence;
+
+    /**
+     * Opens (creating if need be) the journal in {@code directory}. Nothing
+     * can be appended until {@link #replay} has run.
+     */
+    PaperJournal(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < 4 * MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Journal segments must be at least " + 4 * MAX_RECORD_BYTES + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.put(sequenceOf(name, SEGMENT_PREFIX, SEGMENT_SUFFIX), file);
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(file); // a snapshot that never finished
+                }
+            }
+        }
+    }
+
+    /**
+     * The newest snapshot, or null if none has been written.
+     *
+     * @throws IllegalStateException if it is damaged
+     */
+    Snapshot latestSnapshot() throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        Path newest = snapshots.get(snapshots.size() - 1);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(newest));
+        if (buffer.remaining() < 20 || buffer.getInt() != SNAPSHOT_MAGIC) {
+            throw new IllegalStateException("Corrupt paper journal snapshot " + newest);
+        }
+        long sequence = buffer.getLong();
+        int length = buffer.getInt();
+        if (length < 0 || length != buffer.remaining() - Integer.BYTES) {
+            throw new IllegalStateException("Corrupt paper journal snapshot " + newest);
+        }
+        byte[] state = new byte[length];
+        buffer.get(state);
+        CRC32C check = new CRC32C();
+        check.update(state);
+        if ((int) check.getValue() != buffer.getInt()) {
+            throw new IllegalStateException("Corrupt paper journal snapshot " + newest);
+        }
+        return new Snapshot(sequence, state);
+    }
+
+    /**
+     * Replays every retained record in sequence order, then positions the
+     * writer after the last intact one.
+     *
+     * @param after the sequence the caller's state already reflects: the
+     *              snapshot's, or 0 without one. Records up to it are still
+     *              passed to {@code handler}.
+     * @throws IllegalStateException if records between {@code after} and the
+     *                               end of the journal are missing
+     */
+    synchronized void replay(long after, Replay handler) throws IOException {
+        if (current != null) {
+            throw new IllegalStateException("Paper journal already replayed");
+        }
+        if (segments.isEmpty()) {
+            lastSequence = after;
+            openSegment(after + 1);
+            return;
+        }
+        if (segments.firstKey() > after + 1) {
+            throw new IllegalStateException("Paper journal starts at " + segments.firstKey()
+                    + " but the snapshot ends at " + after);
+        }
+
+        long next = segments.firstKey();
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            if (segment.getKey() != next) {
+                throw new IllegalStateException("Paper journal segment " + segment.getValue()
+                        + " does not follow sequence " + (next - 1));
+            }
+            boolean last = segment.getKey().equals(segments.lastKey());
+            MappedByteBuffer buffer = map(segment.getValue(), last);
+            int position = 0;
+            int end;
+            while ((end = readRecord(buffer, position, next, handler)) > 0) {
+                position = end;
+                next++;
+            }
+            if (last) {
+                buffer.position(position);
+                current = buffer;
+            }
+        }
+        if (next - 1 < after) {
+            throw new IllegalStateException("Paper journal ends at " + (next - 1) + " but the snapshot ends at "
+                    + after);
+        }
+        lastSequence = next - 1;
+    }
+
+    /**
+     * @return the event's sequence number
+     */
+    synchronized long append(long epochMillis, PaperEvent event) throws IOException {
+        if (current == null) {
+            throw new IllegalStateException("Paper journal must be replayed before appending");
+        }
+        if (current.capacity() - current.position() < MAX_RECORD_BYTES) {
+            current.force();
+            openSegment(lastSequence + 1);
+        }
+        MappedByteBuffer segment = current;
+        int start = segment.position();
+        long sequence = lastSequence + 1;
+        ByteBuffer body = segment.duplicate().position(start + HEADER_BYTES);
+        body.putLong(sequence).putLong(epochMillis);
+        encode(event, body);
+        int length = body.position() - start - HEADER_BYTES;
+
+        crc.reset();
+        crc.update(segment.duplicate().position(start + HEADER_BYTES).limit(start + HEADER_BYTES + length));
+        segment.putInt(start + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(start, length);
+        segment.position(start + HEADER_BYTES + length);
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Starts a new segment, unless the current one is still empty, so that
+     * everything up to the returned sequence is in older segments.
+     */
+    synchronized long roll() throws IOException {
+        if (current.position() > 0) {
+            current.force();
+            openSegment(lastSequence + 1);
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Writes the book as of {@code sequence} and removes older snapshots.
+     * May run alongside appends.
+     */
+    void writeSnapshot(long sequence, byte[] state) throws IOException {
+        CRC32C check = new CRC32C();
+        check.update(state);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + Integer.BYTES + state.length + Integer.BYTES)
+                .putInt(SNAPSHOT_MAGIC)
+                .putLong(sequence)
+                .putInt(state.length)
+                .put(state)
+                .putInt((int) check.getValue())
+                .flip();
+        Path target = directory.resolve(name(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        for (Path older : snapshots()) {
+            if (sequenceOf(older.getFileName().toString(), SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < sequence) {
+                Files.deleteIfExists(older);
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments holding only events up to {@code through}; the
+     * current segment is always kept.
+     *
+     * @return segments deleted
+     */
+    synchronized int compact(long through) throws IOException {
+        int deleted = 0;
+        while (segments.size() > 1) {
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            long lastInSegment = segments.higherKey(oldest.getKey()) - 1;
+            if (lastInSegment > through) {
+                break;
+            }
+            Files.deleteIfExists(oldest.getValue());
+            segments.pollFirstEntry();
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Writes appended records through to the disk.
+     */
+    void force() {
+        MappedByteBuffer segment = current;
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    // -------------------------------------------------------------------
+    // Files
+    // -------------------------------------------------------------------
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(name(SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(segmentBytes);
+        }
+        current = map(file, true);
+        segments.put(firstSequence, file);
+    }
+
+    private static MappedByteBuffer map(Path file, boolean writable) throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String name(String prefix, long sequence, String suffix) {
+        return String.format("%s%020d%s", prefix, sequence, suffix);
+    }
+
+    private static long sequenceOf(String name, String prefix, String suffix) {
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    // -------------------------------------------------------------------
+    // Records
+    // -------------------------------------------------------------------
+
+    /**
+     * @return the position after the record, or -1 at the end of what was
+     * written intact
+     */
+    private int readRecord(ByteBuffer segment, int position, long sequence, Replay handler) {
+        if (segment.capacity() - position < HEADER_BYTES) {
+            return -1;
+        }
+        int length = segment.getInt(position);
+        if (length <= 0 || length > MAX_RECORD_BYTES - HEADER_BYTES
+                || position + HEADER_BYTES + length > segment.capacity()) {
+            return -1;
+        }
+        int start = position + HEADER_BYTES;
+        crc.reset();
+        crc.update(segment.duplicate().position(start).limit(start + length));
+        if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)
+                || segment.getLong(start) != sequence) {
+            return -1;
+        }
+        ByteBuffer body = segment.duplicate().position(start + Long.BYTES).limit(start + length);
+        long epochMillis = body.getLong();
+        handler.accept(sequence, epochMillis, decode(body));
+        return start + length;
+    }
+
+    private static void encode(PaperEvent event, ByteBuffer out) {
+        if (event instanceof PaperEvent.AccountOpened opened) {
+            out.put(ACCOUNT_OPENED);
+            putString(out, opened.accountId());
+            out.putDouble(opened.cash());
+        } else if (event instanceof PaperEvent.AccountClosed closed) {
+            out.put(ACCOUNT_CLOSED);
+            putString(out, closed.accountId());
+        } else if (event instanceof PaperEvent.OrderPlaced placed) {
+            out.put(ORDER_PLACED);
+            out.putLong(placed.orderId());
+            putString(out, placed.accountId());
+            putString(out, placed.symbol());
+            out.put((byte) placed.side().ordinal());
+            out.putLong(placed.quantity());
+            out.putDouble(placed.limitPrice());
+        } else if (event instanceof PaperEvent.OrderFilled filled) {
+            out.put(ORDER_FILLED);
+            out.putLong(filled.orderId());
+            putString(out, filled.accountId());
+            putString(out, filled.symbol());
+            out.put((byte) filled.side().ordinal());
+            out.putLong(filled.quantity());
+            out.putDouble(filled.price());
+            out.putDouble(filled.commission());
+        } else if (event instanceof PaperEvent.OrderCancelled cancelled) {
+            out.put(ORDER_CANCELLED);
+            out.putLong(cancelled.orderId());
+            putString(out, cancelled.reason());
+        }
+    }
+
+    private static PaperEvent decode(ByteBuffer in) {
+        byte type = in.get();
+        return switch (type) {
+            case ACCOUNT_OPENED -> new PaperEvent.AccountOpened(getString(in), in.getDouble());
+            case ACCOUNT_CLOSED -> new PaperEvent.AccountClosed(getString(in));
+            case ORDER_PLACED -> new PaperEvent.OrderPlaced(in.getLong(), getString(in), getString(in),
+                    PaperEvent.Side.values()[in.get()], in.getLong(), in.getDouble());
+            case ORDER_FILLED -> new PaperEvent.OrderFilled(in.getLong(), getString(in), getString(in),
+                    PaperEvent.Side.values()[in.get()], in.getLong(), in.getDouble(), in.getDouble());
+            case ORDER_CANCELLED -> new PaperEvent.OrderCancelled(in.getLong(), getString(in));
+            default -> throw new IllegalStateException("Unknown paper journal record type " + type);
+        };
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Journal strings are limited to " + MAX_STRING_BYTES + " bytes");
+        }
+        out.put((byte) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.get() & 0xFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The book's encoded state as of {@code sequence}.
+     */
+    record Snapshot(long sequence, byte[] state) {
+    }
+
+    interface Replay {
+        void accept(long sequence, long epochMillis, PaperEvent event);
+    }
+}
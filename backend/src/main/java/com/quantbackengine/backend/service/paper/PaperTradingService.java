@@ -0,0 +1,504 @@
+package com.quantbackengine.backend.service.paper;
+
+import com.quantbackengine.backend.domain.PaperFill;
+import com.quantbackengine.backend.dto.PaperAccountDto;
+import com.quantbackengine.backend.dto.PaperAccountRequest;
+import com.quantbackengine.backend.dto.PaperOrderDto;
+import com.quantbackengine.backend.dto.PaperOrderRequest;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.service.MarketDataService;
+import com.quantbackengine.backend.service.TickAggregationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Paper trading: accounts holding cash and long positions, orders placed
+ * over REST, and fills simulated on live bars of {@code paper.fill-interval}
+ * from the {@link TickAggregationService}.
+ *
+ * <p>Orders are timed by the feed's clock, not the wall's, so a replayed
+ * or lagging feed fills them as a live one does. An order fills whole on
+ * the first bar of its symbol starting after the one under way when it was
+ * placed (the last bar seen, one interval on), so no part of the bar
+ * predates the order; if no bar of the symbol has been seen since startup,
+ * the next one fills it. A market order fills at the bar's close, a limit
+ * buy once the bar's low reaches the limit (at the lower of limit and
+ * close), a limit sell once the high does (at the higher). Commission is {@code paper.commission-rate}
+ * of the notional. A fill the account can no longer afford, or a sale of
+ * shares it no longer holds, cancels the order instead.
+ *
+ * <p>Every change is appended to the {@link PaperJournal} before it is
+ * applied, and the database is never on that path: fills reach
+ * {@code paper_fills} through the {@link PaperFillWriter}. Every
+ * {@code paper.journal.snapshot-every} events the book is snapshotted in the
+ * background, so a restart loads the snapshot and replays only the tail.
+ *
+ * <p>Account listeners hear the id of every account whose value may have
+ * changed: by an order, a fill, or a new close of a symbol it holds. Before
+ * they do, the account's view is republished for {@link #publishedAccount},
+ * which readers that must not wait on the service's lock use instead of
+ * {@link #getAccount}.
+ */
+@Service
+@Slf4j
+public class PaperTradingService implements AutoCloseable {
+
+    private static final int MAX_REASON_LENGTH = 200;
+
+    private final PaperFillWriter fillWriter;
+    private final PaperJournal journal;
+    private final BarInterval fillInterval;
+    private final double commissionRate;
+    private final int snapshotEvery;
+    private final ScheduledExecutorService background;
+    private final Object snapshotLock = new Object();
+    private final AtomicLong fills = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<Consumer<String>> accountListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, PaperAccountDto> published = new ConcurrentHashMap<>();
+
+    private PaperBook book;
+    private int sinceSnapshot;
+    private boolean snapshotQueued;
+
+    public PaperTradingService(PaperFillWriter fillWriter,
+                               TickAggregationService tickAggregationService,
+                               @Value("${paper.journal.dir:./.paper-journal}") String journalDir,
+                               @Value("${paper.journal.segment-bytes:16777216}") int segmentBytes,
+                               @Value("${paper.journal.snapshot-every:10000}") int snapshotEvery,
+                               @Value("${paper.journal.force-interval-ms:1000}") long forceIntervalMs,
+                               @Value("${paper.commission-rate:0.001}") double commissionRate,
+                               @Value("${paper.fill-interval:1m}") String fillInterval) throws IOException {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("paper.journal.snapshot-every must be positive");
+        }
+        this.fillWriter = fillWriter;
+        this.fillInterval = BarInterval.fromName(fillInterval);
+        this.commissionRate = commissionRate;
+        this.snapshotEvery = snapshotEvery;
+        this.journal = new PaperJournal(Path.of(journalDir), segmentBytes);
+        recover();
+
+        this.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "paper-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (forceIntervalMs > 0) {
+            background.scheduleWithFixedDelay(journal::force, forceIntervalMs, forceIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        tickAggregationService.addBarListener(this::onLiveBar);
+    }
+
+    private void recover() throws IOException {
+        PaperJournal.Snapshot snapshot = journal.latestSnapshot();
+        PaperBook recovered = snapshot != null ? PaperBook.decode(snapshot.state()) : new PaperBook();
+        long after = snapshot != null ? snapshot.sequence() : 0;
+        int[] replayed = {0};
+        journal.replay(after, (sequence, epochMillis, event) -> {
+            if (sequence > after) {
+                recovered.apply(epochMillis, event);
+                replayed[0]++;
+            }
+            if (event instanceof PaperEvent.OrderFilled filled) {
+                fillWriter.offer(toFill(sequence, epochMillis, filled)); // already stored ones are skipped
+            }
+        });
+        book = recovered;
+        sinceSnapshot = replayed[0];
+        book.accounts().forEach(account -> published.put(account.id, view(account)));
+        log.info("Paper book recovered at sequence {}: {} accounts, {} open orders, {} events replayed",
+                journal.lastSequence(), book.accounts().size(), book.openOrderCount(), replayed[0]);
+    }
+
+    // -------------------------------------------------------------------
+    // Accounts and orders
+    // -------------------------------------------------------------------
+
+    public synchronized PaperAccountDto openAccount(PaperAccountRequest request) {
+        String accountId = request.getAccountId() != null ? request.getAccountId() : UUID.randomUUID().toString();
+        Double cash = request.getInitialCash();
+        if (cash == null || !(cash > 0) || Double.isInfinite(cash)) {
+            throw new IllegalArgumentException("Initial cash must be positive");
+        }
+        if (book.account(accountId) != null) {
+            throw new IllegalStateException("Paper account already exists: " + accountId);
+        }
+        record(System.currentTimeMillis(), new PaperEvent.AccountOpened(accountId, cash));
+        accountChanged(accountId);
+        return view(book.account(accountId));
+    }
+
+    public synchronized PaperAccountDto getAccount(String accountId) {
+        return view(require(accountId));
+    }
+
+    /**
+     * The account as of its last change, read without taking the service's
+     * lock. The view is shared by every reader and must not be modified.
+     */
+    public Optional<PaperAccountDto> publishedAccount(String accountId) {
+        return Optional.ofNullable(published.get(accountId));
+    }
+
+    /**
+     * Removes the account and its open orders; its fills stay in the database.
+     */
+    public synchronized void closeAccount(String accountId) {
+        require(accountId);
+        record(System.currentTimeMillis(), new PaperEvent.AccountClosed(accountId));
+        accountChanged(accountId);
+    }
+
+    /**
+     * @throws IllegalStateException if the account cannot cover the order:
+     *                               selling more than it holds net of open
+     *                               sells, or buying beyond its cash at the
+     *                               limit or last price
+     */
+    public synchronized PaperOrderDto placeOrder(String accountId, PaperOrderRequest request) {
+        PaperBook.Account account = require(accountId);
+        String symbol = request.getSymbol() != null ? MarketDataService.sanitize(request.getSymbol()) : "";
+        if (symbol.isEmpty()) {
+            throw new IllegalArgumentException("Symbol is required");
+        }
+        PaperEvent.Side side = PaperEvent.Side.fromName(request.getSide());
+        Long quantity = request.getQuantity();
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        double limit = request.getLimitPrice() != null ? request.getLimitPrice() : Double.NaN;
+        if (!Double.isNaN(limit) && !(limit > 0 && limit < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Limit price must be positive");
+        }
+
+        if (side == PaperEvent.Side.SELL) {
+            long available = account.quantity(symbol) - openSellQuantity(accountId, symbol);
+            if (quantity > available) {
+                throw new IllegalStateException("Cannot sell " + quantity + " " + symbol + ": " + available
+                        + " available");
+            }
+        } else {
+            double reference = Double.isNaN(limit) ? book.markOf(symbol) : limit;
+            if (reference * quantity * (1 + commissionRate) > account.cash) {
+                throw new IllegalStateException("Insufficient cash for " + quantity + " " + symbol);
+            }
+        }
+
+        long orderId = book.nextOrderId();
+        long lastBar = book.lastBarOf(symbol);
+        long underWay = lastBar == Long.MIN_VALUE ? Long.MIN_VALUE : lastBar + fillInterval.millis();
+        record(underWay, new PaperEvent.OrderPlaced(orderId, accountId, symbol, side, quantity, limit));
+        accountChanged(accountId);
+        return orderDto(book.order(orderId), PaperOrderDto.Status.OPEN);
+    }
+
+    public synchronized PaperOrderDto cancelOrder(String accountId, long orderId) {
+        require(accountId);
+        PaperBook.Order order = book.order(orderId);
+        if (order == null || !order.accountId().equals(accountId)) {
+            throw new NoSuchElementException("No open paper order " + orderId + " for account " + accountId);
+        }
+        record(System.currentTimeMillis(), new PaperEvent.OrderCancelled(orderId, "cancelled by request"));
+        accountChanged(accountId);
+        return orderDto(order, PaperOrderDto.Status.CANCELLED);
+    }
+
+    private long openSellQuantity(String accountId, String symbol) {
+        long quantity = 0;
+        for (PaperBook.Order order : book.openOrders(symbol)) {
+            if (order.side() == PaperEvent.Side.SELL && order.accountId().equals(accountId)) {
+                quantity += order.quantity();
+            }
+        }
+        return quantity;
+    }
+
+    private PaperBook.Account require(String accountId) {
+        PaperBook.Account account = book.account(accountId);
+        if (account == null) {
+            throw new NoSuchElementException("Unknown paper account: " + accountId);
+        }
+        return account;
+    }
+
+    // -------------------------------------------------------------------
+    // Fills
+    // -------------------------------------------------------------------
+
+    private void onLiveBar(BarInterval interval, String symbol, long startMillis, double open, double high,
+                           double low, double close, long volume) {
+        if (interval == fillInterval) {
+            onBar(symbol, startMillis, high, low, close);
+        }
+    }
+
+    /**
+     * A completed {@code paper.fill-interval} bar of {@code symbol} starting
+     * at {@code startMillis}: marks the symbol at its close and fills
+     * whichever open orders placed before it started it reaches.
+     */
+    synchronized void onBar(String symbol, long startMillis, double high, double low, double close) {
+        book.mark(symbol, startMillis, close);
+        long endMillis = startMillis + fillInterval.millis();
+        List<PaperBook.Order> working = new ArrayList<>(book.openOrders(symbol));
+        working.removeIf(order -> order.placedDuringBar() >= startMillis);
+        for (PaperBook.Order order : working) {
+            PaperEvent outcome = fill(order, high, low, close);
+            if (outcome != null) {
+                record(endMillis, outcome);
+            }
+        }
+        Set<String> changed = new LinkedHashSet<>();
+        for (PaperBook.Order order : working) {
+            changed.add(order.accountId());
+        }
+        for (PaperBook.Account account : book.accounts()) {
+            if (account.positions.containsKey(symbol)) {
+                changed.add(account.id);
+            }
+        }
+        changed.forEach(this::accountChanged);
+    }
+
+    private PaperEvent fill(PaperBook.Order order, double high, double low, double close) {
+        boolean buy = order.side() == PaperEvent.Side.BUY;
+        double price;
+        if (order.isMarket()) {
+            price = close;
+        } else if (buy) {
+            if (low > order.limitPrice()) {
+                return null;
+            }
+            price = Math.min(order.limitPrice(), close);
+        } else {
+            if (high < order.limitPrice()) {
+                return null;
+            }
+            price = Math.max(order.limitPrice(), close);
+        }
+
+        PaperBook.Account account = book.account(order.accountId());
+        double commission = price * order.quantity() * commissionRate;
+        if (buy && price * order.quantity() + commission > account.cash) {
+            return rejection(order, "insufficient cash at " + price);
+        }
+        if (!buy && order.quantity() > account.quantity(order.symbol())) {
+            return rejection(order, "insufficient position");
+        }
+        return new PaperEvent.OrderFilled(order.id(), order.accountId(), order.symbol(), order.side(),
+                order.quantity(), price, commission);
+    }
+
+    private PaperEvent rejection(PaperBook.Order order, String reason) {
+        rejected.incrementAndGet();
+        return new PaperEvent.OrderCancelled(order.id(),
+                reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason);
+    }
+
+    // -------------------------------------------------------------------
+    // Listeners
+    // -------------------------------------------------------------------
+
+    /**
+     * Called with an account id, holding the service's lock, whenever the
+     * account may have changed, after its published view is updated;
+     * listeners must hand off anything slow.
+     */
+    public void addAccountListener(Consumer<String> listener) {
+        accountListeners.add(listener);
+    }
+
+    public void removeAccountListener(Consumer<String> listener) {
+        accountListeners.remove(listener);
+    }
+
+    private void accountChanged(String accountId) {
+        PaperBook.Account account = book.account(accountId);
+        if (account != null) {
+            published.put(accountId, view(account));
+        } else {
+            published.remove(accountId);
+        }
+        for (Consumer<String> listener : accountListeners) {
+            try {
+                listener.accept(accountId);
+            } catch (RuntimeException e) {
+                log.warn("Paper account listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------
+    // Journal
+    // -------------------------------------------------------------------
+
+    /**
+     * Journal {@code event}, then apply it. Called holding the lock.
+     */
+    private void record(long epochMillis, PaperEvent event) {
+        long sequence;
+        try {
+            sequence = journal.append(epochMillis, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Paper journal append failed", e);
+        }
+        book.apply(epochMillis, event);
+        if (event instanceof PaperEvent.OrderFilled filled) {
+            fills.incrementAndGet();
+            fillWriter.offer(toFill(sequence, epochMillis, filled));
+        }
+        if (++sinceSnapshot >= snapshotEvery && !snapshotQueued) {
+            snapshotQueued = true;
+            background.execute(this::snapshotQuietly);
+        }
+    }
+
+    /**
+     * Snapshot the book, then delete the journal segments that neither the
+     * snapshot nor the fill writer still needs.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long sequence;
+            byte[] state;
+            synchronized (this) {
+                sequence = journal.roll();
+                state = book.encode();
+                sinceSnapshot = 0;
+                snapshotQueued = false;
+            }
+            journal.writeSnapshot(sequence, state);
+            int deleted = journal.compact(Math.min(sequence, fillWriter.unpersistedFrom() - 1));
+            log.debug("Paper book snapshot at sequence {}; {} journal segments deleted", sequence, deleted);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Paper book snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    private static PaperFill toFill(long sequence, long epochMillis, PaperEvent.OrderFilled fill) {
+        return PaperFill.builder()
+                .sequence(sequence)
+                .accountId(fill.accountId())
+                .orderId(fill.orderId())
+                .symbol(fill.symbol())
+                .side(fill.side().name())
+                .quantity(fill.quantity())
+                .price(BigDecimal.valueOf(fill.price()))
+                .commission(BigDecimal.valueOf(fill.commission()))
+                .executedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC))
+                .build();
+    }
+
+    // -------------------------------------------------------------------
+    // Views
+    // -------------------------------------------------------------------
+
+    private PaperAccountDto view(PaperBook.Account account) {
+        List<PaperAccountDto.PositionDto> positions = new ArrayList<>(account.positions.size());
+        double marketValue = 0;
+        double unrealized = 0;
+        for (PaperBook.Position position : account.positions.values()) {
+            double mark = book.markOf(position.symbol);
+            double last = Double.isNaN(mark) ? position.averagePrice : mark;
+            double value = last * position.quantity;
+            double pnl = (last - position.averagePrice) * position.quantity;
+            marketValue += value;
+            unrealized += pnl;
+            positions.add(PaperAccountDto.PositionDto.builder()
+                    .symbol(position.symbol)
+                    .quantity(position.quantity)
+                    .averagePrice(position.averagePrice)
+                    .lastPrice(last)
+                    .marketValue(value)
+                    .unrealizedPnl(pnl)
+                    .build());
+        }
+        double equity = account.cash + marketValue;
+        return PaperAccountDto.builder()
+                .id(account.id)
+                .initialCash(account.initialCash)
+                .cash(account.cash)
+                .equity(equity)
+                .realizedPnl(account.realizedPnl)
+                .unrealizedPnl(unrealized)
+                .totalPnl(equity - account.initialCash)
+                .totalReturn((equity - account.initialCash) / account.initialCash)
+                .commissions(account.commissions)
+                .positions(positions)
+                .openOrders(book.openOrdersOf(account.id).stream()
+                        .map(order -> orderDto(order, PaperOrderDto.Status.OPEN))
+                        .toList())
+                .build();
+    }
+
+    private static PaperOrderDto orderDto(PaperBook.Order order, PaperOrderDto.Status status) {
+        return PaperOrderDto.builder()
+                .id(order.id())
+                .accountId(order.accountId())
+                .symbol(order.symbol())
+                .side(order.side().name())
+                .quantity(order.quantity())
+                .limitPrice(order.isMarket() ? null : order.limitPrice())
+                .status(status)
+                .build();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(book.accounts().size(), book.openOrderCount(), journal.lastSequence(),
+                journal.segmentCount(), fills.get(), rejected.get(), fillWriter.stats());
+    }
+
+    /**
+     * Snapshots the book, so the next start replays nothing.
+     */
+    @Override
+    public void close() {
+        background.shutdown();
+        try {
+            background.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotQuietly();
+        journal.close();
+    }
+
+    /**
+     * {@code rejected} orders were cancelled by the simulator for want of
+     * cash or shares.
+     */
+    public record Stats(int accounts, int openOrders, long journalSequence, int journalSegments, long fills,
+                        long rejected, PaperFillWriter.Stats persistence) {
+    }
+}
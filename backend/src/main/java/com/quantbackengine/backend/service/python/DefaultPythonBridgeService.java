@@ -3,6 +3,7 @@ package com.quantbackengine.backend.service.python;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quantbackengine.backend.config.PythonBridgeProperties;
+import com.quantbackengine.backend.engine.CancellationToken;
 import com.quantbackengine.backend.exception.PythonBridgeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -30,6 +32,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class DefaultPythonBridgeService implements PythonBridgeService {
 
     private static final long AVAILABILITY_CACHE_DURATION_MS = 30_000; // 30 seconds
+    private static final long CANCELLATION_POLL_MILLIS = 200;
 
     private final PythonBridgeProperties properties;
     private final ObjectMapper objectMapper;
@@ -134,7 +137,7 @@ public class DefaultPythonBridgeService implements PythonBridgeService {
             // Parse JSON
             return parseJson(stdout, scriptRelativePath);
 
-        } catch (PythonBridgeException e) {
+        } catch (PythonBridgeException | CancellationException e) {
             throw e;
         } catch (Exception e) {
             log.error("Error executing Python script {}: {}", scriptRelativePath, e.getMessage());
@@ -202,7 +205,8 @@ public class DefaultPythonBridgeService implements PythonBridgeService {
     }
 
     /**
-     * Read stdout with timeout, killing the process if it exceeds the limit.
+     * Read stdout with timeout, killing the process if it exceeds the limit
+     * or the thread's {@link CancellationToken} is cancelled first.
      */
     private String readStdoutWithTimeout(Process process, Thread stderrDrainer, StringBuilder stderrBuilder) 
             throws PythonBridgeException {
@@ -213,8 +217,18 @@ public class DefaultPythonBridgeService implements PythonBridgeService {
             StringBuilder stdoutBuilder = new StringBuilder();
             Thread stdoutReader = Thread.ofVirtual().start(() -> drainStream(process.getInputStream(), stdoutBuilder));
 
-            // Wait for process with timeout
-            boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
+            // Wait for process with timeout, watching for cancellation
+            CancellationToken cancellation = CancellationToken.current();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            boolean finished = false;
+            while (!finished && System.nanoTime() - deadline < 0) {
+                if (cancellation.isCancelled()) {
+                    log.info("Python process cancelled ({}), killing forcibly", cancellation.reason());
+                    process.destroyForcibly();
+                    cancellation.throwIfCancelled();
+                }
+                finished = process.waitFor(CANCELLATION_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
 
             if (!finished) {
                 // Timeout - kill the process
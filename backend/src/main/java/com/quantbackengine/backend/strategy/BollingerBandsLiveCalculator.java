@@ -0,0 +1,65 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * {@link BollingerBandsStrategy} live: entry when the close crosses up
+ * through the lower band, exit when it crosses down through the upper one.
+ * Unlike {@link BollingerLiveCalculator} there is no ADX filter, and the
+ * crossovers are tracked here rather than passed in by the caller.
+ *
+ * <p>No crossing is reported before bar {@code period}, the first whose
+ * previous bar also has a full window. In a partial window the close can sit
+ * exactly on a band (on a two-bar window it always does), so whether ta4j
+ * sees a cross there is decided by rounding.
+ */
+final class BollingerBandsLiveCalculator implements LiveSignalCalculator {
+
+    private final double k;
+    private final RollingWindow closes;
+    private final LiveCross entryCross = new LiveCross();
+    private final LiveCross exitCross = new LiveCross();
+
+    private double upper = Double.NaN;
+    private double lower = Double.NaN;
+    private boolean entry;
+    private boolean exit;
+
+    BollingerBandsLiveCalculator(int period, double k) {
+        this.k = k;
+        this.closes = new RollingWindow(period);
+    }
+
+    @Override
+    public void update(double close) {
+        boolean settled = closes.isFull();
+        closes.add(close);
+        double middle = closes.mean();
+        double width = closes.standardDeviation() * k;
+        upper = middle + width;
+        lower = middle - width;
+        entry = entryCross.crossedUp(close, lower) && settled;
+        exit = exitCross.crossedDown(close, upper) && settled;
+    }
+
+    @Override
+    public boolean isEntrySignal() {
+        return entry;
+    }
+
+    @Override
+    public boolean isExitSignal() {
+        return exit;
+    }
+
+    @Override
+    public boolean isReady() {
+        return closes.isFull();
+    }
+
+    double getUpper() {
+        return upper;
+    }
+
+    double getLower() {
+        return lower;
+    }
+}
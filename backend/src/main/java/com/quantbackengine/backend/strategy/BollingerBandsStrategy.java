@@ -1,5 +1,6 @@
 package com.quantbackengine.backend.strategy;
 
+import com.quantbackengine.backend.engine.PrecomputedSignals;
 import org.springframework.stereotype.Component;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseStrategy;
@@ -16,6 +17,8 @@ import org.ta4j.core.rules.CrossedUpIndicatorRule;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * Bollinger Bands Mean-Reversion Strategy.
@@ -23,7 +26,7 @@ import java.util.Map;
  * Sell when price crosses above the upper band (overbought).
  */
 @Component
-public class BollingerBandsStrategy implements TradingStrategy {
+public class BollingerBandsStrategy implements VectorizedStrategy {
 
     public static final String ID = "BOLLINGER";
     private static final int DEFAULT_PERIOD = 20;
@@ -66,6 +69,38 @@ public class BollingerBandsStrategy implements TradingStrategy {
         return new BaseStrategy(getName(), entryRule, exitRule);
     }
 
+    @Override
+    public PrecomputedSignals computeSignals(SeriesIndicators indicators, Map<String, Object> parameters) {
+        int period = getIntParam(parameters, "period", DEFAULT_PERIOD);
+        double k = getDoubleParam(parameters, "standardDeviations", DEFAULT_K);
+
+        double[] close = indicators.close();
+        double[] middle = indicators.sma(period);
+        double[] stdDev = indicators.standardDeviation(period);
+        double[] upper = new double[close.length];
+        double[] lower = new double[close.length];
+        for (int i = 0; i < close.length; i++) {
+            double width = stdDev[i] * k;
+            upper[i] = middle[i] + width;
+            lower[i] = middle[i] - width;
+        }
+
+        return PrecomputedSignals.of(VectorIndicators.crossedUp(close, lower),
+                VectorIndicators.crossedDown(close, upper));
+    }
+
+    @Override
+    public OptionalInt signalLookback(Map<String, Object> parameters) {
+        return OptionalInt.of(2 * getIntParam(parameters, "period", DEFAULT_PERIOD));
+    }
+
+    @Override
+    public Optional<LiveSignalCalculator> liveSignalCalculator(Map<String, Object> parameters) {
+        int period = getIntParam(parameters, "period", DEFAULT_PERIOD);
+        double k = getDoubleParam(parameters, "standardDeviations", DEFAULT_K);
+        return Optional.of(new BollingerBandsLiveCalculator(period, k));
+    }
+
     @Override
     public List<ParameterDefinition> getParameterDefinitions() {
         return List.of(
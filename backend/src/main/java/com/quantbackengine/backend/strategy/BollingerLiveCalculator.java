@@ -2,7 +2,8 @@ package com.quantbackengine.backend.strategy;
 
 /**
  * Zero-allocation Bollinger Bands + ADX calculator for live execution.
- * Uses primitive double[] ring buffers — no ta4j objects, no GC pressure.
+ * Uses a primitive {@link RollingWindow} — no ta4j objects, no GC pressure,
+ * O(1) per update.
  *
  * Usage per tick:
  *   calc.update(high, low, close);
@@ -10,14 +11,10 @@ package com.quantbackengine.backend.strategy;
  */
 public class BollingerLiveCalculator {
 
-    private final int period;
     private final double k;
     private final int adxPeriod;
 
-    // Ring buffer for Bollinger calculation
-    private final double[] closes;
-    private int head = 0;
-    private int count = 0;
+    private final RollingWindow closes;
 
     // Wilder-smoothed ADX state
     private double smoothedTR = Double.NaN;
@@ -40,16 +37,13 @@ public class BollingerLiveCalculator {
     private double middle = Double.NaN;
 
     public BollingerLiveCalculator(int period, double k, int adxPeriod) {
-        this.period = period;
         this.k = k;
         this.adxPeriod = adxPeriod;
-        this.closes = new double[period];
+        this.closes = new RollingWindow(period);
     }
 
     public void update(double high, double low, double close) {
-        closes[head] = close;
-        head = (head + 1) % period;
-        if (count < period) count++;
+        closes.add(close);
 
         computeBollinger();
         computeADX(high, low, close);
@@ -60,17 +54,12 @@ public class BollingerLiveCalculator {
     }
 
     private void computeBollinger() {
-        if (count < period) {
+        if (!closes.isFull()) {
             upper = lower = middle = Double.NaN;
             return;
         }
-        double sum = 0;
-        for (double c : closes) sum += c;
-        double mean = sum / period;
-
-        double variance = 0;
-        for (double c : closes) variance += (c - mean) * (c - mean);
-        double stddev = Math.sqrt(variance / period);
+        double mean = closes.mean();
+        double stddev = closes.standardDeviation();
 
         middle = mean;
         upper = mean + k * stddev;
@@ -0,0 +1,50 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * One crossover rule evaluated bar by bar: the streaming form of
+ * {@link VectorIndicators#crossedUp} and {@link VectorIndicators#crossedDown},
+ * keeping only the last bar at which the two lines differed instead of
+ * walking back over equal bars. An instance tracks one rule, so call the
+ * same method on it every bar.
+ */
+final class LiveCross {
+
+    private long bar = -1;
+    private double previousUp;
+    private double previousLow;
+    private long lastUnequal = -1;
+    private boolean lastUnequalAbove;
+
+    /**
+     * {@code CrossedUpIndicatorRule(first, second)} at the next bar.
+     */
+    boolean crossedUp(double first, double second) {
+        return cross(second, first);
+    }
+
+    /**
+     * {@code CrossedDownIndicatorRule(first, second)} at the next bar.
+     */
+    boolean crossedDown(double first, double second) {
+        return cross(first, second);
+    }
+
+    private boolean cross(double up, double low) {
+        bar++;
+        boolean crossed = false;
+        if (bar > 0) {
+            long previous = bar - 1;
+            if (previousUp != previousLow) {
+                lastUnequal = previous;
+                lastUnequalAbove = Double.compare(previousUp, previousLow) > 0;
+            }
+            // ta4j stops walking back at bar 0 unless bar 0 is the previous one
+            crossed = Double.compare(up, low) < 0
+                    && (lastUnequal == previous || lastUnequal > 0)
+                    && lastUnequalAbove;
+        }
+        previousUp = up;
+        previousLow = low;
+        return crossed;
+    }
+}
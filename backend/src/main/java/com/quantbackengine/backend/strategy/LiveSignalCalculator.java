@@ -0,0 +1,38 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * Incremental form of a strategy's entry and exit rules for live execution:
+ * fed one close at a time, it reports the signals at that bar without
+ * touching earlier bars, in O(1) time and with no allocation per update.
+ *
+ * <p>Signals are those of the strategy's ta4j rules from the first bar on,
+ * including the partial windows ta4j averages over while warming up, so a
+ * calculator fed a series' closes in order fires where a backtest of that
+ * series would. The exception is the Bollinger Bands crossing, reported only
+ * from bar {@code period} on: before that ta4j's crossings depend on
+ * rounding (see {@link BollingerBandsLiveCalculator}). Instances hold
+ * per-symbol state and are not thread-safe.
+ */
+public interface LiveSignalCalculator {
+
+    /**
+     * Advance by one bar.
+     */
+    void update(double close);
+
+    /**
+     * Whether the entry rule is satisfied at the last updated bar.
+     */
+    boolean isEntrySignal();
+
+    /**
+     * Whether the exit rule is satisfied at the last updated bar.
+     */
+    boolean isExitSignal();
+
+    /**
+     * Whether every indicator has seen a full period; signals are reported
+     * before that too, as a backtest would.
+     */
+    boolean isReady();
+}
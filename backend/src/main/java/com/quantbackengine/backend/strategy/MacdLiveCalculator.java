@@ -0,0 +1,78 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * {@link MacdStrategy} live: entry when the MACD line crosses above its
+ * signal line, exit when it crosses below.
+ *
+ * <p>The three EMAs are updated with the same double operations as
+ * {@link VectorIndicators#ema}, so both lines match ta4j's bit for bit.
+ */
+final class MacdLiveCalculator implements LiveSignalCalculator {
+
+    private final double shortMultiplier;
+    private final double longMultiplier;
+    private final double signalMultiplier;
+    private final int warmup;
+    private final LiveCross entryCross = new LiveCross();
+    private final LiveCross exitCross = new LiveCross();
+
+    private long bars;
+    private double shortEma;
+    private double longEma;
+    private double macd = Double.NaN;
+    private double signal = Double.NaN;
+    private boolean entry;
+    private boolean exit;
+
+    MacdLiveCalculator(int shortPeriod, int longPeriod, int signalPeriod) {
+        if (shortPeriod < 1 || longPeriod < 1 || signalPeriod < 1) {
+            throw new IllegalArgumentException("Periods must be positive");
+        }
+        this.shortMultiplier = 2.0 / (shortPeriod + 1);
+        this.longMultiplier = 2.0 / (longPeriod + 1);
+        this.signalMultiplier = 2.0 / (signalPeriod + 1);
+        this.warmup = longPeriod + signalPeriod;
+    }
+
+    @Override
+    public void update(double close) {
+        if (bars == 0) {
+            // every EMA is seeded with its first value
+            shortEma = close;
+            longEma = close;
+            macd = shortEma - longEma;
+            signal = macd;
+        } else {
+            shortEma = (close - shortEma) * shortMultiplier + shortEma;
+            longEma = (close - longEma) * longMultiplier + longEma;
+            macd = shortEma - longEma;
+            signal = (macd - signal) * signalMultiplier + signal;
+        }
+        bars++;
+        entry = entryCross.crossedUp(macd, signal);
+        exit = exitCross.crossedDown(macd, signal);
+    }
+
+    @Override
+    public boolean isEntrySignal() {
+        return entry;
+    }
+
+    @Override
+    public boolean isExitSignal() {
+        return exit;
+    }
+
+    @Override
+    public boolean isReady() {
+        return bars >= warmup;
+    }
+
+    double getMacd() {
+        return macd;
+    }
+
+    double getSignal() {
+        return signal;
+    }
+}
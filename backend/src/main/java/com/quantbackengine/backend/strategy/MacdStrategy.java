@@ -1,5 +1,6 @@
 package com.quantbackengine.backend.strategy;
 
+import com.quantbackengine.backend.engine.PrecomputedSignals;
 import org.springframework.stereotype.Component;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseStrategy;
@@ -13,6 +14,8 @@ import org.ta4j.core.rules.CrossedUpIndicatorRule;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * MACD (Moving Average Convergence Divergence) Strategy.
@@ -20,7 +23,7 @@ import java.util.Map;
  * Sell when MACD line crosses below the signal line.
  */
 @Component
-public class MacdStrategy implements TradingStrategy {
+public class MacdStrategy implements VectorizedStrategy {
 
     public static final String ID = "MACD";
     private static final int DEFAULT_SHORT_PERIOD = 12;
@@ -65,6 +68,45 @@ public class MacdStrategy implements TradingStrategy {
         return new BaseStrategy(getName(), entryRule, exitRule);
     }
 
+    @Override
+    public PrecomputedSignals computeSignals(SeriesIndicators indicators, Map<String, Object> parameters) {
+        int shortPeriod = getIntParam(parameters, "shortPeriod", DEFAULT_SHORT_PERIOD);
+        int longPeriod = getIntParam(parameters, "longPeriod", DEFAULT_LONG_PERIOD);
+        int signalPeriod = getIntParam(parameters, "signalPeriod", DEFAULT_SIGNAL_PERIOD);
+
+        if (shortPeriod >= longPeriod) {
+            throw new IllegalArgumentException("Short period must be less than long period");
+        }
+
+        double[] macd = indicators.macd(shortPeriod, longPeriod);
+        double[] signalLine = indicators.macdSignal(shortPeriod, longPeriod, signalPeriod);
+
+        return PrecomputedSignals.of(VectorIndicators.crossedUp(macd, signalLine),
+                VectorIndicators.crossedDown(macd, signalLine));
+    }
+
+    /**
+     * The signal line smooths the MACD, which smooths the closes: both seeds
+     * have to fade.
+     */
+    @Override
+    public OptionalInt signalLookback(Map<String, Object> parameters) {
+        return OptionalInt.of(SMOOTHING_WARMUP_PERIODS * (getIntParam(parameters, "longPeriod", DEFAULT_LONG_PERIOD)
+                + getIntParam(parameters, "signalPeriod", DEFAULT_SIGNAL_PERIOD)));
+    }
+
+    @Override
+    public Optional<LiveSignalCalculator> liveSignalCalculator(Map<String, Object> parameters) {
+        int shortPeriod = getIntParam(parameters, "shortPeriod", DEFAULT_SHORT_PERIOD);
+        int longPeriod = getIntParam(parameters, "longPeriod", DEFAULT_LONG_PERIOD);
+        int signalPeriod = getIntParam(parameters, "signalPeriod", DEFAULT_SIGNAL_PERIOD);
+
+        if (shortPeriod >= longPeriod) {
+            throw new IllegalArgumentException("Short period must be less than long period");
+        }
+        return Optional.of(new MacdLiveCalculator(shortPeriod, longPeriod, signalPeriod));
+    }
+
     @Override
     public List<ParameterDefinition> getParameterDefinitions() {
         return List.of(
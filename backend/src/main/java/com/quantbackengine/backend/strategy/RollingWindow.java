@@ -0,0 +1,68 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * Mean and population standard deviation of the last {@code period} values,
+ * updated in O(1) as each value replaces the oldest. Until {@code period}
+ * values have been added the window covers all of them, as ta4j's
+ * {@code SMAIndicator} and {@code StandardDeviationIndicator} do.
+ *
+ * <p>The sum is Kahan-compensated and the squared deviations use Welford's
+ * update with removal, so neither drifts over a long-running feed the way a
+ * plain running sum of squares would.
+ */
+final class RollingWindow {
+
+    private final double[] values;
+    private int next;
+    private int count;
+    private double sum;
+    private double compensation;
+    private double m2;
+
+    RollingWindow(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive, got " + period);
+        }
+        this.values = new double[period];
+    }
+
+    void add(double value) {
+        double oldMean = count > 0 ? sum / count : 0;
+        if (count < values.length) {
+            count++;
+            addToSum(value);
+            m2 += (value - oldMean) * (value - sum / count);
+        } else {
+            double removed = values[next];
+            addToSum(value - removed);
+            m2 += (value - removed) * (value - sum / count + removed - oldMean);
+            if (m2 < 0) {
+                m2 = 0; // rounding after a run of identical values
+            }
+        }
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+    }
+
+    private void addToSum(double x) {
+        double y = x - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    /**
+     * {@code NaN} before the first value.
+     */
+    double mean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    double standardDeviation() {
+        return count > 0 ? Math.sqrt(m2 / count) : Double.NaN;
+    }
+
+    boolean isFull() {
+        return count == values.length;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * {@link RsiStrategy} live: entry when the RSI crosses up through the
+ * oversold level, exit when it crosses down through the overbought one.
+ *
+ * <p>The Wilder averages are updated with the same double operations as
+ * {@link VectorIndicators#rsi}, so the RSI matches ta4j's bit for bit.
+ */
+final class RsiLiveCalculator implements LiveSignalCalculator {
+
+    private final int period;
+    private final double multiplier;
+    private final double oversold;
+    private final double overbought;
+    private final LiveCross entryCross = new LiveCross();
+    private final LiveCross exitCross = new LiveCross();
+
+    private long bars;
+    private double previousClose;
+    private double averageGain;
+    private double averageLoss;
+    private double rsi = Double.NaN;
+    private boolean entry;
+    private boolean exit;
+
+    RsiLiveCalculator(int period, double oversold, double overbought) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive, got " + period);
+        }
+        this.period = period;
+        this.multiplier = 1.0 / period;
+        this.oversold = oversold;
+        this.overbought = overbought;
+    }
+
+    @Override
+    public void update(double close) {
+        // the first bar has no change: both averages are seeded with 0
+        if (bars > 0) {
+            double change = close - previousClose;
+            double gain = change > 0 ? change : 0;
+            double loss = change < 0 ? previousClose - close : 0;
+            averageGain = (gain - averageGain) * multiplier + averageGain;
+            averageLoss = (loss - averageLoss) * multiplier + averageLoss;
+        }
+        bars++;
+        previousClose = close;
+
+        if (averageLoss == 0) {
+            rsi = averageGain == 0 ? 0 : 100;
+        } else {
+            rsi = 100 - 100 / (1 + averageGain / averageLoss);
+        }
+        entry = entryCross.crossedUp(rsi, oversold);
+        exit = exitCross.crossedDown(rsi, overbought);
+    }
+
+    @Override
+    public boolean isEntrySignal() {
+        return entry;
+    }
+
+    @Override
+    public boolean isExitSignal() {
+        return exit;
+    }
+
+    @Override
+    public boolean isReady() {
+        return bars > period;
+    }
+
+    double getRsi() {
+        return rsi;
+    }
+}
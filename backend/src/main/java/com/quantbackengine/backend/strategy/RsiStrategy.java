@@ -1,5 +1,6 @@
 package com.quantbackengine.backend.strategy;
 
+import com.quantbackengine.backend.engine.PrecomputedSignals;
 import org.springframework.stereotype.Component;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseStrategy;
@@ -12,6 +13,8 @@ import org.ta4j.core.rules.CrossedUpIndicatorRule;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * RSI (Relative Strength Index) Strategy.
@@ -19,7 +22,7 @@ import java.util.Map;
  * Sell when RSI crosses below overbought level.
  */
 @Component
-public class RsiStrategy implements TradingStrategy {
+public class RsiStrategy implements VectorizedStrategy {
 
     public static final String ID = "RSI";
     private static final int DEFAULT_PERIOD = 14;
@@ -63,6 +66,43 @@ public class RsiStrategy implements TradingStrategy {
         return new BaseStrategy(getName(), entryRule, exitRule);
     }
 
+    @Override
+    public PrecomputedSignals computeSignals(SeriesIndicators indicators, Map<String, Object> parameters) {
+        int period = getIntParam(parameters, "period", DEFAULT_PERIOD);
+        int oversold = getIntParam(parameters, "oversoldThreshold", DEFAULT_OVERSOLD);
+        int overbought = getIntParam(parameters, "overboughtThreshold", DEFAULT_OVERBOUGHT);
+
+        if (oversold >= overbought) {
+            throw new IllegalArgumentException("Oversold threshold must be less than overbought threshold");
+        }
+
+        double[] rsi = indicators.rsi(period);
+
+        return PrecomputedSignals.of(
+                VectorIndicators.crossedUp(rsi, VectorIndicators.constant(indicators.size(), oversold)),
+                VectorIndicators.crossedDown(rsi, VectorIndicators.constant(indicators.size(), overbought)));
+    }
+
+    /**
+     * RSI is Wilder-smoothed, so its seed fades rather than drops out.
+     */
+    @Override
+    public OptionalInt signalLookback(Map<String, Object> parameters) {
+        return OptionalInt.of(SMOOTHING_WARMUP_PERIODS * getIntParam(parameters, "period", DEFAULT_PERIOD));
+    }
+
+    @Override
+    public Optional<LiveSignalCalculator> liveSignalCalculator(Map<String, Object> parameters) {
+        int period = getIntParam(parameters, "period", DEFAULT_PERIOD);
+        int oversold = getIntParam(parameters, "oversoldThreshold", DEFAULT_OVERSOLD);
+        int overbought = getIntParam(parameters, "overboughtThreshold", DEFAULT_OVERBOUGHT);
+
+        if (oversold >= overbought) {
+            throw new IllegalArgumentException("Oversold threshold must be less than overbought threshold");
+        }
+        return Optional.of(new RsiLiveCalculator(period, oversold, overbought));
+    }
+
     @Override
     public List<ParameterDefinition> getParameterDefinitions() {
         return List.of(
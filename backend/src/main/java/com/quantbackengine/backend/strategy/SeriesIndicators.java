@@ -0,0 +1,80 @@
+package com.quantbackengine.backend.strategy;
+
+import com.quantbackengine.backend.engine.IndicatorCache;
+import com.quantbackengine.backend.engine.IndicatorCache.Key;
+
+/**
+ * The indicators a {@link VectorizedStrategy} reads, over one series of
+ * closes. Each one is computed by {@link VectorIndicators} on first use and
+ * then served from the series' {@link IndicatorCache}, so parameter sets that
+ * share a period share the array. Returned arrays are read-only.
+ */
+public final class SeriesIndicators {
+
+    private final double[] close;
+    private final IndicatorCache cache;
+
+    public SeriesIndicators(double[] close, IndicatorCache cache) {
+        this.close = close;
+        this.cache = cache;
+    }
+
+    /**
+     * Indicators over {@code close} with a private, unbounded cache that
+     * lives as long as the returned instance.
+     */
+    public static SeriesIndicators of(double[] close) {
+        return new SeriesIndicators(close, new IndicatorCache(Long.MAX_VALUE));
+    }
+
+    public int size() {
+        return close.length;
+    }
+
+    public double[] close() {
+        return close;
+    }
+
+    public double[] sma(int period) {
+        return cache.get(Key.of("SMA", period), () -> VectorIndicators.sma(close, period));
+    }
+
+    public double[] ema(int period) {
+        return cache.get(Key.of("EMA", period), () -> VectorIndicators.ema(close, period));
+    }
+
+    /**
+     * Population standard deviation around {@link #sma} of the same period.
+     */
+    public double[] standardDeviation(int period) {
+        return cache.get(Key.of("STDDEV", period),
+                () -> VectorIndicators.standardDeviation(close, sma(period), period));
+    }
+
+    public double[] rsi(int period) {
+        return cache.get(Key.of("RSI", period), () -> VectorIndicators.rsi(close, period));
+    }
+
+    /**
+     * MACD line: {@code EMA(shortPeriod) - EMA(longPeriod)}.
+     */
+    public double[] macd(int shortPeriod, int longPeriod) {
+        return cache.get(Key.of("MACD", shortPeriod, longPeriod), () -> {
+            double[] shortEma = ema(shortPeriod);
+            double[] longEma = ema(longPeriod);
+            double[] macd = new double[close.length];
+            for (int i = 0; i < macd.length; i++) {
+                macd[i] = shortEma[i] - longEma[i];
+            }
+            return macd;
+        });
+    }
+
+    /**
+     * EMA({@code signalPeriod}) of the {@link #macd} line.
+     */
+    public double[] macdSignal(int shortPeriod, int longPeriod, int signalPeriod) {
+        return cache.get(Key.of("MACD_SIGNAL", shortPeriod, longPeriod, signalPeriod),
+                () -> VectorIndicators.ema(macd(shortPeriod, longPeriod), signalPeriod));
+    }
+}
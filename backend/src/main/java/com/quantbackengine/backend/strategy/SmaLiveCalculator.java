@@ -0,0 +1,54 @@
+package com.quantbackengine.backend.strategy;
+
+/**
+ * {@link SmaStrategy} live: entry when the short SMA crosses above the long
+ * one, exit when it crosses below.
+ */
+final class SmaLiveCalculator implements LiveSignalCalculator {
+
+    private final RollingWindow shortWindow;
+    private final RollingWindow longWindow;
+    private final LiveCross entryCross = new LiveCross();
+    private final LiveCross exitCross = new LiveCross();
+
+    private boolean entry;
+    private boolean exit;
+
+    SmaLiveCalculator(int shortPeriod, int longPeriod) {
+        this.shortWindow = new RollingWindow(shortPeriod);
+        this.longWindow = new RollingWindow(longPeriod);
+    }
+
+    @Override
+    public void update(double close) {
+        shortWindow.add(close);
+        longWindow.add(close);
+        double shortSma = shortWindow.mean();
+        double longSma = longWindow.mean();
+        entry = entryCross.crossedUp(shortSma, longSma);
+        exit = exitCross.crossedDown(shortSma, longSma);
+    }
+
+    @Override
+    public boolean isEntrySignal() {
+        return entry;
+    }
+
+    @Override
+    public boolean isExitSignal() {
+        return exit;
+    }
+
+    @Override
+    public boolean isReady() {
+        return longWindow.isFull();
+    }
+
+    double getShortSma() {
+        return shortWindow.mean();
+    }
+
+    double getLongSma() {
+        return longWindow.mean();
+    }
+}
@@ -1,5 +1,6 @@
 package com.quantbackengine.backend.strategy;
 
+import com.quantbackengine.backend.engine.PrecomputedSignals;
 import org.springframework.stereotype.Component;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseStrategy;
@@ -12,6 +13,8 @@ import org.ta4j.core.rules.CrossedUpIndicatorRule;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * Classic SMA Crossover Strategy.
@@ -19,7 +22,7 @@ import java.util.Map;
  * Sell when short SMA crosses below long SMA.
  */
 @Component
-public class SmaStrategy implements TradingStrategy {
+public class SmaStrategy implements VectorizedStrategy {
 
     public static final String ID = "SMA_CROSSOVER";
     private static final int DEFAULT_SHORT = 50;
@@ -60,6 +63,42 @@ public class SmaStrategy implements TradingStrategy {
         return new BaseStrategy(getName(), entryRule, exitRule);
     }
 
+    @Override
+    public PrecomputedSignals computeSignals(SeriesIndicators indicators, Map<String, Object> parameters) {
+        int shortPeriod = getIntParam(parameters, "shortPeriod", DEFAULT_SHORT);
+        int longPeriod = getIntParam(parameters, "longPeriod", DEFAULT_LONG);
+
+        if (shortPeriod >= longPeriod) {
+            throw new IllegalArgumentException("Short period must be less than long period");
+        }
+
+        double[] shortSma = indicators.sma(shortPeriod);
+        double[] longSma = indicators.sma(longPeriod);
+
+        return PrecomputedSignals.of(VectorIndicators.crossedUp(shortSma, longSma),
+                VectorIndicators.crossedDown(shortSma, longSma));
+    }
+
+    /**
+     * Both averages are plain windows over the last {@code longPeriod} closes;
+     * the extra period covers the crossover's look back past equal values.
+     */
+    @Override
+    public OptionalInt signalLookback(Map<String, Object> parameters) {
+        return OptionalInt.of(2 * getIntParam(parameters, "longPeriod", DEFAULT_LONG));
+    }
+
+    @Override
+    public Optional<LiveSignalCalculator> liveSignalCalculator(Map<String, Object> parameters) {
+        int shortPeriod = getIntParam(parameters, "shortPeriod", DEFAULT_SHORT);
+        int longPeriod = getIntParam(parameters, "longPeriod", DEFAULT_LONG);
+
+        if (shortPeriod >= longPeriod) {
+            throw new IllegalArgumentException("Short period must be less than long period");
+        }
+        return Optional.of(new SmaLiveCalculator(shortPeriod, longPeriod));
+    }
+
     @Override
     public List<ParameterDefinition> getParameterDefinitions() {
         return List.of(
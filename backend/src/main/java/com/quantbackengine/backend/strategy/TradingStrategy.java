@@ -4,6 +4,8 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * Interface for all backtestable trading strategies.
@@ -11,6 +13,18 @@ import java.util.Map;
  */
 public interface TradingStrategy {
 
+    /**
+     * Periods of history after which an exponentially smoothed indicator
+     * (EMA, Wilder) has all but forgotten its seed: the seed's weight has
+     * decayed below e^-20, about 2e-9. That is well above double rounding
+     * (about 1e-16), so the value is not bit-identical to one smoothed over
+     * the whole history; it is off by at most 2e-9 of the seed's error, and
+     * a signal differs only if that moves one of its inputs across a
+     * threshold or the other line, which on price data is the tolerance a
+     * continuation accepts.
+     */
+    int SMOOTHING_WARMUP_PERIODS = 20;
+
     /**
      * Unique identifier for this strategy.
      */
@@ -35,6 +49,26 @@ public interface TradingStrategy {
      */
     Strategy buildStrategy(BarSeries series, Map<String, Object> parameters);
 
+    /**
+     * Number of trailing bars that fully determine the entry and exit signal
+     * at the last of them, so a run can be continued from a snapshot that
+     * keeps only that tail. Empty when signals depend on the whole history
+     * or on the trading record.
+     */
+    default OptionalInt signalLookback(Map<String, Object> parameters) {
+        return OptionalInt.empty();
+    }
+
+    /**
+     * A calculator that produces this strategy's signals one close at a
+     * time, for live feeds. Empty when the strategy has no incremental form.
+     *
+     * @throws IllegalArgumentException for parameters {@link #buildStrategy} rejects
+     */
+    default Optional<LiveSignalCalculator> liveSignalCalculator(Map<String, Object> parameters) {
+        return Optional.empty();
+    }
+
     /**
      * Returns metadata about configurable parameters.
      */
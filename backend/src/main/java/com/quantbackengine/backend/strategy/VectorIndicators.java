@@ -0,0 +1,196 @@
+package com.quantbackengine.backend.strategy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Array forms of the ta4j indicators and crossover rules used by the
+ * built-in strategies.
+ *
+ * <p>Each kernel performs the same double operations in the same order as
+ * its ta4j counterpart on a {@code DoubleNum} series, so the values, and
+ * therefore every crossover, match bit for bit. Window sums run with the
+ * window offset in the outer loop and the bar index in the inner one: the
+ * per-bar addition order is unchanged, but the inner loop is a plain
+ * element-wise add the JIT can vectorize. The recursive averages (EMA,
+ * Wilder) are inherently sequential and stay scalar. Inputs are assumed to
+ * be finite.
+ */
+final class VectorIndicators {
+
+    private VectorIndicators() {
+        // Prevent instantiation
+    }
+
+    /**
+     * {@code SMAIndicator}: mean of the last {@code period} values, of all
+     * values so far during the first {@code period - 1} bars.
+     */
+    static double[] sma(double[] values, int period) {
+        requirePositive(period);
+        int size = values.length;
+        double[] out = new double[size];
+        int warmup = Math.min(period - 1, size);
+        for (int i = 0; i < warmup; i++) {
+            double sum = 0;
+            for (int j = 0; j <= i; j++) {
+                sum += values[j];
+            }
+            out[i] = sum / (i + 1);
+        }
+        for (int k = 0; k < period; k++) {
+            int offset = k - period + 1;
+            for (int i = warmup; i < size; i++) {
+                out[i] += values[i + offset];
+            }
+        }
+        for (int i = warmup; i < size; i++) {
+            out[i] /= period;
+        }
+        return out;
+    }
+
+    /**
+     * {@code StandardDeviationIndicator}: population standard deviation over
+     * the same window as {@link #sma}, around {@code mean} (that SMA).
+     */
+    static double[] standardDeviation(double[] values, double[] mean, int period) {
+        requirePositive(period);
+        int size = values.length;
+        double[] out = new double[size];
+        int warmup = Math.min(period - 1, size);
+        for (int i = 0; i < warmup; i++) {
+            double sum = 0;
+            for (int j = 0; j <= i; j++) {
+                double d = values[j] - mean[i];
+                sum += d * d;
+            }
+            out[i] = Math.sqrt(sum / (i + 1));
+        }
+        for (int k = 0; k < period; k++) {
+            int offset = k - period + 1;
+            for (int i = warmup; i < size; i++) {
+                // ta4j squares with Math.pow(d, 2), which is exactly d * d
+                double d = values[i + offset] - mean[i];
+                out[i] += d * d;
+            }
+        }
+        for (int i = warmup; i < size; i++) {
+            out[i] = Math.sqrt(out[i] / period);
+        }
+        return out;
+    }
+
+    /**
+     * {@code EMAIndicator}: seeded with the first value.
+     */
+    static double[] ema(double[] values, int period) {
+        requirePositive(period);
+        return smooth(values, 2.0 / (period + 1));
+    }
+
+    /**
+     * {@code RSIIndicator}: Wilder-smoothed ({@code MMAIndicator}) average
+     * gain over average loss, 0 when both are zero and 100 when only the
+     * loss is.
+     */
+    static double[] rsi(double[] values, int period) {
+        requirePositive(period);
+        int size = values.length;
+        double[] gains = new double[size];
+        double[] losses = new double[size];
+        for (int i = 1; i < size; i++) {
+            double change = values[i] - values[i - 1];
+            gains[i] = change > 0 ? change : 0;
+            losses[i] = change < 0 ? values[i - 1] - values[i] : 0;
+        }
+        double multiplier = 1.0 / period;
+        double[] averageGain = smooth(gains, multiplier);
+        double[] averageLoss = smooth(losses, multiplier);
+
+        double[] out = new double[size];
+        for (int i = 0; i < size; i++) {
+            double gain = averageGain[i];
+            double loss = averageLoss[i];
+            if (loss == 0) {
+                out[i] = gain == 0 ? 0 : 100;
+            } else {
+                out[i] = 100 - 100 / (1 + gain / loss);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * {@code AbstractEMAIndicator}: {@code prev + (value - prev) * multiplier}.
+     */
+    private static double[] smooth(double[] values, double multiplier) {
+        int size = values.length;
+        double[] out = new double[size];
+        if (size == 0) {
+            return out;
+        }
+        double previous = values[0];
+        out[0] = previous;
+        for (int i = 1; i < size; i++) {
+            previous = (values[i] - previous) * multiplier + previous;
+            out[i] = previous;
+        }
+        return out;
+    }
+
+    private static void requirePositive(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive, got " + period);
+        }
+    }
+
+    static double[] constant(int size, double value) {
+        double[] out = new double[size];
+        Arrays.fill(out, value);
+        return out;
+    }
+
+    /**
+     * Bars where {@code first} crosses above {@code second}:
+     * {@code CrossedUpIndicatorRule(first, second)}.
+     */
+    static BitSet crossedUp(double[] first, double[] second) {
+        return cross(second, first);
+    }
+
+    /**
+     * Bars where {@code first} crosses below {@code second}:
+     * {@code CrossedDownIndicatorRule(first, second)}.
+     */
+    static BitSet crossedDown(double[] first, double[] second) {
+        return cross(first, second);
+    }
+
+    /**
+     * {@code CrossIndicator(up, low)}: {@code up} is below {@code low} now and
+     * was above it at the last earlier bar where the two differed. ta4j walks
+     * back over equal bars at every index; tracking the last differing bar
+     * gives the same answer in one pass.
+     */
+    private static BitSet cross(double[] up, double[] low) {
+        int size = up.length;
+        BitSet crossed = new BitSet(size);
+        int lastUnequal = -1;
+        for (int i = 1; i < size; i++) {
+            int previous = i - 1;
+            if (up[previous] != low[previous]) {
+                lastUnequal = previous;
+            }
+            if (Double.compare(up[i], low[i]) >= 0) {
+                continue;
+            }
+            // ta4j stops walking back at bar 0 unless bar 0 is the previous one
+            if ((lastUnequal == previous || lastUnequal > 0)
+                    && Double.compare(up[lastUnequal], low[lastUnequal]) > 0) {
+                crossed.set(i);
+            }
+        }
+        return crossed;
+    }
+}
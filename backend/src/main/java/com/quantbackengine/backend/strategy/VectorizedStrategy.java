@@ -0,0 +1,37 @@
+package com.quantbackengine.backend.strategy;
+
+import com.quantbackengine.backend.engine.PrecomputedSignals;
+
+import java.util.Map;
+
+/**
+ * A {@link TradingStrategy} that can also compute its signals for a whole
+ * series at once from primitive close prices, without building ta4j rules.
+ *
+ * <p>Callers prefer this path when it is available: sweeps and batch runs
+ * spend most of their time evaluating rules bar by bar, and the array
+ * kernels ({@link VectorIndicators}) do the same arithmetic in tight loops.
+ * Indicators come from {@link SeriesIndicators}, so runs over the same
+ * series share them instead of recomputing.
+ */
+public interface VectorizedStrategy extends TradingStrategy {
+
+    /**
+     * Entry and exit signals for every bar of {@code indicators}' series,
+     * identical to {@link #buildStrategy} evaluated against an empty trading
+     * record on a {@code DoubleNum} series of the same closes.
+     *
+     * @throws IllegalArgumentException when {@link #buildStrategy} would
+     *                                  reject the parameters, or a period is
+     *                                  not positive (ta4j yields no signals)
+     */
+    PrecomputedSignals computeSignals(SeriesIndicators indicators, Map<String, Object> parameters);
+
+    /**
+     * {@link #computeSignals(SeriesIndicators, Map)} over {@code close} with
+     * nothing shared.
+     */
+    default PrecomputedSignals computeSignals(double[] close, Map<String, Object> parameters) {
+        return computeSignals(SeriesIndicators.of(close), parameters);
+    }
+}
@@ -0,0 +1,107 @@
+package com.quantbackengine.backend.strategy;
+
+import com.quantbackengine.backend.engine.PairSignals;
+import com.quantbackengine.backend.util.RollingRegression;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mean-reverting spread strategy.
+ * Regresses the first leg's close on the second's over a rolling window; the
+ * slope is the hedge ratio and the latest residual, in standard errors, the
+ * z-score. Long the spread when it falls below -entryZ, short it above
+ * entryZ, and close once it has reverted inside exitZ.
+ */
+@Component
+public class ZScorePairsStrategy implements PairsTradingStrategy {
+
+    public static final String ID = "PAIRS_ZSCORE";
+    private static final int DEFAULT_LOOKBACK = 60;
+    private static final double DEFAULT_ENTRY_Z = 2.0;
+    private static final double DEFAULT_EXIT_Z = 0.5;
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "Pairs Z-Score";
+    }
+
+    @Override
+    public String getDescription() {
+        return "A market-neutral strategy that trades the residual of a rolling regression between two assets, " +
+                "entering when it stretches beyond a z-score threshold and exiting when it reverts.";
+    }
+
+    @Override
+    public PairSignals computePairSignals(double[] closeA, double[] closeB, Map<String, Object> parameters) {
+        int lookback = StrategyParamUtils.getIntParam(parameters, "lookback", DEFAULT_LOOKBACK);
+        double entryZ = StrategyParamUtils.getDoubleParam(parameters, "entryZ", DEFAULT_ENTRY_Z);
+        double exitZ = StrategyParamUtils.getDoubleParam(parameters, "exitZ", DEFAULT_EXIT_Z);
+
+        if (lookback < 3) {
+            throw new IllegalArgumentException("Lookback must be at least 3 bars");
+        }
+        if (exitZ < 0 || exitZ >= entryZ) {
+            throw new IllegalArgumentException("Exit z-score must be non-negative and less than the entry z-score");
+        }
+        if (closeA.length != closeB.length) {
+            throw new IllegalArgumentException("Pair legs must be aligned to the same length");
+        }
+
+        int n = closeA.length;
+        double[] hedgeRatio = new double[n];
+        double[] zScore = new double[n];
+        BitSet enterLong = new BitSet(n);
+        BitSet enterShort = new BitSet(n);
+        BitSet exitLong = new BitSet(n);
+        BitSet exitShort = new BitSet(n);
+
+        RollingRegression regression = new RollingRegression(lookback);
+        for (int i = 0; i < n; i++) {
+            regression.add(closeB[i], closeA[i]);
+            if (!regression.isFull()) {
+                hedgeRatio[i] = Double.NaN;
+                zScore[i] = Double.NaN;
+                continue;
+            }
+            double beta = regression.slope();
+            double stdDev = regression.residualStdDev();
+            double z = stdDev > 0 ? (closeA[i] - regression.intercept() - beta * closeB[i]) / stdDev : Double.NaN;
+            hedgeRatio[i] = beta;
+            zScore[i] = z;
+            if (Double.isNaN(z)) {
+                continue;
+            }
+            if (z < -entryZ) {
+                enterLong.set(i);
+            } else if (z > entryZ) {
+                enterShort.set(i);
+            }
+            if (z >= -exitZ) {
+                exitLong.set(i);
+            }
+            if (z <= exitZ) {
+                exitShort.set(i);
+            }
+        }
+        return new PairSignals(hedgeRatio, zScore, enterLong, enterShort, exitLong, exitShort);
+    }
+
+    @Override
+    public List<ParameterDefinition> getParameterDefinitions() {
+        return List.of(
+                new ParameterDefinition("lookback", "INTEGER", DEFAULT_LOOKBACK, 10, 500,
+                        "Bars in the rolling hedge-ratio regression (e.g., 60)"),
+                new ParameterDefinition("entryZ", "DECIMAL", DEFAULT_ENTRY_Z, 0.5, 5.0,
+                        "Residual z-score that opens a position (e.g., 2.0)"),
+                new ParameterDefinition("exitZ", "DECIMAL", DEFAULT_EXIT_Z, 0.0, 3.0,
+                        "Residual z-score inside which the position is closed (e.g., 0.5)"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.quantbackengine.backend.util;
+
+import com.quantbackengine.backend.dto.BacktestResponse.BenchmarkMetricsDto;
+
+/**
+ * Benchmark-relative metrics, computed in the same pass as
+ * {@link MetricsAccumulator}: each strategy equity point is joined to the
+ * benchmark close with the same timestamp, and returns are taken between
+ * consecutive joined points, so a day missing from either series is
+ * skipped for both.
+ *
+ * <p>Means, variances and the covariance use Welford's update; up and down
+ * capture compare mean strategy and benchmark returns over the periods in
+ * which the benchmark rose or fell.
+ */
+public final class BenchmarkAccumulator {
+
+    private static final double TRADING_DAYS_PER_YEAR = 252.0;
+
+    private final String symbol;
+    private final long[] benchmarkMillis;
+    private final double[] benchmarkClose;
+    private final double riskFreeRate;
+
+    private int cursor;
+    private boolean joined;
+    private double lastValue;
+    private double lastClose;
+    private double firstClose;
+
+    private long count;
+    private double strategyMean;
+    private double benchmarkMean;
+    private double strategyM2;
+    private double benchmarkM2;
+    private double coMoment;
+    private double activeMean;
+    private double activeM2;
+    private double upStrategy;
+    private double upBenchmark;
+    private double downStrategy;
+    private double downBenchmark;
+
+    /**
+     * @param benchmarkMillis ascending benchmark bar timestamps
+     * @param benchmarkClose  the benchmark close at each timestamp
+     */
+    public BenchmarkAccumulator(String symbol, long[] benchmarkMillis, double[] benchmarkClose, double riskFreeRate) {
+        this.symbol = symbol;
+        this.benchmarkMillis = benchmarkMillis;
+        this.benchmarkClose = benchmarkClose;
+        this.riskFreeRate = riskFreeRate;
+    }
+
+    /**
+     * The strategy's equity at {@code timestamp}; points must arrive in
+     * ascending time order.
+     */
+    public void add(long timestamp, double value) {
+        while (cursor < benchmarkMillis.length && benchmarkMillis[cursor] < timestamp) {
+            cursor++;
+        }
+        if (cursor == benchmarkMillis.length || benchmarkMillis[cursor] != timestamp) {
+            return;
+        }
+        double close = benchmarkClose[cursor];
+        if (!joined) {
+            joined = true;
+            firstClose = close;
+        } else {
+            addReturns((value - lastValue) / lastValue, (close - lastClose) / lastClose);
+        }
+        lastValue = value;
+        lastClose = close;
+    }
+
+    private void addReturns(double s, double b) {
+        count++;
+        double ds = s - strategyMean;
+        double db = b - benchmarkMean;
+        strategyMean += ds / count;
+        benchmarkMean += db / count;
+        strategyM2 += ds * (s - strategyMean);
+        benchmarkM2 += db * (b - benchmarkMean);
+        coMoment += ds * (b - benchmarkMean);
+
+        double a = s - b;
+        double da = a - activeMean;
+        activeMean += da / count;
+        activeM2 += da * (a - activeMean);
+
+        if (b > 0) {
+            upStrategy += s;
+            upBenchmark += b;
+        } else if (b < 0) {
+            downStrategy += s;
+            downBenchmark += b;
+        }
+    }
+
+    /**
+     * Ratios whose denominator is zero (fewer than two joined returns, a flat
+     * benchmark, no up or down periods) are reported as 0.
+     */
+    public BenchmarkMetricsDto result() {
+        BenchmarkMetricsDto.BenchmarkMetricsDtoBuilder result = BenchmarkMetricsDto.builder()
+                .symbol(symbol)
+                .observations(count)
+                .benchmarkReturn(joined ? (lastClose - firstClose) / firstClose : 0);
+        if (count < 2) {
+            return result.build();
+        }
+
+        double beta = benchmarkM2 > 0 ? coMoment / benchmarkM2 : 0;
+        double dailyRiskFree = riskFreeRate / TRADING_DAYS_PER_YEAR;
+        double alpha = ((strategyMean - dailyRiskFree) - beta * (benchmarkMean - dailyRiskFree)) * TRADING_DAYS_PER_YEAR;
+        double correlation = strategyM2 > 0 && benchmarkM2 > 0 ? coMoment / Math.sqrt(strategyM2 * benchmarkM2) : 0;
+        double trackingError = Math.sqrt(activeM2 / (count - 1)) * Math.sqrt(TRADING_DAYS_PER_YEAR);
+
+        return result
+                .beta(beta)
+                .alpha(alpha)
+                .correlation(correlation)
+                .trackingError(trackingError)
+                .informationRatio(trackingError > 0 ? activeMean * TRADING_DAYS_PER_YEAR / trackingError : 0)
+                .upCapture(upBenchmark != 0 ? upStrategy / upBenchmark : 0)
+                .downCapture(downBenchmark != 0 ? downStrategy / downBenchmark : 0)
+                .build();
+    }
+}
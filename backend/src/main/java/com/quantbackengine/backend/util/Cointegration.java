@@ -0,0 +1,207 @@
+package com.quantbackengine.backend.util;
+
+/**
+ * Engle-Granger two-step cointegration test.
+ *
+ * <p>Step one regresses {@code y} on {@code x} with a constant; step two runs
+ * an augmented Dickey-Fuller regression on the residuals,
+ * {@code d(e[t]) = gamma * e[t-1] + sum(phi[k] * d(e[t-k]))} without a
+ * constant, and reports the t-statistic of {@code gamma}. The statistic is
+ * compared with MacKinnon's (2010) 5% critical value for two variables with
+ * a constant, corrected for sample size. The half-life is that of the
+ * residual's AR(1) fit, in bars.
+ */
+public final class Cointegration {
+
+    // MacKinnon (2010) response surface, N = 2 with constant, 5%: tau(T) = inf + b1 / T + b2 / T^2
+    private static final double CRITICAL_5_INF = -3.33613;
+    private static final double CRITICAL_5_B1 = -6.1101;
+    private static final double CRITICAL_5_B2 = -6.823;
+
+    private Cointegration() {
+    }
+
+    /**
+     * @param hedgeRatio   slope of {@code y} on {@code x}
+     * @param adfStatistic t-statistic of the residuals' unit-root test; more
+     *                     negative is stronger evidence of mean reversion
+     * @param halfLife     bars for a deviation to halve; {@code NaN} when the
+     *                     residual does not revert
+     */
+    public record Result(double hedgeRatio, double intercept, double adfStatistic, double criticalValue,
+                         double halfLife) {
+
+        public boolean cointegrated() {
+            return adfStatistic < criticalValue;
+        }
+    }
+
+    /**
+     * @param lags lagged differences in the ADF regression
+     * @throws IllegalArgumentException if the series differ in length or are
+     *                                  too short for {@code lags}
+     */
+    public static Result engleGranger(double[] y, double[] x, int lags) {
+        int n = y.length;
+        if (x.length != n) {
+            throw new IllegalArgumentException("Series must have the same length");
+        }
+        if (lags < 0 || n < lags + 10) {
+            throw new IllegalArgumentException("Need at least " + (lags + 10) + " observations for " + lags + " lags");
+        }
+
+        double meanX = 0;
+        double meanY = 0;
+        for (int t = 0; t < n; t++) {
+            meanX += x[t];
+            meanY += y[t];
+        }
+        meanX /= n;
+        meanY /= n;
+        double sxx = 0;
+        double sxy = 0;
+        for (int t = 0; t < n; t++) {
+            sxx += (x[t] - meanX) * (x[t] - meanX);
+            sxy += (x[t] - meanX) * (y[t] - meanY);
+        }
+        if (sxx == 0) {
+            return new Result(Double.NaN, Double.NaN, Double.NaN, criticalValue(n), Double.NaN);
+        }
+        double beta = sxy / sxx;
+        double alpha = meanY - beta * meanX;
+        double[] residual = new double[n];
+        for (int t = 0; t < n; t++) {
+            residual[t] = y[t] - alpha - beta * x[t];
+        }
+        return new Result(beta, alpha, adfStatistic(residual, lags), criticalValue(n), halfLife(residual));
+    }
+
+    /** MacKinnon's 5% critical value for {@code observations} points. */
+    public static double criticalValue(int observations) {
+        double inverse = 1.0 / observations;
+        return CRITICAL_5_INF + CRITICAL_5_B1 * inverse + CRITICAL_5_B2 * inverse * inverse;
+    }
+
+    private static double adfStatistic(double[] e, int lags) {
+        int k = lags + 1;
+        double[][] xtx = new double[k][k];
+        double[] xty = new double[k];
+        double[] regressors = new double[k];
+        for (int t = lags + 1; t < e.length; t++) {
+            fillRegressors(e, t, regressors);
+            double target = e[t] - e[t - 1];
+            for (int a = 0; a < k; a++) {
+                xty[a] += regressors[a] * target;
+                for (int b = a; b < k; b++) {
+                    xtx[a][b] += regressors[a] * regressors[b];
+                }
+            }
+        }
+        for (int a = 0; a < k; a++) {
+            for (int b = 0; b < a; b++) {
+                xtx[a][b] = xtx[b][a];
+            }
+        }
+
+        double[] coefficients = solve(xtx, xty);
+        double[] unit = new double[k];
+        unit[0] = 1;
+        double[] inverseColumn = solve(xtx, unit);
+        if (coefficients == null || inverseColumn == null) {
+            return Double.NaN;
+        }
+
+        int observations = e.length - lags - 1;
+        double residualSumSq = 0;
+        for (int t = lags + 1; t < e.length; t++) {
+            fillRegressors(e, t, regressors);
+            double fitted = 0;
+            for (int a = 0; a < k; a++) {
+                fitted += coefficients[a] * regressors[a];
+            }
+            double error = e[t] - e[t - 1] - fitted;
+            residualSumSq += error * error;
+        }
+        double variance = residualSumSq / (observations - k);
+        double standardError = Math.sqrt(variance * inverseColumn[0]);
+        return standardError > 0 ? coefficients[0] / standardError : Double.NaN;
+    }
+
+    /** {@code e[t-1]}, then {@code d(e[t-1]) .. d(e[t-lags])}. */
+    private static void fillRegressors(double[] e, int t, double[] regressors) {
+        regressors[0] = e[t - 1];
+        for (int lag = 1; lag < regressors.length; lag++) {
+            regressors[lag] = e[t - lag] - e[t - lag - 1];
+        }
+    }
+
+    /**
+     * Half-life of {@code d(e[t]) = c + lambda * e[t-1]}: {@code -ln 2 / ln(1 + lambda)}.
+     */
+    private static double halfLife(double[] e) {
+        int n = e.length - 1;
+        double meanLag = 0;
+        double meanDiff = 0;
+        for (int t = 1; t <= n; t++) {
+            meanLag += e[t - 1];
+            meanDiff += e[t] - e[t - 1];
+        }
+        meanLag /= n;
+        meanDiff /= n;
+        double sll = 0;
+        double sld = 0;
+        for (int t = 1; t <= n; t++) {
+            double lag = e[t - 1] - meanLag;
+            sll += lag * lag;
+            sld += lag * (e[t] - e[t - 1] - meanDiff);
+        }
+        double lambda = sll > 0 ? sld / sll : 0;
+        return lambda < 0 && lambda > -1 ? -Math.log(2) / Math.log1p(lambda) : Double.NaN;
+    }
+
+    /**
+     * Gaussian elimination with partial pivoting on copies of the inputs;
+     * {@code null} if {@code a} is singular.
+     */
+    private static double[] solve(double[][] a, double[] b) {
+        int k = b.length;
+        double[][] m = new double[k][];
+        double[] v = b.clone();
+        for (int r = 0; r < k; r++) {
+            m[r] = a[r].clone();
+        }
+        for (int col = 0; col < k; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < k; r++) {
+                if (Math.abs(m[r][col]) > Math.abs(m[pivot][col])) {
+                    pivot = r;
+                }
+            }
+            if (m[pivot][col] == 0) {
+                return null;
+            }
+            double[] row = m[pivot];
+            m[pivot] = m[col];
+            m[col] = row;
+            double value = v[pivot];
+            v[pivot] = v[col];
+            v[col] = value;
+            for (int r = col + 1; r < k; r++) {
+                double factor = m[r][col] / m[col][col];
+                for (int c = col; c < k; c++) {
+                    m[r][c] -= factor * m[col][c];
+                }
+                v[r] -= factor * v[col];
+            }
+        }
+        double[] solution = new double[k];
+        for (int r = k - 1; r >= 0; r--) {
+            double sum = v[r];
+            for (int c = r + 1; c < k; c++) {
+                sum -= m[r][c] * solution[c];
+            }
+            solution[r] = sum / m[r][r];
+        }
+        return solution;
+    }
+}
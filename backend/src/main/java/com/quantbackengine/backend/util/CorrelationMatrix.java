@@ -0,0 +1,101 @@
+package com.quantbackengine.backend.util;
+
+/**
+ * Pairwise Pearson correlation of many return series, computed in tiles.
+ *
+ * <p>Each row is centred and scaled to unit length once, so a correlation is
+ * a plain dot product. The upper triangle is cut into tiles of
+ * {@value #BLOCK} x {@value #BLOCK} symbols, and each tile walks time in
+ * chunks of {@value #TIME_CHUNK} bars: the slices of the tile's rows stay in
+ * cache while every pair inside it is accumulated, instead of streaming two
+ * full rows from memory per pair. Tiles write disjoint cells, so they can
+ * run in parallel.
+ */
+public final class CorrelationMatrix {
+
+    static final int BLOCK = 64;
+    static final int TIME_CHUNK = 256;
+
+    private CorrelationMatrix() {
+    }
+
+    /**
+     * Log returns of each row of {@code logPrices}, centred and scaled to
+     * unit length. A row without variance comes back all zeros, so its
+     * correlation with anything is 0.
+     */
+    public static double[][] standardizedReturns(double[][] logPrices) {
+        double[][] z = new double[logPrices.length][];
+        for (int s = 0; s < logPrices.length; s++) {
+            double[] prices = logPrices[s];
+            int n = Math.max(prices.length - 1, 0);
+            double[] row = new double[n];
+            double mean = 0;
+            for (int t = 0; t < n; t++) {
+                row[t] = prices[t + 1] - prices[t];
+                mean += row[t];
+            }
+            mean = n > 0 ? mean / n : 0;
+            double sumSq = 0;
+            for (int t = 0; t < n; t++) {
+                row[t] -= mean;
+                sumSq += row[t] * row[t];
+            }
+            double scale = sumSq > 0 ? 1 / Math.sqrt(sumSq) : 0;
+            for (int t = 0; t < n; t++) {
+                row[t] *= scale;
+            }
+            z[s] = row;
+        }
+        return z;
+    }
+
+    /** Tiles covering the upper triangle of an {@code n x n} matrix. */
+    public static int tileCount(int n) {
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        return blocks * (blocks + 1) / 2;
+    }
+
+    /**
+     * Correlations of every pair {@code i < j} in tile {@code tile}, written
+     * to {@code correlation[i][j]}.
+     */
+    public static void computeTile(double[][] z, int tile, double[][] correlation) {
+        int blocks = (z.length + BLOCK - 1) / BLOCK;
+        int rowBlock = 0;
+        int remaining = tile;
+        while (remaining >= blocks - rowBlock) {
+            remaining -= blocks - rowBlock;
+            rowBlock++;
+        }
+        int colBlock = rowBlock + remaining;
+
+        int rowStart = rowBlock * BLOCK;
+        int rowEnd = Math.min(rowStart + BLOCK, z.length);
+        int colStart = colBlock * BLOCK;
+        int colEnd = Math.min(colStart + BLOCK, z.length);
+        int length = z.length > 0 ? z[0].length : 0;
+
+        double[][] sums = new double[rowEnd - rowStart][colEnd - colStart];
+        for (int t0 = 0; t0 < length; t0 += TIME_CHUNK) {
+            int t1 = Math.min(t0 + TIME_CHUNK, length);
+            for (int i = rowStart; i < rowEnd; i++) {
+                double[] zi = z[i];
+                double[] row = sums[i - rowStart];
+                for (int j = Math.max(colStart, i + 1); j < colEnd; j++) {
+                    double[] zj = z[j];
+                    double dot = 0;
+                    for (int t = t0; t < t1; t++) {
+                        dot += zi[t] * zj[t];
+                    }
+                    row[j - colStart] += dot;
+                }
+            }
+        }
+        for (int i = rowStart; i < rowEnd; i++) {
+            for (int j = Math.max(colStart, i + 1); j < colEnd; j++) {
+                correlation[i][j] = sums[i - rowStart][j - colStart];
+            }
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.quantbackengine.backend.util;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass form of {@link MetricsCalculator}: equity points and closed
+ * trades are fed one at a time and nothing is buffered, so streamed
+ * backtests can report metrics without keeping the equity curve.
+ *
+ * <p>Return mean and variance use Welford's update, which agrees with the
+ * two-pass formula to rounding. Downside deviation, the Ulcer index and the
+ * trade statistics are running sums, so every scalar metric costs O(1)
+ * memory however long the run.
+ *
+ * <p>Rolling Sharpe ratio and volatility are optional: constructed with a
+ * window, the accumulator also keeps the last {@code window} returns in a
+ * ring buffer and records both values for every point, {@code NaN} until the
+ * first window is full.
+ *
+ * <p>{@link #state()} captures the scalar totals added so far;
+ * {@link #restore} picks up from there, so a run can be extended with new
+ * bars without revisiting the old ones. Rolling values are not carried over.
+ */
+public final class MetricsAccumulator {
+
+    private static final double TRADING_DAYS_PER_YEAR = 252.0;
+    private static final double DAYS_PER_YEAR = 365.25;
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000.0;
+
+    private final double initialCapital;
+    private final double riskFreeRate;
+
+    private int size;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private double lastValue;
+
+    private double peak = -Double.MAX_VALUE;
+    private double maxDd;
+    private double maxDdPct;
+    private double drawdownPctSumSq;
+
+    private long returnCount;
+    private double returnMean;
+    private double returnM2;
+    private double downsideSumSq;
+
+    private int trades;
+    private int wins;
+    private int losses;
+    private double grossProfit;
+    private double grossLoss;
+    private long heldMillis;
+    private long openSince = -1;
+
+    private final Rolling rolling;
+
+    public MetricsAccumulator(double initialCapital, double riskFreeRate) {
+        this(initialCapital, riskFreeRate, 0, 0);
+    }
+
+    /**
+     * @param rollingWindow returns per rolling Sharpe / volatility window; 0 for none
+     * @param expectedSize  points expected, to size the rolling output up front
+     */
+    public MetricsAccumulator(double initialCapital, double riskFreeRate, int rollingWindow, int expectedSize) {
+        if (rollingWindow < 0 || rollingWindow == 1) {
+            throw new IllegalArgumentException("Rolling window must be at least 2 returns");
+        }
+        this.initialCapital = initialCapital;
+        this.riskFreeRate = riskFreeRate;
+        this.rolling = rollingWindow > 0 ? new Rolling(rollingWindow, expectedSize) : null;
+    }
+
+    /**
+     * Resume from {@code state} as if its points and trades had been added here.
+     */
+    public static MetricsAccumulator restore(State state, double initialCapital, double riskFreeRate) {
+        MetricsAccumulator accumulator = new MetricsAccumulator(initialCapital, riskFreeRate);
+        accumulator.size = state.size();
+        accumulator.firstTimestamp = state.firstTimestamp();
+        accumulator.lastTimestamp = state.lastTimestamp();
+        accumulator.lastValue = state.lastValue();
+        accumulator.peak = state.peak();
+        accumulator.maxDd = state.maxDrawdown();
+        accumulator.maxDdPct = state.maxDrawdownPercent();
+        accumulator.drawdownPctSumSq = state.drawdownPercentSumSq();
+        accumulator.returnCount = state.returnCount();
+        accumulator.returnMean = state.returnMean();
+        accumulator.returnM2 = state.returnM2();
+        accumulator.downsideSumSq = state.downsideSumSq();
+        accumulator.trades = state.trades();
+        accumulator.wins = state.wins();
+        accumulator.losses = state.losses();
+        accumulator.grossProfit = state.grossProfit();
+        accumulator.grossLoss = state.grossLoss();
+        accumulator.heldMillis = state.heldMillis();
+        return accumulator;
+    }
+
+    public State state() {
+        return new State(size, firstTimestamp, lastTimestamp, lastValue, peak, maxDd, maxDdPct, drawdownPctSumSq,
+                returnCount, returnMean, returnM2, downsideSumSq,
+                trades, wins, losses, grossProfit, grossLoss, heldMillis);
+    }
+
+    public void add(long timestamp, double value) {
+        if (size == 0) {
+            firstTimestamp = timestamp;
+        } else {
+            double r = (value - lastValue) / lastValue;
+            returnCount++;
+            double delta = r - returnMean;
+            returnMean += delta / returnCount;
+            returnM2 += delta * (r - returnMean);
+            if (r < 0) {
+                downsideSumSq += r * r;
+            }
+            if (rolling != null) {
+                rolling.add(r);
+            }
+        }
+        if (rolling != null) {
+            rolling.record(size);
+        }
+        size++;
+        lastTimestamp = timestamp;
+        lastValue = value;
+
+        if (value > peak) {
+            peak = value;
+        }
+        double drawdown = peak - value;
+        double drawdownPct = peak != 0 ? drawdown / peak : 0; // Guard division by zero if peak is 0
+        drawdownPctSumSq += drawdownPct * drawdownPct;
+        if (drawdown > maxDd) {
+            maxDd = drawdown;
+            maxDdPct = drawdownPct;
+        }
+    }
+
+    /**
+     * A round trip closed at {@code exitTime}; a zero or negative P&L counts
+     * as a loss.
+     */
+    public void addTrade(long entryTime, long exitTime, double pnl) {
+        trades++;
+        if (pnl > 0) {
+            wins++;
+            grossProfit += pnl;
+        } else {
+            losses++;
+            grossLoss -= pnl;
+        }
+        heldMillis += exitTime - entryTime;
+    }
+
+    /**
+     * A position entered at {@code entryTime} is still open after the last
+     * point: its time counts toward exposure, but it is not a trade. Not part
+     * of {@link #state()}, since a continuation may still close it.
+     */
+    public void openPosition(long entryTime) {
+        openSince = entryTime;
+    }
+
+    public MetricsDto result() {
+        if (size == 0) {
+            return MetricsDto.builder().build();
+        }
+
+        double totalReturn = (lastValue - initialCapital) / initialCapital;
+        long elapsedMillis = lastTimestamp - firstTimestamp;
+        double years = elapsedMillis / (DAYS_PER_YEAR * MILLIS_PER_DAY);
+        double annualizedReturn = years > 0 ? Math.pow(1 + totalReturn, 1 / years) - 1 : 0;
+
+        double sharpe = 0.0;
+        double sortino = 0.0;
+        if (returnCount > 0) {
+            double annualizedExcess = returnMean * TRADING_DAYS_PER_YEAR - riskFreeRate;
+            double stdDev = Math.sqrt(returnM2 / (returnCount - 1));
+            if (stdDev > 0) {
+                sharpe = annualizedExcess / (stdDev * Math.sqrt(TRADING_DAYS_PER_YEAR));
+            }
+            double downsideDev = Math.sqrt(downsideSumSq / returnCount);
+            if (downsideDev > 0) {
+                sortino = annualizedExcess / (downsideDev * Math.sqrt(TRADING_DAYS_PER_YEAR));
+            }
+        }
+
+        long exposedMillis = heldMillis + (openSince >= 0 ? lastTimestamp - openSince : 0);
+
+        return MetricsDto.builder()
+                .totalReturn(totalReturn)
+                .annualizedReturn(annualizedReturn)
+                .maxDrawdown(maxDd)
+                .maxDrawdownPercent(maxDdPct)
+                .sharpeRatio(sharpe)
+                .sortinoRatio(sortino)
+                .calmarRatio(maxDdPct > 0 ? annualizedReturn / maxDdPct : 0)
+                .ulcerIndex(Math.sqrt(drawdownPctSumSq / size))
+                .backtestYears(years)
+                .exposure(elapsedMillis > 0 ? (double) exposedMillis / elapsedMillis : 0)
+                .totalTrades(trades)
+                .winningTrades(wins)
+                .losingTrades(losses)
+                .winRate(trades > 0 ? (double) wins / trades : 0)
+                .profitFactor(grossLoss > 0 ? grossProfit / grossLoss : 0)
+                .averageTradeDays(trades > 0 ? heldMillis / MILLIS_PER_DAY / trades : 0)
+                .build();
+    }
+
+    /**
+     * Annualized Sharpe ratio over the trailing window ending at each point,
+     * {@code NaN} where the window is not yet full; {@code null} without a
+     * rolling window.
+     */
+    public double[] rollingSharpe() {
+        return rolling != null ? Arrays.copyOf(rolling.sharpe, size) : null;
+    }
+
+    /**
+     * Annualized volatility of returns over the trailing window ending at
+     * each point, as {@link #rollingSharpe}.
+     */
+    public double[] rollingVolatility() {
+        return rolling != null ? Arrays.copyOf(rolling.volatility, size) : null;
+    }
+
+    /**
+     * Running totals after the points and trades added so far.
+     */
+    public record State(int size, long firstTimestamp, long lastTimestamp, double lastValue, double peak,
+                        double maxDrawdown, double maxDrawdownPercent, double drawdownPercentSumSq,
+                        long returnCount, double returnMean, double returnM2, double downsideSumSq,
+                        int trades, int wins, int losses, double grossProfit, double grossLoss,
+                        long heldMillis) {
+    }
+
+    /**
+     * Mean and variance of the last {@code window} returns, updated in place
+     * as each return replaces the oldest (Welford's update with removal).
+     */
+    private final class Rolling {
+
+        private final double[] window;
+        private int count;
+        private int next;
+        private double mean;
+        private double m2;
+        private double[] sharpe;
+        private double[] volatility;
+
+        Rolling(int window, int expectedSize) {
+            this.window = new double[window];
+            this.sharpe = new double[Math.max(expectedSize, 16)];
+            this.volatility = new double[sharpe.length];
+        }
+
+        void add(double r) {
+            if (count < window.length) {
+                count++;
+                double delta = r - mean;
+                mean += delta / count;
+                m2 += delta * (r - mean);
+            } else {
+                double old = window[next];
+                double newMean = mean + (r - old) / count;
+                m2 += (r - old) * (r - newMean + old - mean);
+                mean = newMean;
+                if (m2 < 0) {
+                    m2 = 0; // rounding after a run of identical returns
+                }
+            }
+            window[next] = r;
+            next = next + 1 == window.length ? 0 : next + 1;
+        }
+
+        void record(int point) {
+            if (point == sharpe.length) {
+                sharpe = Arrays.copyOf(sharpe, point * 2);
+                volatility = Arrays.copyOf(volatility, point * 2);
+            }
+            if (count < window.length) {
+                sharpe[point] = Double.NaN;
+                volatility[point] = Double.NaN;
+                return;
+            }
+            double stdDev = Math.sqrt(m2 / (count - 1));
+            double annualizedStdDev = stdDev * Math.sqrt(TRADING_DAYS_PER_YEAR);
+            volatility[point] = annualizedStdDev;
+            sharpe[point] = stdDev > 0
+                    ? (mean * TRADING_DAYS_PER_YEAR - riskFreeRate) / annualizedStdDev
+                    : 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.quantbackengine.backend.util;
+
+/**
+ * Ordinary least squares of {@code y} on {@code x} over the last
+ * {@code window} points, updated in O(1) per point.
+ *
+ * <p>Means and co-moments use Welford's update; once the window is full,
+ * each new point first removes the oldest with the inverse update, so the
+ * cost per point does not grow with the window and nothing is re-summed.
+ */
+public final class RollingRegression {
+
+    private final double[] xs;
+    private final double[] ys;
+    private int count;
+    private int next;
+    private double meanX;
+    private double meanY;
+    private double sxx;
+    private double syy;
+    private double sxy;
+
+    public RollingRegression(int window) {
+        if (window < 3) {
+            throw new IllegalArgumentException("Regression window must be at least 3 points");
+        }
+        this.xs = new double[window];
+        this.ys = new double[window];
+    }
+
+    public void add(double x, double y) {
+        if (count == xs.length) {
+            remove(xs[next], ys[next]);
+        }
+        count++;
+        double dx = x - meanX;
+        meanX += dx / count;
+        double dy = y - meanY;
+        meanY += dy / count;
+        sxx += dx * (x - meanX);
+        syy += dy * (y - meanY);
+        sxy += dx * (y - meanY);
+
+        xs[next] = x;
+        ys[next] = y;
+        next = next + 1 == xs.length ? 0 : next + 1;
+    }
+
+    private void remove(double x, double y) {
+        count--;
+        double dx = x - meanX;
+        meanX -= dx / count;
+        double dy = y - meanY;
+        meanY -= dy / count;
+        sxx = Math.max(0, sxx - dx * (x - meanX));
+        syy = Math.max(0, syy - dy * (y - meanY));
+        sxy -= dx * (y - meanY);
+    }
+
+    public boolean isFull() {
+        return count == xs.length;
+    }
+
+    /**
+     * {@code NaN} while {@code x} has no variance in the window.
+     */
+    public double slope() {
+        return sxx > 0 ? sxy / sxx : Double.NaN;
+    }
+
+    public double intercept() {
+        return meanY - slope() * meanX;
+    }
+
+    /**
+     * Standard error of the residuals, with {@code count - 2} degrees of
+     * freedom; {@code NaN} where {@link #slope()} is.
+     */
+    public double residualStdDev() {
+        if (sxx <= 0 || count < 3) {
+            return Double.NaN;
+        }
+        double residualSumSq = Math.max(0, syy - sxy * sxy / sxx);
+        return Math.sqrt(residualSumSq / (count - 2));
+    }
+}
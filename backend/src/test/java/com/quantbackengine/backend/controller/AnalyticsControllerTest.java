@@ -1,9 +1,13 @@
 package com.quantbackengine.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantbackengine.backend.dto.MonteCarloRequest;
+import com.quantbackengine.backend.dto.MonteCarloResponse;
 import com.quantbackengine.backend.dto.QuantstatsRequest;
 import com.quantbackengine.backend.dto.QuantstatsResult;
+import com.quantbackengine.backend.exception.GlobalExceptionHandler;
 import com.quantbackengine.backend.service.AnalyticsService;
+import com.quantbackengine.backend.service.MonteCarloService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +32,9 @@ class AnalyticsControllerTest {
     @Mock
     private AnalyticsService analyticsService;
 
+    @Mock
+    private MonteCarloService monteCarloService;
+
     @InjectMocks
     private AnalyticsController controller;
 
@@ -35,7 +43,9 @@ class AnalyticsControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
     }
 
@@ -87,4 +97,29 @@ class AnalyticsControllerTest {
                 .andExpect(jsonPath("$.action").value("stats"))
                 .andExpect(jsonPath("$.data.sharpe").value(1.5));
     }
+
+    @Test
+    void monteCarlo_returnsDistributions() throws Exception {
+        when(monteCarloService.simulate(any())).thenReturn(MonteCarloResponse.builder()
+                .method("BOOTSTRAP").simulations(10_000).probabilityOfLoss(0.12).build());
+
+        mockMvc.perform(post("/api/v1/analytics/montecarlo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                MonteCarloRequest.builder().returns(List.of(0.01, -0.02)).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.simulations").value(10_000))
+                .andExpect(jsonPath("$.probabilityOfLoss").value(0.12));
+    }
+
+    @Test
+    void monteCarlo_invalidInput_returns400() throws Exception {
+        when(monteCarloService.simulate(any())).thenThrow(new IllegalArgumentException("Provide either trades or returns"));
+
+        mockMvc.perform(post("/api/v1/analytics/montecarlo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Provide either trades or returns"));
+    }
 }
@@ -3,10 +3,42 @@ package com.quantbackengine.backend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quantbackengine.backend.domain.BacktestRun;
+import com.quantbackengine.backend.dto.AdmissionStatsDto;
 import com.quantbackengine.backend.dto.BacktestRequest;
 import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.dto.BacktestStreamEvent;
+import com.quantbackengine.backend.dto.BatchBacktestRequest;
+import com.quantbackengine.backend.dto.BatchBacktestResult;
+import com.quantbackengine.backend.dto.CacheStatsDto;
+import com.quantbackengine.backend.dto.ContinueBacktestRequest;
+import com.quantbackengine.backend.dto.PairScanRequest;
+import com.quantbackengine.backend.dto.PairScanResponse;
+import com.quantbackengine.backend.dto.PairsBacktestRequest;
+import com.quantbackengine.backend.dto.PairsBacktestResponse;
+import com.quantbackengine.backend.dto.PortfolioBacktestRequest;
+import com.quantbackengine.backend.dto.PortfolioBacktestResponse;
+import com.quantbackengine.backend.dto.SweepRequest;
+import com.quantbackengine.backend.dto.SweepResponse;
+import com.quantbackengine.backend.dto.WalkForwardRequest;
+import com.quantbackengine.backend.dto.WalkForwardResponse;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.exception.BacktestOverloadedException;
+import com.quantbackengine.backend.exception.BacktestQueueFullException;
 import com.quantbackengine.backend.exception.GlobalExceptionHandler;
+import com.quantbackengine.backend.service.BacktestAdmission;
+import com.quantbackengine.backend.service.BacktestJobService;
+import com.quantbackengine.backend.service.BacktestResultCache;
 import com.quantbackengine.backend.service.BacktestService;
+import com.quantbackengine.backend.service.BacktestStream;
+import com.quantbackengine.backend.service.BatchBacktestService;
+import com.quantbackengine.backend.service.BenchmarkCache;
+import com.quantbackengine.backend.service.IndicatorCaches;
+import com.quantbackengine.backend.service.ParameterSweepService;
+import com.quantbackengine.backend.service.PairScanService;
+import com.quantbackengine.backend.service.PairsBacktestService;
+import com.quantbackengine.backend.service.PortfolioBacktestService;
+import com.quantbackengine.backend.service.WalkForwardService;
 import com.quantbackengine.backend.strategy.StrategyRegistry;
 import com.quantbackengine.backend.strategy.TradingStrategy;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,9 +46,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
@@ -26,8 +61,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +84,42 @@ class BacktestControllerTest {
     @Mock
     private StrategyRegistry strategyRegistry;
 
+    @Mock
+    private ParameterSweepService parameterSweepService;
+
+    @Mock
+    private WalkForwardService walkForwardService;
+
+    @Mock
+    private PortfolioBacktestService portfolioBacktestService;
+
+    @Mock
+    private PairsBacktestService pairsBacktestService;
+
+    @Mock
+    private PairScanService pairScanService;
+
+    @Mock
+    private BatchBacktestService batchBacktestService;
+
+    @Mock
+    private BacktestResultCache resultCache;
+
+    @Mock
+    private IndicatorCaches indicatorCaches;
+
+    @Mock
+    private BacktestJobService backtestJobService;
+
+    @Mock
+    private BacktestAdmission admission;
+
+    @Mock
+    private BenchmarkCache benchmarkCache;
+
+    @Spy
+    private ObjectMapper jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private BacktestController controller;
 
@@ -119,6 +198,447 @@ class BacktestControllerTest {
                 .andExpect(jsonPath("$.error").value("Internal Server Error"));
     }
 
+    // --- POST /api/v1/backtest/continue ---
+
+    @Test
+    void continueBacktest_missingSnapshot_returns400() throws Exception {
+        ContinueBacktestRequest request = ContinueBacktestRequest.builder()
+                .endDate(LocalDate.of(2024, 1, 31))
+                .build();
+
+        mockMvc.perform(post("/api/v1/backtest/continue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verify(backtestService, never()).continueBacktest(any());
+    }
+
+    // --- POST /api/v1/backtest/sweep ---
+
+    @Test
+    void sweep_validRequest_returns200WithRankedResults() throws Exception {
+        SweepResponse response = SweepResponse.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .rankBy("sharpeRatio")
+                .combinations(2)
+                .results(List.of(SweepResponse.SweepResultDto.builder()
+                        .rank(1)
+                        .parameters(Map.of("shortPeriod", 10, "longPeriod", 50))
+                        .metrics(BacktestResponse.MetricsDto.builder().sharpeRatio(1.2).build())
+                        .build()))
+                .build();
+        when(parameterSweepService.sweep(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/backtest/sweep")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validSweepRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.combinations").value(2))
+                .andExpect(jsonPath("$.results[0].rank").value(1))
+                .andExpect(jsonPath("$.results[0].parameters.shortPeriod").value(10))
+                .andExpect(jsonPath("$.results[0].metrics.sharpeRatio").value(1.2));
+    }
+
+    @Test
+    void sweep_tooManyCombinations_returns400() throws Exception {
+        when(parameterSweepService.sweep(any()))
+                .thenThrow(new IllegalArgumentException("Sweep exceeds the limit of 5000 combinations"));
+
+        mockMvc.perform(post("/api/v1/backtest/sweep")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validSweepRequest())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Sweep exceeds the limit of 5000 combinations"));
+    }
+
+    // --- POST /api/v1/backtest/walk-forward ---
+
+    @Test
+    void walkForward_validRequest_returns200WithWindows() throws Exception {
+        WalkForwardResponse response = WalkForwardResponse.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .windows(List.of(WalkForwardResponse.WindowDto.builder()
+                        .index(0)
+                        .parameters(Map.of("shortPeriod", 10))
+                        .build()))
+                .outOfSampleMetrics(BacktestResponse.MetricsDto.builder().totalReturn(0.1).build())
+                .outOfSampleEquity(List.of())
+                .build();
+        when(walkForwardService.run(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/backtest/walk-forward")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validWalkForwardRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].parameters.shortPeriod").value(10))
+                .andExpect(jsonPath("$.outOfSampleMetrics.totalReturn").value(0.1));
+    }
+
+    @Test
+    void walkForward_missingWindowSizes_returns400() throws Exception {
+        WalkForwardRequest request = validWalkForwardRequest();
+        request.setTrainBars(null);
+
+        mockMvc.perform(post("/api/v1/backtest/walk-forward")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- POST /api/v1/backtest/portfolio ---
+
+    @Test
+    void portfolio_validRequest_returns200WithAttribution() throws Exception {
+        PortfolioBacktestResponse response = PortfolioBacktestResponse.builder()
+                .strategy("SMA_CROSSOVER")
+                .allocation("EQUAL_WEIGHT")
+                .metrics(BacktestResponse.MetricsDto.builder().totalReturn(0.2).build())
+                .equityCurve(List.of())
+                .attribution(List.of(PortfolioBacktestResponse.SymbolAttributionDto.builder()
+                        .symbol("AAPL")
+                        .contribution(0.2)
+                        .build()))
+                .missingSymbols(List.of())
+                .build();
+        when(portfolioBacktestService.run(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/backtest/portfolio")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validPortfolioRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attribution[0].symbol").value("AAPL"))
+                .andExpect(jsonPath("$.metrics.totalReturn").value(0.2));
+    }
+
+    @Test
+    void portfolio_emptySymbols_returns400() throws Exception {
+        PortfolioBacktestRequest request = validPortfolioRequest();
+        request.setSymbols(List.of());
+
+        mockMvc.perform(post("/api/v1/backtest/portfolio")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- POST /api/v1/backtest/pairs ---
+
+    @Test
+    void pairs_validRequest_returns200WithTrades() throws Exception {
+        PairsBacktestResponse response = PairsBacktestResponse.builder()
+                .strategy("PAIRS_ZSCORE")
+                .symbolA("KO")
+                .symbolB("PEP")
+                .join("INNER")
+                .metrics(BacktestResponse.MetricsDto.builder().totalReturn(0.05).build())
+                .equityCurve(List.of())
+                .trades(List.of(PairsBacktestResponse.PairTradeDto.builder()
+                        .direction("LONG_SPREAD")
+                        .hedgeRatio(0.8)
+                        .build()))
+                .build();
+        when(pairsBacktestService.run(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/backtest/pairs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validPairsRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades[0].direction").value("LONG_SPREAD"))
+                .andExpect(jsonPath("$.metrics.totalReturn").value(0.05));
+    }
+
+    @Test
+    void pairs_missingSecondSymbol_returns400() throws Exception {
+        PairsBacktestRequest request = validPairsRequest();
+        request.setSymbolB(null);
+
+        mockMvc.perform(post("/api/v1/backtest/pairs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scanPairs_validRequest_returnsRankedPairs() throws Exception {
+        PairScanResponse response = PairScanResponse.builder()
+                .symbols(2)
+                .pairsScreened(1)
+                .candidatesTested(1)
+                .pairs(List.of(PairScanResponse.ScannedPairDto.builder()
+                        .symbolA("KO")
+                        .symbolB("PEP")
+                        .adfStatistic(-4.2)
+                        .cointegrated(true)
+                        .build()))
+                .build();
+        when(pairScanService.scan(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/backtest/pairs/scan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PairScanRequest.builder()
+                                .startDate(LocalDate.of(2020, 1, 1))
+                                .endDate(LocalDate.of(2023, 12, 31))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pairs[0].symbolA").value("KO"))
+                .andExpect(jsonPath("$.pairs[0].cointegrated").value(true));
+    }
+
+    @Test
+    void scanPairs_correlationOutOfRange_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/backtest/pairs/scan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PairScanRequest.builder()
+                                .startDate(LocalDate.of(2020, 1, 1))
+                                .endDate(LocalDate.of(2023, 12, 31))
+                                .minCorrelation(1.5)
+                                .build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- POST /api/v1/backtest/run/stream ---
+
+    @Test
+    void runStream_ndjson_writesOneEventPerLine() throws Exception {
+        BacktestStream stream = sink -> {
+            sink.accept(BacktestStreamEvent.start("id", "AAPL", "sma", 1));
+            sink.accept(BacktestStreamEvent.equity(BacktestResponse.EquityPointDto.builder().timestamp(1L).value(2.0).build()));
+            sink.accept(BacktestStreamEvent.metrics(BacktestResponse.MetricsDto.builder().totalReturn(0.1).build()));
+        };
+        when(backtestService.prepareStream(any())).thenReturn(stream);
+
+        MvcResult result = mockMvc.perform(post("/api/v1/backtest/run/stream")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"type\":\"start\""));
+        assertTrue(lines[1].contains("\"equity\":{\"timestamp\":1"));
+        assertTrue(lines[2].contains("\"totalReturn\":0.1"));
+    }
+
+    @Test
+    void runStream_eventStream_namesEachEventByType() throws Exception {
+        when(backtestService.prepareStream(any())).thenReturn(sink -> sink.accept(
+                BacktestStreamEvent.metrics(BacktestResponse.MetricsDto.builder().build())));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/backtest/run/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertTrue(result.getResponse().getContentAsString().startsWith("event: metrics\ndata: {"));
+    }
+
+    @Test
+    void runStream_missingSymbol_returns400() throws Exception {
+        BacktestRequest request = validRequest();
+        request.setSymbol(null);
+
+        mockMvc.perform(post("/api/v1/backtest/run/stream")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- POST /api/v1/backtest/batch ---
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batch_validRequest_streamsOneJsonLinePerResult() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BatchBacktestResult> sink = invocation.getArgument(2);
+            sink.accept(BatchBacktestResult.builder().symbol("AAPL").strategy("SMA_CROSSOVER").build());
+            sink.accept(BatchBacktestResult.builder().symbol("MSFT").error("No market data").build());
+            return 2;
+        }).when(batchBacktestService).run(any(), any(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/backtest/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBatchRequest())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"error\":\"No market data\""));
+    }
+
+    @Test
+    void batch_unknownStrategy_returns400BeforeStreaming() throws Exception {
+        doThrow(new IllegalArgumentException("Unknown strategy: nope")).when(batchBacktestService).admit(any());
+
+        mockMvc.perform(post("/api/v1/backtest/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBatchRequest())))
+                .andExpect(status().isBadRequest());
+        verify(batchBacktestService, never()).run(any(), any(), any());
+    }
+
+    @Test
+    void batch_overloaded_returns429BeforeStreaming() throws Exception {
+        when(batchBacktestService.admit(any()))
+                .thenThrow(new BacktestOverloadedException("too many backtests waiting"));
+
+        mockMvc.perform(post("/api/v1/backtest/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBatchRequest())))
+                .andExpect(status().isTooManyRequests());
+        verify(batchBacktestService, never()).run(any(), any(), any());
+    }
+
+    // --- GET /api/v1/backtest/cache/stats ---
+
+    @Test
+    void cacheStats_returnsCounters() throws Exception {
+        when(resultCache.stats()).thenReturn(CacheStatsDto.builder()
+                .hits(7).misses(3).entries(3).bytes(4_096).maxBytes(1_048_576).build());
+
+        mockMvc.perform(get("/api/v1/backtest/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(7))
+                .andExpect(jsonPath("$.misses").value(3))
+                .andExpect(jsonPath("$.maxBytes").value(1_048_576));
+    }
+
+    @Test
+    void indicatorCacheStats_returnsTotals() throws Exception {
+        when(indicatorCaches.stats()).thenReturn(CacheStatsDto.builder()
+                .hits(90).misses(10).entries(10).bytes(201_760).maxBytes(33_554_432).build());
+
+        mockMvc.perform(get("/api/v1/backtest/cache/indicators/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(90))
+                .andExpect(jsonPath("$.misses").value(10))
+                .andExpect(jsonPath("$.entries").value(10));
+    }
+
+    @Test
+    void admissionStats_returnsBudgetAndUsage() throws Exception {
+        when(admission.stats()).thenReturn(AdmissionStatsDto.builder()
+                .memoryBudgetBytes(134_217_728).memoryUsedBytes(4_000_000).cpuBudgetMillis(30_000).running(2).build());
+
+        mockMvc.perform(get("/api/v1/backtest/admission/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memoryBudgetBytes").value(134_217_728))
+                .andExpect(jsonPath("$.memoryUsedBytes").value(4_000_000))
+                .andExpect(jsonPath("$.running").value(2));
+    }
+
+    @Test
+    void runBacktest_overloaded_returns429() throws Exception {
+        when(backtestService.runBacktest(any(BacktestRequest.class)))
+                .thenThrow(new BacktestOverloadedException("no capacity within 10000 ms"));
+
+        mockMvc.perform(post("/api/v1/backtest/run")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void runBacktest_runsUnderTheRequestDeadline() throws Exception {
+        ReflectionTestUtils.setField(controller, "requestTimeoutMillis", 5_000L);
+        long[] remaining = new long[1];
+        when(backtestService.runBacktest(any(BacktestRequest.class))).thenAnswer(invocation -> {
+            remaining[0] = CancellationToken.current().remainingMillis();
+            return BacktestResponse.builder().id("test-id").build();
+        });
+
+        mockMvc.perform(post("/api/v1/backtest/run")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isOk());
+
+        assertTrue(remaining[0] > 0 && remaining[0] <= 5_000, "remaining: " + remaining[0]);
+        assertEquals(CancellationToken.NONE, CancellationToken.current());
+    }
+
+    @Test
+    void sweep_cancelled_returns503() throws Exception {
+        when(parameterSweepService.sweep(any(SweepRequest.class)))
+                .thenThrow(new CancellationException("Cancelled: deadline of 60000 ms exceeded"));
+
+        mockMvc.perform(post("/api/v1/backtest/sweep")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validSweepRequest())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Cancelled: deadline of 60000 ms exceeded"));
+    }
+
+    // --- /api/v1/backtest/jobs ---
+
+    @Test
+    void cancelJob_returnsTheJob() throws Exception {
+        when(backtestJobService.cancel("job-1")).thenReturn(BacktestRun.builder()
+                .id("job-1").status(BacktestRun.Status.CANCELLED).build());
+
+        mockMvc.perform(delete("/api/v1/backtest/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void submitJob_returns202WithQueuedJob() throws Exception {
+        when(backtestJobService.submit(any(BacktestRequest.class))).thenReturn(BacktestRun.builder()
+                .id("job-1").status(BacktestRun.Status.QUEUED).symbol("AAPL").strategyName("SMA_CROSSOVER").build());
+
+        mockMvc.perform(post("/api/v1/backtest/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.strategy").value("SMA_CROSSOVER"));
+    }
+
+    @Test
+    void submitJob_queueFull_returns429() throws Exception {
+        when(backtestJobService.submit(any(BacktestRequest.class))).thenThrow(new BacktestQueueFullException(8));
+
+        mockMvc.perform(post("/api/v1/backtest/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest())))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void jobResult_notDone_returns409() throws Exception {
+        when(backtestJobService.getRun("job-1")).thenReturn(BacktestRun.builder()
+                .id("job-1").status(BacktestRun.Status.RUNNING).build());
+
+        mockMvc.perform(get("/api/v1/backtest/jobs/job-1/result"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void jobResult_done_returnsStoredResponse() throws Exception {
+        when(backtestJobService.getRun("job-1")).thenReturn(BacktestRun.builder()
+                .id("job-1").status(BacktestRun.Status.DONE).resultJson("{\"symbol\":\"AAPL\"}").build());
+
+        mockMvc.perform(get("/api/v1/backtest/jobs/job-1/result"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.symbol").value("AAPL"));
+    }
+
     // --- GET /api/v1/backtest/strategies ---
 
     @Test
@@ -176,6 +696,56 @@ class BacktestControllerTest {
                 .build();
     }
 
+    private SweepRequest validSweepRequest() {
+        return SweepRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .grid(Map.of("shortPeriod", List.of(10, 20)))
+                .build();
+    }
+
+    private BatchBacktestRequest validBatchRequest() {
+        return BatchBacktestRequest.builder()
+                .symbols(List.of("AAPL", "MSFT"))
+                .strategies(List.of(BatchBacktestRequest.StrategyRun.builder().strategy("SMA_CROSSOVER").build()))
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .build();
+    }
+
+    private PortfolioBacktestRequest validPortfolioRequest() {
+        return PortfolioBacktestRequest.builder()
+                .symbols(List.of("AAPL", "MSFT"))
+                .strategy("SMA_CROSSOVER")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .build();
+    }
+
+    private PairsBacktestRequest validPairsRequest() {
+        return PairsBacktestRequest.builder()
+                .symbolA("KO")
+                .symbolB("PEP")
+                .strategy("PAIRS_ZSCORE")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .build();
+    }
+
+    private WalkForwardRequest validWalkForwardRequest() {
+        return WalkForwardRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .grid(Map.of("shortPeriod", List.of(10, 20)))
+                .trainBars(252)
+                .testBars(63)
+                .build();
+    }
+
     private TradingStrategy stubbedStrategy(String id, String name, String description) {
         return new TradingStrategy() {
             @Override public String getId() { return id; }
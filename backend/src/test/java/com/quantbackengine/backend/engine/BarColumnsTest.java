@@ -0,0 +1,81 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarColumnsTest {
+
+    private static final long DAY_MS = 86_400_000L;
+
+    @Test
+    void builder_growsPastInitialCapacityAndTrimsOnBuild() {
+        BarColumns.Builder builder = BarColumns.builder("AAPL", Duration.ofDays(1), 2);
+        for (int i = 0; i < 100; i++) {
+            builder.add(i * DAY_MS, 100 + i, 101 + i, 99 + i, 100.5 + i, 1000 + i);
+        }
+        BarColumns columns = builder.build();
+
+        assertEquals(100, columns.size());
+        assertEquals(100, columns.close().length);
+        assertEquals(199.5, columns.close()[99]);
+        assertEquals(1099, columns.volume()[99]);
+        assertEquals(99 * DAY_MS, columns.epochMillis()[99]);
+    }
+
+    @Test
+    void seriesView_matchesColumnsAndIsBuiltOnce() {
+        BarColumns.Builder builder = BarColumns.builder("MSFT", Duration.ofDays(1), 3);
+        builder.add(0, 10, 12, 9, 11, 500);
+        builder.add(DAY_MS, 11, 13, 10, 12, 600);
+        builder.add(2 * DAY_MS, 12, 14, 11, 13, 700);
+        BarColumns columns = builder.build();
+
+        BarSeries view = columns.toBarSeries();
+
+        assertSame(view, columns.toBarSeries());
+        assertEquals("MSFT", view.getName());
+        assertEquals(3, view.getBarCount());
+        assertEquals(13.0, view.getBar(2).getClosePrice().doubleValue());
+        assertEquals(9.0, view.getBar(0).getLowPrice().doubleValue());
+        assertEquals(DAY_MS, view.getBar(1).getEndTime().toInstant().toEpochMilli());
+    }
+
+    @Test
+    void fromBarSeries_roundTripsEveryField() {
+        BarSeries series = new BaseBarSeries("SPY");
+        ZonedDateTime time = LocalDate.of(2023, 1, 1).atStartOfDay(ZoneId.of("UTC"));
+        for (int i = 0; i < 5; i++) {
+            series.addBar(time.plusDays(i), 100 + i, 110 + i, 90 + i, 105 + i, 1000);
+        }
+
+        BarColumns columns = BarColumns.fromBarSeries(series);
+
+        assertEquals(5, columns.size());
+        assertEquals("SPY", columns.symbol());
+        assertEquals(Duration.ofDays(1), columns.barDuration());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(100 + i, columns.open()[i]);
+            assertEquals(110 + i, columns.high()[i]);
+            assertEquals(90 + i, columns.low()[i]);
+            assertEquals(105 + i, columns.close()[i]);
+            assertEquals(1000, columns.volume()[i]);
+            assertEquals(time.plusDays(i).toInstant().toEpochMilli(), columns.epochMillis()[i]);
+        }
+    }
+
+    @Test
+    void empty_hasNoBarsAndAnEmptyView() {
+        BarColumns columns = BarColumns.empty("NONE");
+
+        assertTrue(columns.isEmpty());
+        assertTrue(columns.toBarSeries().isEmpty());
+    }
+}
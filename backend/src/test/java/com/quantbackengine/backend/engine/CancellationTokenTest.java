@@ -0,0 +1,77 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    @Test
+    void cancelKeepsTheFirstReason() {
+        CancellationToken token = CancellationToken.create();
+        assertFalse(token.isCancelled());
+        assertNull(token.reason());
+
+        token.cancel("first");
+        token.cancel("second");
+
+        assertTrue(token.isCancelled());
+        CancellationException e = assertThrows(CancellationException.class, token::throwIfCancelled);
+        assertEquals("Cancelled: first", e.getMessage());
+    }
+
+    @Test
+    void noneCannotBeCancelled() {
+        CancellationToken.NONE.cancel("ignored");
+
+        assertFalse(CancellationToken.NONE.isCancelled());
+        assertEquals(Long.MAX_VALUE, CancellationToken.NONE.remainingMillis());
+    }
+
+    @Test
+    void deadlineCancelsOnceItPasses() throws InterruptedException {
+        CancellationToken token = CancellationToken.withTimeout(Duration.ofMillis(200));
+        assertFalse(token.isCancelled());
+        assertTrue(token.remainingMillis() <= 200);
+
+        Thread.sleep(250);
+
+        assertTrue(token.isCancelled());
+        assertEquals("deadline of 200 ms exceeded", token.reason());
+        assertEquals(0, token.remainingMillis());
+        assertFalse(CancellationToken.withTimeout(Duration.ZERO).isCancelled());
+    }
+
+    @Test
+    void bindRestoresThePreviousToken() {
+        CancellationToken outer = CancellationToken.create();
+        CancellationToken inner = CancellationToken.create();
+
+        try (CancellationToken.Scope ignored = outer.bind()) {
+            try (CancellationToken.Scope nested = inner.bind()) {
+                assertSame(inner, CancellationToken.current());
+            }
+            assertSame(outer, CancellationToken.current());
+        }
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+    }
+
+    @Test
+    void boundCarriesTheTokenOntoWorkerThreads() {
+        CancellationToken token = CancellationToken.create();
+
+        List<CancellationToken> seen = List.of(1, 2, 3, 4).parallelStream()
+                .map(token.bound(item -> CancellationToken.current()))
+                .toList();
+        assertTrue(seen.stream().allMatch(t -> t == token));
+
+        token.cancel("stop");
+        assertThrows(CancellationException.class, () -> List.of(1, 2).parallelStream()
+                .map(token.bound(item -> item))
+                .toList());
+    }
+}
@@ -0,0 +1,83 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownsamplerTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void lttb_keepsEndpointsAndAscendingIndicesWithinBudget() {
+        int n = 2_520;
+        long[] x = new long[n];
+        double[] y = new double[n];
+        Random random = new Random(5);
+        double value = 100_000;
+        for (int i = 0; i < n; i++) {
+            x[i] = i * DAY;
+            value *= 1 + random.nextGaussian() * 0.01;
+            y[i] = value;
+        }
+
+        int[] kept = Downsampler.lttb(x, y, n, 250);
+
+        assertEquals(250, kept.length);
+        assertEquals(0, kept[0]);
+        assertEquals(n - 1, kept[kept.length - 1]);
+        for (int k = 1; k < kept.length; k++) {
+            assertTrue(kept[k] > kept[k - 1]);
+        }
+    }
+
+    @Test
+    void lttb_keepsIsolatedSpike() {
+        int n = 1_000;
+        long[] x = new long[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = 1.0;
+        }
+        y[437] = 50.0;
+
+        int[] kept = Downsampler.lttb(x, y, n, 20);
+
+        assertTrue(Arrays.stream(kept).anyMatch(i -> i == 437));
+    }
+
+    @Test
+    void lttb_underBudget_returnsEveryIndex() {
+        int[] kept = Downsampler.lttb(new long[]{1, 2, 3, 4}, new double[]{1, 2, 3, 4}, 4, 10);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, kept);
+    }
+
+    @Test
+    void aggregate_preservesOhlcAndVolumePerBucket() {
+        BarColumns.Builder builder = BarColumns.builder("AAA", Duration.ofDays(1), 10);
+        for (int i = 0; i < 10; i++) {
+            builder.add(i * DAY, 100 + i, 110 + i, 90 - i, 101 + i, 1_000L);
+        }
+        BarColumns columns = builder.build();
+
+        BarColumns aggregated = Downsampler.aggregate(columns, 4);
+
+        // ceil(10 / 4) = 3 bars per bucket -> buckets [0,3) [3,6) [6,9) [9,10)
+        assertEquals(4, aggregated.size());
+        assertEquals(Duration.ofDays(3), aggregated.barDuration());
+        assertEquals(3 * DAY, aggregated.epochMillis()[1]);
+        assertEquals(103, aggregated.open()[1]);
+        assertEquals(115, aggregated.high()[1]);
+        assertEquals(85, aggregated.low()[1]);
+        assertEquals(106, aggregated.close()[1]);
+        assertEquals(3_000L, aggregated.volume()[1]);
+        assertEquals(1_000L, aggregated.volume()[3]);
+        assertSame(columns, Downsampler.aggregate(columns, 10));
+    }
+}
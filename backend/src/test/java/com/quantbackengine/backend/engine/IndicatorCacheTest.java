@@ -0,0 +1,152 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicatorCacheTest {
+
+    // 16-byte header + 100 doubles
+    private static final long ARRAY_BYTES = 816;
+
+    @Test
+    void secondLookupIsAHitAndReturnsTheSameArray() {
+        IndicatorCache cache = new IndicatorCache(1 << 20);
+        AtomicInteger computed = new AtomicInteger();
+
+        double[] first = cache.get(IndicatorCache.Key.of("SMA", 20), () -> compute(computed));
+        double[] second = cache.get(IndicatorCache.Key.of("SMA", 20), () -> compute(computed));
+        cache.get(IndicatorCache.Key.of("SMA", 50), () -> compute(computed));
+
+        assertSame(first, second);
+        assertEquals(2, computed.get());
+        assertEquals(1, cache.counters().hits());
+        assertEquals(2, cache.counters().misses());
+        assertEquals(1.0 / 3, cache.counters().hitRate(), 1e-12);
+        assertEquals(2, cache.entries());
+        assertEquals(2 * ARRAY_BYTES, cache.bytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondTheByteBound() {
+        IndicatorCache cache = new IndicatorCache(2 * ARRAY_BYTES);
+        AtomicInteger computed = new AtomicInteger();
+
+        cache.get(IndicatorCache.Key.of("SMA", 10), () -> compute(computed));
+        cache.get(IndicatorCache.Key.of("SMA", 20), () -> compute(computed));
+        cache.get(IndicatorCache.Key.of("SMA", 10), () -> compute(computed)); // 20 is now eldest
+        cache.get(IndicatorCache.Key.of("SMA", 30), () -> compute(computed));
+
+        assertEquals(1, cache.counters().evictions());
+        assertEquals(2, cache.entries());
+        assertEquals(2 * ARRAY_BYTES, cache.bytes());
+
+        cache.get(IndicatorCache.Key.of("SMA", 10), () -> compute(computed));
+        assertEquals(3, computed.get());
+        cache.get(IndicatorCache.Key.of("SMA", 20), () -> compute(computed));
+        assertEquals(4, computed.get());
+    }
+
+    @Test
+    void zeroBudgetStoresNothing() {
+        IndicatorCache cache = new IndicatorCache(0);
+        AtomicInteger computed = new AtomicInteger();
+
+        cache.get(IndicatorCache.Key.of("RSI", 14), () -> compute(computed));
+        cache.get(IndicatorCache.Key.of("RSI", 14), () -> compute(computed));
+
+        assertEquals(2, computed.get());
+        assertEquals(0, cache.entries());
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void sharedCountersTotalEveryCache() {
+        IndicatorCache.Counters totals = new IndicatorCache.Counters();
+        IndicatorCache a = new IndicatorCache(1 << 20, totals);
+        IndicatorCache b = new IndicatorCache(1 << 20, totals);
+        AtomicInteger computed = new AtomicInteger();
+
+        a.get(IndicatorCache.Key.of("EMA", 12), () -> compute(computed));
+        a.get(IndicatorCache.Key.of("EMA", 12), () -> compute(computed));
+        b.get(IndicatorCache.Key.of("EMA", 12), () -> compute(computed));
+
+        assertEquals(1, totals.hits());
+        assertEquals(2, totals.misses());
+        assertEquals(1, b.counters().misses());
+    }
+
+    @Test
+    void concurrentReadersOfOneKeyComputeItOnce() throws Exception {
+        IndicatorCache cache = new IndicatorCache(1 << 20);
+        AtomicInteger computed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<double[]>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(IndicatorCache.Key.of("SMA", 200), () -> {
+                        sleep();
+                        return compute(computed);
+                    });
+                }));
+            }
+            start.countDown();
+            double[] first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<double[]> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, computed.get());
+        assertEquals(1, cache.counters().misses());
+        assertEquals(7, cache.counters().hits());
+    }
+
+    @Test
+    void computationMayReadOtherKeys() {
+        IndicatorCache cache = new IndicatorCache(1 << 20);
+        AtomicInteger computed = new AtomicInteger();
+
+        double[] derived = cache.get(IndicatorCache.Key.of("STDDEV", 20), () -> {
+            double[] base = cache.get(IndicatorCache.Key.of("SMA", 20), () -> compute(computed));
+            return base.clone();
+        });
+
+        assertEquals(100, derived.length);
+        assertEquals(2, cache.entries());
+    }
+
+    @Test
+    void keysCompareByTypeAndParameters() {
+        assertEquals(IndicatorCache.Key.of("MACD", 12, 26), IndicatorCache.Key.of("MACD", 12, 26));
+        assertNotEquals(IndicatorCache.Key.of("MACD", 12, 26), IndicatorCache.Key.of("MACD", 26, 12));
+        assertNotEquals(IndicatorCache.Key.of("SMA", 20), IndicatorCache.Key.of("EMA", 20));
+    }
+
+    private static double[] compute(AtomicInteger computed) {
+        computed.incrementAndGet();
+        return new double[100];
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
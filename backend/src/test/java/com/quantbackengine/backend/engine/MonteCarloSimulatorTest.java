@@ -0,0 +1,85 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSimulatorTest {
+
+    private static final double CAPITAL = 100_000.0;
+
+    @Test
+    void shuffle_keepsTerminalWealthAndVariesOnlyDrawdown() {
+        double[] returns = randomReturns(250, 1L);
+        MonteCarloSimulator.Paths observed = MonteCarloSimulator.observed(returns, CAPITAL);
+
+        MonteCarloSimulator.Paths paths = MonteCarloSimulator.simulate(returns, ResamplingMethod.SHUFFLE,
+                2_000, CAPITAL, 42L);
+
+        double minDd = Double.MAX_VALUE;
+        double maxDd = 0;
+        for (int p = 0; p < 2_000; p++) {
+            assertEquals(observed.terminalWealth()[0], paths.terminalWealth()[p], 1e-6);
+            minDd = Math.min(minDd, paths.maxDrawdown()[p]);
+            maxDd = Math.max(maxDd, paths.maxDrawdown()[p]);
+        }
+        assertTrue(minDd < maxDd, "orderings should give different drawdowns");
+    }
+
+    @Test
+    void bootstrap_constantReturns_compoundExactly() {
+        double[] returns = {0.01, 0.01, 0.01, 0.01};
+
+        MonteCarloSimulator.Paths paths = MonteCarloSimulator.simulate(returns, ResamplingMethod.BOOTSTRAP,
+                1_000, CAPITAL, 7L);
+
+        double expected = CAPITAL * 1.01 * 1.01 * 1.01 * 1.01;
+        for (int p = 0; p < 1_000; p++) {
+            assertEquals(expected, paths.terminalWealth()[p], 1e-9);
+            assertEquals(0.0, paths.maxDrawdown()[p]);
+        }
+    }
+
+    @Test
+    void sameSeed_givesSameDistributionWhateverThePoolSize() throws Exception {
+        double[] returns = randomReturns(500, 2L);
+
+        MonteCarloSimulator.Paths single = new ForkJoinPool(1).submit(() -> MonteCarloSimulator.simulate(
+                returns, ResamplingMethod.BOOTSTRAP, 5_000, CAPITAL, 99L)).get();
+        MonteCarloSimulator.Paths wide = new ForkJoinPool(4).submit(() -> MonteCarloSimulator.simulate(
+                returns, ResamplingMethod.BOOTSTRAP, 5_000, CAPITAL, 99L)).get();
+
+        assertArrayEquals(single.terminalWealth(), wide.terminalWealth());
+        assertArrayEquals(single.maxDrawdown(), wide.maxDrawdown());
+    }
+
+    @Test
+    void observed_measuresDrawdownFromRunningPeak() {
+        MonteCarloSimulator.Paths observed = MonteCarloSimulator.observed(new double[]{0.1, -0.5, 0.2, 0.1}, 100.0);
+
+        assertEquals(100.0 * 1.1 * 0.5 * 1.2 * 1.1, observed.terminalWealth()[0], 1e-9);
+        assertEquals(0.5, observed.maxDrawdown()[0], 1e-12);
+    }
+
+    @Test
+    void percentile_interpolatesLikeNumpy() {
+        double[] sorted = {1, 2, 3, 4, 5};
+
+        assertEquals(1.0, MonteCarloSimulator.percentile(sorted, 0));
+        assertEquals(3.0, MonteCarloSimulator.percentile(sorted, 50));
+        assertEquals(1.4, MonteCarloSimulator.percentile(sorted, 10), 1e-12);
+        assertEquals(5.0, MonteCarloSimulator.percentile(sorted, 100));
+    }
+
+    private static double[] randomReturns(int n, long seed) {
+        Random random = new Random(seed);
+        double[] returns = new double[n];
+        for (int i = 0; i < n; i++) {
+            returns[i] = random.nextGaussian() * 0.02 + 0.0005;
+        }
+        return returns;
+    }
+}
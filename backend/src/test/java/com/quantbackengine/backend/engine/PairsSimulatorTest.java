@@ -0,0 +1,157 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timestamp joins of {@link PairJoin} and spread execution of {@link PairsSimulator}.
+ */
+class PairsSimulatorTest {
+
+    private static final double INITIAL_CAPITAL = 100_000.0;
+    private static final double COMMISSION = 0.001;
+    private static final double TOLERANCE = 1e-6;
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void innerJoin_skipsDaysMissingFromEitherLeg() {
+        BarColumns a = daily("AAA", 0, 10, 100, 3);
+        BarColumns b = daily("BBB", 0, 10, 200, 6);
+
+        PairedSeries pair = PairJoin.INNER.align(a, b);
+
+        assertEquals(8, pair.size());
+        for (int i = 0; i < pair.size(); i++) {
+            long day = pair.epochMillis()[i] / DAY;
+            assertNotEquals(3, day);
+            assertNotEquals(6, day);
+            // Both closes encode the day, so a misaligned pair would not differ by exactly 100
+            assertEquals(100.0, pair.closeB()[i] - pair.closeA()[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void asOfJoin_carriesSecondLegToEveryBarOfTheFirst() {
+        BarColumns a = daily("AAA", 0, 10, 100, -1);
+        BarColumns b = daily("BBB", 2, 8, 200, 6);
+
+        PairedSeries pair = PairJoin.AS_OF.align(a, b);
+
+        // Days 0 and 1 precede the second leg; day 6 takes its day-5 close
+        assertEquals(8, pair.size());
+        assertEquals(2 * DAY, pair.epochMillis()[0]);
+        assertEquals(6 * DAY, pair.epochMillis()[4]);
+        assertEquals(205.0, pair.closeB()[4], TOLERANCE);
+        assertEquals(106.0, pair.closeA()[4], TOLERANCE);
+    }
+
+    @Test
+    void unknownJoin_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PairJoin.fromName("OUTER"));
+        assertEquals(PairJoin.INNER, PairJoin.fromName(null));
+        assertEquals(PairJoin.AS_OF, PairJoin.fromName("as_of"));
+    }
+
+    @Test
+    void longSpread_isMarkedToMarketOnBothLegs() {
+        PairedSeries pair = pair(new double[]{100, 104, 110}, new double[]{50, 51, 52});
+        PairSignals signals = signals(2.0, 3, true, 0, 2);
+
+        PairsResult result = PairsSimulator.run(pair, signals, INITIAL_CAPITAL, COMMISSION);
+
+        // 99,900 after commission buys 499.5 spread units at 100 + 2 * 50 gross per unit
+        double units = 499.5;
+        assertEquals(99_900.0, result.equity()[0], TOLERANCE);
+        assertEquals(99_900.0 + units * 104 - 2 * units * 51, result.equity()[1], TOLERANCE);
+
+        TradeLog trades = result.trades();
+        assertEquals(1, trades.size());
+        assertEquals(units, trades.shares(0), TOLERANCE);
+        assertEquals(0.0, trades.entryPrice(0), TOLERANCE);
+        assertEquals(6.0, trades.exitPrice(0), TOLERANCE);
+        double exitCommission = (units * 110 + 2 * units * 52) * COMMISSION;
+        assertEquals(exitCommission, trades.commission(0), TOLERANCE);
+        assertEquals(units * 6 - exitCommission, trades.pnl(0), TOLERANCE);
+        // Equity change is the trade's P&L less the entry commission
+        assertEquals(INITIAL_CAPITAL + trades.pnl(0) - 100.0, result.equity()[2], TOLERANCE);
+        assertEquals(1, result.winningTrades());
+        assertEquals(-1, result.openEntryIndex());
+    }
+
+    @Test
+    void shortSpread_losesWhenTheSpreadWidens() {
+        PairedSeries pair = pair(new double[]{100, 104, 110}, new double[]{50, 51, 52});
+        PairSignals signals = signals(2.0, 3, false, 0, 2);
+
+        PairsResult result = PairsSimulator.run(pair, signals, INITIAL_CAPITAL, COMMISSION);
+
+        TradeLog trades = result.trades();
+        assertEquals(-499.5, trades.shares(0), TOLERANCE);
+        assertTrue(trades.pnl(0) < 0);
+        assertEquals(INITIAL_CAPITAL + trades.pnl(0) - 100.0, result.equity()[2], TOLERANCE);
+        assertEquals(1, result.losingTrades());
+    }
+
+    @Test
+    void openPositionAtTheEnd_isReportedNotClosed() {
+        PairedSeries pair = pair(new double[]{100, 101, 102}, new double[]{50, 50, 50});
+        PairSignals signals = signals(1.0, 3, true, 1, -1);
+
+        PairsResult result = PairsSimulator.run(pair, signals, INITIAL_CAPITAL, COMMISSION);
+
+        assertEquals(0, result.trades().size());
+        assertEquals(1, result.openEntryIndex());
+    }
+
+    @Test
+    void undefinedHedgeRatio_doesNotEnter() {
+        PairedSeries pair = pair(new double[]{100, 101, 102}, new double[]{50, 50, 50});
+        PairSignals signals = signals(Double.NaN, 3, true, 0, -1);
+
+        PairsResult result = PairsSimulator.run(pair, signals, INITIAL_CAPITAL, COMMISSION);
+
+        assertEquals(-1, result.openEntryIndex());
+        assertEquals(INITIAL_CAPITAL, result.equity()[2], TOLERANCE);
+    }
+
+    private static PairSignals signals(double hedgeRatio, int n, boolean longSpread, int entry, int exit) {
+        double[] hedge = new double[n];
+        Arrays.fill(hedge, hedgeRatio);
+        BitSet enter = new BitSet(n);
+        BitSet leave = new BitSet(n);
+        enter.set(entry);
+        if (exit >= 0) {
+            leave.set(exit);
+        }
+        return longSpread
+                ? new PairSignals(hedge, new double[n], enter, new BitSet(n), leave, new BitSet(n))
+                : new PairSignals(hedge, new double[n], new BitSet(n), enter, new BitSet(n), leave);
+    }
+
+    private static PairedSeries pair(double[] closeA, double[] closeB) {
+        long[] times = new long[closeA.length];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = i * DAY;
+        }
+        return new PairedSeries("AAA", "BBB", times, closeA, closeB);
+    }
+
+    /**
+     * Daily bars from {@code firstDay}, close = {@code base + day}, without {@code skipDay}.
+     */
+    private static BarColumns daily(String symbol, int firstDay, int days, double base, int skipDay) {
+        BarColumns.Builder builder = BarColumns.builder(symbol, Duration.ofDays(1), days);
+        for (int day = firstDay; day < firstDay + days; day++) {
+            if (day != skipDay) {
+                double close = base + day;
+                builder.add(day * DAY, close, close, close, close, 1_000);
+            }
+        }
+        return builder.build();
+    }
+}
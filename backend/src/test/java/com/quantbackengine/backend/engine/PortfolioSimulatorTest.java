@@ -0,0 +1,133 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared-cash execution of {@link PortfolioSimulator} over a merged timeline.
+ */
+class PortfolioSimulatorTest {
+
+    private static final double INITIAL_CAPITAL = 100_000.0;
+    private static final double COMMISSION = 0.001;
+    private static final double TOLERANCE = 1e-6;
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void singleSymbolCashSplit_matchesSimulationEngine() {
+        BarColumns columns = randomWalk("AAA", 0, 500, 3L);
+        SignalSource signals = alternating(5);
+
+        SimulationResult single = SimulationEngine.run(columns, alternating(5), INITIAL_CAPITAL, COMMISSION);
+        PortfolioResult portfolio = PortfolioSimulator.run(List.of(columns), List.of(signals),
+                AllocationRule.CASH_SPLIT, INITIAL_CAPITAL, COMMISSION);
+
+        assertArrayEquals(columns.epochMillis(), portfolio.epochMillis());
+        assertArrayEquals(single.equity(), portfolio.equity(), TOLERANCE);
+        assertEquals(single.trades().size(), portfolio.totalTrades());
+        assertEquals(single.winningTrades(), portfolio.totalWins());
+    }
+
+    @Test
+    void staggeredSymbols_mergeIntoOneOrderedTimeline() {
+        // B starts two days after A; the union of timestamps is the timeline
+        BarColumns a = randomWalk("AAA", 0, 10, 1L);
+        BarColumns b = randomWalk("BBB", 2, 10, 2L);
+
+        PortfolioResult result = PortfolioSimulator.run(List.of(a, b), List.of(never(), never()),
+                AllocationRule.EQUAL_WEIGHT, INITIAL_CAPITAL, COMMISSION);
+
+        assertEquals(12, result.epochMillis().length);
+        for (int t = 1; t < result.epochMillis().length; t++) {
+            assertTrue(result.epochMillis()[t] > result.epochMillis()[t - 1]);
+        }
+        for (double value : result.equity()) {
+            assertEquals(INITIAL_CAPITAL, value, TOLERANCE);
+        }
+    }
+
+    @Test
+    void equalWeight_splitsCapitalAndAttributionSumsToTotalPnl() {
+        List<BarColumns> columns = List.of(
+                randomWalk("AAA", 0, 300, 11L),
+                randomWalk("BBB", 0, 300, 12L),
+                randomWalk("CCC", 0, 300, 13L));
+
+        PortfolioResult result = PortfolioSimulator.run(columns,
+                List.of(alternating(7), alternating(11), alternating(13)),
+                AllocationRule.EQUAL_WEIGHT, INITIAL_CAPITAL, COMMISSION);
+
+        // First entry on bar 0 commits a third of the capital per symbol
+        TradeLog first = result.trades()[0];
+        double expectedShares = INITIAL_CAPITAL / 3 * (1 - COMMISSION) / columns.get(0).close()[0];
+        assertEquals(expectedShares, first.shares(0), TOLERANCE);
+
+        double net = 0.0;
+        for (int s = 0; s < columns.size(); s++) {
+            net += result.netPnl(s);
+        }
+        double finalEquity = result.equity()[result.equity().length - 1];
+        assertEquals(finalEquity - INITIAL_CAPITAL, net, 1e-6 * INITIAL_CAPITAL);
+    }
+
+    @Test
+    void cashSplit_lastFlatSymbolTakesRemainingCash() {
+        List<BarColumns> columns = List.of(randomWalk("AAA", 0, 20, 5L), randomWalk("BBB", 0, 20, 6L));
+
+        PortfolioResult result = PortfolioSimulator.run(columns, List.of(alwaysIn(), enterAt(3)),
+                AllocationRule.CASH_SPLIT, INITIAL_CAPITAL, COMMISSION);
+
+        double half = INITIAL_CAPITAL / 2;
+        assertEquals(half * COMMISSION, result.commissions()[0], TOLERANCE);
+        assertEquals(half * COMMISSION, result.commissions()[1], TOLERANCE);
+        assertEquals(0, result.totalTrades());
+        assertTrue(result.unrealizedPnl()[1] != 0.0);
+    }
+
+    private static SignalSource alternating(int period) {
+        return new SignalSource() {
+            @Override public boolean shouldEnter(int index) { return index % (2 * period) == 0; }
+            @Override public boolean shouldExit(int index) { return index % (2 * period) == period; }
+        };
+    }
+
+    private static SignalSource never() {
+        return new SignalSource() {
+            @Override public boolean shouldEnter(int index) { return false; }
+            @Override public boolean shouldExit(int index) { return false; }
+        };
+    }
+
+    private static SignalSource alwaysIn() {
+        return new SignalSource() {
+            @Override public boolean shouldEnter(int index) { return true; }
+            @Override public boolean shouldExit(int index) { return false; }
+        };
+    }
+
+    private static SignalSource enterAt(int bar) {
+        return new SignalSource() {
+            @Override public boolean shouldEnter(int index) { return index == bar; }
+            @Override public boolean shouldExit(int index) { return false; }
+        };
+    }
+
+    private static BarColumns randomWalk(String symbol, int startDay, int bars, long seed) {
+        Random random = new Random(seed);
+        BarColumns.Builder builder = BarColumns.builder(symbol, Duration.ofDays(1), bars);
+        long start = 1_546_300_800_000L + startDay * DAY;
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + random.nextGaussian() * 0.02));
+            builder.add(start + i * DAY, open, Math.max(open, price) + 0.5,
+                    Math.min(open, price) - 0.5, price, 1_000_000L);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,309 @@
+package com.quantbackengine.backend.engine;
+
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.*;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Equivalence of {@link SimulationEngine} with the original
+ * {@code BarSeriesManager} + {@code Num} portfolio loop it replaced.
+ */
+class SimulationEngineTest {
+
+    private static final double INITIAL_CAPITAL = 100_000.0;
+    private static final double COMMISSION = 0.001;
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void smaCrossover_matchesLegacyLoop() {
+        BarSeries legacySeries = randomWalk(2_000, 42L);
+        BarColumns columns = BarColumns.fromBarSeries(legacySeries);
+        Map<String, Object> params = Map.of("shortPeriod", 10, "longPeriod", 30);
+        SmaStrategy sma = new SmaStrategy();
+
+        LegacyResult expected = legacyRun(legacySeries, sma.buildStrategy(legacySeries, params));
+        SimulationResult actual = SimulationEngine.run(columns,
+                new Ta4jSignalSource(sma.buildStrategy(columns.toBarSeries(), params), columns.toBarSeries()),
+                INITIAL_CAPITAL, COMMISSION);
+
+        assertTrue(expected.trades.size() > 5, "fixture should trade");
+        assertEquivalent(expected, actual);
+    }
+
+    @Test
+    void alternatingRules_matchLegacyLoopIncludingOpenFinalPosition() {
+        BarSeries legacySeries = randomWalk(101, 7L);
+        BarColumns columns = BarColumns.fromBarSeries(legacySeries);
+
+        LegacyResult expected = legacyRun(legacySeries, alternating());
+        SimulationResult actual = SimulationEngine.run(columns,
+                new Ta4jSignalSource(alternating(), columns.toBarSeries()), INITIAL_CAPITAL, COMMISSION);
+
+        assertEquivalent(expected, actual);
+        // bar 100 is an even index: entry without exit, marked to market
+        assertEquals(actual.equity()[99] * (1 - COMMISSION), actual.equity()[100], TOLERANCE);
+    }
+
+    @Test
+    void listenerRun_seesSameBarsAndTradesAsBufferedRun() {
+        BarColumns columns = BarColumns.fromBarSeries(randomWalk(1_000, 9L));
+        Map<String, Object> params = Map.of("shortPeriod", 5, "longPeriod", 20);
+        SmaStrategy sma = new SmaStrategy();
+
+        SimulationResult buffered = SimulationEngine.run(columns,
+                new Ta4jSignalSource(sma.buildStrategy(columns.toBarSeries(), params), columns.toBarSeries()),
+                INITIAL_CAPITAL, COMMISSION);
+
+        double[] streamed = new double[columns.size()];
+        List<Double> pnls = new ArrayList<>();
+        SimulationEngine.run(columns,
+                new Ta4jSignalSource(sma.buildStrategy(columns.toBarSeries(), params), columns.toBarSeries()),
+                INITIAL_CAPITAL, COMMISSION, new SimulationListener() {
+                    @Override
+                    public void onBar(int index, double equity) {
+                        streamed[index] = equity;
+                    }
+
+                    @Override
+                    public void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                                        double shares, double pnl, double commission) {
+                        pnls.add(pnl);
+                    }
+                });
+
+        assertArrayEquals(buffered.equity(), streamed);
+        assertEquals(buffered.trades().size(), pnls.size());
+        for (int t = 0; t < pnls.size(); t++) {
+            assertEquals(buffered.trades().pnl(t), pnls.get(t));
+        }
+    }
+
+    @Test
+    void neverSignalling_keepsCashFlat() {
+        BarColumns columns = BarColumns.fromBarSeries(randomWalk(50, 1L));
+        SignalSource never = new SignalSource() {
+            @Override public boolean shouldEnter(int index) { return false; }
+            @Override public boolean shouldExit(int index) { return false; }
+        };
+
+        SimulationResult result = SimulationEngine.run(columns, never, INITIAL_CAPITAL, COMMISSION);
+
+        assertEquals(0, result.trades().size());
+        for (double v : result.equity()) {
+            assertEquals(INITIAL_CAPITAL, v);
+        }
+    }
+
+    @Test
+    void precomputedSignals_matchTa4jSourceForRecordIndependentRules() {
+        BarColumns columns = BarColumns.fromBarSeries(randomWalk(1_500, 11L));
+        Map<String, Object> params = Map.of("shortPeriod", 10, "longPeriod", 50);
+        SmaStrategy sma = new SmaStrategy();
+
+        SimulationResult viaTa4j = SimulationEngine.run(columns,
+                new Ta4jSignalSource(sma.buildStrategy(columns.toBarSeries(), params), columns.toBarSeries()),
+                INITIAL_CAPITAL, COMMISSION);
+        SimulationResult viaBits = SimulationEngine.run(columns,
+                PrecomputedSignals.of(sma.buildStrategy(columns.toBarSeries(), params), columns.size()),
+                INITIAL_CAPITAL, COMMISSION);
+
+        assertTrue(viaTa4j.trades().size() > 5, "fixture should trade");
+        assertArrayEquals(viaTa4j.equity(), viaBits.equity());
+        assertEquals(viaTa4j.trades().size(), viaBits.trades().size());
+    }
+
+    @Test
+    void rangeRun_equalsFullRunOverTheSlicedBars() {
+        BarColumns columns = BarColumns.fromBarSeries(randomWalk(300, 3L));
+        int from = 101;
+        int to = 250;
+        SignalSource signals = PrecomputedSignals.of(alternating(), columns.size());
+
+        SimulationResult range = SimulationEngine.run(columns, signals, from, to, INITIAL_CAPITAL, COMMISSION);
+
+        BarColumns.Builder slice = BarColumns.builder("SLICE", columns.barDuration(), to - from);
+        for (int i = from; i < to; i++) {
+            slice.add(columns.epochMillis()[i], columns.open()[i], columns.high()[i], columns.low()[i],
+                    columns.close()[i], columns.volume()[i]);
+        }
+        // from is odd, so the sliced series starts on an exit bar: shift the parity
+        SimulationResult sliced = SimulationEngine.run(slice.build(),
+                PrecomputedSignals.of(new BaseStrategy((i, r) -> i % 2 != 0, (i, r) -> i % 2 == 0), to - from),
+                INITIAL_CAPITAL, COMMISSION);
+
+        assertArrayEquals(sliced.equity(), range.equity());
+        assertEquals(sliced.trades().size(), range.trades().size());
+        assertEquals(from + sliced.trades().entryIndex(0), range.trades().entryIndex(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulationEngine.run(columns, signals, 10, 301, INITIAL_CAPITAL, COMMISSION));
+    }
+
+    @Test
+    void resumeFromFinalState_equalsOneRunOverAllBars() {
+        BarColumns columns = BarColumns.fromBarSeries(randomWalk(800, 13L));
+        Map<String, Object> params = Map.of("shortPeriod", 5, "longPeriod", 20);
+        SignalSource signals = PrecomputedSignals.of(
+                new SmaStrategy().buildStrategy(columns.toBarSeries(), params), columns.size());
+        SimulationResult full = SimulationEngine.run(columns, signals, INITIAL_CAPITAL, COMMISSION);
+
+        for (int split : new int[]{1, 333, 799}) {
+            SimulationResult head = SimulationEngine.run(columns, signals, 0, split, INITIAL_CAPITAL, COMMISSION);
+            double[] equity = new double[columns.size() - split];
+            List<Integer> exits = new ArrayList<>();
+            SimulationState end = SimulationEngine.resume(columns, signals, split, columns.size(),
+                    head.finalState(), COMMISSION, new SimulationListener() {
+                        @Override
+                        public void onBar(int index, double value) {
+                            equity[index - split] = value;
+                        }
+
+                        @Override
+                        public void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                                            double shares, double pnl, double commission) {
+                            exits.add(exitIndex);
+                        }
+                    });
+
+            assertArrayEquals(Arrays.copyOfRange(full.equity(), split, columns.size()), equity);
+            assertEquals(full.trades().size(), head.trades().size() + exits.size());
+            assertEquals(full.finalState(), end);
+        }
+    }
+
+    @Test
+    void cancelledToken_stopsTheLoopAtTheNextCheck() {
+        BarColumns columns = BarColumns.fromBarSeries(randomWalk(3_000, 5L));
+        CancellationToken cancellation = CancellationToken.create();
+        int[] lastBar = {-1};
+
+        try (CancellationToken.Scope ignored = cancellation.bind()) {
+            assertThrows(java.util.concurrent.CancellationException.class, () -> SimulationEngine.run(columns,
+                    new Ta4jSignalSource(alternating(), columns.toBarSeries()), INITIAL_CAPITAL, COMMISSION,
+                    new SimulationListener() {
+                        @Override
+                        public void onBar(int index, double equity) {
+                            lastBar[0] = index;
+                            if (index == 100) {
+                                cancellation.cancel("test");
+                            }
+                        }
+
+                        @Override
+                        public void onTrade(int entryIndex, int exitIndex, double entryPrice, double exitPrice,
+                                            double shares, double pnl, double commission) {
+                        }
+                    }));
+        }
+
+        assertEquals(SimulationEngine.CANCELLATION_CHECK_BARS - 1, lastBar[0]);
+    }
+
+    private static void assertEquivalent(LegacyResult expected, SimulationResult actual) {
+        assertEquals(expected.trades.size(), actual.trades().size());
+        assertEquals(expected.wins, actual.winningTrades());
+        assertEquals(expected.losses, actual.losingTrades());
+        for (int t = 0; t < expected.trades.size(); t++) {
+            double[] e = expected.trades.get(t);
+            assertEquals((int) e[0], actual.trades().entryIndex(t));
+            assertEquals((int) e[1], actual.trades().exitIndex(t));
+            assertEquals(e[2], actual.trades().entryPrice(t), TOLERANCE);
+            assertEquals(e[3], actual.trades().exitPrice(t), TOLERANCE);
+            assertEquals(e[4], actual.trades().shares(t), TOLERANCE);
+            assertEquals(e[5], actual.trades().pnl(t), TOLERANCE * Math.max(1, Math.abs(e[5])));
+            assertEquals(e[6], actual.trades().commission(t), TOLERANCE * Math.max(1, e[6]));
+        }
+        assertEquals(expected.equity.length, actual.equity().length);
+        for (int i = 0; i < expected.equity.length; i++) {
+            assertEquals(expected.equity[i], actual.equity()[i], TOLERANCE * expected.equity[i]);
+        }
+    }
+
+    private static Strategy alternating() {
+        return new BaseStrategy((i, r) -> i % 2 == 0, (i, r) -> i % 2 != 0);
+    }
+
+    private static BarSeries randomWalk(int n, long seed) {
+        Random random = new Random(seed);
+        List<Bar> bars = new ArrayList<>(n);
+        ZonedDateTime time = ZonedDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+        double price = 100.0;
+        for (int i = 0; i < n; i++) {
+            double next = Math.max(1.0, price * (1 + random.nextGaussian() * 0.01));
+            double high = Math.max(price, next) * 1.005;
+            double low = Math.min(price, next) * 0.995;
+            // Same construction as the original MarketDataService: string-parsed DecimalNum bars
+            bars.add(new BaseBar(Duration.ofDays(1), time.plusDays(i),
+                    String.valueOf(price), String.valueOf(high), String.valueOf(low),
+                    String.valueOf(next), "1000"));
+            price = next;
+        }
+        return new BaseBarSeries("TEST", bars);
+    }
+
+    // -------------------------------------------------------------------------
+    // Reference: the pre-engine BacktestService loop, verbatim in Num arithmetic
+    // -------------------------------------------------------------------------
+
+    private record LegacyResult(List<double[]> trades, double[] equity, int wins, int losses) {
+    }
+
+    private static LegacyResult legacyRun(BarSeries series, Strategy strategy) {
+        TradingRecord tradingRecord = new BarSeriesManager(series).run(strategy);
+
+        Num cash = series.numOf(INITIAL_CAPITAL);
+        Num sharesHeld = series.numOf(0);
+        Num zero = series.numOf(0);
+        Num commRate = series.numOf(COMMISSION);
+
+        Map<Integer, Position> entries = new HashMap<>();
+        Map<Integer, Position> exits = new HashMap<>();
+        for (Position p : tradingRecord.getPositions()) {
+            entries.put(p.getEntry().getIndex(), p);
+            exits.put(p.getExit().getIndex(), p);
+        }
+        Position currentPos = tradingRecord.getCurrentPosition();
+        if (currentPos.isOpened()) {
+            entries.put(currentPos.getEntry().getIndex(), currentPos);
+        }
+
+        List<double[]> trades = new ArrayList<>();
+        double[] equity = new double[series.getBarCount()];
+        int wins = 0;
+        int losses = 0;
+
+        for (int i = 0; i < series.getBarCount(); i++) {
+            Num price = series.getBar(i).getClosePrice();
+            if (entries.containsKey(i)) {
+                Num amount = cash;
+                Num commission = amount.multipliedBy(commRate);
+                amount = amount.minus(commission);
+                sharesHeld = sharesHeld.plus(amount.dividedBy(price));
+                cash = cash.minus(amount).minus(commission);
+            }
+            if (exits.containsKey(i)) {
+                Position pos = exits.get(i);
+                Num proceeds = sharesHeld.multipliedBy(price);
+                Num commission = proceeds.multipliedBy(commRate);
+                proceeds = proceeds.minus(commission);
+                double entryPrice = pos.getEntry().getPricePerAsset().doubleValue();
+                double pnl = proceeds.doubleValue() - entryPrice * sharesHeld.doubleValue();
+                if (pnl > 0) wins++;
+                else losses++;
+                trades.add(new double[]{pos.getEntry().getIndex(), i, entryPrice, price.doubleValue(),
+                        sharesHeld.doubleValue(), pnl, commission.doubleValue()});
+                cash = cash.plus(proceeds);
+                sharesHeld = zero;
+            }
+            equity[i] = cash.plus(sharesHeld.multipliedBy(price)).doubleValue();
+        }
+        return new LegacyResult(trades, equity, wins, losses);
+    }
+}
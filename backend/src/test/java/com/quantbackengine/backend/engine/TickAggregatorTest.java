@@ -0,0 +1,207 @@
+package com.quantbackengine.backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickAggregatorTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final TradingSession NYSE = new TradingSession(NEW_YORK, LocalTime.of(9, 30), LocalTime.of(16, 0));
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 5);
+    private static final List<BarInterval> ALL = List.of(BarInterval.values());
+
+    private final List<Bar> bars = new ArrayList<>();
+    private final BarListener collector = (interval, symbol, start, open, high, low, close, volume) ->
+            bars.add(new Bar(interval, symbol, start, open, high, low, close, volume));
+
+    @Test
+    void rollsTradesIntoOhlcv() {
+        TickAggregator aggregator = new TickAggregator(NYSE, List.of(BarInterval.MINUTE_1), collector);
+        aggregator.onTrade("AAA", at(9, 30, 5), 100, 10);
+        aggregator.onTrade("AAA", at(9, 30, 20), 103, 5);
+        aggregator.onTrade("AAA", at(9, 30, 40), 99, 7);
+        aggregator.onTrade("AAA", at(9, 30, 59), 101, 1);
+        assertTrue(bars.isEmpty());
+
+        aggregator.onTrade("AAA", at(9, 31, 0), 102, 3);
+
+        assertEquals(List.of(new Bar(BarInterval.MINUTE_1, "AAA", at(9, 30, 0), 100, 103, 99, 101, 23)), bars);
+    }
+
+    @Test
+    void quotesUseTheMidWithoutVolumeAndBadPricesAreIgnored() {
+        TickAggregator aggregator = new TickAggregator(NYSE, List.of(BarInterval.MINUTE_1), collector);
+        aggregator.onQuote("AAA", at(10, 0, 1), 99, 101);
+        aggregator.onQuote("AAA", at(10, 0, 2), 102, 101); // crossed
+        aggregator.onTrade("AAA", at(10, 0, 3), Double.NaN, 5);
+        aggregator.onTrade("AAA", at(10, 0, 4), 0, 5);
+        aggregator.onTrade("AAA", at(10, 0, 5), 101, 4);
+        aggregator.flush();
+
+        assertEquals(List.of(new Bar(BarInterval.MINUTE_1, "AAA", at(10, 0, 0), 100, 101, 100, 101, 4)), bars);
+        assertEquals(3, aggregator.stats().invalidTicks());
+    }
+
+    @Test
+    void hourBarsAreAnchoredAtTheOpenAndCutAtTheClose() {
+        TickAggregator aggregator = new TickAggregator(NYSE, List.of(BarInterval.HOUR_1), collector);
+        aggregator.onTrade("AAA", at(9, 0, 0), 50, 1); // pre-market
+        for (int minute = 0; minute < 390; minute += 15) {
+            aggregator.onTrade("AAA", at(9, 30, 0) + minute * 60_000L, 100 + minute, 1);
+        }
+        assertEquals(6, bars.size()); // 09:30 .. 14:30 completed; 15:30 still open
+
+        aggregator.onTrade("AAA", at(16, 0, 0), 500, 1); // after the close: completes the short bar
+        assertEquals(7, bars.size());
+        assertEquals(List.of(at(9, 30, 0), at(10, 30, 0), at(11, 30, 0), at(12, 30, 0), at(13, 30, 0),
+                at(14, 30, 0), at(15, 30, 0)), bars.stream().map(Bar::start).toList());
+        assertEquals(2, bars.get(6).volume()); // 15:30 and 15:45 only
+        assertEquals(2, aggregator.stats().outOfSessionTicks());
+    }
+
+    @Test
+    void quietSymbolsCompleteWhenTimeMovesOn() {
+        TickAggregator aggregator = new TickAggregator(NYSE, List.of(BarInterval.MINUTE_1), collector);
+        aggregator.onTrade("AAA", at(9, 45, 10), 100, 1);
+        aggregator.onTrade("BBB", at(9, 46, 30), 200, 1);
+        assertEquals(List.of("AAA"), bars.stream().map(Bar::symbol).toList());
+
+        aggregator.advanceTo(at(9, 47, 0));
+        assertEquals(List.of("AAA", "BBB"), bars.stream().map(Bar::symbol).toList());
+    }
+
+    @Test
+    void lateTicksAreDroppedWhole() {
+        TickAggregator aggregator = new TickAggregator(NYSE, List.of(BarInterval.SECOND_1, BarInterval.MINUTE_1),
+                collector);
+        aggregator.onTrade("AAA", at(10, 0, 0), 100, 1);
+        aggregator.onTrade("BBB", at(10, 0, 5), 100, 1);
+        aggregator.onTrade("AAA", at(10, 0, 2), 101, 1); // its second has completed
+        aggregator.onTrade("BBB", at(10, 0, 5) + 500, 102, 1); // same second: still open
+        aggregator.flush();
+
+        assertEquals(1, aggregator.stats().lateTicks());
+        Bar minute = bars.stream().filter(b -> b.interval() == BarInterval.MINUTE_1 && b.symbol().equals("AAA"))
+                .findFirst().orElseThrow();
+        assertEquals(1, minute.volume());
+    }
+
+    @Test
+    void daylightSavingDaysKeepTheLocalSession() {
+        LocalDate springForward = LocalDate.of(2024, 3, 10);
+        TickAggregator aggregator = new TickAggregator(NYSE, List.of(BarInterval.HOUR_1), collector);
+        long open = ZonedDateTime.of(springForward.atTime(9, 30), NEW_YORK).toInstant().toEpochMilli();
+        aggregator.onTrade("AAA", open + 1, 100, 1);
+        aggregator.onTrade("AAA", open + 3_600_000L, 100, 1);
+
+        assertEquals(List.of(open), bars.stream().map(Bar::start).toList());
+    }
+
+    @Test
+    void allDaySessionsSplitAtUtcMidnight() {
+        TickAggregator aggregator = new TickAggregator(TradingSession.allDay(), List.of(BarInterval.HOUR_1), collector);
+        long midnight = LocalDate.of(2024, 3, 6).atStartOfDay(ZoneId.of("UTC")).toInstant().toEpochMilli();
+        aggregator.onTrade("BTC-USD", midnight - 1, 100, 1);
+        aggregator.onTrade("BTC-USD", midnight, 101, 1);
+        aggregator.flush();
+
+        assertEquals(List.of(midnight - 3_600_000L, midnight), bars.stream().map(Bar::start).toList());
+        assertEquals(0, aggregator.stats().outOfSessionTicks());
+    }
+
+    /**
+     * Every longer bar is exactly the shorter ones inside it: same volume,
+     * extremes, first open and last close.
+     */
+    @Test
+    void longerBarsAreTheSumOfShorterOnes() {
+        TickAggregator aggregator = new TickAggregator(NYSE, ALL, collector);
+        SplittableRandom random = new SplittableRandom(3);
+        long t = at(9, 30, 0);
+        long close = at(16, 0, 0);
+        String[] symbols = new String[40]; // more than the initial capacity
+        for (int s = 0; s < symbols.length; s++) {
+            symbols[s] = "S" + s;
+        }
+        while (t < close) {
+            aggregator.onTrade(symbols[random.nextInt(symbols.length)], t, 100 + random.nextDouble(-5, 5),
+                    random.nextInt(1, 100));
+            t += random.nextInt(1, 400);
+        }
+        aggregator.advanceTo(close);
+
+        for (BarInterval coarse : List.of(BarInterval.MINUTE_1, BarInterval.MINUTE_5, BarInterval.HOUR_1)) {
+            Map<String, Bar> rolled = new HashMap<>();
+            for (Bar bar : bars) {
+                if (bar.interval() != BarInterval.SECOND_1) {
+                    continue;
+                }
+                long start = at(9, 30, 0) + (bar.start() - at(9, 30, 0)) / coarse.millis() * coarse.millis();
+                rolled.merge(bar.symbol() + "@" + start, new Bar(coarse, bar.symbol(), start, bar.open(), bar.high(),
+                        bar.low(), bar.close(), bar.volume()), (a, b) -> new Bar(coarse, a.symbol(), a.start(),
+                        a.open(), Math.max(a.high(), b.high()), Math.min(a.low(), b.low()), b.close(),
+                        a.volume() + b.volume()));
+            }
+            List<Bar> actual = bars.stream().filter(b -> b.interval() == coarse).toList();
+            assertEquals(rolled.size(), actual.size(), coarse.label());
+            for (Bar bar : actual) {
+                assertEquals(rolled.get(bar.symbol() + "@" + bar.start()), bar, coarse.label());
+            }
+        }
+        assertEquals(bars.size(), aggregator.stats().bars());
+    }
+
+    @Test
+    void ticksDoNotAllocateOnceSymbolsAreKnown() {
+        long[] completed = new long[1];
+        TickAggregator aggregator = new TickAggregator(NYSE, ALL,
+                (interval, symbol, start, open, high, low, close, volume) -> completed[0]++);
+        String[] symbols = new String[100];
+        for (int s = 0; s < symbols.length; s++) {
+            symbols[s] = "S" + s;
+        }
+        long t = at(9, 30, 0);
+        for (int i = 0; i < 200_000; i++) { // warm up the JIT and register every symbol
+            aggregator.onTrade(symbols[i % symbols.length], t + i * 10L, 100 + (i % 7), 10);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long start = t + 200_000 * 10L;
+        for (int i = 0; i < 1_000_000; i++) {
+            aggregator.onTrade(symbols[i % symbols.length], start + i * 10L, 100 + (i % 7), 10);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(completed[0] > 100_000);
+        assertTrue(allocated < 64 * 1024, allocated + " bytes allocated for a million ticks");
+    }
+
+    @Test
+    void sessionMustCloseAfterItOpens() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TradingSession(NEW_YORK, LocalTime.of(16, 0), LocalTime.of(9, 30)));
+        assertThrows(IllegalArgumentException.class, () -> BarInterval.fromName("2m"));
+        assertEquals(BarInterval.MINUTE_5, BarInterval.fromName("5m"));
+    }
+
+    private static long at(int hour, int minute, int second) {
+        return ZonedDateTime.of(DAY.atTime(hour, minute, second), NEW_YORK).toInstant().toEpochMilli();
+    }
+
+    private record Bar(BarInterval interval, String symbol, long start, double open, double high, double low,
+                       double close, long volume) {
+    }
+}
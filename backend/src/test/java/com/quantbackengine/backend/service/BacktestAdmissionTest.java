@@ -0,0 +1,140 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.exception.BacktestOverloadedException;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestAdmissionTest {
+
+    private static final TradingStrategy SMA = new SmaStrategy();
+    private static final long TEN_YEARS = BacktestAdmission.estimate(SMA, 2_520, null, false).bytes();
+
+    @Test
+    void estimateGrowsWithBarsAndShrinksWithMaxPointsAndStreaming() {
+        BacktestAdmission.Cost full = BacktestAdmission.estimate(SMA, 2_520, null, false);
+
+        assertTrue(BacktestAdmission.estimate(SMA, 5_040, null, false).bytes() > full.bytes());
+        assertTrue(BacktestAdmission.estimate(SMA, 2_520, 500, false).bytes() < full.bytes());
+        assertTrue(BacktestAdmission.estimate(SMA, 2_520, null, true).bytes()
+                < BacktestAdmission.estimate(SMA, 2_520, 500, false).bytes());
+        assertTrue(full.cpuMillis() >= 1);
+    }
+
+    @Test
+    void estimateBarsCountsTradingDaysUpToToday() {
+        int year = BacktestAdmission.estimateBars(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        assertTrue(year >= 250 && year <= 256, "bars: " + year);
+        assertEquals(0, BacktestAdmission.estimateBars(LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 1)));
+
+        LocalDate today = LocalDate.now();
+        assertEquals(BacktestAdmission.estimateBars(today.minusYears(1), today),
+                BacktestAdmission.estimateBars(today.minusYears(1), today.plusYears(5)));
+    }
+
+    @Test
+    void admitsWithinBudgetAndReleasesOnClose() {
+        BacktestAdmission admission = new BacktestAdmission(3 * TEN_YEARS, 60_000, 0, 0);
+
+        try (BacktestAdmission.Ticket first = admission.admit(SMA, 2_520, null, false);
+             BacktestAdmission.Ticket second = admission.admit(SMA, 2_520, null, false)) {
+            assertEquals(2, admission.stats().getRunning());
+            assertEquals(2 * TEN_YEARS, admission.stats().getMemoryUsedBytes());
+            first.close();
+            first.close();
+            assertEquals(TEN_YEARS, admission.stats().getMemoryUsedBytes());
+        }
+
+        assertEquals(0, admission.stats().getRunning());
+        assertEquals(0, admission.stats().getMemoryUsedBytes());
+        assertEquals(2, admission.stats().getAdmitted());
+    }
+
+    @Test
+    void runLargerThanTheWholeBudgetIsABadRequest() {
+        BacktestAdmission admission = new BacktestAdmission(TEN_YEARS - 1, 60_000, 4, 1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> admission.admit(SMA, 2_520, null, false));
+        assertEquals(1, admission.stats().getRejected());
+        assertEquals(0, admission.stats().getQueued());
+    }
+
+    @Test
+    void waitsForCapacityThenRunsOnceItIsReleased() throws Exception {
+        BacktestAdmission admission = new BacktestAdmission(TEN_YEARS, 60_000, 4, 5_000);
+        BacktestAdmission.Ticket holder = admission.admit(SMA, 2_520, null, false);
+
+        CompletableFuture<BacktestAdmission.Ticket> waiting =
+                CompletableFuture.supplyAsync(() -> admission.admit(SMA, 2_520, null, false));
+        while (admission.stats().getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(waiting.isDone());
+
+        holder.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+
+        assertEquals(2, admission.stats().getAdmitted());
+        assertEquals(1, admission.stats().getWaited());
+        assertEquals(0, admission.stats().getRejected());
+    }
+
+    @Test
+    void rejectsWhenNoCapacityFreesUpInTime() {
+        BacktestAdmission admission = new BacktestAdmission(TEN_YEARS, 60_000, 4, 50);
+
+        try (BacktestAdmission.Ticket ignored = admission.admit(SMA, 2_520, null, false)) {
+            assertThrows(BacktestOverloadedException.class, () -> admission.admit(SMA, 2_520, null, false));
+        }
+        assertEquals(1, admission.stats().getRejected());
+        assertEquals(0, admission.stats().getQueued());
+    }
+
+    @Test
+    void rejectsAtOnceWhenTheWaitingLineIsFull() {
+        BacktestAdmission admission = new BacktestAdmission(TEN_YEARS, 60_000, 0, 5_000);
+
+        try (BacktestAdmission.Ticket ignored = admission.admit(SMA, 2_520, null, false)) {
+            long start = System.nanoTime();
+            assertThrows(BacktestOverloadedException.class, () -> admission.admit(SMA, 2_520, null, false));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    @Test
+    void actualBarsResizesTheReservation() {
+        BacktestAdmission admission = new BacktestAdmission(3 * TEN_YEARS, 60_000, 0, 0);
+        BacktestAdmission.Ticket ticket = admission.admit(SMA, 2_520, null, false);
+
+        ticket.actualBars(1_000);
+        assertEquals(BacktestAdmission.estimate(SMA, 1_000, null, false).bytes(),
+                admission.stats().getMemoryUsedBytes());
+
+        ticket.actualBars(5_040);
+        assertEquals(BacktestAdmission.estimate(SMA, 5_040, null, false).bytes(),
+                admission.stats().getMemoryUsedBytes());
+        ticket.close();
+        assertEquals(0, admission.stats().getMemoryUsedBytes());
+    }
+
+    @Test
+    void actualBarsOverTheFreeBudgetReleasesAndRejects() {
+        BacktestAdmission admission = new BacktestAdmission(2 * TEN_YEARS, 60_000, 0, 0);
+        BacktestAdmission.Ticket other = admission.admit(SMA, 2_520, null, false);
+        BacktestAdmission.Ticket ticket = admission.admit(SMA, 1_000, null, false);
+
+        assertThrows(BacktestOverloadedException.class, () -> ticket.actualBars(2_520 * 2));
+        assertEquals(TEN_YEARS, admission.stats().getMemoryUsedBytes());
+        assertEquals(1, admission.stats().getRunning());
+
+        assertThrows(IllegalArgumentException.class, () -> admission.admit(SMA, 2_520 * 3, null, false));
+        other.close();
+        assertEquals(0, admission.stats().getMemoryUsedBytes());
+    }
+}
@@ -0,0 +1,206 @@
+package com.quantbackengine.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quantbackengine.backend.domain.BacktestRun;
+import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.engine.CancellationToken;
+import com.quantbackengine.backend.exception.BacktestQueueFullException;
+import com.quantbackengine.backend.repository.BacktestRunRepository;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Backtest job queue: persisting submissions, rejecting when the queue is
+ * full, recording DONE / FAILED outcomes and cancelling.
+ */
+@DataJpaTest
+class BacktestJobServiceTest {
+
+    @Autowired
+    private BacktestRunRepository runRepository;
+
+    private final BacktestService backtestService = mock(BacktestService.class);
+    private final StrategyRegistry strategyRegistry = mock(StrategyRegistry.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolExecutor executor;
+    private BacktestJobService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        service = new BacktestJobService(runRepository, backtestService, strategyRegistry,
+                new ObjectMapper().registerModule(new JavaTimeModule()), executor, 0);
+        when(strategyRegistry.hasStrategy("SMA_CROSSOVER")).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow(); // drops queued jobs before the worker is freed
+        release.countDown();
+    }
+
+    @Test
+    void submitPersistsQueuedRun() {
+        occupyWorker();
+
+        BacktestRun run = service.submit(request());
+
+        BacktestRun stored = runRepository.findById(run.getId()).orElseThrow();
+        assertEquals(BacktestRun.Status.QUEUED, stored.getStatus());
+        assertEquals("AAPL", stored.getSymbol());
+        assertEquals(LocalDateTime.of(2023, 1, 1, 0, 0), stored.getStartDate());
+        assertTrue(stored.getRequestJson().contains("\"shortPeriod\":10"));
+        assertNotNull(stored.getCreatedAt());
+    }
+
+    @Test
+    void submitWhenQueueIsFullIsRejectedWithoutARow() {
+        occupyWorker();
+        executor.execute(this::await); // fills the single queue slot
+
+        assertThrows(BacktestQueueFullException.class, () -> service.submit(request()));
+        assertEquals(0, runRepository.count());
+    }
+
+    @Test
+    void submitRejectsUnknownStrategy() {
+        BacktestRequest request = request();
+        request.setStrategy("nope");
+
+        assertThrows(IllegalArgumentException.class, () -> service.submit(request));
+        assertEquals(0, runRepository.count());
+    }
+
+    @Test
+    void executeStoresResultAndMetrics() {
+        occupyWorker();
+        BacktestRequest request = request();
+        BacktestRun run = service.submit(request);
+        when(backtestService.runBacktest(request)).thenReturn(BacktestResponse.builder()
+                .symbol("AAPL")
+                .metrics(BacktestResponse.MetricsDto.builder().totalReturn(12.5).totalTrades(3).build())
+                .build());
+
+        service.executeRun(run.getId(), request);
+
+        BacktestRun stored = runRepository.findById(run.getId()).orElseThrow();
+        assertEquals(BacktestRun.Status.DONE, stored.getStatus());
+        assertEquals(12.5, ((Number) stored.getMetrics().get("totalReturn")).doubleValue());
+        assertTrue(stored.getResultJson().contains("\"symbol\":\"AAPL\""));
+        assertNotNull(stored.getStartedAt());
+        assertNotNull(stored.getFinishedAt());
+    }
+
+    @Test
+    void executeRecordsFailure() {
+        occupyWorker();
+        BacktestRequest request = request();
+        BacktestRun run = service.submit(request);
+        when(backtestService.runBacktest(request)).thenThrow(new IllegalStateException("No data for AAPL"));
+
+        service.executeRun(run.getId(), request);
+
+        BacktestRun stored = runRepository.findById(run.getId()).orElseThrow();
+        assertEquals(BacktestRun.Status.FAILED, stored.getStatus());
+        assertEquals("No data for AAPL", stored.getErrorMessage());
+        assertNull(stored.getResultJson());
+    }
+
+    @Test
+    void cancelledQueuedJobIsSkippedByTheWorker() {
+        occupyWorker();
+        BacktestRequest request = request();
+        BacktestRun run = service.submit(request);
+
+        assertEquals(BacktestRun.Status.CANCELLED, service.cancel(run.getId()).getStatus());
+        service.executeRun(run.getId(), request);
+
+        assertEquals(BacktestRun.Status.CANCELLED, runRepository.findById(run.getId()).orElseThrow().getStatus());
+        verify(backtestService, never()).runBacktest(any());
+    }
+
+    @Test
+    void cancelledRunningJobStopsAtItsNextCheck() {
+        occupyWorker();
+        BacktestRequest request = request();
+        BacktestRun run = service.submit(request);
+        when(backtestService.runBacktest(request)).thenAnswer(invocation -> {
+            assertEquals(BacktestRun.Status.RUNNING, service.cancel(run.getId()).getStatus());
+            CancellationToken.current().throwIfCancelled();
+            return BacktestResponse.builder().build();
+        });
+
+        service.executeRun(run.getId(), request);
+
+        BacktestRun stored = runRepository.findById(run.getId()).orElseThrow();
+        assertEquals(BacktestRun.Status.CANCELLED, stored.getStatus());
+        assertEquals("Cancelled: cancelled by request", stored.getErrorMessage());
+        assertNull(stored.getResultJson());
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+    }
+
+    @Test
+    void cancellingAFinishedJobLeavesItAlone() {
+        occupyWorker();
+        BacktestRequest request = request();
+        BacktestRun run = service.submit(request);
+        when(backtestService.runBacktest(request)).thenReturn(BacktestResponse.builder().build());
+        service.executeRun(run.getId(), request);
+
+        assertEquals(BacktestRun.Status.DONE, service.cancel(run.getId()).getStatus());
+    }
+
+    @Test
+    void runsLeftActiveByAPreviousProcessAreFailedOnStartup() {
+        occupyWorker();
+        BacktestRun run = service.submit(request());
+
+        service.failInterruptedRuns();
+
+        assertEquals(BacktestRun.Status.FAILED, runRepository.findById(run.getId()).orElseThrow().getStatus());
+    }
+
+    /** Keeps the only worker busy so submitted jobs stay queued. */
+    private void occupyWorker() {
+        executor.execute(this::await);
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BacktestRequest request() {
+        return BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 10, "longPeriod", 30))
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestResponse.RollingPointDto;
+import com.quantbackengine.backend.dto.BacktestSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestResultCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate END = LocalDate.of(2020, 12, 31);
+
+    @Test
+    void key_normalizesSymbolParameterOrderAndNumberScale() {
+        BacktestResultCache.Key a = BacktestResultCache.key(
+                request(" msft ", Map.of("shortPeriod", 10, "longPeriod", 30)), "SMA_CROSSOVER", 100_000, 0.001);
+        BacktestResultCache.Key b = BacktestResultCache.key(
+                request("MSFT", Map.of("longPeriod", 30.0, "shortPeriod", 10L)), "SMA_CROSSOVER", 100_000.0, 0.0010);
+
+        assertEquals(a, b);
+        assertEquals("MSFT", a.symbol());
+        assertNotEquals(a, BacktestResultCache.key(
+                request("MSFT", Map.of("shortPeriod", 10, "longPeriod", 31)), "SMA_CROSSOVER", 100_000, 0.001));
+        assertNotEquals(a, BacktestResultCache.key(
+                request("MSFT", Map.of("shortPeriod", 10, "longPeriod", 30)), "SMA_CROSSOVER", 100_000, 0.002));
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedBeyondByteBudget() {
+        BacktestResponse response = response(100);
+        long size = BacktestResultCache.estimateBytes(response);
+        BacktestResultCache cache = new BacktestResultCache(2 * size);
+
+        BacktestResultCache.Key a = key("AAA");
+        BacktestResultCache.Key b = key("BBB");
+        BacktestResultCache.Key c = key("CCC");
+        cache.get(a, () -> response);
+        cache.get(b, () -> response);
+        cache.get(a, () -> fail("a should be cached"));
+        cache.get(c, () -> response);
+
+        // b was least recently used when c pushed the cache over budget
+        cache.get(a, () -> fail("a should still be cached"));
+        int[] recomputed = new int[1];
+        cache.get(b, () -> {
+            recomputed[0]++;
+            return response;
+        });
+
+        assertEquals(1, recomputed[0]);
+        assertEquals(2, cache.stats().getEntries());
+        assertEquals(2 * size, cache.stats().getBytes());
+        assertEquals(2, cache.stats().getEvictions());
+        assertEquals(2, cache.stats().getHits());
+        assertEquals(4, cache.stats().getMisses());
+    }
+
+    @Test
+    void get_handsEachCallerItsOwnResponseOverFrozenLists() {
+        BacktestResultCache cache = new BacktestResultCache(1 << 20);
+        BacktestResultCache.Key key = key("AAA");
+
+        BacktestResponse first = cache.get(key, () -> response(10));
+        first.setEquityCurve(List.of());
+        first.setSymbol("MUTATED");
+        BacktestResponse second = cache.get(key, () -> fail("should be cached"));
+
+        assertNotSame(first, second);
+        assertEquals("X", second.getSymbol());
+        assertEquals(10, second.getEquityCurve().size());
+        assertThrows(UnsupportedOperationException.class, () -> second.getEquityCurve().clear());
+    }
+
+    @Test
+    void estimateBytes_countsRollingPointsAndTheSnapshotTail() {
+        BacktestResponse response = response(100);
+        long curveOnly = BacktestResultCache.estimateBytes(response);
+
+        List<RollingPointDto> rolling = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rolling.add(RollingPointDto.builder().timestamp(i).build());
+        }
+        response.setRolling(rolling);
+        long withRolling = BacktestResultCache.estimateBytes(response);
+        assertTrue(withRolling > curveOnly);
+
+        int tailBars = 1_000;
+        response.setSnapshot(BacktestSnapshot.builder()
+                .tail(BacktestSnapshot.TailBars.builder()
+                        .epochMillis(new long[tailBars]).open(new double[tailBars]).high(new double[tailBars])
+                        .low(new double[tailBars]).close(new double[tailBars]).volume(new long[tailBars])
+                        .build())
+                .build());
+        // the six tail columns alone hold 48 bytes a bar
+        assertTrue(BacktestResultCache.estimateBytes(response) >= withRolling + 48L * tailBars);
+    }
+
+    @Test
+    void get_doesNotCacheResultComputedBeforeAnOverlappingWrite() {
+        BacktestResultCache cache = new BacktestResultCache(1 << 20);
+        BacktestResultCache.Key key = key("AAA");
+
+        cache.get(key, () -> {
+            // Bars land while this run is still computing from the old ones
+            cache.onMarketDataWritten(new MarketDataWrittenEvent("AAA", END, END));
+            return response(10);
+        });
+
+        assertEquals(0, cache.stats().getEntries());
+        cache.get(key, () -> response(10));
+        assertEquals(1, cache.stats().getEntries());
+    }
+
+    @Test
+    void onMarketDataWritten_dropsOnlyOverlappingEntriesOfThatSymbol() {
+        BacktestResultCache cache = new BacktestResultCache(1 << 20);
+        cache.get(key("AAA"), () -> response(10));
+        cache.get(key("BBB"), () -> response(10));
+
+        cache.onMarketDataWritten(new MarketDataWrittenEvent("AAA", END.plusDays(1), END.plusDays(3)));
+        assertEquals(2, cache.stats().getEntries());
+
+        cache.onMarketDataWritten(new MarketDataWrittenEvent("AAA", START.minusDays(3), START));
+        assertEquals(1, cache.stats().getEntries());
+        assertEquals(1, cache.stats().getInvalidations());
+    }
+
+    private static BacktestResultCache.Key key(String symbol) {
+        return BacktestResultCache.key(request(symbol, Map.of()), "SMA_CROSSOVER", 100_000, 0.001);
+    }
+
+    private static BacktestRequest request(String symbol, Map<String, Object> parameters) {
+        return BacktestRequest.builder()
+                .symbol(symbol)
+                .strategy("SMA_CROSSOVER")
+                .parameters(parameters)
+                .startDate(START)
+                .endDate(END)
+                .build();
+    }
+
+    private static BacktestResponse response(int points) {
+        List<EquityPointDto> curve = new ArrayList<>();
+        for (int i = 0; i < points; i++) {
+            curve.add(EquityPointDto.builder().timestamp(i).value(100_000).build());
+        }
+        return BacktestResponse.builder().symbol("X").equityCurve(curve).build();
+    }
+}
@@ -1,24 +1,30 @@
 package com.quantbackengine.backend.service;
 
 import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.SignalSource;
+import com.quantbackengine.backend.engine.SimulationEngine;
 import com.quantbackengine.backend.strategy.StrategyRegistry;
 import com.quantbackengine.backend.strategy.TradingStrategy;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.ta4j.core.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -26,12 +32,25 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class BacktestServiceBenchmarkTest {
 
+    /** Engine-only throughput floor on the 1M-bar case (bars per second). */
+    private static final double ENGINE_TARGET_BARS_PER_SEC = 20_000_000;
+
     @Mock
     private StrategyRegistry strategyRegistry;
 
     @Mock
     private MarketDataService marketDataService;
 
+    // Disabled (zero budget) so every iteration measures a full run
+    @Spy
+    private BacktestResultCache resultCache = new BacktestResultCache(0);
+
+    @Spy
+    private IndicatorCaches indicatorCaches = new IndicatorCaches(1 << 20);
+
+    @Spy
+    private BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
     @InjectMocks
     private BacktestService backtestService;
 
@@ -87,14 +106,15 @@ class BacktestServiceBenchmarkTest {
 
         // Mock Market Data (Large dataset)
         System.out.println("Generating " + barCount + " bars...");
-        BarSeries series = new BaseBarSeries(symbol);
-        ZonedDateTime time = start.atStartOfDay(ZoneId.of("UTC"));
+        BarColumns.Builder builder = BarColumns.builder(symbol, Duration.ofMinutes(1), barCount);
+        long time = start.atStartOfDay(ZoneId.of("UTC")).toInstant().toEpochMilli();
         for (int i = 0; i < barCount; i++) {
-            series.addBar(time.plusMinutes(i), 100 + (i * 0.01), 101 + (i * 0.01), 99 + (i * 0.01), 100.5 + (i * 0.01), 1000);
+            builder.add(time + i * 60_000L, 100 + (i * 0.01), 101 + (i * 0.01), 99 + (i * 0.01), 100.5 + (i * 0.01), 1000);
         }
+        BarColumns columns = builder.build();
         System.out.println("Bars generated.");
 
-        when(marketDataService.getBarSeries(eq(symbol), any(), any())).thenReturn(series);
+        when(marketDataService.getBarColumns(eq(symbol), any(), any())).thenReturn(columns);
 
         BacktestRequest request = BacktestRequest.builder()
                 .symbol(symbol)
@@ -126,4 +146,37 @@ class BacktestServiceBenchmarkTest {
         System.out.println("Bar count: " + barCount);
         System.out.println("Avg Time: " + avgTimeMs + " ms");
     }
+
+    @Test
+    @Tag("benchmark")
+    void engineThroughputMeetsTarget() {
+        int barCount = 1_000_000;
+        BarColumns.Builder builder = BarColumns.builder("BENCHMARK", Duration.ofMinutes(1), barCount);
+        for (int i = 0; i < barCount; i++) {
+            builder.add(i * 60_000L, 100 + (i * 0.01), 101 + (i * 0.01), 99 + (i * 0.01), 100.5 + (i * 0.01), 1000);
+        }
+        BarColumns columns = builder.build();
+
+        // Same signal pattern as the service benchmark, without ta4j rule evaluation
+        SignalSource signals = new SignalSource() {
+            @Override public boolean shouldEnter(int index) { return index % 100 == 0; }
+            @Override public boolean shouldExit(int index) { return index % 100 == 50; }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            SimulationEngine.run(columns, signals, 100000.0, 0.001);
+        }
+
+        int iterations = 20;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            SimulationEngine.run(columns, signals, 100000.0, 0.001);
+        }
+        double avgSeconds = (System.nanoTime() - startTime) / 1e9 / iterations;
+        double barsPerSec = barCount / avgSeconds;
+
+        System.out.println("Engine Avg Time: " + (avgSeconds * 1000) + " ms, " + (long) barsPerSec + " bars/s");
+        assertTrue(barsPerSec >= ENGINE_TARGET_BARS_PER_SEC,
+                "Engine throughput " + (long) barsPerSec + " bars/s below target " + (long) ENGINE_TARGET_BARS_PER_SEC);
+    }
 }
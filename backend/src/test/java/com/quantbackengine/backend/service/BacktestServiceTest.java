@@ -1,10 +1,18 @@
 package com.quantbackengine.backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.quantbackengine.backend.dto.BacktestRequest;
 import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.BacktestSnapshot;
+import com.quantbackengine.backend.dto.BacktestStreamEvent;
+import com.quantbackengine.backend.dto.ContinueBacktestRequest;
+import com.quantbackengine.backend.engine.BarColumns;
 import com.quantbackengine.backend.service.python.PythonBridgeService;
+import com.quantbackengine.backend.strategy.MacdStrategy;
 import com.quantbackengine.backend.strategy.PythonStrategyAdapter;
+import com.quantbackengine.backend.strategy.SmaStrategy;
 import com.quantbackengine.backend.strategy.StrategyRegistry;
 import com.quantbackengine.backend.strategy.TradingStrategy;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,16 +20,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.ta4j.core.*;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +50,18 @@ class BacktestServiceTest {
     @Mock
     private MarketDataService marketDataService;
 
+    @Spy
+    private BacktestResultCache resultCache = new BacktestResultCache(1 << 20);
+
+    @Spy
+    private IndicatorCaches indicatorCaches = new IndicatorCaches(1 << 20);
+
+    @Spy
+    private BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    @Mock
+    private BenchmarkCache benchmarkCache;
+
     @InjectMocks
     private BacktestService backtestService;
 
@@ -94,7 +119,7 @@ class BacktestServiceTest {
         for (int i = 0; i < 10; i++) {
             series.addBar(time.plusDays(i), 100 + i, 110 + i, 90 + i, 105 + i, 1000);
         }
-        when(marketDataService.getBarSeries(eq(symbol), eq(start), eq(end))).thenReturn(series);
+        when(marketDataService.getBarColumns(eq(symbol), eq(start), eq(end))).thenReturn(BarColumns.fromBarSeries(series));
 
         BacktestRequest request = BacktestRequest.builder()
                 .symbol(symbol)
@@ -154,7 +179,7 @@ class BacktestServiceTest {
 
         // Assert — Python path taken, TA4J market data never fetched
         verify(spyAdapter, times(1)).runPythonBacktest(any());
-        verify(marketDataService, never()).getBarSeries(any(), any(), any());
+        verify(marketDataService, never()).getBarColumns(any(), any(), any());
         assertNotNull(result);
         assertEquals(strategyId, result.getStrategy());
     }
@@ -182,7 +207,7 @@ class BacktestServiceTest {
         for (int i = 0; i < 5; i++) {
             series.addBar(time.plusDays(i), 100, 110, 90, 105, 1000);
         }
-        when(marketDataService.getBarSeries(any(), any(), any())).thenReturn(series);
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
 
         BacktestRequest request = BacktestRequest.builder()
                 .symbol("AAPL")
@@ -196,7 +221,7 @@ class BacktestServiceTest {
         BacktestResponse result = backtestService.runBacktest(request);
 
         // Assert — TA4J path taken, market data was fetched
-        verify(marketDataService, times(1)).getBarSeries(any(), any(), any());
+        verify(marketDataService, times(1)).getBarColumns(any(), any(), any());
         assertNotNull(result);
     }
 
@@ -217,4 +242,386 @@ class BacktestServiceTest {
         // Act & Assert — resolves to HTTP 400 via GlobalExceptionHandler
         assertThrows(IllegalArgumentException.class, () -> backtestService.runBacktest(request));
     }
+
+    // -------------------------------------------------------------------------
+    // Streamed runs
+    // -------------------------------------------------------------------------
+
+    @Test
+    void prepareStream_emitsSameRunAsMaterializedResponse() {
+        String symbol = "AAPL";
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+
+        BarSeries series = new BaseBarSeries(symbol);
+        ZonedDateTime time = LocalDate.of(2020, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        Random random = new Random(11);
+        double price = 100;
+        for (int i = 0; i < 500; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.02));
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol(symbol)
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 10, "longPeriod", 30))
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2021, 12, 31))
+                .build();
+
+        BacktestResponse expected = backtestService.runBacktest(request);
+        List<BacktestStreamEvent> events = new ArrayList<>();
+        backtestService.prepareStream(request).writeTo(events::add);
+
+        assertEquals(BacktestStreamEvent.START, events.get(0).getType());
+        assertEquals(500, events.get(0).getBars());
+        assertEquals(BacktestStreamEvent.METRICS, events.get(events.size() - 1).getType());
+
+        List<BacktestResponse.CandleDto> candles = events.stream()
+                .filter(e -> BacktestStreamEvent.CANDLE.equals(e.getType())).map(BacktestStreamEvent::getCandle).toList();
+        List<BacktestResponse.EquityPointDto> equity = events.stream()
+                .filter(e -> BacktestStreamEvent.EQUITY.equals(e.getType())).map(BacktestStreamEvent::getEquity).toList();
+        List<BacktestResponse.TradeDto> trades = events.stream()
+                .filter(e -> BacktestStreamEvent.TRADE.equals(e.getType())).map(BacktestStreamEvent::getTrade).toList();
+        assertEquals(expected.getCandles(), candles);
+        assertEquals(expected.getEquityCurve(), equity);
+        assertEquals(expected.getTrades(), trades);
+        assertEquals(expected.getMetrics(), events.get(events.size() - 1).getMetrics());
+    }
+
+    @Test
+    void runBacktest_maxPoints_downsamplesChartsButNotMetrics() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2014, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        Random random = new Random(3);
+        double price = 100;
+        for (int i = 0; i < 2_520; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.015));
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 20, "longPeriod", 50))
+                .startDate(LocalDate.of(2014, 1, 1))
+                .endDate(LocalDate.of(2020, 12, 31))
+                .build();
+        BacktestResponse full = backtestService.runBacktest(request);
+        request.setMaxPoints(252);
+        BacktestResponse reduced = backtestService.runBacktest(request);
+
+        assertEquals(252, reduced.getEquityCurve().size());
+        assertTrue(reduced.getCandles().size() <= 252);
+        assertEquals(full.getEquityCurve().get(full.getEquityCurve().size() - 1),
+                reduced.getEquityCurve().get(reduced.getEquityCurve().size() - 1));
+        assertEquals(full.getMetrics(), reduced.getMetrics());
+        assertEquals(full.getTrades(), reduced.getTrades());
+    }
+
+    @Test
+    void runBacktest_rollingWindow_alignsWithTheEquityCurve() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2014, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        Random random = new Random(5);
+        double price = 100;
+        for (int i = 0; i < 1_000; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.015));
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 10, "longPeriod", 30))
+                .startDate(LocalDate.of(2014, 1, 1))
+                .endDate(LocalDate.of(2016, 12, 31))
+                .build();
+        assertNull(backtestService.runBacktest(request).getRolling());
+
+        request.setRollingWindow(63);
+        BacktestResponse full = backtestService.runBacktest(request);
+        assertEquals(1_000 - 63, full.getRolling().size());
+        assertEquals(full.getEquityCurve().get(63).getTimestamp(), full.getRolling().get(0).getTimestamp());
+        assertTrue(full.getRolling().stream().allMatch(p -> p.getVolatility() >= 0));
+
+        request.setMaxPoints(100);
+        BacktestResponse reduced = backtestService.runBacktest(request);
+        assertTrue(reduced.getRolling().size() <= 100);
+        Set<Long> charted = reduced.getEquityCurve().stream().map(EquityPointDto::getTimestamp)
+                .collect(Collectors.toSet());
+        assertTrue(reduced.getRolling().stream().allMatch(p -> charted.contains(p.getTimestamp())));
+    }
+
+    @Test
+    void runBacktest_againstItsOwnEquity_isPerfectlyTracked() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2014, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        Random random = new Random(8);
+        double price = 100;
+        for (int i = 0; i < 750; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.015));
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 10, "longPeriod", 30))
+                .startDate(LocalDate.of(2014, 1, 1))
+                .endDate(LocalDate.of(2016, 1, 20))
+                .build();
+        List<EquityPointDto> equity = backtestService.runBacktest(request).getEquityCurve();
+        assertNull(backtestService.runBacktest(request).getBenchmark());
+
+        // The strategy's own curve, every other bar: perfectly tracked wherever the two join
+        List<EquityPointDto> sparse = new ArrayList<>();
+        for (int i = 0; i < equity.size(); i += 2) {
+            sparse.add(equity.get(i));
+        }
+        when(benchmarkCache.get("SELF", request.getStartDate(), request.getEndDate()))
+                .thenReturn(new BenchmarkCache.BenchmarkSeries("SELF", request.getStartDate(), request.getEndDate(),
+                        sparse.stream().mapToLong(EquityPointDto::getTimestamp).toArray(),
+                        sparse.stream().mapToDouble(EquityPointDto::getValue).toArray()));
+        request.setBenchmark("SELF");
+
+        BacktestResponse.BenchmarkMetricsDto benchmark = backtestService.runBacktest(request).getBenchmark();
+
+        assertEquals("SELF", benchmark.getSymbol());
+        assertEquals(sparse.size() - 1, benchmark.getObservations());
+        assertEquals(1.0, benchmark.getBeta(), 1e-9);
+        assertEquals(1.0, benchmark.getCorrelation(), 1e-9);
+        assertEquals(0.0, benchmark.getAlpha(), 1e-9);
+        assertEquals(0.0, benchmark.getTrackingError(), 1e-9);
+    }
+
+    @Test
+    void runBacktest_identicalRequest_servedFromCacheUntilItsBarsChange() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2020, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        Random random = new Random(5);
+        double price = 100;
+        for (int i = 0; i < 300; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.02));
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 10, "longPeriod", 30))
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2020, 12, 31))
+                .build();
+        BacktestRequest sameRun = BacktestRequest.builder()
+                .symbol("aapl")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("longPeriod", 30.0, "shortPeriod", 10))
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2020, 12, 31))
+                .initialCapital(100000.0)
+                .commissionRate(0.001)
+                .build();
+
+        BacktestResponse first = backtestService.runBacktest(request);
+        assertEquals(first, backtestService.runBacktest(sameRun));
+        verify(marketDataService, times(1)).getBarColumns(any(), any(), any());
+
+        // Bars outside the cached range leave the entry alone; bars inside drop it
+        resultCache.onMarketDataWritten(new MarketDataWrittenEvent("AAPL",
+                LocalDate.of(2021, 1, 4), LocalDate.of(2021, 1, 8)));
+        assertEquals(first, backtestService.runBacktest(request));
+        resultCache.onMarketDataWritten(new MarketDataWrittenEvent("AAPL",
+                LocalDate.of(2020, 12, 30), LocalDate.of(2021, 1, 4)));
+        BacktestResponse recomputed = backtestService.runBacktest(request);
+
+        assertNotEquals(first.getId(), recomputed.getId()); // a fresh run, not the cached one
+        assertEquals(first.getMetrics(), recomputed.getMetrics());
+        verify(marketDataService, times(2)).getBarColumns(any(), any(), any());
+        assertEquals(2, resultCache.stats().getHits());
+        assertEquals(2, resultCache.stats().getMisses());
+        assertEquals(1, resultCache.stats().getInvalidations());
+    }
+
+    // -------------------------------------------------------------------------
+    // Continuation
+    // -------------------------------------------------------------------------
+
+    @Test
+    void continueBacktest_fromSnapshot_matchesOneRunOverAllBars() throws Exception {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        when(strategyRegistry.getStrategy("MACD")).thenReturn(Optional.of(new MacdStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2015, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        Random random = new Random(17);
+        double price = 100;
+        for (int i = 0; i < 1_500; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.015));
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        BarColumns all = BarColumns.fromBarSeries(series);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        LocalDate snapshotEnd = start.plusDays(1_199);
+        LocalDate end = start.plusDays(1_499);
+        BarColumns.Builder head = BarColumns.builder("AAPL", all.barDuration(), 1_200);
+        for (int i = 0; i < 1_200; i++) {
+            head.add(all.epochMillis()[i], all.open()[i], all.high()[i], all.low()[i], all.close()[i], all.volume()[i]);
+        }
+        when(marketDataService.getBarColumns(any(), eq(start), eq(snapshotEnd))).thenReturn(head.build());
+        when(marketDataService.getBarColumns(any(), any(), eq(end))).thenReturn(all);
+        ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        for (String strategy : List.of("SMA_CROSSOVER", "MACD")) {
+            Map<String, Object> parameters = strategy.equals("MACD")
+                    ? Map.of()
+                    : Map.of("shortPeriod", 10, "longPeriod", 40);
+            BacktestRequest request = BacktestRequest.builder()
+                    .symbol("AAPL")
+                    .strategy(strategy)
+                    .parameters(parameters)
+                    .startDate(start)
+                    .endDate(snapshotEnd)
+                    .includeSnapshot(true)
+                    .build();
+            BacktestSnapshot snapshot = backtestService.runBacktest(request).getSnapshot();
+            // Snapshots travel through the client as JSON
+            snapshot = json.readValue(json.writeValueAsString(snapshot), BacktestSnapshot.class);
+
+            BacktestResponse continued = backtestService.continueBacktest(
+                    ContinueBacktestRequest.builder().snapshot(snapshot).endDate(end).build());
+            request.setEndDate(end);
+            request.setIncludeSnapshot(false);
+            BacktestResponse full = backtestService.runBacktest(request);
+
+            assertEquals(full.getMetrics(), continued.getMetrics(), strategy);
+            assertEquals(full.getEquityCurve().subList(1_200, 1_500), continued.getEquityCurve(), strategy);
+            assertEquals(full.getCandles().subList(1_200, 1_500), continued.getCandles(), strategy);
+            List<BacktestResponse.TradeDto> lateTrades = full.getTrades().stream()
+                    .filter(t -> !t.getExitDate().toLocalDate().isBefore(start.plusDays(1_200)))
+                    .toList();
+            assertEquals(lateTrades, continued.getTrades(), strategy);
+            assertEquals(all.epochMillis()[1_499], continued.getSnapshot().getLastBarTime());
+            assertEquals(snapshot.getTail().getEpochMillis().length, continued.getSnapshot().getTail().getEpochMillis().length);
+        }
+    }
+
+    @Test
+    void continueBacktest_noNewBars_keepsMetricsAndReturnsEmptyTail() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2020, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        for (int i = 0; i < 300; i++) {
+            double price = 100 + 10 * Math.sin(i / 15.0);
+            series.addBar(time.plusDays(i), price, price + 1, price - 1, price, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+        BacktestResponse first = backtestService.runBacktest(BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .parameters(Map.of("shortPeriod", 5, "longPeriod", 20))
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2020, 10, 26))
+                .includeSnapshot(true)
+                .build());
+
+        BacktestResponse continued = backtestService.continueBacktest(ContinueBacktestRequest.builder()
+                .snapshot(first.getSnapshot())
+                .endDate(LocalDate.of(2020, 12, 31))
+                .build());
+
+        assertEquals(first.getMetrics(), continued.getMetrics());
+        assertTrue(continued.getEquityCurve().isEmpty());
+        assertTrue(continued.getTrades().isEmpty());
+        assertEquals(40, continued.getSnapshot().getTail().getClose().length);
+    }
+
+    @Test
+    void runBacktest_snapshotForUnboundedStrategy_isRejected() {
+        TradingStrategy recordBound = mock(TradingStrategy.class);
+        when(recordBound.getId()).thenReturn("CUSTOM");
+        when(recordBound.signalLookback(any())).thenReturn(java.util.OptionalInt.empty());
+        when(strategyRegistry.getStrategy("CUSTOM")).thenReturn(Optional.of(recordBound));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("CUSTOM")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .includeSnapshot(true)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> backtestService.runBacktest(request));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void prepareStream_unknownStrategy_throwsBeforeAnyOutput() {
+        when(strategyRegistry.getStrategy("nope")).thenReturn(Optional.empty());
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("nope")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> backtestService.prepareStream(request));
+        verifyNoInteractions(marketDataService);
+    }
+
+    // -------------------------------------------------------------------------
+    // Admission control
+    // -------------------------------------------------------------------------
+
+    @Test
+    void runBacktest_overBudget_rejectedBeforeLoadingData() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        ReflectionTestUtils.setField(backtestService, "admission", new BacktestAdmission(1 << 20, 60_000, 0, 0));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .startDate(LocalDate.of(1990, 1, 1))
+                .endDate(LocalDate.of(2020, 1, 1))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> backtestService.runBacktest(request));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void prepareStream_holdsAdmissionUntilWrittenOut() {
+        when(strategyRegistry.getStrategy("SMA_CROSSOVER")).thenReturn(Optional.of(new SmaStrategy()));
+        BarSeries series = new BaseBarSeries("AAPL");
+        ZonedDateTime time = LocalDate.of(2020, 1, 1).atStartOfDay(java.time.ZoneId.of("UTC"));
+        for (int i = 0; i < 300; i++) {
+            series.addBar(time.plusDays(i), 100 + i % 7, 101 + i % 7, 99 + i % 7, 100 + i % 7, 1000);
+        }
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
+
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAPL")
+                .strategy("SMA_CROSSOVER")
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2020, 12, 31))
+                .build();
+
+        BacktestStream stream = backtestService.prepareStream(request);
+        assertEquals(1, admission.stats().getRunning());
+        assertEquals(BacktestAdmission.estimate(new SmaStrategy(), 300, null, true).bytes(),
+                admission.stats().getMemoryUsedBytes());
+
+        stream.writeTo(event -> { });
+        assertEquals(0, admission.stats().getRunning());
+        assertEquals(0, admission.stats().getMemoryUsedBytes());
+    }
 }
@@ -0,0 +1,93 @@
+package com.quantbackengine.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarQueueTest {
+
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(2, new BarQueue(2).capacity());
+        assertEquals(8, new BarQueue(5).capacity());
+        assertEquals(8, new BarQueue(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new BarQueue(1));
+    }
+
+    @Test
+    void fullQueueRejectsUntilDrained() {
+        BarQueue queue = new BarQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer("AAA", i, 100 + i, 0));
+        }
+        assertFalse(queue.offer("AAA", 4, 104, 0));
+
+        List<Long> drained = new ArrayList<>();
+        assertEquals(2, queue.drain((symbol, millis, close, nanos) -> drained.add(millis), 2));
+        assertTrue(queue.offer("BBB", 4, 104, 0));
+        assertTrue(queue.offer("BBB", 5, 105, 0));
+        assertFalse(queue.offer("BBB", 6, 106, 0));
+
+        assertEquals(4, queue.drain((symbol, millis, close, nanos) -> drained.add(millis), 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), drained);
+        assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Producers racing for slots while the consumer drains: nothing is lost
+     * or duplicated, and each producer's bars stay in order.
+     */
+    @Test
+    void concurrentProducersKeepTheirOwnOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 200_000;
+        BarQueue queue = new BarQueue(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String symbol = "P" + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(symbol, i, i, 0)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] next = new long[producers];
+        int[] received = new int[1];
+        start.countDown();
+        while (received[0] < producers * perProducer) {
+            int drained = queue.drain((symbol, millis, close, nanos) -> {
+                int producer = symbol.charAt(1) - '0';
+                assertEquals(next[producer], millis);
+                assertEquals(millis, close);
+                next[producer]++;
+                received[0]++;
+            }, 256);
+            if (drained == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long count : next) {
+            assertEquals(perProducer, count);
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,184 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BatchBacktestRequest;
+import com.quantbackengine.backend.dto.BatchBacktestRequest.StrategyRun;
+import com.quantbackengine.backend.dto.BatchBacktestResult;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.RsiStrategy;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BatchBacktestServiceTest {
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final StrategyRegistry strategyRegistry =
+            new StrategyRegistry(List.of(new SmaStrategy(), new RsiStrategy()));
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    private BacktestService backtestService;
+    private BatchBacktestService batchBacktestService;
+
+    @BeforeEach
+    void setUp() {
+        backtestService = new BacktestService(strategyRegistry, marketDataService, new BacktestResultCache(0),
+                new IndicatorCaches(1 << 20), admission,
+                new BenchmarkCache(marketDataService, 0));
+        ReflectionTestUtils.setField(backtestService, "defaultInitialCapital", 100_000.0);
+        ReflectionTestUtils.setField(backtestService, "defaultCommissionRate", 0.001);
+        ReflectionTestUtils.setField(backtestService, "riskFreeRate", 0.02);
+
+        batchBacktestService = new BatchBacktestService(strategyRegistry, marketDataService, backtestService, admission,
+                pool);
+        ReflectionTestUtils.setField(batchBacktestService, "maxRuns", 100);
+        ReflectionTestUtils.setField(batchBacktestService, "prefetchConcurrency", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void run_prefetchesOnceAndDeliversEveryRun() {
+        Map<String, BarColumns> series = new LinkedHashMap<>();
+        series.put("AAA", randomWalk("AAA", 400, 1L));
+        series.put("BBB", randomWalk("BBB", 400, 2L));
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any(), anyInt())).thenReturn(series);
+
+        List<BatchBacktestResult> results = Collections.synchronizedList(new ArrayList<>());
+        int delivered = batchBacktestService.run(request(List.of("AAA", "BBB", "GONE")), results::add);
+
+        verify(marketDataService, times(1)).getBarColumnsBatch(anyCollection(), any(), any(), eq(3));
+        verify(marketDataService, never()).getBarColumns(any(), any(), any());
+        // 3 symbols x (2 SMA parameter sets + 1 RSI default run)
+        assertEquals(9, delivered);
+        assertEquals(1, admission.stats().getAdmitted());
+        assertEquals(0, admission.stats().getRunning());
+        assertEquals(0, admission.stats().getMemoryUsedBytes());
+        assertEquals(9, results.size());
+
+        List<BatchBacktestResult> missing = results.stream().filter(r -> "GONE".equals(r.getSymbol())).toList();
+        assertEquals(3, missing.size());
+        missing.forEach(r -> assertNotNull(r.getError()));
+
+        // Each completed run matches a standalone evaluation of the same inputs
+        for (BatchBacktestResult result : results) {
+            if (result.getError() != null) {
+                continue;
+            }
+            var expected = backtestService.evaluate(strategyRegistry.getStrategy(result.getStrategy()).orElseThrow(),
+                    series.get(result.getSymbol()), result.getParameters(), null, null);
+            assertEquals(expected, result.getMetrics());
+        }
+    }
+
+    @Test
+    void run_invalidParameterSet_reportsErrorLineAndKeepsGoing() {
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any(), anyInt()))
+                .thenReturn(Map.of("AAA", randomWalk("AAA", 300, 3L)));
+        BatchBacktestRequest request = request(List.of("AAA"));
+        request.getStrategies().get(0).setParameterSets(List.of(
+                Map.of("shortPeriod", 50, "longPeriod", 10),
+                Map.of("shortPeriod", 10, "longPeriod", 50)));
+
+        List<BatchBacktestResult> results = Collections.synchronizedList(new ArrayList<>());
+        batchBacktestService.run(request, results::add);
+
+        assertEquals(3, results.size());
+        assertEquals(1, results.stream().filter(r -> r.getError() != null).count());
+    }
+
+    @Test
+    void run_failingSink_skipsRemainingRuns() {
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any(), anyInt()))
+                .thenReturn(Map.of("AAA", randomWalk("AAA", 300, 4L)));
+
+        int delivered = batchBacktestService.run(request(List.of("AAA")), result -> {
+            throw new IllegalStateException("client gone");
+        });
+
+        assertEquals(0, delivered);
+    }
+
+    @Test
+    void admit_rejectsOversizedBatchAndUnknownStrategy() {
+        List<String> symbols = new ArrayList<>();
+        for (int s = 0; s < 40; s++) {
+            symbols.add("S" + s);
+        }
+        assertThrows(IllegalArgumentException.class, () -> batchBacktestService.admit(request(symbols)));
+
+        BatchBacktestRequest unknown = request(List.of("AAA"));
+        unknown.getStrategies().add(StrategyRun.builder().strategy("NOPE").build());
+        assertThrows(IllegalArgumentException.class, () -> batchBacktestService.admit(unknown));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void admit_batchOverTheMemoryBudget_isRejectedBeforeLoading() {
+        BatchBacktestRequest request = request(List.of("AAA", "BBB", "CCC"));
+        int perSymbol = BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate());
+        BacktestAdmission small = new BacktestAdmission(
+                BacktestAdmission.estimate(new SmaStrategy(), 2 * perSymbol, 0, false).bytes(), Long.MAX_VALUE, 0, 0);
+        BatchBacktestService service = new BatchBacktestService(strategyRegistry, marketDataService, backtestService,
+                small, pool);
+        ReflectionTestUtils.setField(service, "maxRuns", 100);
+
+        assertThrows(IllegalArgumentException.class, () -> service.admit(request));
+        verifyNoInteractions(marketDataService);
+        assertEquals(1, small.stats().getRejected());
+    }
+
+    private static BatchBacktestRequest request(List<String> symbols) {
+        List<StrategyRun> strategies = new ArrayList<>();
+        strategies.add(StrategyRun.builder()
+                .strategy(SmaStrategy.ID)
+                .parameterSets(List.of(
+                        Map.of("shortPeriod", 10, "longPeriod", 30),
+                        Map.of("shortPeriod", 20, "longPeriod", 50)))
+                .build());
+        strategies.add(StrategyRun.builder().strategy(RsiStrategy.ID).build());
+        return BatchBacktestRequest.builder()
+                .symbols(symbols)
+                .strategies(strategies)
+                .startDate(LocalDate.of(2019, 1, 1))
+                .endDate(LocalDate.of(2020, 12, 31))
+                .build();
+    }
+
+    private static BarColumns randomWalk(String symbol, int bars, long seed) {
+        Random random = new Random(seed);
+        BarColumns.Builder builder = BarColumns.builder(symbol, Duration.ofDays(1), bars);
+        long start = 1_546_300_800_000L;
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + random.nextGaussian() * 0.015));
+            builder.add(start + i * 86_400_000L, open, Math.max(open, price) + 0.5,
+                    Math.min(open, price) - 0.5, price, 1_000_000L);
+        }
+        return builder.build();
+    }
+}
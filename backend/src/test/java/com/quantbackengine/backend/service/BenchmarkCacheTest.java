@@ -0,0 +1,100 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BenchmarkCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate END = LocalDate.of(2020, 12, 31);
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+
+    @Test
+    void servesNarrowerRangesFromMemory() {
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(columns(START, 250));
+        BenchmarkCache cache = new BenchmarkCache(marketDataService, 1 << 20);
+
+        BenchmarkCache.BenchmarkSeries first = cache.get("spy", START, END);
+        BenchmarkCache.BenchmarkSeries second = cache.get("SPY", START.plusMonths(3), END.minusMonths(3));
+
+        assertSame(first, second);
+        assertEquals("SPY", first.symbol());
+        verify(marketDataService, times(1)).getBarColumns(any(), any(), any());
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+        assertEquals(250 * 16L, cache.stats().getBytes());
+    }
+
+    @Test
+    void widerRangeReloadsTheUnion() {
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(columns(START, 250));
+        BenchmarkCache cache = new BenchmarkCache(marketDataService, 1 << 20);
+        cache.get("SPY", START, END);
+
+        BenchmarkCache.BenchmarkSeries wider = cache.get("SPY", START.plusMonths(6), END.plusYears(1));
+
+        verify(marketDataService).getBarColumns(eq("SPY"), eq(START), eq(END.plusYears(1)));
+        assertEquals(START, wider.start());
+        assertEquals(1, cache.stats().getEntries());
+    }
+
+    @Test
+    void writtenBarsDropTheSymbol() {
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(columns(START, 250));
+        BenchmarkCache cache = new BenchmarkCache(marketDataService, 1 << 20);
+        cache.get("SPY", START, END);
+
+        cache.onMarketDataWritten(new MarketDataWrittenEvent("QQQ", END, END));
+        assertEquals(1, cache.stats().getEntries());
+        cache.onMarketDataWritten(new MarketDataWrittenEvent("SPY", END, END));
+        cache.get("SPY", START, END);
+
+        assertEquals(1, cache.stats().getInvalidations());
+        verify(marketDataService, times(2)).getBarColumns(any(), any(), any());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondTheBudget() {
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(columns(START, 250));
+        BenchmarkCache cache = new BenchmarkCache(marketDataService, 250 * 16L * 2);
+
+        cache.get("SPY", START, END);
+        cache.get("QQQ", START, END);
+        cache.get("SPY", START, END);
+        cache.get("DIA", START, END);
+
+        assertEquals(2, cache.stats().getEntries());
+        assertEquals(1, cache.stats().getEvictions());
+        cache.get("SPY", START, END);
+        assertEquals(2, cache.stats().getHits());
+    }
+
+    @Test
+    void noBarsIsABadRequest() {
+        when(marketDataService.getBarColumns(any(), any(), any())).thenReturn(columns(START, 0));
+        BenchmarkCache cache = new BenchmarkCache(marketDataService, 1 << 20);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("SPY", START, END));
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    private static BarColumns columns(LocalDate start, int bars) {
+        BarColumns.Builder builder = BarColumns.builder("SPY", Duration.ofDays(1), Math.max(bars, 1));
+        long millis = start.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (int i = 0; i < bars; i++) {
+            double close = 300 + i;
+            builder.add(millis + i * 86_400_000L, close, close + 1, close - 1, close, 1_000);
+        }
+        return builder.build();
+    }
+}
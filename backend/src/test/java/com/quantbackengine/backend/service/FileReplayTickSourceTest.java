@@ -0,0 +1,80 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.TickSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileReplayTickSourceTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> ticks = new ArrayList<>();
+    private final TickSink recorder = new TickSink() {
+        @Override
+        public void onTrade(String symbol, long epochMillis, double price, long size) {
+            ticks.add("T " + symbol + " " + epochMillis + " " + price + " " + size);
+        }
+
+        @Override
+        public void onQuote(String symbol, long epochMillis, double bid, double ask) {
+            ticks.add("Q " + symbol + " " + epochMillis + " " + bid + " " + ask);
+        }
+
+        @Override
+        public void advanceTo(long epochMillis) {
+        }
+    };
+
+    @Test
+    void replaysTradesAndQuotesInFileOrder() throws IOException {
+        Path file = write("""
+                timestamp,symbol,type,a,b
+                # pre-open
+                1700000000000,aapl,T,189.5,100
+
+                1700000000250,AAPL,Q,189.49,189.51
+                1700000001000,brk.b,T,350.25,7
+                """);
+
+        new FileReplayTickSource(file).run(recorder);
+
+        assertEquals(List.of(
+                "T AAPL 1700000000000 189.5 100",
+                "Q AAPL 1700000000250 189.49 189.51",
+                "T BRKB 1700000001000 350.25 7"), ticks);
+    }
+
+    @Test
+    void malformedLinesAreReportedWithTheirLineNumber() throws IOException {
+        Path file = write("""
+                1700000000000,AAPL,T,189.5,100
+                1700000000001,AAPL,X,189.5,100
+                """);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new FileReplayTickSource(file).run(recorder));
+
+        assertTrue(error.getMessage().contains("ticks.csv:2"), error.getMessage());
+        assertEquals(1, ticks.size());
+    }
+
+    @Test
+    void missingFieldsAreMalformed() throws IOException {
+        Path file = write("1700000000000,AAPL,T,189.5\n");
+
+        assertThrows(IllegalArgumentException.class, () -> new FileReplayTickSource(file).run(recorder));
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve("ticks.csv"), content);
+    }
+}
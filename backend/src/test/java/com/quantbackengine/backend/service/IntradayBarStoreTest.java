@@ -0,0 +1,139 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.repository.IntradayMarketDataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Batched writes of completed intraday bars, against H2.
+ */
+@DataJpaTest
+class IntradayBarStoreTest {
+
+    private static final long OPEN = 1_709_649_000_000L; // 2024-03-05T14:30Z
+    private static final long MINUTE = 60_000L;
+
+    @Autowired
+    private IntradayMarketDataRepository repository;
+
+    private IntradayBarStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IntradayBarStore(repository, 4, 3, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void flushWritesBufferedBarsInBatches() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(store.offer(BarInterval.MINUTE_1, "AAA", OPEN + i * MINUTE, 100, 102, 99, 101 + i, 10 + i));
+        }
+        assertEquals(0, repository.count());
+
+        assertEquals(4, store.flush());
+
+        assertEquals(4, repository.count());
+        BarColumns bars = store.getBarColumns("aaa", BarInterval.MINUTE_1, OPEN, OPEN + 10 * MINUTE);
+        assertEquals(4, bars.size());
+        assertEquals(Duration.ofMinutes(1), bars.barDuration());
+        assertEquals(OPEN + 3 * MINUTE, bars.epochMillis()[3]);
+        assertEquals(104, bars.close()[3]);
+        assertEquals(13, bars.volume()[3]);
+    }
+
+    @Test
+    void intervalsAreStoredSideBySide() {
+        store.offer(BarInterval.MINUTE_1, "AAA", OPEN, 100, 100, 100, 100, 1);
+        store.offer(BarInterval.MINUTE_5, "AAA", OPEN, 100, 100, 100, 100, 5);
+        store.flush();
+
+        assertEquals(1, store.getBarColumns("AAA", BarInterval.MINUTE_5, OPEN, OPEN).size());
+        assertEquals(5, store.getBarColumns("AAA", BarInterval.MINUTE_5, OPEN, OPEN).volume()[0]);
+        assertTrue(store.getBarColumns("AAA", BarInterval.HOUR_1, OPEN, OPEN).isEmpty());
+    }
+
+    @Test
+    void barsAlreadyStoredAreSkipped() {
+        store.offer(BarInterval.MINUTE_1, "AAA", OPEN, 100, 100, 100, 100, 1);
+        store.flush();
+
+        store.offer(BarInterval.MINUTE_1, "AAA", OPEN, 100, 100, 100, 100, 1);
+        store.offer(BarInterval.MINUTE_1, "AAA", OPEN + MINUTE, 100, 100, 100, 100, 1);
+        store.offer(BarInterval.MINUTE_1, "AAA", OPEN + MINUTE, 100, 100, 100, 100, 1);
+
+        assertEquals(1, store.flush());
+        assertEquals(2, repository.count());
+        assertEquals(new IntradayBarStore.Stats(0, 2, 2, 0, 0), store.stats());
+    }
+
+    @Test
+    void aBatchWhoseWriteFailsIsWrittenByTheNextFlush() {
+        IntradayMarketDataRepository flaky = mock(IntradayMarketDataRepository.class, delegatesTo(repository));
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doAnswer(delegatesTo(repository))
+                .when(flaky).saveAll(anyList());
+        IntradayBarStore failing = new IntradayBarStore(flaky, 4, 3, 2, 0);
+        for (int i = 0; i < 4; i++) {
+            failing.offer(BarInterval.MINUTE_1, "AAA", OPEN + i * MINUTE, 100, 100, 100, 100, 1);
+        }
+
+        assertThrows(DataAccessResourceFailureException.class, failing::flush);
+        assertEquals(0, repository.count());
+
+        assertEquals(4, failing.flush());
+        assertEquals(4, repository.count());
+        assertEquals(0, failing.stats().dropped());
+        failing.close();
+    }
+
+    @Test
+    void aBatchThatKeepsFailingIsDroppedSoLaterBatchesAreWritten() {
+        IntradayMarketDataRepository flaky = mock(IntradayMarketDataRepository.class, delegatesTo(repository));
+        doThrow(new DataAccessResourceFailureException("value too long"))
+                .doThrow(new DataAccessResourceFailureException("value too long"))
+                .doAnswer(delegatesTo(repository))
+                .when(flaky).saveAll(anyList());
+        IntradayBarStore failing = new IntradayBarStore(flaky, 4, 3, 2, 0);
+        for (int i = 0; i < 4; i++) {
+            failing.offer(BarInterval.MINUTE_1, "AAA", OPEN + i * MINUTE, 100, 100, 100, 100, 1);
+        }
+
+        assertThrows(DataAccessResourceFailureException.class, failing::flush);
+        assertEquals(1, failing.flush());
+
+        assertEquals(1, repository.count());
+        assertEquals(3, failing.stats().failed());
+        assertEquals(0, failing.stats().pending());
+        failing.close();
+    }
+
+    @Test
+    void aFullBufferDropsNewBars() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(store.offer(BarInterval.MINUTE_1, "AAA", OPEN + i * MINUTE, 100, 100, 100, 100, 1));
+        }
+
+        assertFalse(store.offer(BarInterval.MINUTE_1, "AAA", OPEN + 4 * MINUTE, 100, 100, 100, 100, 1));
+        assertEquals(1, store.stats().dropped());
+        assertEquals(4, store.stats().pending());
+    }
+}
@@ -0,0 +1,162 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.BollingerBandsStrategy;
+import com.quantbackengine.backend.strategy.MacdStrategy;
+import com.quantbackengine.backend.strategy.RsiStrategy;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 10,000 live subscriptions: every built-in strategy, with default
+ * parameters, on each of 2,500 symbols warmed up on a year of history.
+ */
+@Tag("benchmark")
+class LiveSignalEngineBenchmarkTest {
+
+    private static final int SYMBOLS = 2_500;
+    private static final int HISTORY_BARS = 250;
+    private static final long MINUTE = 60_000L;
+    private static final List<String> STRATEGIES =
+            List.of(SmaStrategy.ID, RsiStrategy.ID, MacdStrategy.ID, BollingerBandsStrategy.ID);
+
+    /** Update-to-signal latency ceiling at the 99th percentile. */
+    private static final long P99_TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Strategy updates per second floor, far under what one core manages. */
+    private static final double MIN_UPDATES_PER_SEC = 1_000_000;
+
+    private final long[] latencies = new long[4_000_000];
+    private final AtomicInteger signals = new AtomicInteger();
+    private LiveSignalEngine engine;
+    private String[] symbols;
+    private double[] price;
+    private SplittableRandom random;
+    private long clock;
+
+    @BeforeEach
+    void setUp() {
+        StrategyRegistry registry = new StrategyRegistry(List.of(
+                new SmaStrategy(), new RsiStrategy(), new MacdStrategy(), new BollingerBandsStrategy()));
+        engine = new LiveSignalEngine(registry, 0, 1 << 16, SYMBOLS * STRATEGIES.size());
+        engine.addListener(event -> {
+            int index = signals.getAndIncrement();
+            if (index < latencies.length) {
+                latencies[index] = event.latencyNanos();
+            }
+        });
+
+        random = new SplittableRandom(42);
+        symbols = new String[SYMBOLS];
+        price = new double[SYMBOLS];
+        for (int s = 0; s < SYMBOLS; s++) {
+            symbols[s] = "S" + s;
+            price[s] = 100;
+            BarColumns.Builder history = BarColumns.builder(symbols[s], Duration.ofMinutes(1), HISTORY_BARS);
+            for (int i = 0; i < HISTORY_BARS; i++) {
+                price[s] = nextPrice(price[s]);
+                history.add(i * MINUTE, price[s], price[s], price[s], price[s], 1);
+            }
+            BarColumns columns = history.build();
+            for (String strategy : STRATEGIES) {
+                engine.subscribe(symbols[s], strategy, Map.of(), columns);
+            }
+        }
+        clock = HISTORY_BARS * MINUTE;
+        assertEquals(SYMBOLS * STRATEGIES.size(), engine.stats().subscriptions());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    /**
+     * Bars arrive as a feed delivers them, a few dozen at a time, and each
+     * signal's latency runs from its bar being queued to the listener.
+     */
+    @Test
+    void p99UpdateToSignalLatencyIsUnderOneMillisecond() {
+        runRounds(20, 0); // warm up the JIT
+        signals.set(0);
+
+        int rounds = 200;
+        runRounds(rounds, 50);
+
+        int count = Math.min(signals.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        long p50 = sorted[count / 2];
+        long p99 = sorted[(int) (count * 0.99)];
+        System.out.printf("Live engine latency over %d signals (%d subscriptions, %d bars): "
+                        + "p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                count, SYMBOLS * STRATEGIES.size(), rounds * SYMBOLS,
+                p50 / 1e3, p99 / 1e3, sorted[count - 1] / 1e3);
+
+        assertTrue(count > 1_000, "only " + count + " signals");
+        assertTrue(p99 < P99_TARGET_NANOS, "p99 latency " + p99 + " ns");
+    }
+
+    /**
+     * Bars pushed as fast as the shards take them; a full queue is retried.
+     */
+    @Test
+    void throughputAtTenThousandSubscriptions() {
+        runRounds(20, 0);
+
+        int rounds = 400;
+        long started = System.nanoTime();
+        runRounds(rounds, 0);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double updates = (double) rounds * SYMBOLS * STRATEGIES.size();
+
+        System.out.printf("Live engine throughput: %.0f bars/s, %.1f M strategy updates/s (%d full-queue retries)%n",
+                rounds * SYMBOLS / seconds, updates / seconds / 1e6, engine.stats().barsRejected());
+        assertTrue(updates / seconds > MIN_UPDATES_PER_SEC, updates / seconds + " updates/s");
+    }
+
+    /**
+     * One bar per symbol per round; with {@code batch > 0} the producer
+     * pauses after every {@code batch} bars, as a feed between messages.
+     */
+    private void runRounds(int rounds, int batch) {
+        long target = engine.stats().barsProcessed() + (long) rounds * SYMBOLS;
+        for (int round = 0; round < rounds; round++) {
+            for (int s = 0; s < SYMBOLS; s++) {
+                price[s] = nextPrice(price[s]);
+                while (!engine.onBar(symbols[s], clock, price[s])) {
+                    Thread.yield();
+                }
+                if (batch > 0 && s % batch == batch - 1) {
+                    LockSupport.parkNanos(100_000);
+                }
+            }
+            clock += MINUTE;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (engine.stats().barsProcessed() < target) {
+            assertTrue(System.nanoTime() < deadline, "shards did not catch up");
+            Thread.yield();
+        }
+    }
+
+    private double nextPrice(double previous) {
+        return Math.max(1, previous * (1 + random.nextDouble(-0.01, 0.01)));
+    }
+}
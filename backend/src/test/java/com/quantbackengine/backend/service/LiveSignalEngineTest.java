@@ -0,0 +1,238 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.BollingerBandsStrategy;
+import com.quantbackengine.backend.strategy.LiveSignalCalculator;
+import com.quantbackengine.backend.strategy.MacdStrategy;
+import com.quantbackengine.backend.strategy.RsiStrategy;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.ZScorePairsStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveSignalEngineTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final Map<String, Object> SMA_PARAMS = Map.of("shortPeriod", 3, "longPeriod", 8);
+
+    private final StrategyRegistry registry = new StrategyRegistry(List.of(new SmaStrategy(), new RsiStrategy(),
+            new MacdStrategy(), new BollingerBandsStrategy(), new ZScorePairsStrategy()));
+    private final ConcurrentLinkedQueue<LiveSignalEvent> events = new ConcurrentLinkedQueue<>();
+    private final Consumer<LiveSignalEvent> collector = events::add;
+    private LiveSignalEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LiveSignalEngine(registry, 3, 1024, 10);
+        engine.addListener(collector);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    @Test
+    void signalsMatchTheStrategysCalculator() {
+        double[] close = walk(1, 400);
+        LiveSubscription subscription = engine.subscribe("aaa", SmaStrategy.ID, SMA_PARAMS);
+        assertEquals("AAA", subscription.symbol());
+
+        feed("AAA", close, 0);
+        awaitProcessed(close.length);
+
+        assertEquals(expectedSignals(close, 0), describe(events));
+        assertFalse(events.isEmpty());
+    }
+
+    @Test
+    void historyWarmsUpWithoutPublishingAndOlderBarsAreSkipped() {
+        double[] close = walk(2, 300);
+        BarColumns.Builder history = BarColumns.builder("AAA", Duration.ofDays(1), 200);
+        for (int i = 0; i < 200; i++) {
+            history.add(i * DAY, close[i], close[i], close[i], close[i], 1);
+        }
+        engine.subscribe("AAA", SmaStrategy.ID, SMA_PARAMS, history.build());
+
+        feed("AAA", close, 190); // ten bars the history already covered
+        awaitProcessed(110);
+
+        assertEquals(expectedSignals(close, 200), describe(events));
+        assertEquals(10, engine.stats().staleUpdates());
+    }
+
+    @Test
+    void equalSubscriptionsShareOneCalculatorUntilUnsubscribed() {
+        double[] close = walk(3, 400);
+        LiveSubscription first = engine.subscribe("AAA", SmaStrategy.ID, SMA_PARAMS);
+        LiveSubscription second = engine.subscribe("AAA", SmaStrategy.ID, Map.of("longPeriod", 8, "shortPeriod", 3));
+        assertEquals(first, second);
+        assertEquals(1, engine.stats().subscriptions());
+
+        feed("AAA", close, 0);
+        awaitProcessed(close.length);
+        assertEquals(expectedSignals(close, 0), describe(events));
+
+        assertTrue(engine.unsubscribe(first));
+        assertFalse(engine.unsubscribe(first));
+        events.clear();
+        for (int i = 0; i < close.length; i++) {
+            engine.onBar("AAA", (close.length + i) * DAY, close[i]);
+        }
+        awaitProcessed(2L * close.length);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void symbolsOnOtherShardsAreEvaluatedIndependently() {
+        double[] first = walk(4, 300);
+        double[] second = walk(5, 300);
+        engine.subscribe("AAA", SmaStrategy.ID, SMA_PARAMS);
+        engine.subscribe("BBB", SmaStrategy.ID, SMA_PARAMS);
+        engine.subscribe("CCC", RsiStrategy.ID, Map.of());
+        for (int i = 0; i < first.length; i++) {
+            engine.onBar("AAA", i * DAY, first[i]);
+            engine.onBar("BBB", i * DAY, second[i]);
+            engine.onBar("ZZZ", i * DAY, second[i]); // nobody subscribes
+        }
+        awaitProcessed(3L * first.length);
+
+        assertEquals(expectedSignals(first, 0), describe(events.stream()
+                .filter(e -> e.subscription().symbol().equals("AAA")).toList()));
+        assertEquals(expectedSignals(second, 0), describe(events.stream()
+                .filter(e -> e.subscription().symbol().equals("BBB")).toList()));
+        assertEquals(3L * first.length, engine.stats().barsReceived());
+    }
+
+    @Test
+    void concurrentSubscribesAndUnsubscribesLeaveTheShardsMatchingTheSubscriptions() throws InterruptedException {
+        String[] symbols = {"AAA", "BBB", "CCC", "DDD", "EEE", "FFF"};
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    String symbol = symbols[random.nextInt(symbols.length)];
+                    if (random.nextBoolean()) {
+                        engine.subscribe(symbol, SmaStrategy.ID, SMA_PARAMS);
+                    } else {
+                        engine.unsubscribe(new LiveSubscription(symbol, SmaStrategy.ID, SMA_PARAMS));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double[] close = walk(7, 150); // fits one shard's queue even if every symbol hashes to it
+        for (String symbol : symbols) {
+            feed(symbol, close, 0);
+        }
+        awaitProcessed((long) symbols.length * close.length);
+
+        // a shard that saw a remove before its add would signal for an unsubscribed symbol, or twice
+        for (String symbol : symbols) {
+            boolean subscribed = engine.subscriptions().contains(new LiveSubscription(symbol, SmaStrategy.ID, SMA_PARAMS));
+            assertEquals(subscribed ? expectedSignals(close, 0) : List.of(), describe(events.stream()
+                    .filter(e -> e.subscription().symbol().equals(symbol)).toList()), symbol);
+        }
+    }
+
+    @Test
+    void invalidSubscriptionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.subscribe("AAA", "NOPE", Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.subscribe("AAA", ZScorePairsStrategy.ID, Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.subscribe("AAA", SmaStrategy.ID, Map.of("shortPeriod", 50, "longPeriod", 20)));
+
+        for (int i = 0; i < 10; i++) {
+            engine.subscribe("S" + i, RsiStrategy.ID, Map.of());
+        }
+        assertThrows(IllegalArgumentException.class, () -> engine.subscribe("S10", RsiStrategy.ID, Map.of()));
+        assertEquals(10, engine.subscriptions().size());
+    }
+
+    @Test
+    void aFailingListenerDoesNotStopTheShardOrLaterListeners() {
+        engine.removeListener(collector);
+        engine.addListener(event -> {
+            throw new IllegalStateException("boom");
+        });
+        engine.addListener(collector);
+        double[] close = walk(6, 400);
+        engine.subscribe("AAA", SmaStrategy.ID, SMA_PARAMS);
+        feed("AAA", close, 0);
+        awaitProcessed(close.length);
+
+        assertEquals(expectedSignals(close, 0), describe(events));
+    }
+
+    private void feed(String symbol, double[] close, int from) {
+        for (int i = from; i < close.length; i++) {
+            assertTrue(engine.onBar(symbol, i * DAY, close[i]));
+        }
+    }
+
+    private void awaitProcessed(long bars) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (engine.stats().barsProcessed() < bars) {
+            assertTrue(System.nanoTime() < deadline, "shards did not catch up");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Signals of a calculator fed every close, from bar {@code from} on.
+     */
+    private List<String> expectedSignals(double[] close, int from) {
+        LiveSignalCalculator calculator = new SmaStrategy().liveSignalCalculator(SMA_PARAMS).orElseThrow();
+        List<String> signals = new ArrayList<>();
+        for (int i = 0; i < close.length; i++) {
+            calculator.update(close[i]);
+            if (i < from) {
+                continue;
+            }
+            if (calculator.isEntrySignal()) {
+                signals.add("ENTRY@" + i);
+            }
+            if (calculator.isExitSignal()) {
+                signals.add("EXIT@" + i);
+            }
+        }
+        return signals;
+    }
+
+    private static List<String> describe(Iterable<LiveSignalEvent> events) {
+        List<String> signals = new ArrayList<>();
+        for (LiveSignalEvent event : events) {
+            signals.add(event.type() + "@" + event.epochMillis() / DAY);
+        }
+        return signals;
+    }
+
+    private static double[] walk(long seed, int bars) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] close = new double[bars];
+        double price = 100;
+        for (int i = 0; i < bars; i++) {
+            price = Math.max(1, price + random.nextDouble(-2, 2));
+            close[i] = price;
+        }
+        return close;
+    }
+}
@@ -0,0 +1,187 @@
+package com.quantbackengine.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.engine.BarListener;
+import com.quantbackengine.backend.service.paper.PaperTradingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 2,000 stream subscribers on every symbol, a tenth of them never reading,
+ * fed a minute of 500 symbols' bars and a burst of signals.
+ */
+@Tag("benchmark")
+class LiveStreamBenchmarkTest {
+
+    private static final int SUBSCRIBERS = 2_000;
+    private static final int STALLED = SUBSCRIBERS / 10;
+    private static final int SYMBOLS = 500;
+    private static final int SIGNALS = 2_000;
+    private static final int BUFFER = 64;
+    private static final int MAX_KEYS = 1_024;
+    private static final long T = 1_709_649_000_000L;
+
+    /** Mean publisher CPU per subscriber offer, stalled clients included. */
+    private static final long MAX_CPU_NANOS_PER_OFFER = 1_000;
+
+    /** Heap held per subscriber while idle, writer thread included. */
+    private static final long MAX_BYTES_PER_SUBSCRIBER = 32 * 1024;
+
+    private final CountDownLatch stall = new CountDownLatch(1);
+    private LiveStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        stall.countDown();
+        service.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stalledClientsNeitherSlowThePublisherNorGrowTheirBuffers() throws InterruptedException {
+        LiveSignalEngine engine = mock(LiveSignalEngine.class);
+        TickAggregationService aggregation = mock(TickAggregationService.class);
+        service = new LiveStreamService(engine, aggregation, mock(PaperTradingService.class), new ObjectMapper(),
+                SUBSCRIBERS, BUFFER, MAX_KEYS, 50, 60_000, "1m");
+        ArgumentCaptor<Consumer<LiveSignalEvent>> signals = ArgumentCaptor.forClass(Consumer.class);
+        verify(engine).addListener(signals.capture());
+        ArgumentCaptor<BarListener> bars = ArgumentCaptor.forClass(BarListener.class);
+        verify(aggregation).addBarListener(bars.capture());
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeap(memory);
+        LongAdder received = new LongAdder();
+        List<LiveStreamService.Subscription> subscriptions = new ArrayList<>();
+        LiveStreamFilter filter = LiveStreamFilter.parse(null, null, null, null, BarInterval.MINUTE_1);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            LiveStreamService.EventSink sink = i < STALLED ? new StalledSink() : new CountingSink(received);
+            subscriptions.add(service.subscribe(filter, sink).orElseThrow());
+        }
+        Thread.sleep(500);
+        long perSubscriber = (usedHeap(memory) - heapBefore) / SUBSCRIBERS;
+        assertEquals(SUBSCRIBERS, service.stats().subscribers());
+
+        String[] symbols = new String[SYMBOLS];
+        for (int s = 0; s < SYMBOLS; s++) {
+            symbols[s] = "S" + s;
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = System.nanoTime();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        for (int second = 0; second < 60; second++) {
+            for (int s = 0; s < SYMBOLS; s++) {
+                bars.getValue().onBar(BarInterval.SECOND_1, symbols[s], T + second * 1_000L, 1, 1, 1, 1, 1);
+            }
+        }
+        for (int s = 0; s < SYMBOLS; s++) {
+            bars.getValue().onBar(BarInterval.MINUTE_1, symbols[s], T, 1, 2, 0.5, 1.5, 100);
+        }
+        for (int i = 0; i < SIGNALS; i++) {
+            signals.getValue().accept(new LiveSignalEvent(LiveSignalEvent.Type.ENTRY,
+                    new LiveSubscription(symbols[i % SYMBOLS], "sma", Map.of()), T, i, 0));
+        }
+        long offers = (long) SUBSCRIBERS * (SYMBOLS + SIGNALS);
+        long cpuNanosPerOffer = (threads.getCurrentThreadCpuTime() - cpuStart) / offers;
+        long elapsed = System.nanoTime() - start;
+
+        LiveStreamService.Stats stats = service.stats();
+        System.out.printf("Live stream: %d subscribers, published in %d ms (%d ns publisher CPU per offer), "
+                        + "~%d bytes per subscriber, %d pending, %d dropped%n", SUBSCRIBERS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), cpuNanosPerOffer, perSubscriber, stats.pending(),
+                stats.dropped());
+
+        assertTrue(cpuNanosPerOffer < MAX_CPU_NANOS_PER_OFFER, "publisher took " + cpuNanosPerOffer + " ns per offer");
+        assertTrue(perSubscriber < MAX_BYTES_PER_SUBSCRIBER, perSubscriber + " bytes per subscriber");
+        assertTrue(stats.pending() <= (long) SUBSCRIBERS * (BUFFER + SYMBOLS),
+                "buffers grew past their bounds: " + stats.pending());
+        // every stalled client kept its 500 bars (one key each) and only the last BUFFER signals
+        long stalledDrops = (long) STALLED * (SIGNALS - BUFFER);
+        assertTrue(stats.dropped() >= stalledDrops, "dropped " + stats.dropped());
+
+        // reading clients get every bar and every signal they did not lose to their own backlog
+        long expected = (long) (SUBSCRIBERS - STALLED) * (SYMBOLS + SIGNALS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (received.sum() + service.stats().dropped() - stalledDrops < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, received.sum() + service.stats().dropped() - stalledDrops);
+        subscriptions.forEach(LiveStreamService.Subscription::close);
+        assertEquals(0, service.stats().subscribers());
+    }
+
+    private static long usedHeap(MemoryMXBean memory) throws InterruptedException {
+        System.gc();
+        Thread.sleep(100);
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class CountingSink implements LiveStreamService.EventSink {
+
+        private final LongAdder received;
+
+        CountingSink(LongAdder received) {
+            this.received = received;
+        }
+
+        @Override
+        public void send(String event, String data) {
+            if (!event.equals("dropped")) {
+                received.increment();
+            }
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final class StalledSink implements LiveStreamService.EventSink {
+
+        @Override
+        public void send(String event, String data) throws InterruptedIOException {
+            await();
+        }
+
+        @Override
+        public void heartbeat() throws InterruptedIOException {
+            await();
+        }
+
+        private void await() throws InterruptedIOException {
+            try {
+                stall.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.quantbackengine.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantbackengine.backend.dto.PaperAccountDto;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.engine.BarListener;
+import com.quantbackengine.backend.service.paper.PaperTradingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LiveStreamServiceTest {
+
+    private static final long T = 1_709_649_000_000L;
+
+    private final LiveSignalEngine engine = mock(LiveSignalEngine.class);
+    private final TickAggregationService aggregation = mock(TickAggregationService.class);
+    private final PaperTradingService paper = mock(PaperTradingService.class);
+    private LiveStreamService service;
+    private Consumer<LiveSignalEvent> signals;
+    private BarListener bars;
+    private Consumer<String> accounts;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void start(int maxSubscribers, int buffer, int maxKeys) {
+        service = new LiveStreamService(engine, aggregation, paper, new ObjectMapper(), maxSubscribers, buffer, maxKeys,
+                0, 60_000, "1m");
+        ArgumentCaptor<Consumer<LiveSignalEvent>> signalCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(engine).addListener(signalCaptor.capture());
+        signals = signalCaptor.getValue();
+        ArgumentCaptor<BarListener> barCaptor = ArgumentCaptor.forClass(BarListener.class);
+        verify(aggregation).addBarListener(barCaptor.capture());
+        bars = barCaptor.getValue();
+        ArgumentCaptor<Consumer<String>> accountCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(paper).addAccountListener(accountCaptor.capture());
+        accounts = accountCaptor.getValue();
+    }
+
+    private LiveStreamService.Subscription subscribe(Sink sink, List<String> types, List<String> symbols,
+                                                     List<String> intervals, List<String> accountIds) {
+        return service.subscribe(LiveStreamFilter.parse(types, symbols, intervals, accountIds, BarInterval.MINUTE_1),
+                sink).orElseThrow();
+    }
+
+    private void signal(String symbol, double close) {
+        signals.accept(new LiveSignalEvent(LiveSignalEvent.Type.ENTRY, new LiveSubscription(symbol, "sma", Map.of()),
+                T, close, 1_000));
+    }
+
+    private static PaperAccountDto account(String id, double equity) {
+        return PaperAccountDto.builder().id(id).equity(equity).positions(List.of()).build();
+    }
+
+    @Test
+    void signalsReachSubscribersOfTheirSymbolAndOfEverySymbol() throws InterruptedException {
+        start(10, 16, 16);
+        Sink aaa = new Sink();
+        Sink bbb = new Sink();
+        Sink all = new Sink();
+        subscribe(aaa, List.of("signal"), List.of("aaa"), null, null);
+        subscribe(bbb, List.of("signal"), List.of("BBB"), null, null);
+        subscribe(all, List.of("signal"), null, null, null);
+
+        signal("AAA", 101);
+        signal("BBB", 202);
+
+        assertTrue(aaa.next().startsWith("signal {\"type\":\"ENTRY\",\"subscription\":{\"symbol\":\"AAA\""));
+        assertTrue(bbb.next().contains("\"close\":202.0"), "BBB subscriber never saw the AAA signal");
+        assertTrue(all.next().contains("\"close\":101.0"));
+        assertTrue(all.next().contains("\"close\":202.0"));
+    }
+
+    @Test
+    void aSlowClientGetsOnlyTheLatestBarOfItsIntervals() throws InterruptedException {
+        start(10, 16, 16);
+        Sink slow = new Sink(new CountDownLatch(1));
+        subscribe(slow, List.of("bar"), List.of("AAA"), List.of("1m"), null);
+
+        bars.onBar(BarInterval.SECOND_1, "AAA", T, 1, 1, 1, 1, 1);
+        bars.onBar(BarInterval.MINUTE_1, "BBB", T, 1, 1, 1, 1, 1);
+        for (int i = 0; i < 50; i++) {
+            bars.onBar(BarInterval.MINUTE_1, "AAA", T + i * 60_000L, i, i, i, i, 10);
+        }
+        slow.gate.countDown();
+
+        assertEquals("bar {\"interval\":\"1m\",\"symbol\":\"AAA\",\"startMillis\":" + (T + 49 * 60_000L)
+                + ",\"open\":49.0,\"high\":49.0,\"low\":49.0,\"close\":49.0,\"volume\":10}", slow.next());
+        assertEquals(49, service.stats().coalesced());
+
+        bars.onBar(BarInterval.MINUTE_1, "AAA", T + 50 * 60_000L, 50, 50, 50, 50, 10);
+        assertTrue(slow.next().contains("\"close\":50.0"));
+        assertEquals(0, service.stats().dropped());
+    }
+
+    @Test
+    void aFullSignalBufferDropsTheOldestAndTellsTheClient() throws InterruptedException {
+        start(10, 4, 16);
+        Sink slow = new Sink(new CountDownLatch(1));
+        subscribe(slow, List.of("signal"), null, null, null);
+
+        for (int i = 0; i < 10; i++) {
+            signal("AAA", i);
+        }
+        slow.gate.countDown();
+
+        assertEquals("dropped {\"count\":6}", slow.next());
+        for (int i = 6; i < 10; i++) {
+            assertTrue(slow.next().contains("\"close\":" + i + ".0"));
+        }
+        assertEquals(6, service.stats().dropped());
+    }
+
+    @Test
+    void pnlIsRenderedFromThePublishedAccountWhenWritten() throws InterruptedException {
+        start(10, 16, 16);
+        when(paper.publishedAccount("acct-1"))
+                .thenReturn(Optional.of(account("acct-1", 1_000)))
+                .thenReturn(Optional.of(account("acct-1", 1_050)));
+        Sink sink = new Sink();
+        subscribe(sink, List.of("pnl"), null, null, List.of("gone", "acct-1"));
+
+        String first = sink.next();
+        assertTrue(first.startsWith("pnl {\"id\":\"acct-1\""), first);
+        assertTrue(first.contains("\"equity\":1000.0"));
+
+        accounts.accept("someone-else");
+        accounts.accept("acct-1");
+        assertTrue(sink.next().contains("\"equity\":1050.0"));
+        verify(paper, never()).publishedAccount("someone-else");
+        verify(paper, never()).getAccount(anyString());
+    }
+
+    @Test
+    void atCapacityNewSubscribersAreTurnedAwayUntilOneLeaves() {
+        start(2, 16, 16);
+        LiveStreamService.Subscription first = subscribe(new Sink(), null, null, null, null);
+        subscribe(new Sink(), null, null, null, null);
+
+        LiveStreamFilter filter = LiveStreamFilter.parse(null, null, null, null, BarInterval.MINUTE_1);
+        assertEquals(Optional.empty(), service.subscribe(filter, new Sink()));
+
+        first.close();
+        assertTrue(service.subscribe(filter, new Sink()).isPresent());
+        assertEquals(2, service.stats().subscribers());
+    }
+
+    @Test
+    void aClientThatGoesAwayIsUnsubscribed() throws InterruptedException {
+        start(10, 16, 16);
+        Sink gone = new Sink() {
+            @Override
+            public void send(String event, String data) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        subscribe(gone, List.of("signal"), List.of("AAA"), null, null);
+
+        signal("AAA", 1);
+
+        assertTrue(gone.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, service.stats().subscribers());
+        signal("AAA", 2);
+    }
+
+    @Test
+    void filtersRejectUnknownTypesAndIntervals() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LiveStreamFilter.parse(List.of("quotes"), null, null, null, BarInterval.MINUTE_1));
+        assertThrows(IllegalArgumentException.class,
+                () -> LiveStreamFilter.parse(null, null, List.of("2m"), null, BarInterval.MINUTE_1));
+        assertThrows(IllegalArgumentException.class,
+                () -> LiveStreamFilter.parse(null, null, null, List.of("not an id"), BarInterval.MINUTE_1));
+    }
+
+    /**
+     * Records events as {@code "event data"}; with a gate, every write waits
+     * for it, like a client that is not reading.
+     */
+    static class Sink implements LiveStreamService.EventSink {
+
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        final CountDownLatch gate;
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        Sink() {
+            this(new CountDownLatch(0));
+        }
+
+        Sink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(String event, String data) throws IOException {
+            await();
+            events.add(event + " " + data);
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            await();
+        }
+
+        private void await() throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "no event within 5s");
+            return event;
+        }
+    }
+}
@@ -47,7 +47,7 @@ class MarketDataServiceBridgeUnavailablePropertyTest {
                 .thenReturn(java.util.List.of());
         when(mockRepository.findDistinctSymbols()).thenReturn(java.util.List.of());
 
-        MarketDataService service = new MarketDataService(mockProvider, mockBridge, mockRepository);
+        MarketDataService service = new MarketDataService(mockProvider, mockBridge, mockRepository, event -> { });
 
         assertThrows(MarketDataUnavailableException.class, () -> service.getBarSeries(symbol, start, end));
 
@@ -1,6 +1,7 @@
 package com.quantbackengine.backend.service;
 
 import com.quantbackengine.backend.dto.OhlcvBar;
+import com.quantbackengine.backend.engine.BarColumns;
 import com.quantbackengine.backend.exception.MarketDataUnavailableException;
 import com.quantbackengine.backend.repository.MarketDataRepository;
 import com.quantbackengine.backend.service.python.PythonBridgeService;
@@ -15,6 +16,7 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,12 +41,13 @@ class MarketDataServiceCacheTest {
     private PythonBridgeService bridge;
     private PythonMarketDataProvider provider;
     private MarketDataService service;
+    private final List<Object> events = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
         bridge = mock(PythonBridgeService.class);
         provider = mock(PythonMarketDataProvider.class);
-        service = new MarketDataService(provider, bridge, repository);
+        service = new MarketDataService(provider, bridge, repository, events::add);
     }
 
     private static List<OhlcvBar> dailyBars(String symbol, LocalDate from, LocalDate to) {
@@ -81,6 +84,23 @@ class MarketDataServiceCacheTest {
         verify(provider, times(1)).fetchHistorical(anyString(), any(), any(), anyString());
     }
 
+    @Test
+    void cacheHitProducesColumnsMatchingBridgeFetch() {
+        when(bridge.isAvailable()).thenReturn(true);
+        when(provider.fetchHistorical(eq("AAPL"), any(), any(), anyString()))
+                .thenReturn(dailyBars("AAPL", START, END));
+
+        BarColumns fetched = service.getBarColumns("AAPL", START, END);
+        BarColumns cached = service.getBarColumns("AAPL", START, END);
+
+        assertEquals(10, cached.size());
+        assertArrayEquals(fetched.epochMillis(), cached.epochMillis());
+        assertArrayEquals(fetched.close(), cached.close());
+        assertArrayEquals(fetched.volume(), cached.volume());
+        assertEquals(START.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli(), cached.epochMillis()[0]);
+        verify(provider, times(1)).fetchHistorical(anyString(), any(), any(), anyString());
+    }
+
     @Test
     void overlappingFetchDoesNotDuplicateRows() {
         when(bridge.isAvailable()).thenReturn(true);
@@ -93,6 +113,22 @@ class MarketDataServiceCacheTest {
         assertEquals(10, repository.count());
     }
 
+    @Test
+    void writesPublishOnlyTheNewlyStoredRange() {
+        when(bridge.isAvailable()).thenReturn(true);
+        when(provider.fetchHistorical(eq("AAPL"), any(), any(), anyString()))
+                .thenReturn(dailyBars("AAPL", START, END))
+                .thenReturn(dailyBars("AAPL", START, END.plusDays(20)));
+
+        service.getBarSeries("AAPL", START, END);
+        service.getBarSeries("AAPL", START, END.plusDays(20));
+        service.getBarSeries("AAPL", START, END.plusDays(20));
+
+        assertEquals(List.of(
+                new MarketDataWrittenEvent("AAPL", START, END),
+                new MarketDataWrittenEvent("AAPL", END.plusDays(1), END.plusDays(20))), events);
+    }
+
     @Test
     void bridgeDownWithCachedRangeServesCache() {
         when(bridge.isAvailable()).thenReturn(true);
@@ -155,4 +191,36 @@ class MarketDataServiceCacheTest {
 
         assertTrue(service.getAvailableSymbols().contains("ZZTOP"));
     }
+
+    @Test
+    void batchLoadServesCachedSymbolsInOneQueryAndFetchesOnlyMisses() {
+        when(bridge.isAvailable()).thenReturn(true);
+        when(provider.fetchHistorical(eq("AAPL"), any(), any(), anyString()))
+                .thenReturn(dailyBars("AAPL", START, END));
+        when(provider.fetchHistorical(eq("MSFT"), any(), any(), anyString()))
+                .thenReturn(dailyBars("MSFT", START, END));
+        service.getBarSeries("AAPL", START, END);
+
+        Map<String, BarColumns> batch = service.getBarColumnsBatch(List.of("msft", "AAPL", "NOPE"), START, END);
+
+        assertEquals(List.of("MSFT", "AAPL"), new ArrayList<>(batch.keySet()));
+        assertEquals(10, batch.get("AAPL").size());
+        assertEquals(10, batch.get("MSFT").size());
+        verify(provider, times(1)).fetchHistorical(eq("AAPL"), any(), any(), anyString());
+        verify(provider, times(1)).fetchHistorical(eq("MSFT"), any(), any(), anyString());
+    }
+
+    @Test
+    void cachedBatchServesPartialRangesWithoutTheBridge() {
+        when(bridge.isAvailable()).thenReturn(true);
+        when(provider.fetchHistorical(eq("AAPL"), any(), any(), anyString()))
+                .thenReturn(dailyBars("AAPL", START, START.plusDays(3)));
+        service.getBarSeries("AAPL", START, START.plusDays(3));
+
+        Map<String, BarColumns> cached = service.getCachedBarColumns(List.of("aapl", "MSFT"), START, END);
+
+        assertEquals(List.of("AAPL"), new ArrayList<>(cached.keySet()));
+        assertEquals(4, cached.get("AAPL").size());
+        verify(provider, times(1)).fetchHistorical(any(), any(), any(), anyString());
+    }
 }
@@ -33,7 +33,7 @@ class MarketDataServicePerformanceTest {
         when(mockRepository.findBySymbolAndTimestampBetweenOrderByTimestampAsc(anyString(), any(), any()))
                 .thenReturn(List.of());
         when(mockRepository.findDistinctSymbols()).thenReturn(List.of());
-        marketDataService = new MarketDataService(mockProvider, mockBridge, mockRepository);
+        marketDataService = new MarketDataService(mockProvider, mockBridge, mockRepository, event -> { });
     }
 
     @Test
@@ -0,0 +1,94 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.TradeDto;
+import com.quantbackengine.backend.dto.MonteCarloRequest;
+import com.quantbackengine.backend.dto.MonteCarloResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloServiceTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private MonteCarloService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MonteCarloService(pool);
+        ReflectionTestUtils.setField(service, "maxSimulations", 20_000);
+        ReflectionTestUtils.setField(service, "defaultInitialCapital", 100_000.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void simulate_trades_usesReturnOnEntryNotional() {
+        List<TradeDto> trades = List.of(
+                trade(100, 10, 100),   // +10%
+                trade(50, 20, -100));  // -10%
+
+        MonteCarloResponse response = service.simulate(MonteCarloRequest.builder()
+                .trades(trades).method("shuffle").simulations(100).seed(1L).build());
+
+        assertEquals("SHUFFLE", response.getMethod());
+        assertEquals(2, response.getSteps());
+        assertEquals(100_000 * 1.1 * 0.9, response.getObservedTerminalWealth(), 1e-6);
+        // Both orders end at the same wealth
+        assertEquals(response.getTerminalWealth().getMin(), response.getTerminalWealth().getMax(), 1e-6);
+        assertEquals(1.0, response.getProbabilityOfLoss());
+    }
+
+    @Test
+    void simulate_tenThousandBootstrapPaths_returnsOrderedPercentiles() {
+        Random random = new Random(3);
+        List<Double> returns = new ArrayList<>();
+        for (int i = 0; i < 2_520; i++) {
+            returns.add(random.nextGaussian() * 0.012 + 0.0004);
+        }
+
+        MonteCarloResponse response = service.simulate(MonteCarloRequest.builder()
+                .returns(returns).seed(11L).build());
+
+        assertEquals(10_000, response.getSimulations());
+        assertEquals(9, response.getTerminalWealth().getPercentiles().size());
+        double previous = -Double.MAX_VALUE;
+        for (var p : response.getTerminalWealth().getPercentiles()) {
+            assertTrue(p.getValue() >= previous);
+            previous = p.getValue();
+        }
+        assertTrue(response.getMaxDrawdown().getMin() >= 0);
+        assertTrue(response.getMaxDrawdown().getMax() <= 1);
+
+        MonteCarloResponse again = service.simulate(MonteCarloRequest.builder().returns(returns).seed(11L).build());
+        again.setElapsedMs(response.getElapsedMs());
+        assertEquals(response, again);
+    }
+
+    @Test
+    void simulate_rejectsAmbiguousOrOversizedInput() {
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(MonteCarloRequest.builder().build()));
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(MonteCarloRequest.builder()
+                .returns(List.of(0.01)).trades(List.of(trade(1, 1, 0))).build()));
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(MonteCarloRequest.builder()
+                .returns(List.of(0.01, -1.5)).build()));
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(MonteCarloRequest.builder()
+                .returns(List.of(0.01, 0.02)).simulations(50_000).build()));
+        assertThrows(IllegalArgumentException.class, () -> service.simulate(MonteCarloRequest.builder()
+                .returns(List.of(0.01, 0.02)).method("jackknife").build()));
+    }
+
+    private static TradeDto trade(double entryPrice, double shares, double pnl) {
+        return TradeDto.builder().entryPrice(entryPrice).shares(shares).pnl(pnl).build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.PairScanRequest;
+import com.quantbackengine.backend.dto.PairScanResponse;
+import com.quantbackengine.backend.dto.PairScanResponse.ScannedPairDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class PairScanServiceTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    private PairScanService pairScanService;
+
+    @BeforeEach
+    void setUp() {
+        pairScanService = new PairScanService(marketDataService, admission, pool);
+        ReflectionTestUtils.setField(pairScanService, "maxSymbols", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void scan_ranksThePlantedPairsFirstFromCachedDataOnly() {
+        Map<String, BarColumns> universe = universe(30, 1_000, 11L);
+        universe.put("SHORT", walk("SHORT", 100, new Random(1)));
+        when(marketDataService.getCachedBarColumns(anyCollection(), any(), any())).thenReturn(universe);
+        List<String> symbols = new ArrayList<>(universe.keySet());
+        symbols.add("GONE");
+
+        PairScanResponse response = pairScanService.scan(request(symbols));
+
+        verify(marketDataService, never()).getBarColumnsBatch(anyCollection(), any(), any());
+        verify(marketDataService, never()).getBarColumns(any(), any(), any());
+        assertEquals(30, response.getSymbols());
+        assertEquals(1_000, response.getBars());
+        assertEquals(30 * 29 / 2, response.getPairsScreened());
+        assertTrue(response.getExcludedSymbols().containsAll(List.of("SHORT", "GONE")));
+
+        List<ScannedPairDto> pairs = response.getPairs();
+        Set<Set<String>> topTwo = Set.of(
+                Set.of(pairs.get(0).getSymbolA(), pairs.get(0).getSymbolB()),
+                Set.of(pairs.get(1).getSymbolA(), pairs.get(1).getSymbolB()));
+        assertEquals(Set.of(Set.of("S0", "S1"), Set.of("S2", "S3")), topTwo);
+        for (ScannedPairDto pair : pairs.subList(0, 2)) {
+            assertTrue(pair.isCointegrated());
+            assertNotNull(pair.getHalfLifeBars());
+            assertTrue(pair.getCorrelation() > 0.9);
+        }
+        for (int p = 1; p < pairs.size(); p++) {
+            assertTrue(pairs.get(p).getAdfStatistic() >= pairs.get(p - 1).getAdfStatistic());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void scan_fullUniverseFinishesWellInsideAMinute() {
+        when(marketDataService.getCachedBarColumns(anyCollection(), any(), any()))
+                .thenReturn(universe(500, 2_520, 5L));
+        PairScanRequest request = request(List.of());
+        when(marketDataService.getAvailableSymbols()).thenReturn(List.of("S0"));
+        request.setCandidates(2_000);
+        request.setMinCorrelation(0.0);
+
+        long started = System.nanoTime();
+        PairScanResponse response = pairScanService.scan(request);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.println("Pair scan of 500 symbols x 2520 bars: " + elapsedMs + " ms");
+        assertEquals(124_750, response.getPairsScreened());
+        assertEquals(2_000, response.getCandidatesTested());
+        assertTrue(elapsedMs < 60_000, "scan took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void scan_tooManySymbols_throwsBeforeLoading() {
+        ReflectionTestUtils.setField(pairScanService, "maxSymbols", 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> pairScanService.scan(request(List.of("A", "B", "C"))));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void scan_universeOverTheMemoryBudget_isRejectedBeforeLoading() {
+        PairScanRequest request = request(List.of("A", "B", "C"));
+        int perSymbol = BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate());
+        BacktestAdmission small = new BacktestAdmission(
+                BacktestAdmission.estimate(null, 2 * perSymbol, 0, false).bytes(), Long.MAX_VALUE, 0, 0);
+        PairScanService service = new PairScanService(marketDataService, small, pool);
+        ReflectionTestUtils.setField(service, "maxSymbols", 1000);
+
+        assertThrows(IllegalArgumentException.class, () -> service.scan(request));
+        verifyNoInteractions(marketDataService);
+        assertEquals(0, small.stats().getRunning());
+    }
+
+    @Test
+    void scan_withoutEnoughCommonBars_throws() {
+        Map<String, BarColumns> universe = new LinkedHashMap<>();
+        universe.put("A", walk("A", 20, new Random(1)));
+        universe.put("B", walk("B", 20, new Random(2)));
+        when(marketDataService.getCachedBarColumns(anyCollection(), any(), any())).thenReturn(universe);
+
+        assertThrows(IllegalStateException.class, () -> pairScanService.scan(request(List.of("A", "B"))));
+    }
+
+    private static PairScanRequest request(List<String> symbols) {
+        return PairScanRequest.builder()
+                .symbols(symbols)
+                .startDate(LocalDate.of(2015, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .build();
+    }
+
+    /**
+     * Log-price walks sharing a market factor; S1 and S3 are cointegrated
+     * with S0 and S2 through a mean-reverting spread.
+     */
+    private static Map<String, BarColumns> universe(int symbols, int bars, long seed) {
+        Random random = new Random(seed);
+        double[] market = new double[bars];
+        for (int t = 1; t < bars; t++) {
+            market[t] = market[t - 1] + random.nextGaussian() * 0.008;
+        }
+        double[][] log = new double[symbols][bars];
+        for (int s = 0; s < symbols; s++) {
+            double loading = 0.5 + random.nextDouble();
+            double own = 0;
+            double spread = 0;
+            for (int t = 0; t < bars; t++) {
+                if (s < 4 && s % 2 == 1) {
+                    spread = 0.9 * spread + random.nextGaussian() * 0.003;
+                    log[s][t] = 0.1 + 1.1 * log[s - 1][t] + spread;
+                } else {
+                    own += random.nextGaussian() * 0.01;
+                    log[s][t] = 4 + loading * market[t] + own;
+                }
+            }
+        }
+        Map<String, BarColumns> universe = new LinkedHashMap<>();
+        for (int s = 0; s < symbols; s++) {
+            BarColumns.Builder builder = BarColumns.builder("S" + s, Duration.ofDays(1), bars);
+            for (int t = 0; t < bars; t++) {
+                double close = Math.exp(log[s][t]);
+                builder.add(t * DAY, close, close, close, close, 1_000);
+            }
+            universe.put("S" + s, builder.build());
+        }
+        return universe;
+    }
+
+    private static BarColumns walk(String symbol, int bars, Random random) {
+        BarColumns.Builder builder = BarColumns.builder(symbol, Duration.ofDays(1), bars);
+        double price = 50;
+        for (int t = 0; t < bars; t++) {
+            price *= 1 + random.nextGaussian() * 0.01;
+            builder.add(t * DAY, price, price, price, price, 1_000);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.dto.PairsBacktestRequest;
+import com.quantbackengine.backend.dto.PairsBacktestResponse;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.ZScorePairsStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class PairsBacktestServiceTest {
+
+    private static final double CAPITAL = 100_000.0;
+    private static final long DAY = 86_400_000L;
+    private static final int DAYS = 1_000;
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final StrategyRegistry strategyRegistry =
+            new StrategyRegistry(List.of(new SmaStrategy(), new ZScorePairsStrategy()));
+
+    private BacktestService backtestService;
+    private PairsBacktestService pairsBacktestService;
+
+    @BeforeEach
+    void setUp() {
+        backtestService = new BacktestService(strategyRegistry, marketDataService, new BacktestResultCache(0),
+                new IndicatorCaches(1 << 20), new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0),
+                new BenchmarkCache(marketDataService, 0));
+        ReflectionTestUtils.setField(backtestService, "defaultInitialCapital", CAPITAL);
+        ReflectionTestUtils.setField(backtestService, "defaultCommissionRate", 0.001);
+        ReflectionTestUtils.setField(backtestService, "riskFreeRate", 0.02);
+
+        pairsBacktestService = new PairsBacktestService(strategyRegistry, marketDataService, backtestService);
+    }
+
+    @Test
+    void run_tradesACointegratedPairOverTheirCommonDays() {
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any())).thenReturn(cointegratedPair());
+
+        PairsBacktestResponse response = pairsBacktestService.run(request("INNER"));
+
+        verify(marketDataService, times(1)).getBarColumnsBatch(anyCollection(), any(), any());
+        // A misses every 9th day, B every 13th; both are skipped
+        int common = 0;
+        for (int day = 0; day < DAYS; day++) {
+            if (day % 9 != 4 && day % 13 != 7) {
+                common++;
+            }
+        }
+        assertEquals(common, response.getBars());
+        assertEquals(common, response.getEquityCurve().size());
+        assertEquals("INNER", response.getJoin());
+
+        assertFalse(response.getTrades().isEmpty(), "fixture should trade");
+        assertEquals(response.getTrades().size(), response.getMetrics().getTotalTrades());
+        assertEquals(2.0, response.getHedgeRatio(), 0.2);
+        for (PairsBacktestResponse.PairTradeDto trade : response.getTrades()) {
+            assertTrue(trade.getExitTime() > trade.getEntryTime());
+            assertEquals(2.0, trade.getHedgeRatio(), 0.5);
+        }
+        assertTrue(response.getMetrics().getTotalReturn() > 0, "the spread mean-reverts by construction");
+    }
+
+    @Test
+    void run_asOfJoinKeepsEveryBarOfTheFirstLeg() {
+        Map<String, BarColumns> pair = cointegratedPair();
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any())).thenReturn(pair);
+
+        PairsBacktestResponse response = pairsBacktestService.run(request("AS_OF"));
+
+        assertEquals(pair.get("AAA").size(), response.getBars());
+    }
+
+    @Test
+    void run_sameSymbolTwice_throwsBeforeLoading() {
+        PairsBacktestRequest request = request(null);
+        request.setSymbolB("aaa");
+
+        assertThrows(IllegalArgumentException.class, () -> pairsBacktestService.run(request));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void run_singleSymbolStrategy_throws() {
+        PairsBacktestRequest request = request(null);
+        request.setStrategy(SmaStrategy.ID);
+
+        assertThrows(IllegalArgumentException.class, () -> pairsBacktestService.run(request));
+    }
+
+    @Test
+    void singleSymbolRun_rejectsPairsStrategy() {
+        BacktestRequest request = BacktestRequest.builder()
+                .symbol("AAA")
+                .strategy(ZScorePairsStrategy.ID)
+                .startDate(LocalDate.of(2019, 1, 1))
+                .endDate(LocalDate.of(2021, 12, 31))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> backtestService.runBacktest(request));
+        verifyNoInteractions(marketDataService);
+    }
+
+    private PairsBacktestRequest request(String join) {
+        return PairsBacktestRequest.builder()
+                .symbolA("AAA")
+                .symbolB("BBB")
+                .strategy(ZScorePairsStrategy.ID)
+                .parameters(Map.of("lookback", 40, "entryZ", 2.0, "exitZ", 0.5))
+                .startDate(LocalDate.of(2019, 1, 1))
+                .endDate(LocalDate.of(2021, 12, 31))
+                .join(join)
+                .build();
+    }
+
+    /**
+     * B is a random walk; A = 10 + 2 B plus a quickly mean-reverting residual.
+     */
+    private static Map<String, BarColumns> cointegratedPair() {
+        Random random = new Random(7);
+        BarColumns.Builder a = BarColumns.builder("AAA", Duration.ofDays(1), DAYS);
+        BarColumns.Builder b = BarColumns.builder("BBB", Duration.ofDays(1), DAYS);
+        double level = 50.0;
+        double residual = 0.0;
+        for (int day = 0; day < DAYS; day++) {
+            level = Math.max(5, level + random.nextGaussian());
+            residual = 0.7 * residual + random.nextGaussian() * 0.5;
+            double closeA = 10 + 2 * level + residual;
+            if (day % 9 != 4) {
+                a.add(day * DAY, closeA, closeA, closeA, closeA, 1_000);
+            }
+            if (day % 13 != 7) {
+                b.add(day * DAY, level, level, level, level, 1_000);
+            }
+        }
+        Map<String, BarColumns> loaded = new LinkedHashMap<>();
+        loaded.put("AAA", a.build());
+        loaded.put("BBB", b.build());
+        return loaded;
+    }
+}
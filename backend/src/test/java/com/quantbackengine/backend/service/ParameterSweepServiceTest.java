@@ -0,0 +1,208 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import com.quantbackengine.backend.dto.SweepRequest;
+import com.quantbackengine.backend.dto.SweepResponse;
+import com.quantbackengine.backend.dto.SweepResponse.SweepResultDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.IndicatorCache;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import com.quantbackengine.backend.strategy.TradingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ParameterSweepServiceTest {
+
+    private static final String SYMBOL = "AAPL";
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final StrategyRegistry strategyRegistry = new StrategyRegistry(List.of(new SmaStrategy()));
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final IndicatorCaches indicatorCaches = new IndicatorCaches(1 << 20);
+    private final BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    private BacktestService backtestService;
+    private ParameterSweepService sweepService;
+
+    @BeforeEach
+    void setUp() {
+        backtestService = new BacktestService(strategyRegistry, marketDataService, new BacktestResultCache(0),
+                indicatorCaches, admission,
+                new BenchmarkCache(marketDataService, 0));
+        ReflectionTestUtils.setField(backtestService, "defaultInitialCapital", 100000.0);
+        ReflectionTestUtils.setField(backtestService, "defaultCommissionRate", 0.001);
+        ReflectionTestUtils.setField(backtestService, "riskFreeRate", 0.02);
+
+        sweepService = new ParameterSweepService(strategyRegistry, marketDataService, backtestService,
+                indicatorCaches, admission, pool);
+        ReflectionTestUtils.setField(sweepService, "maxCombinations", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void sweep_ranksEveryValidCombinationAndSkipsRejectedOnes() {
+        BarColumns columns = randomWalk(1_000);
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(columns);
+
+        SweepResponse response = sweepService.sweep(request(
+                Map.of("shortPeriod", List.of(10, 20, 50), "longPeriod", List.of(50, 100)),
+                Map.of()));
+        assertEquals(1, admission.stats().getAdmitted());
+        assertEquals(0, admission.stats().getRunning());
+
+        // 50/50 violates short < long and is skipped
+        assertEquals(6, response.getCombinations());
+        assertEquals(1, response.getSkipped());
+        assertEquals(5, response.getResults().size());
+        assertEquals("sharpeRatio", response.getRankBy());
+
+        List<SweepResultDto> results = response.getResults();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).getRank());
+            if (i > 0) {
+                assertTrue(results.get(i - 1).getMetrics().getSharpeRatio()
+                        >= results.get(i).getMetrics().getSharpeRatio());
+            }
+        }
+        verify(marketDataService, times(1)).getBarColumns(eq(SYMBOL), any(), any());
+    }
+
+    @Test
+    void sweep_computesEachIndicatorOncePerSeries() {
+        BarColumns columns = randomWalk(1_000);
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(columns);
+
+        sweepService.sweep(request(
+                Map.of("shortPeriod", List.of(10, 20, 50), "longPeriod", List.of(50, 100)),
+                Map.of()));
+
+        // Five valid pairs read two SMAs each, over four distinct periods
+        IndicatorCache.Counters counters = indicatorCaches.cacheFor(columns).counters();
+        assertEquals(4, counters.misses());
+        assertEquals(6, counters.hits());
+    }
+
+    @Test
+    void sweep_metricsMatchASingleEvaluation() {
+        BarColumns columns = randomWalk(600);
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(columns);
+
+        SweepResponse response = sweepService.sweep(request(
+                Map.of("shortPeriod", List.of(10), "longPeriod", List.of(60)), Map.of()));
+
+        MetricsDto expected = backtestService.evaluate(new SmaStrategy(), columns,
+                Map.of("shortPeriod", 10, "longPeriod", 60), null, null);
+        assertEquals(expected, response.getResults().get(0).getMetrics());
+    }
+
+    @Test
+    void sweep_rangesExpandInclusivelyAndTopTruncates() {
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(randomWalk(800));
+
+        SweepRequest request = request(Map.of(), Map.of(
+                "shortPeriod", new SweepRequest.ParameterRange(10.0, 30.0, 10.0),
+                "longPeriod", new SweepRequest.ParameterRange(50.0, 70.0, 10.0)));
+        request.setTop(4);
+        request.setRankBy("maxDrawdownPercent");
+
+        SweepResponse response = sweepService.sweep(request);
+
+        assertEquals(9, response.getCombinations());
+        assertEquals(4, response.getResults().size());
+        List<SweepResultDto> results = response.getResults();
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).getMetrics().getMaxDrawdownPercent()
+                    <= results.get(i).getMetrics().getMaxDrawdownPercent());
+        }
+        assertInstanceOf(Integer.class, results.get(0).getParameters().get("shortPeriod"));
+    }
+
+    @Test
+    void sweep_overLimit_throwsBeforeLoadingData() {
+        SweepRequest request = request(Map.of(), Map.of(
+                "shortPeriod", new SweepRequest.ParameterRange(5.0, 100.0, 1.0),
+                "longPeriod", new SweepRequest.ParameterRange(50.0, 500.0, 1.0)));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> sweepService.sweep(request));
+        assertTrue(ex.getMessage().contains("100 combinations"));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void sweep_unknownParameterOrOutOfBoundsValue_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> sweepService.sweep(request(Map.of("window", List.of(5)), Map.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> sweepService.sweep(request(Map.of("shortPeriod", List.of(1)), Map.of())));
+    }
+
+    @Test
+    void sweep_nonBuiltInStrategy_throws() {
+        strategyRegistry.register(new TradingStrategy() {
+            @Override public String getId() { return "fct:custom"; }
+            @Override public String getName() { return "Custom"; }
+            @Override public String getDescription() { return "Custom"; }
+            @Override public Strategy buildStrategy(BarSeries series, Map<String, Object> params) { return null; }
+            @Override public List<ParameterDefinition> getParameterDefinitions() { return Collections.emptyList(); }
+        });
+        SweepRequest request = request(Map.of(), Map.of());
+        request.setStrategy("fct:custom");
+
+        assertThrows(IllegalArgumentException.class, () -> sweepService.sweep(request));
+    }
+
+    @Test
+    void sweep_noMarketData_throwsIllegalState() {
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(BarColumns.empty(SYMBOL));
+
+        assertThrows(IllegalStateException.class,
+                () -> sweepService.sweep(request(Map.of("shortPeriod", List.of(10)), Map.of())));
+    }
+
+    private SweepRequest request(Map<String, List<Object>> grid, Map<String, SweepRequest.ParameterRange> ranges) {
+        return SweepRequest.builder()
+                .symbol(SYMBOL)
+                .strategy(SmaStrategy.ID)
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .grid(grid)
+                .ranges(ranges)
+                .build();
+    }
+
+    private static BarColumns randomWalk(int bars) {
+        Random random = new Random(42);
+        BarColumns.Builder builder = BarColumns.builder(SYMBOL, Duration.ofDays(1), bars);
+        long start = 1_577_836_800_000L;
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + random.nextGaussian() * 0.02));
+            builder.add(start + i * 86_400_000L, open, Math.max(open, price) + 0.5,
+                    Math.min(open, price) - 0.5, price, 1_000_000L);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.PortfolioBacktestRequest;
+import com.quantbackengine.backend.dto.PortfolioBacktestResponse;
+import com.quantbackengine.backend.dto.PortfolioBacktestResponse.SymbolAttributionDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class PortfolioBacktestServiceTest {
+
+    private static final double CAPITAL = 100_000.0;
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final StrategyRegistry strategyRegistry = new StrategyRegistry(List.of(new SmaStrategy()));
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+    private final BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    private BacktestService backtestService;
+    private PortfolioBacktestService portfolioBacktestService;
+
+    @BeforeEach
+    void setUp() {
+        backtestService = new BacktestService(strategyRegistry, marketDataService, new BacktestResultCache(0),
+                new IndicatorCaches(1 << 20), admission,
+                new BenchmarkCache(marketDataService, 0));
+        ReflectionTestUtils.setField(backtestService, "defaultInitialCapital", CAPITAL);
+        ReflectionTestUtils.setField(backtestService, "defaultCommissionRate", 0.001);
+        ReflectionTestUtils.setField(backtestService, "riskFreeRate", 0.02);
+
+        portfolioBacktestService = portfolioService(admission);
+    }
+
+    private PortfolioBacktestService portfolioService(BacktestAdmission admission) {
+        PortfolioBacktestService service = new PortfolioBacktestService(
+                strategyRegistry, marketDataService, backtestService, admission, pool);
+        ReflectionTestUtils.setField(service, "maxSymbols", 100);
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void run_loadsUniverseOnceAndAttributesEverySymbol() {
+        Map<String, BarColumns> universe = universe(50, 600);
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any())).thenReturn(universe);
+
+        List<String> symbols = new ArrayList<>(universe.keySet());
+        symbols.add("GONE");
+        PortfolioBacktestResponse response = portfolioBacktestService.run(request(symbols));
+
+        verify(marketDataService, times(1)).getBarColumnsBatch(anyCollection(), any(), any());
+        verify(marketDataService, never()).getBarColumns(any(), any(), any());
+
+        assertEquals(List.of("GONE"), response.getMissingSymbols());
+        assertEquals(50, response.getAttribution().size());
+        assertEquals(0, admission.stats().getRunning());
+        assertEquals(0, admission.stats().getMemoryUsedBytes());
+        assertEquals(600, response.getEquityCurve().size());
+        assertEquals("EQUAL_WEIGHT", response.getAllocation());
+
+        // Contributions add up to the portfolio's total return
+        double contribution = 0.0;
+        int trades = 0;
+        for (SymbolAttributionDto symbol : response.getAttribution()) {
+            contribution += symbol.getContribution();
+            trades += symbol.getTotalTrades();
+        }
+        assertTrue(trades > 0, "fixture should trade");
+        assertEquals(trades, response.getMetrics().getTotalTrades());
+        assertEquals(response.getMetrics().getTotalReturn(), contribution, 1e-9);
+    }
+
+    @Test
+    void run_isDeterministicAcrossRepeatedParallelRuns() {
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any())).thenReturn(universe(20, 400));
+        PortfolioBacktestRequest request = request(List.of("S0"));
+        request.setAllocation("cash_split");
+
+        PortfolioBacktestResponse first = portfolioBacktestService.run(request);
+        PortfolioBacktestResponse second = portfolioBacktestService.run(request);
+
+        assertEquals(first.getEquityCurve(), second.getEquityCurve());
+        assertEquals(first.getAttribution(), second.getAttribution());
+    }
+
+    @Test
+    void run_tooManySymbols_throwsBeforeLoading() {
+        List<String> symbols = new ArrayList<>();
+        for (int s = 0; s < 101; s++) {
+            symbols.add("S" + s);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> portfolioBacktestService.run(request(symbols)));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void run_universeOverTheMemoryBudget_isRejectedBeforeLoading() {
+        PortfolioBacktestRequest request = request(new ArrayList<>(universe(50, 1).keySet()));
+        BacktestAdmission small = budgetFor(request, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> portfolioService(small).run(request));
+        verifyNoInteractions(marketDataService);
+    }
+
+    @Test
+    void run_loadedUniverseOverTheMemoryBudget_isRejectedAfterLoading() {
+        when(marketDataService.getBarColumnsBatch(anyCollection(), any(), any())).thenReturn(universe(2, 5_000));
+        PortfolioBacktestRequest request = request(List.of("S0", "S1"));
+        BacktestAdmission small = budgetFor(request, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> portfolioService(small).run(request));
+        assertEquals(0, small.stats().getRunning());
+        assertEquals(0, small.stats().getMemoryUsedBytes());
+    }
+
+    @Test
+    void run_unknownAllocation_throws() {
+        PortfolioBacktestRequest request = request(List.of("S0"));
+        request.setAllocation("RISK_PARITY");
+
+        assertThrows(IllegalArgumentException.class, () -> portfolioBacktestService.run(request));
+    }
+
+    /**
+     * An admission whose memory fits the request's estimate for {@code symbols} symbols and no more.
+     */
+    private static BacktestAdmission budgetFor(PortfolioBacktestRequest request, int symbols) {
+        int perSymbol = BacktestAdmission.estimateBars(request.getStartDate(), request.getEndDate());
+        long bytes = BacktestAdmission.estimate(new SmaStrategy(), symbols * perSymbol, perSymbol, false).bytes();
+        return new BacktestAdmission(bytes, Long.MAX_VALUE, 0, 0);
+    }
+
+    private PortfolioBacktestRequest request(List<String> symbols) {
+        return PortfolioBacktestRequest.builder()
+                .symbols(symbols)
+                .strategy(SmaStrategy.ID)
+                .parameters(Map.of("shortPeriod", 10, "longPeriod", 30))
+                .startDate(LocalDate.of(2019, 1, 1))
+                .endDate(LocalDate.of(2021, 12, 31))
+                .build();
+    }
+
+    private static Map<String, BarColumns> universe(int symbols, int bars) {
+        Map<String, BarColumns> universe = new LinkedHashMap<>();
+        for (int s = 0; s < symbols; s++) {
+            universe.put("S" + s, randomWalk("S" + s, bars, s));
+        }
+        return universe;
+    }
+
+    private static BarColumns randomWalk(String symbol, int bars, long seed) {
+        Random random = new Random(seed);
+        BarColumns.Builder builder = BarColumns.builder(symbol, Duration.ofDays(1), bars);
+        long start = 1_546_300_800_000L;
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + random.nextGaussian() * 0.015));
+            builder.add(start + i * 86_400_000L, open, Math.max(open, price) + 0.5,
+                    Math.min(open, price) - 0.5, price, 1_000_000L);
+        }
+        return builder.build();
+    }
+}
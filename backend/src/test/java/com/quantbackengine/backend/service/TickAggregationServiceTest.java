@@ -0,0 +1,113 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.engine.TickAggregator;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TickAggregationServiceTest {
+
+    private static final long OPEN = ZonedDateTime.of(LocalDate.of(2024, 3, 5).atTime(9, 30),
+            ZoneId.of("America/New_York")).toInstant().toEpochMilli();
+    private static final long MINUTE = 60_000L;
+
+    private LiveSignalEngine engine;
+    private IntradayBarStore store;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LiveSignalEngine(new StrategyRegistry(List.of(new SmaStrategy())), 1, 1024, 10);
+        store = mock(IntradayBarStore.class);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    @Test
+    void completedBarsReachTheEngineTheStoreAndListeners() throws IOException {
+        TickAggregationService service = service("1s,1m,5m", "5m", "1m");
+        List<String> heard = new ArrayList<>();
+        service.addBarListener((interval, symbol, start, open, high, low, close, volume) ->
+                heard.add(interval.label() + " " + symbol));
+
+        TickAggregator.Stats stats = service.run(sink -> {
+            for (int i = 0; i < 10 * 60; i++) {
+                sink.onTrade("AAA", OPEN + i * 1_000L, 100 + i % 3, 1);
+            }
+        });
+
+        assertEquals(600, stats.ticks());
+        assertEquals(600 + 10 + 2, stats.bars());
+        assertEquals(10, engine.stats().barsReceived());
+        verify(store, times(2)).offer(eq(BarInterval.MINUTE_5), eq("AAA"), anyLong(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyLong());
+        verify(store, never()).offer(eq(BarInterval.MINUTE_1), anyString(), anyLong(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyLong());
+        verify(store).flush();
+        assertEquals(612, heard.size());
+        assertEquals(0, service.signalBarsDropped());
+    }
+
+    @Test
+    void aFailingSourceStillFlushesWhatItProduced() {
+        TickAggregationService service = service("1m", "1m", "1m");
+
+        assertThrows(IOException.class, () -> service.run(sink -> {
+            sink.onTrade("AAA", OPEN, 100, 1);
+            throw new IOException("feed lost");
+        }));
+
+        verify(store).offer(eq(BarInterval.MINUTE_1), eq("AAA"), eq(OPEN), anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong());
+        verify(store).flush();
+    }
+
+    @Test
+    void aFailingListenerDoesNotStopTheOthers() throws IOException {
+        TickAggregationService service = service("1m", "", "1m");
+        List<String> heard = new ArrayList<>();
+        service.addBarListener((interval, symbol, start, open, high, low, close, volume) -> {
+            throw new IllegalStateException("boom");
+        });
+        service.addBarListener((interval, symbol, start, open, high, low, close, volume) -> heard.add(symbol));
+
+        service.run(sink -> sink.onTrade("AAA", OPEN, 100, 1));
+
+        assertEquals(List.of("AAA"), heard);
+        verify(store, never()).offer(any(), anyString(), anyLong(), anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong());
+    }
+
+    @Test
+    void signalAndPersistIntervalsMustBeAggregated() {
+        assertThrows(IllegalArgumentException.class, () -> service("1m,5m", "", "1h"));
+        assertThrows(IllegalArgumentException.class, () -> service("1m,5m", "1h", "1m"));
+        assertThrows(IllegalArgumentException.class, () -> service("1m,2m", "", "1m"));
+    }
+
+    private TickAggregationService service(String intervals, String persist, String signal) {
+        return new TickAggregationService(engine, store, List.of(intervals.split(",")),
+                persist.isEmpty() ? List.of() : List.of(persist.split(",")), signal,
+                "America/New_York", "09:30", "16:00", "");
+    }
+}
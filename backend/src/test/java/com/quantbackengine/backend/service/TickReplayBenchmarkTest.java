@@ -0,0 +1,119 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.engine.TickAggregator;
+import com.quantbackengine.backend.repository.IntradayMarketDataRepository;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The opening half hour of a session of trades and quotes for 500 symbols,
+ * at a realistic density, replayed from a file through aggregation, the live
+ * engine and the bar store. A whole day at that density would be a file of
+ * over a gigabyte; the rate it takes to replay one is what is asserted.
+ */
+@Tag("benchmark")
+class TickReplayBenchmarkTest {
+
+    private static final int SYMBOLS = 500;
+    /** Four trades or quotes a second per symbol, 2,000 a second in all. */
+    private static final long TICK_SPACING_MILLIS = 250L;
+    private static final int MINUTES = 30;
+
+    /** Replay speed floor, as a multiple of real time at that density. */
+    private static final double MIN_SPEEDUP = 100;
+    private static final double MIN_TICKS_PER_SEC = MIN_SPEEDUP * SYMBOLS * 1000.0 / TICK_SPACING_MILLIS;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aSessionReplaysFarFasterThanRealTime() throws Exception {
+        ZoneId zone = ZoneId.of("America/New_York");
+        LocalDate day = LocalDate.of(2024, 3, 5);
+        long open = ZonedDateTime.of(day.atTime(9, 30), zone).toInstant().toEpochMilli();
+        long close = open + MINUTES * 60_000L;
+        Path file = dir.resolve("session.csv");
+        long lines = writeSession(file, open, close);
+
+        IntradayMarketDataRepository repository = mock(IntradayMarketDataRepository.class,
+                withSettings().stubOnly());
+        try (LiveSignalEngine engine = new LiveSignalEngine(new StrategyRegistry(List.of(new SmaStrategy())),
+                0, 1 << 16, SYMBOLS);
+             IntradayBarStore store = new IntradayBarStore(repository, 1_000_000, 2_000, 5, 50)) {
+            for (int s = 0; s < SYMBOLS; s++) {
+                engine.subscribe("S" + s, SmaStrategy.ID, Map.of());
+            }
+            TickAggregationService service = new TickAggregationService(engine, store,
+                    List.of("1s", "1m", "5m", "1h"), List.of("1m", "5m", "1h"), "1m",
+                    zone.getId(), "09:30", "16:00", "");
+
+            long started = System.nanoTime();
+            TickAggregator.Stats stats = service.run(new FileReplayTickSource(file));
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            double speedup = (close - open) / 1000.0 / seconds;
+            double ticksPerSecond = stats.ticks() / seconds;
+            System.out.printf("Replayed %,d ticks of %d symbols into %,d bars in %.2f s: %.0fx real time, "
+                            + "%,.0f ticks/s, %d signal bars dropped%n",
+                    stats.ticks(), stats.symbols(), stats.bars(), seconds, speedup, ticksPerSecond,
+                    service.signalBarsDropped());
+
+            assertEquals(lines, stats.ticks());
+            assertEquals(SYMBOLS, stats.symbols());
+            assertEquals(SYMBOLS * (MINUTES + MINUTES / 5 + 1), store.stats().written() + store.stats().dropped());
+            assertEquals(0, store.stats().dropped());
+            assertTrue(ticksPerSecond >= MIN_TICKS_PER_SEC, String.format(
+                    "replay ran at %,.0f ticks/s, %.0fx real time", ticksPerSecond, speedup));
+        }
+    }
+
+    /**
+     * One tick per symbol every {@code TICK_SPACING_MILLIS}, three in four of
+     * them trades, at staggered times across the window.
+     */
+    private static long writeSession(Path file, long open, long close) throws IOException {
+        SplittableRandom random = new SplittableRandom(11);
+        double[] price = new double[SYMBOLS];
+        java.util.Arrays.fill(price, 100);
+        long lines = 0;
+
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("timestamp,symbol,type,a,b\n");
+            for (long t = open; t < close; t += TICK_SPACING_MILLIS) {
+                for (int s = 0; s < SYMBOLS; s++) {
+                    price[s] = Math.max(1, price[s] + random.nextInt(-5, 6) * 0.01);
+                    StringBuilder line = new StringBuilder(48).append(t + s * TICK_SPACING_MILLIS / SYMBOLS).append(",S").append(s);
+                    if (random.nextInt(4) == 0) {
+                        line.append(",Q,").append(Math.round(price[s] * 100 - 1) / 100.0)
+                                .append(',').append(Math.round(price[s] * 100 + 1) / 100.0);
+                    } else {
+                        line.append(",T,").append(Math.round(price[s] * 100) / 100.0)
+                                .append(',').append(random.nextInt(1, 500));
+                    }
+                    out.write(line.append('\n').toString());
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,153 @@
+package com.quantbackengine.backend.service;
+
+import com.quantbackengine.backend.dto.BacktestResponse.EquityPointDto;
+import com.quantbackengine.backend.dto.SweepRequest;
+import com.quantbackengine.backend.dto.WalkForwardRequest;
+import com.quantbackengine.backend.dto.WalkForwardResponse;
+import com.quantbackengine.backend.dto.WalkForwardResponse.WindowDto;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.strategy.SmaStrategy;
+import com.quantbackengine.backend.strategy.StrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WalkForwardServiceTest {
+
+    private static final String SYMBOL = "AAPL";
+    private static final double CAPITAL = 100_000.0;
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final StrategyRegistry strategyRegistry = new StrategyRegistry(List.of(new SmaStrategy()));
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+    private final BacktestAdmission admission = new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    private WalkForwardService walkForwardService;
+
+    @BeforeEach
+    void setUp() {
+        BacktestService backtestService = new BacktestService(strategyRegistry, marketDataService, new BacktestResultCache(0),
+                new IndicatorCaches(1 << 20), admission,
+                new BenchmarkCache(marketDataService, 0));
+        ReflectionTestUtils.setField(backtestService, "defaultInitialCapital", CAPITAL);
+        ReflectionTestUtils.setField(backtestService, "defaultCommissionRate", 0.001);
+        ReflectionTestUtils.setField(backtestService, "riskFreeRate", 0.02);
+
+        walkForwardService = new WalkForwardService(strategyRegistry, marketDataService, backtestService, admission,
+                pool);
+        ReflectionTestUtils.setField(walkForwardService, "maxCombinations", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void planWindows_rollingAndAnchored() {
+        List<WalkForwardService.Window> rolling = WalkForwardService.planWindows(1_000, 400, 150, false);
+        assertEquals(4, rolling.size());
+        assertEquals(new WalkForwardService.Window(0, 0, 400, 400, 550), rolling.get(0));
+        assertEquals(new WalkForwardService.Window(3, 450, 850, 850, 1_000), rolling.get(3));
+
+        List<WalkForwardService.Window> anchored = WalkForwardService.planWindows(1_000, 400, 150, true);
+        assertEquals(4, anchored.size());
+        anchored.forEach(w -> assertEquals(0, w.trainFrom()));
+
+        assertTrue(WalkForwardService.planWindows(400, 400, 100, false).isEmpty());
+    }
+
+    @Test
+    void run_stitchesContiguousOutOfSampleLegsFromOneLoad() {
+        BarColumns columns = randomWalk(1_200);
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(columns);
+
+        WalkForwardResponse response = walkForwardService.run(request(false));
+
+        verify(marketDataService, times(1)).getBarColumns(eq(SYMBOL), any(), any());
+        assertEquals(1, admission.stats().getAdmitted());
+        assertEquals(0, admission.stats().getRunning());
+        assertEquals(6, response.getCombinations());
+        assertEquals(1, response.getSkipped());
+
+        List<WindowDto> windows = response.getWindows();
+        assertEquals(4, windows.size());
+        for (int k = 0; k < windows.size(); k++) {
+            assertEquals(k, windows.get(k).getIndex());
+            assertNotNull(windows.get(k).getParameters());
+        }
+
+        // Out-of-sample curve covers bars [500, 1200) without gaps
+        List<EquityPointDto> curve = response.getOutOfSampleEquity();
+        assertEquals(700, curve.size());
+        assertEquals(columns.epochMillis()[500], curve.get(0).getTimestamp());
+        assertEquals(columns.epochMillis()[1_199], curve.get(699).getTimestamp());
+
+        // Compounding: the stitched end value is the product of the window returns
+        double expected = CAPITAL;
+        for (WindowDto window : windows) {
+            expected *= 1 + window.getOutOfSampleMetrics().getTotalReturn();
+        }
+        assertEquals(expected, curve.get(699).getValue(), 1e-6 * expected);
+        assertEquals(expected / CAPITAL - 1, response.getOutOfSampleMetrics().getTotalReturn(), 1e-9);
+    }
+
+    @Test
+    void run_isDeterministicAcrossRepeatedParallelRuns() {
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(randomWalk(1_200));
+
+        WalkForwardResponse first = walkForwardService.run(request(true));
+        WalkForwardResponse second = walkForwardService.run(request(true));
+
+        assertEquals(first.getWindows(), second.getWindows());
+        assertEquals(first.getOutOfSampleEquity(), second.getOutOfSampleEquity());
+    }
+
+    @Test
+    void run_tooFewBars_throws() {
+        when(marketDataService.getBarColumns(eq(SYMBOL), any(), any())).thenReturn(randomWalk(400));
+
+        assertThrows(IllegalArgumentException.class, () -> walkForwardService.run(request(false)));
+    }
+
+    private WalkForwardRequest request(boolean anchored) {
+        return WalkForwardRequest.builder()
+                .symbol(SYMBOL)
+                .strategy(SmaStrategy.ID)
+                .startDate(LocalDate.of(2019, 1, 1))
+                .endDate(LocalDate.of(2023, 12, 31))
+                .grid(Map.of("shortPeriod", List.of(10, 20, 50), "longPeriod", List.of(50, 100)))
+                .ranges(Map.<String, SweepRequest.ParameterRange>of())
+                .trainBars(500)
+                .testBars(175)
+                .anchored(anchored)
+                .build();
+    }
+
+    private static BarColumns randomWalk(int bars) {
+        Random random = new Random(7);
+        BarColumns.Builder builder = BarColumns.builder(SYMBOL, Duration.ofDays(1), bars);
+        long start = 1_546_300_800_000L;
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + random.nextGaussian() * 0.015));
+            builder.add(start + i * 86_400_000L, open, Math.max(open, price) + 0.5,
+                    Math.min(open, price) - 0.5, price, 1_000_000L);
+        }
+        return builder.build();
+    }
+}
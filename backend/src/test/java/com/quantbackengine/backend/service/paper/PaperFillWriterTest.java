@@ -0,0 +1,118 @@
+package com.quantbackengine.backend.service.paper;
+
+import com.quantbackengine.backend.domain.PaperFill;
+import com.quantbackengine.backend.repository.PaperFillRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Batched, background copies of paper fills, against H2.
+ */
+@DataJpaTest
+class PaperFillWriterTest {
+
+    @Autowired
+    private PaperFillRepository repository;
+
+    private PaperFillWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new PaperFillWriter(repository, 4, 3, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void flushWritesBufferedFillsInBatches() {
+        assertEquals(Long.MAX_VALUE, writer.unpersistedFrom());
+        for (long sequence = 1; sequence <= 4; sequence++) {
+            assertTrue(writer.offer(fill(sequence)));
+        }
+        assertEquals(1, writer.unpersistedFrom());
+        assertEquals(0, repository.count());
+
+        assertEquals(4, writer.flush());
+
+        assertEquals(Long.MAX_VALUE, writer.unpersistedFrom());
+        assertEquals(4, repository.findByAccountIdOrderBySequenceAsc("acct").size());
+    }
+
+    @Test
+    void fillsAlreadyStoredAreSkipped() {
+        writer.offer(fill(1));
+        writer.offer(fill(2));
+        writer.flush();
+
+        writer.offer(fill(1));
+        writer.offer(fill(2));
+        writer.offer(fill(3));
+
+        assertEquals(1, writer.flush());
+        assertEquals(3, repository.count());
+        assertEquals(new PaperFillWriter.Stats(0, 3, 2, 0, 0), writer.stats());
+    }
+
+    @Test
+    void aFullBufferHoldsBackTheJournal() {
+        for (long sequence = 1; sequence <= 4; sequence++) {
+            writer.offer(fill(sequence));
+        }
+        assertFalse(writer.offer(fill(5)));
+
+        writer.flush();
+        assertEquals(5, writer.unpersistedFrom());
+        assertEquals(1, writer.stats().dropped());
+    }
+
+    @Test
+    void aBatchThatKeepsFailingIsLeftToTheJournal() {
+        PaperFillRepository flaky = mock(PaperFillRepository.class, delegatesTo(repository));
+        doThrow(new DataAccessResourceFailureException("value too long"))
+                .doThrow(new DataAccessResourceFailureException("value too long"))
+                .doAnswer(delegatesTo(repository))
+                .when(flaky).saveAll(anyList());
+        PaperFillWriter failing = new PaperFillWriter(flaky, 4, 3, 2, 0);
+        for (long sequence = 1; sequence <= 4; sequence++) {
+            failing.offer(fill(sequence));
+        }
+
+        assertThrows(DataAccessResourceFailureException.class, failing::flush);
+        assertEquals(1, failing.flush());
+
+        assertEquals(1, repository.count());
+        assertEquals(3, failing.stats().failed());
+        assertEquals(1, failing.unpersistedFrom());
+        failing.close();
+    }
+
+    private static PaperFill fill(long sequence) {
+        return PaperFill.builder()
+                .sequence(sequence)
+                .accountId("acct")
+                .orderId(sequence)
+                .symbol("AAA")
+                .side("BUY")
+                .quantity(10L)
+                .price(BigDecimal.valueOf(100.5))
+                .commission(BigDecimal.valueOf(1.005))
+                .executedAt(LocalDateTime.of(2024, 3, 5, 14, 31))
+                .build();
+    }
+}
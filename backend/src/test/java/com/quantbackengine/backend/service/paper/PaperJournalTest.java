@@ -0,0 +1,180 @@
+package com.quantbackengine.backend.service.paper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaperJournalTest {
+
+    private static final int SEGMENT_BYTES = 4 * PaperJournal.MAX_RECORD_BYTES;
+
+    @TempDir
+    Path dir;
+
+    private final List<Long> sequences = new ArrayList<>();
+    private final List<PaperEvent> events = new ArrayList<>();
+
+    @Test
+    void eventsReplayInOrderAcrossSegments() throws IOException {
+        List<PaperEvent> written = new ArrayList<>();
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            for (int i = 0; i < 500; i++) {
+                PaperEvent event = event(i);
+                assertEquals(i + 1, journal.append(1_700_000_000_000L + i, event));
+                written.add(event);
+            }
+            assertTrue(journal.segmentCount() > 5);
+        }
+
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            assertEquals(written, events);
+            assertEquals(500, journal.lastSequence());
+            assertEquals(501, journal.append(0, new PaperEvent.AccountClosed("a")));
+        }
+    }
+
+    @Test
+    void replayStopsInFrontOfATornRecord() throws IOException {
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            for (int i = 0; i < 3; i++) {
+                journal.append(i, event(i));
+            }
+        }
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long third = thirdRecordOffset();
+            file.seek(third + 30);
+            file.write(0x5A); // a byte of the body that never reached the disk
+        }
+
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            assertEquals(List.of(1L, 2L), sequences);
+            assertEquals(3, journal.append(9, new PaperEvent.AccountClosed("replacement")));
+        }
+        sequences.clear();
+        events.clear();
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            assertEquals(List.of(1L, 2L, 3L), sequences);
+            assertEquals(new PaperEvent.AccountClosed("replacement"), events.get(2));
+        }
+    }
+
+    @Test
+    void aSnapshotLetsOlderSegmentsGo() throws IOException {
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            for (int i = 0; i < 100; i++) {
+                journal.append(i, event(i));
+            }
+            long through = journal.roll();
+            journal.writeSnapshot(through, new byte[]{1, 2, 3});
+            assertTrue(journal.compact(through) > 0);
+            assertEquals(1, journal.segmentCount());
+            journal.append(100, event(100));
+        }
+
+        try (PaperJournal journal = open()) {
+            PaperJournal.Snapshot snapshot = journal.latestSnapshot();
+            assertEquals(100, snapshot.sequence());
+            assertArrayEquals(new byte[]{1, 2, 3}, snapshot.state());
+            journal.replay(snapshot.sequence(), this::collect);
+            assertEquals(List.of(101L), sequences);
+        }
+    }
+
+    @Test
+    void compactionKeepsSegmentsStillNeeded() throws IOException {
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            for (int i = 0; i < 100; i++) {
+                journal.append(i, event(i));
+            }
+            int before = journal.segmentCount();
+            assertEquals(0, journal.compact(0));
+            assertEquals(before, journal.segmentCount());
+        }
+    }
+
+    @Test
+    void aMissingSegmentIsReported() throws IOException {
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            for (int i = 0; i < 500; i++) {
+                journal.append(i, event(i));
+            }
+        }
+        Files.delete(segments().get(1));
+
+        try (PaperJournal journal = open()) {
+            assertThrows(IllegalStateException.class, () -> journal.replay(0, this::collect));
+        }
+    }
+
+    @Test
+    void aDamagedSnapshotIsReported() throws IOException {
+        try (PaperJournal journal = open()) {
+            journal.replay(0, this::collect);
+            journal.append(0, event(0));
+            journal.writeSnapshot(journal.roll(), new byte[]{1, 2, 3});
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            Path snapshot = files.filter(f -> f.getFileName().toString().startsWith("snapshot-")).findFirst()
+                    .orElseThrow();
+            byte[] bytes = Files.readAllBytes(snapshot);
+            bytes[bytes.length - 6] ^= 1;
+            Files.write(snapshot, bytes);
+        }
+
+        try (PaperJournal journal = open()) {
+            assertThrows(IllegalStateException.class, journal::latestSnapshot);
+        }
+    }
+
+    private PaperJournal open() throws IOException {
+        return new PaperJournal(dir, SEGMENT_BYTES);
+    }
+
+    private void collect(long sequence, long epochMillis, PaperEvent event) {
+        sequences.add(sequence);
+        events.add(event);
+    }
+
+    private long thirdRecordOffset() throws IOException {
+        byte[] bytes = Files.readAllBytes(segments().get(0));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int first = buffer.getInt(0);
+        int second = buffer.getInt(8 + first);
+        return 8 + first + 8 + second;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+
+    private static PaperEvent event(int i) {
+        return switch (i % 5) {
+            case 0 -> new PaperEvent.AccountOpened("account-" + i, 10_000 + i);
+            case 1 -> new PaperEvent.OrderPlaced(i, "account-" + i, "SYM" + i % 7, PaperEvent.Side.BUY, i, Double.NaN);
+            case 2 -> new PaperEvent.OrderPlaced(i, "account-" + i, "SYM" + i % 7, PaperEvent.Side.SELL, i, 101.25);
+            case 3 -> new PaperEvent.OrderFilled(i, "account-" + i, "SYM" + i % 7, PaperEvent.Side.SELL, i, 99.5, 0.1);
+            default -> new PaperEvent.OrderCancelled(i, "insufficient cash at " + i);
+        };
+    }
+}
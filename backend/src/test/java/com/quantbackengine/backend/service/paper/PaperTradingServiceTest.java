@@ -0,0 +1,356 @@
+package com.quantbackengine.backend.service.paper;
+
+import com.quantbackengine.backend.domain.PaperFill;
+import com.quantbackengine.backend.dto.PaperAccountDto;
+import com.quantbackengine.backend.dto.PaperAccountRequest;
+import com.quantbackengine.backend.dto.PaperOrderDto;
+import com.quantbackengine.backend.dto.PaperOrderRequest;
+import com.quantbackengine.backend.engine.BarInterval;
+import com.quantbackengine.backend.engine.BarListener;
+import com.quantbackengine.backend.service.FileReplayTickSource;
+import com.quantbackengine.backend.service.IntradayBarStore;
+import com.quantbackengine.backend.service.LiveSignalEngine;
+import com.quantbackengine.backend.service.TickAggregationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PaperTradingServiceTest {
+
+    private static final double COMMISSION = 0.001;
+    private static final long T = 1_709_649_000_000L; // 2024-03-05T14:30Z, a 09:30 New York bar
+
+    @TempDir
+    Path dir;
+
+    private PaperFillWriter writer;
+    private TickAggregationService ticks;
+    private long nextTradeBar = T;
+
+    @BeforeEach
+    void setUp() {
+        writer = mock(PaperFillWriter.class);
+        when(writer.unpersistedFrom()).thenReturn(Long.MAX_VALUE);
+        ticks = mock(TickAggregationService.class);
+    }
+
+    @Test
+    void marketOrdersFillAtTheNextBarClose() throws IOException {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("alice", 10_000));
+
+        PaperOrderDto placed = service.placeOrder("alice", order("aapl", "buy", 10, null));
+        assertEquals(PaperOrderDto.Status.OPEN, placed.getStatus());
+        assertEquals("AAPL", placed.getSymbol());
+        assertEquals(1, service.getAccount("alice").getOpenOrders().size());
+
+        service.onBar("AAPL", T, 101, 99, 100);
+        PaperAccountDto account = service.getAccount("alice");
+        assertEquals(10_000 - 1_000 - 1, account.getCash(), 1e-9);
+        assertEquals(10, account.getPositions().get(0).getQuantity());
+        assertEquals(100, account.getPositions().get(0).getAveragePrice());
+        assertTrue(account.getOpenOrders().isEmpty());
+
+        service.onBar("AAPL", T + 60_000, 111, 109, 110);
+        account = service.getAccount("alice");
+        assertEquals(100, account.getUnrealizedPnl(), 1e-9);
+        assertEquals(8_999 + 1_100, account.getEquity(), 1e-9);
+
+        service.placeOrder("alice", order("AAPL", "SELL", 10, null));
+        service.onBar("AAPL", T + 120_000, 116, 114, 115); // under way when the order came in
+        assertEquals(1, service.getAccount("alice").getOpenOrders().size());
+        service.onBar("AAPL", T + 180_000, 121, 119, 120);
+        account = service.getAccount("alice");
+        assertEquals(200, account.getRealizedPnl(), 1e-9);
+        assertEquals(8_999 + 1_200 - 1.2, account.getCash(), 1e-9);
+        assertEquals(2.2, account.getCommissions(), 1e-9);
+        assertTrue(account.getPositions().isEmpty());
+        assertEquals(account.getCash() - 10_000, account.getTotalPnl(), 1e-9);
+    }
+
+    @Test
+    void ordersFillOnlyOnBarsStartingAfterTheyWerePlaced() throws Exception {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("jan", 10_000));
+        service.onBar("AAA", T, 100, 100, 100);
+        service.placeOrder("jan", order("AAA", "BUY", 10, null));
+
+        service.onBar("AAA", T + 60_000, 100, 90, 95); // under way when the order came in
+        assertEquals(1, service.getAccount("jan").getOpenOrders().size());
+
+        service.snapshot();
+        PaperTradingService restarted = service(10_000);
+        restarted.onBar("AAA", T + 60_000, 100, 90, 95);
+        assertEquals(1, restarted.getAccount("jan").getOpenOrders().size());
+        restarted.onBar("AAA", T + 120_000, 101, 99, 100);
+        assertEquals(100, restarted.getAccount("jan").getPositions().get(0).getAveragePrice());
+    }
+
+    @Test
+    void ordersFillOnReplayedTicks() throws IOException {
+        Path file = dir.resolve("ticks.csv");
+        StringBuilder csv = new StringBuilder();
+        for (int minute = 0; minute < 5; minute++) {
+            for (int second = 0; second < 60; second += 20) {
+                csv.append(T + minute * 60_000L + second * 1_000L).append(",AAA,T,").append(100 + minute)
+                        .append(",10\n");
+            }
+        }
+        Files.writeString(file, csv);
+        LiveSignalEngine engine = mock(LiveSignalEngine.class);
+        when(engine.onBar(anyString(), anyLong(), anyDouble())).thenReturn(true);
+        TickAggregationService replay = new TickAggregationService(engine, mock(IntradayBarStore.class),
+                List.of("1m"), List.of(), "1m", "America/New_York", "09:30", "16:00", "");
+        PaperTradingService service = new PaperTradingService(writer, replay, dir.resolve("journal").toString(),
+                64 * 1024, 10_000, 0, COMMISSION, "1m");
+        service.openAccount(account("kim", 10_000));
+        service.placeOrder("kim", order("AAA", "BUY", 10, null));
+        replay.addBarListener((interval, symbol, startMillis, open, high, low, close, volume) -> {
+            if (startMillis == T + 60_000) {
+                service.placeOrder("kim", order("AAA", "SELL", 10, null)); // during the 09:32 bar
+            }
+        });
+
+        replay.run(new FileReplayTickSource(file));
+
+        PaperAccountDto account = service.getAccount("kim");
+        assertTrue(account.getOpenOrders().isEmpty());
+        assertTrue(account.getPositions().isEmpty());
+        assertEquals((103 - 100) * 10, account.getRealizedPnl(), 1e-9); // bought at 09:30, sold at 09:33
+    }
+
+    @Test
+    void limitOrdersWaitForTheirPrice() throws IOException {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("bob", 10_000));
+        service.placeOrder("bob", order("AAA", "BUY", 10, 95.0));
+
+        service.onBar("AAA", T, 100, 96, 98);
+        assertEquals(1, service.getAccount("bob").getOpenOrders().size());
+        service.onBar("AAA", T + 60_000, 99, 94, 97);
+        assertEquals(95, service.getAccount("bob").getPositions().get(0).getAveragePrice());
+
+        service.placeOrder("bob", order("AAA", "SELL", 10, 105.0));
+        service.onBar("AAA", T + 180_000, 104, 100, 102);
+        assertEquals(1, service.getAccount("bob").getOpenOrders().size());
+        service.onBar("AAA", T + 240_000, 106, 101, 103);
+        assertEquals(100, service.getAccount("bob").getRealizedPnl(), 1e-9);
+    }
+
+    @Test
+    void ordersTheAccountCannotCoverAreRefused() throws IOException {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("carol", 1_000));
+
+        assertThrows(IllegalStateException.class, () -> service.placeOrder("carol", order("AAA", "SELL", 1, null)));
+        assertThrows(IllegalStateException.class, () -> service.placeOrder("carol", order("AAA", "BUY", 20, 60.0)));
+
+        service.placeOrder("carol", order("AAA", "BUY", 20, null)); // no price known yet
+        service.onBar("AAA", T, 61, 59, 60);
+
+        PaperAccountDto account = service.getAccount("carol");
+        assertTrue(account.getPositions().isEmpty());
+        assertTrue(account.getOpenOrders().isEmpty());
+        assertEquals(1_000, account.getCash());
+        assertEquals(1, service.stats().rejected());
+
+        assertThrows(IllegalStateException.class, () -> service.placeOrder("carol", order("AAA", "BUY", 20, null)));
+    }
+
+    @Test
+    void openSellsReserveTheShares() throws IOException {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("dave", 10_000));
+        service.placeOrder("dave", order("AAA", "BUY", 10, null));
+        service.onBar("AAA", T, 100, 100, 100);
+
+        service.placeOrder("dave", order("AAA", "SELL", 6, 200.0));
+        assertThrows(IllegalStateException.class, () -> service.placeOrder("dave", order("AAA", "SELL", 5, null)));
+        PaperOrderDto cancelled = service.cancelOrder("dave", service.getAccount("dave").getOpenOrders().get(0).getId());
+        assertEquals(PaperOrderDto.Status.CANCELLED, cancelled.getStatus());
+        service.placeOrder("dave", order("AAA", "SELL", 10, null));
+    }
+
+    @Test
+    void badRequestsAreRejected() throws IOException {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("erin", 1_000));
+
+        assertThrows(IllegalStateException.class, () -> service.openAccount(account("erin", 1_000)));
+        assertThrows(NoSuchElementException.class, () -> service.getAccount("nobody"));
+        assertThrows(NoSuchElementException.class, () -> service.cancelOrder("erin", 42));
+        assertThrows(IllegalArgumentException.class, () -> service.placeOrder("erin", order("AAA", "HOLD", 1, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.placeOrder("erin", order("$$", "BUY", 1, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.placeOrder("erin", order("AAA", "BUY", 1, -1.0)));
+
+        service.closeAccount("erin");
+        assertThrows(NoSuchElementException.class, () -> service.getAccount("erin"));
+        assertNotNull(service.openAccount(PaperAccountRequest.builder().initialCash(5.0).build()).getId());
+    }
+
+    @Test
+    void listenersHearEveryAccountWhoseValueMayHaveChanged() throws IOException {
+        PaperTradingService service = service(10_000);
+        List<String> heard = new ArrayList<>();
+        service.addAccountListener(heard::add);
+        service.openAccount(account("alice", 10_000));
+        service.openAccount(account("bob", 10_000));
+        service.placeOrder("alice", order("AAA", "BUY", 10, null));
+        assertEquals(List.of("alice", "bob", "alice"), heard);
+
+        heard.clear();
+        service.onBar("AAA", T, 101, 99, 100);  // alice's order fills
+        service.onBar("BBB", T, 11, 9, 10);     // nobody holds BBB
+        service.onBar("AAA", T + 60_000, 111, 109, 110);
+        assertEquals(List.of("alice", "alice"), heard);
+    }
+
+    @Test
+    void publishedViewsFollowEveryChange() throws IOException {
+        PaperTradingService service = service(10_000);
+        assertTrue(service.publishedAccount("ivy").isEmpty());
+        service.openAccount(account("ivy", 10_000));
+        service.placeOrder("ivy", order("AAA", "BUY", 10, null));
+        assertEquals(service.getAccount("ivy"), service.publishedAccount("ivy").orElseThrow());
+
+        service.onBar("AAA", T, 101, 99, 100);
+        service.onBar("AAA", T + 60_000, 111, 109, 110);
+        assertEquals(100, service.publishedAccount("ivy").orElseThrow().getUnrealizedPnl(), 1e-9);
+        assertEquals(service.getAccount("ivy"), service.publishedAccount("ivy").orElseThrow());
+
+        PaperTradingService restarted = service(10_000);
+        assertEquals(10, restarted.publishedAccount("ivy").orElseThrow().getPositions().get(0).getQuantity());
+        restarted.closeAccount("ivy");
+        assertTrue(restarted.publishedAccount("ivy").isEmpty());
+    }
+
+    @Test
+    void fillsGoToTheWriter() throws IOException {
+        PaperTradingService service = service(10_000);
+        service.openAccount(account("fay", 10_000));
+        service.placeOrder("fay", order("AAA", "BUY", 3, null));
+        service.onBar("AAA", T, 50, 50, 50);
+
+        ArgumentCaptor<PaperFill> fill = ArgumentCaptor.forClass(PaperFill.class);
+        verify(writer).offer(fill.capture());
+        assertEquals(3, fill.getValue().getSequence());
+        assertEquals("fay", fill.getValue().getAccountId());
+        assertEquals("BUY", fill.getValue().getSide());
+        assertEquals(0, BigDecimal.valueOf(50.0).compareTo(fill.getValue().getPrice()));
+    }
+
+    @Test
+    void ordersFillOnLiveBarsOfTheFillInterval() throws IOException {
+        PaperTradingService service = service(10_000);
+        ArgumentCaptor<BarListener> listener = ArgumentCaptor.forClass(BarListener.class);
+        verify(ticks).addBarListener(listener.capture());
+        service.openAccount(account("gus", 10_000));
+        service.placeOrder("gus", order("AAA", "BUY", 1, null));
+
+        listener.getValue().onBar(BarInterval.MINUTE_5, "AAA", T, 10, 10, 10, 10, 5);
+        assertEquals(1, service.getAccount("gus").getOpenOrders().size());
+        listener.getValue().onBar(BarInterval.MINUTE_1, "AAA", T, 10, 10, 10, 10, 5);
+        assertEquals(1, service.getAccount("gus").getPositions().get(0).getQuantity());
+    }
+
+    @Test
+    void aRestartReplaysTheJournal() throws IOException {
+        PaperTradingService before = service(10_000);
+        trade(before);
+        PaperAccountDto expected = before.getAccount("hal");
+        // no close(): the process dies without a final snapshot
+
+        PaperTradingService after = service(10_000);
+        after.onBar("AAA", T + 180_000, 105, 105, 105); // marks are prices, not state: they come with the next bar
+        assertEquals(expected, after.getAccount("hal"));
+        assertEquals(before.stats().journalSequence(), after.stats().journalSequence());
+        verify(writer, times(2 * 2)).offer(any()); // each fill again on recovery; the writer skips stored ones
+
+        after.placeOrder("hal", order("BBB", "BUY", 1, null));
+        after.onBar("BBB", T, 10, 10, 10);
+        assertEquals(2, after.getAccount("hal").getPositions().size());
+        after.close();
+    }
+
+    @Test
+    void snapshotsKeepTheJournalShort() throws Exception {
+        PaperTradingService before = service(10);
+        for (int i = 0; i < 20; i++) {
+            trade(before, "acct" + i);
+        }
+        before.close();
+        PaperJournal.Snapshot snapshot;
+        try (PaperJournal journal = new PaperJournal(dir, 64 * 1024)) {
+            snapshot = journal.latestSnapshot();
+        }
+        assertEquals(before.stats().journalSequence(), snapshot.sequence());
+        assertEquals(1, before.stats().journalSegments());
+
+        PaperTradingService after = service(10);
+        after.onBar("AAA", T + 180_000, 105, 105, 105);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(before.getAccount("acct" + i), after.getAccount("acct" + i));
+        }
+    }
+
+    @Test
+    void segmentsAreKeptUntilTheirFillsAreStored() throws Exception {
+        when(writer.unpersistedFrom()).thenReturn(1L);
+        PaperTradingService service = service(10, 4 * PaperJournal.MAX_RECORD_BYTES);
+        for (int i = 0; i < 20; i++) {
+            trade(service, "acct" + i);
+        }
+        service.snapshot();
+        assertTrue(service.stats().journalSegments() > 1);
+
+        when(writer.unpersistedFrom()).thenReturn(Long.MAX_VALUE);
+        service.snapshot();
+        assertEquals(1, service.stats().journalSegments());
+    }
+
+    private void trade(PaperTradingService service) {
+        trade(service, "hal");
+    }
+
+    private void trade(PaperTradingService service, String accountId) {
+        service.openAccount(account(accountId, 10_000));
+        service.placeOrder(accountId, order("AAA", "BUY", 10, null));
+        service.onBar("AAA", nextTradeBar, 100, 100, 100);
+        service.placeOrder(accountId, order("AAA", "SELL", 4, null));
+        service.onBar("AAA", nextTradeBar + 120_000, 105, 105, 105);
+        service.placeOrder(accountId, order("AAA", "SELL", 2, 150.0));
+        nextTradeBar += 240_000;
+    }
+
+    private PaperTradingService service(int snapshotEvery) throws IOException {
+        return service(snapshotEvery, 64 * 1024);
+    }
+
+    private PaperTradingService service(int snapshotEvery, int segmentBytes) throws IOException {
+        return new PaperTradingService(writer, ticks, dir.toString(), segmentBytes, snapshotEvery, 0, COMMISSION, "1m");
+    }
+
+    private static PaperAccountRequest account(String id, double cash) {
+        return PaperAccountRequest.builder().accountId(id).initialCash(cash).build();
+    }
+
+    private static PaperOrderRequest order(String symbol, String side, long quantity, Double limit) {
+        return PaperOrderRequest.builder().symbol(symbol).side(side).quantity(quantity).limitPrice(limit).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.quantbackengine.backend.service.python;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quantbackengine.backend.config.PythonBridgeProperties;
+import com.quantbackengine.backend.engine.CancellationToken;
 import com.quantbackengine.backend.exception.PythonBridgeException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * 
  * Tests cover:
  * - Timeout path: process that never finishes → destroyForcibly() called and exception thrown
+ * - Cancellation: a cancelled caller token kills the process before the timeout
  * - isAvailable() caching: second call within 30s does not spawn a new process
  * - isAvailable() returns false when executable not found (no exception propagated)
  * 
@@ -119,6 +123,29 @@ class DefaultPythonBridgeServiceTest {
         );
     }
 
+    /**
+     * A cancelled (here: expired) caller token kills the subprocess at the
+     * next poll instead of waiting out the bridge timeout.
+     */
+    @Test
+    void invoke_callerCancelled_killsProcessBeforeTimeout() throws IOException {
+        Files.writeString(testScriptPath, """
+            import time
+            time.sleep(3600)
+            """);
+        DefaultPythonBridgeService service = createService(30);
+
+        long startTime = System.currentTimeMillis();
+        try (CancellationToken.Scope ignored = CancellationToken.withTimeout(Duration.ofMillis(500)).bind()) {
+            CancellationException exception = assertThrows(CancellationException.class,
+                    () -> service.invoke("test_script.py", Collections.emptyList()));
+            assertTrue(exception.getMessage().contains("deadline"), exception.getMessage());
+        }
+        long elapsedTime = System.currentTimeMillis() - startTime;
+
+        assertTrue(elapsedTime < 10000, "Process should have been killed promptly, but took " + elapsedTime + "ms");
+    }
+
     /**
      * Test timeout with invokeWithStdin variant.
      * 
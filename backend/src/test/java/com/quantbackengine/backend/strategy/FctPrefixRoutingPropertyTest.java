@@ -3,7 +3,11 @@ package com.quantbackengine.backend.strategy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quantbackengine.backend.dto.BacktestRequest;
 import com.quantbackengine.backend.dto.BacktestResponse;
+import com.quantbackengine.backend.service.BacktestAdmission;
+import com.quantbackengine.backend.service.BacktestResultCache;
 import com.quantbackengine.backend.service.BacktestService;
+import com.quantbackengine.backend.service.BenchmarkCache;
+import com.quantbackengine.backend.service.IndicatorCaches;
 import com.quantbackengine.backend.service.MarketDataService;
 import com.quantbackengine.backend.service.python.PythonBridgeService;
 import net.jqwik.api.*;
@@ -57,7 +61,9 @@ class FctPrefixRoutingPropertyTest {
         doReturn(fakeResponse).when(spyAdapter).runPythonBacktest(any());
         when(mockRegistry.getStrategy(strategyId)).thenReturn(Optional.of(spyAdapter));
 
-        BacktestService service = new BacktestService(mockRegistry, mockMarketData);
+        BacktestService service = new BacktestService(mockRegistry, mockMarketData, new BacktestResultCache(0),
+                new IndicatorCaches(1 << 20), new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0),
+                new BenchmarkCache(mockMarketData, 0));
         ReflectionTestUtils.setField(service, "defaultInitialCapital", 100000.0);
         ReflectionTestUtils.setField(service, "defaultCommissionRate", 0.001);
         ReflectionTestUtils.setField(service, "riskFreeRate", 0.02);
@@ -76,7 +82,7 @@ class FctPrefixRoutingPropertyTest {
         // Assert — Python path was taken
         verify(spyAdapter, times(1)).runPythonBacktest(any());
         // TA4J path never invoked (no market data fetched)
-        verify(mockMarketData, never()).getBarSeries(any(), any(), any());
+        verify(mockMarketData, never()).getBarColumns(any(), any(), any());
         assertThat(result).isNotNull();
     }
 
@@ -0,0 +1,75 @@
+package com.quantbackengine.backend.strategy;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * One calculator per built-in strategy, with default parameters, for 1,000
+ * symbols, fed 2,000 bars each on one thread.
+ */
+@Tag("benchmark")
+class LiveSignalCalculatorBenchmarkTest {
+
+    private static final int SYMBOLS = 1_000;
+    private static final int BARS = 2_000;
+
+    /** Updates per second on one core; each is O(1), so millions are in reach. */
+    private static final double MIN_UPDATES_PER_SEC = 1_000_000;
+
+    private static final List<TradingStrategy> STRATEGIES = List.of(
+            new SmaStrategy(), new RsiStrategy(), new MacdStrategy(), new BollingerBandsStrategy());
+
+    @Test
+    void updatesRunInConstantTime() {
+        double[] close = walk(11);
+        run(close); // warm-up, so the JIT has compiled every calculator
+
+        long started = System.nanoTime();
+        int signals = run(close);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double perSecond = (double) BARS * SYMBOLS * STRATEGIES.size() / seconds;
+
+        System.out.printf("Live calculator updates: %.1f M/s (%d entries)%n", perSecond / 1e6, signals);
+        assertTrue(signals > 0);
+        assertTrue(perSecond >= MIN_UPDATES_PER_SEC, "only " + (long) perSecond + " updates/s");
+    }
+
+    /**
+     * @return entry signals, so the updates cannot be optimized away
+     */
+    private static int run(double[] close) {
+        LiveSignalCalculator[] calculators = new LiveSignalCalculator[SYMBOLS * STRATEGIES.size()];
+        for (int i = 0; i < calculators.length; i++) {
+            calculators[i] = STRATEGIES.get(i % STRATEGIES.size()).liveSignalCalculator(Map.of()).orElseThrow();
+        }
+        int signals = 0;
+        for (int bar = 0; bar < BARS; bar++) {
+            double price = close[bar];
+            for (LiveSignalCalculator calculator : calculators) {
+                calculator.update(price);
+                if (calculator.isEntrySignal()) {
+                    signals++;
+                }
+            }
+        }
+        return signals;
+    }
+
+    private static double[] walk(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] close = new double[BARS];
+        double price = 100;
+        for (int i = 0; i < BARS; i++) {
+            double step = random.nextDouble(0.01, 2.5);
+            price = Math.max(1 + random.nextDouble(), random.nextBoolean() ? price + step : price - step);
+            close[i] = price;
+        }
+        return close;
+    }
+}
@@ -0,0 +1,251 @@
+package com.quantbackengine.backend.strategy;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.PrecomputedSignals;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Every {@link LiveSignalCalculator}, fed a series one close at a time, must
+ * reproduce the strategy's ta4j indicators and rules.
+ *
+ * <p>RSI and MACD are recursive and updated with ta4j's own operations, so
+ * they must match bit for bit, on walks full of ties. SMA and Bollinger
+ * windows are running sums, which round differently from ta4j's summation
+ * over the window: their values must agree to within 1e-9 relative, and
+ * their signals must match on walks that never repeat a close, where no
+ * crossover is decided by the last bit. Bollinger signals are compared from
+ * bar {@code period} on: in the partial windows before it the close can lie
+ * exactly on a band, and the live calculator reports no crossing there.
+ */
+class LiveSignalCalculatorParityPropertyTest {
+
+    private static final int BARS = 600;
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    @Property(tries = 60)
+    void smaMatchesTa4j(@ForAll long seed,
+                        @ForAll @IntRange(min = 1, max = 30) int shortPeriod,
+                        @ForAll @IntRange(min = 1, max = 120) int extra) {
+        int longPeriod = shortPeriod + extra;
+        Map<String, Object> params = Map.of("shortPeriod", shortPeriod, "longPeriod", longPeriod);
+        double[] close = smoothWalk(seed);
+        BarSeries series = series(close);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, shortPeriod);
+        SMAIndicator longSma = new SMAIndicator(closePrice, longPeriod);
+
+        SmaLiveCalculator live = (SmaLiveCalculator) calculator(new SmaStrategy(), params);
+        List<boolean[]> signals = new ArrayList<>();
+        for (int i = 0; i < close.length; i++) {
+            live.update(close[i]);
+            assertClose(shortSma.getValue(i), live.getShortSma(), "short SMA at " + i);
+            assertClose(longSma.getValue(i), live.getLongSma(), "long SMA at " + i);
+            assertEquals(i + 1 >= longPeriod, live.isReady());
+            signals.add(new boolean[]{live.isEntrySignal(), live.isExitSignal()});
+        }
+        assertSignals(new SmaStrategy(), series, params, signals);
+    }
+
+    @Property(tries = 60)
+    void rsiMatchesTa4j(@ForAll long seed,
+                        @ForAll @IntRange(min = 1, max = 40) int period,
+                        @ForAll @IntRange(min = 5, max = 45) int oversold,
+                        @ForAll @IntRange(min = 1, max = 50) int gap) {
+        Map<String, Object> params = Map.of("period", period,
+                "oversoldThreshold", oversold, "overboughtThreshold", oversold + gap);
+        double[] close = centWalk(seed);
+        BarSeries series = series(close);
+        RSIIndicator rsi = new RSIIndicator(new ClosePriceIndicator(series), period);
+
+        RsiLiveCalculator live = (RsiLiveCalculator) calculator(new RsiStrategy(), params);
+        List<boolean[]> signals = new ArrayList<>();
+        for (int i = 0; i < close.length; i++) {
+            live.update(close[i]);
+            assertEquals(rsi.getValue(i).doubleValue(), live.getRsi(), "RSI at " + i);
+            signals.add(new boolean[]{live.isEntrySignal(), live.isExitSignal()});
+        }
+        assertSignals(new RsiStrategy(), series, params, signals);
+    }
+
+    @Property(tries = 60)
+    void macdMatchesTa4j(@ForAll long seed,
+                         @ForAll @IntRange(min = 1, max = 20) int shortPeriod,
+                         @ForAll @IntRange(min = 1, max = 40) int extra,
+                         @ForAll @IntRange(min = 1, max = 20) int signalPeriod) {
+        Map<String, Object> params = Map.of("shortPeriod", shortPeriod,
+                "longPeriod", shortPeriod + extra, "signalPeriod", signalPeriod);
+        double[] close = centWalk(seed);
+        BarSeries series = series(close);
+        MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(series), shortPeriod, shortPeriod + extra);
+        EMAIndicator signalLine = new EMAIndicator(macd, signalPeriod);
+
+        MacdLiveCalculator live = (MacdLiveCalculator) calculator(new MacdStrategy(), params);
+        List<boolean[]> signals = new ArrayList<>();
+        for (int i = 0; i < close.length; i++) {
+            live.update(close[i]);
+            assertEquals(macd.getValue(i).doubleValue(), live.getMacd(), "MACD at " + i);
+            assertEquals(signalLine.getValue(i).doubleValue(), live.getSignal(), "signal line at " + i);
+            signals.add(new boolean[]{live.isEntrySignal(), live.isExitSignal()});
+        }
+        assertSignals(new MacdStrategy(), series, params, signals);
+    }
+
+    /**
+     * From three bars up: over one or two closes the bands can pass exactly
+     * through a close (at {@code k = 1} for two), which is a tie again.
+     */
+    @Property(tries = 60)
+    void bollingerMatchesTa4j(@ForAll long seed,
+                              @ForAll @IntRange(min = 3, max = 60) int period,
+                              @ForAll @DoubleRange(min = 0.5, max = 3.0) double k) {
+        Map<String, Object> params = Map.of("period", period, "standardDeviations", k);
+        double[] close = smoothWalk(seed);
+        BarSeries series = series(close);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, period));
+        StandardDeviationIndicator stdDev = new StandardDeviationIndicator(closePrice, period);
+        Indicator<Num> upper = new BollingerBandsUpperIndicator(middle, stdDev, series.numOf(k));
+        Indicator<Num> lower = new BollingerBandsLowerIndicator(middle, stdDev, series.numOf(k));
+
+        BollingerBandsLiveCalculator live =
+                (BollingerBandsLiveCalculator) calculator(new BollingerBandsStrategy(), params);
+        List<boolean[]> signals = new ArrayList<>();
+        for (int i = 0; i < close.length; i++) {
+            live.update(close[i]);
+            assertClose(upper.getValue(i), live.getUpper(), "upper band at " + i);
+            assertClose(lower.getValue(i), live.getLower(), "lower band at " + i);
+            signals.add(new boolean[]{live.isEntrySignal(), live.isExitSignal()});
+        }
+        for (int i = 0; i < period; i++) {
+            assertFalse(signals.get(i)[0] || signals.get(i)[1], "BOLLINGER signal in a partial window at " + i);
+        }
+        assertSignals(new BollingerBandsStrategy(), series, params, signals, period);
+    }
+
+    @Example
+    void invalidParametersAreRejectedLikeTa4j() {
+        assertThrows(IllegalArgumentException.class, () -> new SmaStrategy()
+                .liveSignalCalculator(Map.of("shortPeriod", 50, "longPeriod", 20)));
+        assertThrows(IllegalArgumentException.class, () -> new RsiStrategy()
+                .liveSignalCalculator(Map.of("oversoldThreshold", 70, "overboughtThreshold", 30)));
+        assertThrows(IllegalArgumentException.class, () -> new BollingerBandsStrategy()
+                .liveSignalCalculator(Map.of("period", 0)));
+        assertFalse(new ZScorePairsStrategy().liveSignalCalculator(Map.of()).isPresent());
+    }
+
+    /**
+     * A window that has slid over a million closes far from zero still has
+     * the deviation of the values in it.
+     */
+    @Example
+    void rollingWindowDoesNotDriftOverLongFeeds() {
+        SplittableRandom random = new SplittableRandom(7);
+        RollingWindow window = new RollingWindow(50);
+        double[] last = new double[50];
+        for (int i = 0; i < 1_000_000; i++) {
+            double value = 10_000 + random.nextDouble(-1, 1);
+            window.add(value);
+            last[i % 50] = value;
+        }
+        double mean = 0;
+        for (double value : last) {
+            mean += value / 50;
+        }
+        double sumSq = 0;
+        for (double value : last) {
+            sumSq += (value - mean) * (value - mean);
+        }
+        assertEquals(mean, window.mean(), 1e-9);
+        assertEquals(Math.sqrt(sumSq / 50), window.standardDeviation(), 1e-9);
+    }
+
+    private static LiveSignalCalculator calculator(TradingStrategy strategy, Map<String, Object> params) {
+        return strategy.liveSignalCalculator(params).orElseThrow();
+    }
+
+    private static void assertSignals(TradingStrategy strategy, BarSeries series, Map<String, Object> params,
+                                      List<boolean[]> live) {
+        assertSignals(strategy, series, params, live, 0);
+    }
+
+    /**
+     * Compare signals from bar {@code from} on.
+     */
+    private static void assertSignals(TradingStrategy strategy, BarSeries series, Map<String, Object> params,
+                                      List<boolean[]> live, int from) {
+        PrecomputedSignals expected = PrecomputedSignals.of(strategy.buildStrategy(series, params), live.size());
+        for (int i = from; i < live.size(); i++) {
+            assertEquals(expected.shouldEnter(i), live.get(i)[0], strategy.getId() + " entry at " + i);
+            assertEquals(expected.shouldExit(i), live.get(i)[1], strategy.getId() + " exit at " + i);
+        }
+    }
+
+    private static void assertClose(Num expected, double actual, String message) {
+        double value = expected.doubleValue();
+        assertEquals(value, actual, RELATIVE_TOLERANCE * Math.max(1, Math.abs(value)), message);
+    }
+
+    private static BarSeries series(double[] close) {
+        BarColumns.Builder builder = BarColumns.builder("TEST", Duration.ofDays(1), close.length);
+        for (int i = 0; i < close.length; i++) {
+            builder.add(i * 86_400_000L, close[i], close[i], close[i], close[i], 1_000);
+        }
+        return builder.build().toBarSeries();
+    }
+
+    /**
+     * Random walk in whole cents that repeats the previous close a fifth of
+     * the time, so indicators tie and crossovers have to look back.
+     */
+    private static double[] centWalk(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] close = new double[BARS];
+        long cents = 10_000;
+        for (int i = 0; i < BARS; i++) {
+            if (random.nextInt(5) != 0) {
+                cents = Math.max(100, cents + random.nextLong(-250, 251));
+            }
+            close[i] = cents / 100.0;
+        }
+        return close;
+    }
+
+    /**
+     * Random walk with continuous steps, never flat.
+     */
+    private static double[] smoothWalk(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] close = new double[BARS];
+        double price = 100;
+        for (int i = 0; i < BARS; i++) {
+            double step = random.nextDouble(0.01, 2.5);
+            price = Math.max(1 + random.nextDouble(), random.nextBoolean() ? price + step : price - step);
+            close[i] = price;
+        }
+        return close;
+    }
+}
@@ -1,7 +1,12 @@
 package com.quantbackengine.backend.strategy;
 
 import com.quantbackengine.backend.dto.BacktestRequest;
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.service.BacktestAdmission;
+import com.quantbackengine.backend.service.BacktestResultCache;
 import com.quantbackengine.backend.service.BacktestService;
+import com.quantbackengine.backend.service.BenchmarkCache;
+import com.quantbackengine.backend.service.IndicatorCaches;
 import com.quantbackengine.backend.service.MarketDataService;
 import com.quantbackengine.backend.service.python.PythonBridgeService;
 import net.jqwik.api.*;
@@ -68,9 +73,11 @@ class NonFctStrategyPropertyTest {
         for (int i = 0; i < 5; i++) {
             series.addBar(time.plusDays(i), 100, 110, 90, 105, 1000);
         }
-        when(mockMarketData.getBarSeries(anyString(), any(), any())).thenReturn(series);
+        when(mockMarketData.getBarColumns(anyString(), any(), any())).thenReturn(BarColumns.fromBarSeries(series));
 
-        BacktestService service = new BacktestService(mockRegistry, mockMarketData);
+        BacktestService service = new BacktestService(mockRegistry, mockMarketData, new BacktestResultCache(0),
+                new IndicatorCaches(1 << 20), new BacktestAdmission(Long.MAX_VALUE, Long.MAX_VALUE, 0, 0),
+                new BenchmarkCache(mockMarketData, 0));
         ReflectionTestUtils.setField(service, "defaultInitialCapital", 100000.0);
         ReflectionTestUtils.setField(service, "defaultCommissionRate", 0.001);
         ReflectionTestUtils.setField(service, "riskFreeRate", 0.02);
@@ -0,0 +1,111 @@
+package com.quantbackengine.backend.strategy;
+
+import com.quantbackengine.backend.engine.BarColumns;
+import com.quantbackengine.backend.engine.PrecomputedSignals;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The array kernels of every {@link VectorizedStrategy} must give exactly the
+ * signals of its ta4j rules, bar for bar, including on flat stretches where
+ * the crossover rules look back past equal values.
+ */
+class VectorizedStrategyParityPropertyTest {
+
+    private static final int BARS = 600;
+
+    @Property(tries = 60)
+    void smaMatchesTa4j(@ForAll long seed,
+                        @ForAll @IntRange(min = 1, max = 30) int shortPeriod,
+                        @ForAll @IntRange(min = 1, max = 120) int extra) {
+        assertParity(new SmaStrategy(), walk(seed),
+                Map.of("shortPeriod", shortPeriod, "longPeriod", shortPeriod + extra));
+    }
+
+    @Property(tries = 60)
+    void rsiMatchesTa4j(@ForAll long seed,
+                        @ForAll @IntRange(min = 1, max = 40) int period,
+                        @ForAll @IntRange(min = 5, max = 45) int oversold,
+                        @ForAll @IntRange(min = 1, max = 50) int gap) {
+        assertParity(new RsiStrategy(), walk(seed),
+                Map.of("period", period, "oversoldThreshold", oversold, "overboughtThreshold", oversold + gap));
+    }
+
+    @Property(tries = 60)
+    void macdMatchesTa4j(@ForAll long seed,
+                         @ForAll @IntRange(min = 1, max = 20) int shortPeriod,
+                         @ForAll @IntRange(min = 1, max = 40) int extra,
+                         @ForAll @IntRange(min = 1, max = 20) int signalPeriod) {
+        assertParity(new MacdStrategy(), walk(seed),
+                Map.of("shortPeriod", shortPeriod, "longPeriod", shortPeriod + extra, "signalPeriod", signalPeriod));
+    }
+
+    @Property(tries = 60)
+    void bollingerMatchesTa4j(@ForAll long seed,
+                              @ForAll @IntRange(min = 1, max = 60) int period,
+                              @ForAll @DoubleRange(min = 0.5, max = 3.0) double k) {
+        assertParity(new BollingerBandsStrategy(), walk(seed),
+                Map.of("period", period, "standardDeviations", k));
+    }
+
+    @Example
+    void shortSeriesAndDefaults() {
+        double[] close = {100, 101, 99, 99, 102};
+        assertParity(new SmaStrategy(), close, Map.of("shortPeriod", 2, "longPeriod", 3));
+        assertParity(new RsiStrategy(), close, Map.of());
+        assertParity(new MacdStrategy(), close, Map.of());
+        assertParity(new BollingerBandsStrategy(), close, Map.of());
+    }
+
+    @Example
+    void invalidParametersAreRejectedLikeTa4j() {
+        assertThrows(IllegalArgumentException.class, () -> new SmaStrategy()
+                .computeSignals(walk(1), Map.of("shortPeriod", 50, "longPeriod", 20)));
+        assertThrows(IllegalArgumentException.class, () -> new RsiStrategy()
+                .computeSignals(walk(1), Map.of("oversoldThreshold", 70, "overboughtThreshold", 30)));
+        assertThrows(IllegalArgumentException.class, () -> new BollingerBandsStrategy()
+                .computeSignals(walk(1), Map.of("period", 0)));
+    }
+
+    private static void assertParity(VectorizedStrategy strategy, double[] close, Map<String, Object> params) {
+        BarColumns.Builder builder = BarColumns.builder("TEST", Duration.ofDays(1), close.length);
+        for (int i = 0; i < close.length; i++) {
+            builder.add(i * 86_400_000L, close[i], close[i], close[i], close[i], 1_000);
+        }
+        BarColumns columns = builder.build();
+
+        PrecomputedSignals expected = PrecomputedSignals.of(
+                strategy.buildStrategy(columns.toBarSeries(), params), close.length);
+        PrecomputedSignals actual = strategy.computeSignals(close, params);
+
+        for (int i = 0; i < close.length; i++) {
+            assertEquals(expected.shouldEnter(i), actual.shouldEnter(i), strategy.getId() + " entry at " + i);
+            assertEquals(expected.shouldExit(i), actual.shouldExit(i), strategy.getId() + " exit at " + i);
+        }
+    }
+
+    /**
+     * Random walk in whole cents that repeats the previous close a fifth of
+     * the time, so averages tie and crossovers have to look back.
+     */
+    private static double[] walk(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] close = new double[BARS];
+        long cents = 10_000;
+        for (int i = 0; i < BARS; i++) {
+            if (random.nextInt(5) != 0) {
+                cents = Math.max(100, cents + random.nextLong(-250, 251));
+            }
+            close[i] = cents / 100.0;
+        }
+        return close;
+    }
+}
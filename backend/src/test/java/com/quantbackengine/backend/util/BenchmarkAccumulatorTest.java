@@ -0,0 +1,129 @@
+package com.quantbackengine.backend.util;
+
+import com.quantbackengine.backend.dto.BacktestResponse.BenchmarkMetricsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BenchmarkAccumulator} against a regression over the explicitly
+ * joined series.
+ */
+class BenchmarkAccumulatorTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final double RISK_FREE = 0.02;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void matchesTwoPassRegressionOverTheJoinedDays() {
+        Random random = new Random(21);
+        int n = 600;
+        double[] benchmark = new double[n];
+        double[] strategy = new double[n];
+        benchmark[0] = 400;
+        strategy[0] = 100_000;
+        for (int i = 1; i < n; i++) {
+            double market = random.nextGaussian() * 0.01;
+            benchmark[i] = benchmark[i - 1] * (1 + market);
+            strategy[i] = strategy[i - 1] * (1 + 0.0002 + 1.3 * market + random.nextGaussian() * 0.004);
+        }
+        // The benchmark misses every 7th day, the strategy every 11th
+        List<Long> benchmarkDays = new ArrayList<>();
+        List<Double> benchmarkCloses = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (i % 7 != 3) {
+                benchmarkDays.add(i * DAY);
+                benchmarkCloses.add(benchmark[i]);
+            }
+        }
+        BenchmarkAccumulator accumulator = new BenchmarkAccumulator("SPY",
+                benchmarkDays.stream().mapToLong(Long::longValue).toArray(),
+                benchmarkCloses.stream().mapToDouble(Double::doubleValue).toArray(), RISK_FREE);
+        List<Integer> joined = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (i % 11 != 5) {
+                accumulator.add(i * DAY, strategy[i]);
+                if (i % 7 != 3) {
+                    joined.add(i);
+                }
+            }
+        }
+
+        int m = joined.size() - 1;
+        double[] s = new double[m];
+        double[] b = new double[m];
+        for (int k = 0; k < m; k++) {
+            int prev = joined.get(k);
+            int next = joined.get(k + 1);
+            s[k] = strategy[next] / strategy[prev] - 1;
+            b[k] = benchmark[next] / benchmark[prev] - 1;
+        }
+        double meanS = mean(s);
+        double meanB = mean(b);
+        double cov = 0;
+        double varS = 0;
+        double varB = 0;
+        double varA = 0;
+        double meanA = meanS - meanB;
+        double upS = 0, upB = 0, downS = 0, downB = 0;
+        for (int k = 0; k < m; k++) {
+            cov += (s[k] - meanS) * (b[k] - meanB);
+            varS += (s[k] - meanS) * (s[k] - meanS);
+            varB += (b[k] - meanB) * (b[k] - meanB);
+            double a = s[k] - b[k] - meanA;
+            varA += a * a;
+            if (b[k] > 0) {
+                upS += s[k];
+                upB += b[k];
+            } else if (b[k] < 0) {
+                downS += s[k];
+                downB += b[k];
+            }
+        }
+        double beta = cov / varB;
+        double trackingError = Math.sqrt(varA / (m - 1)) * Math.sqrt(252);
+
+        BenchmarkMetricsDto metrics = accumulator.result();
+
+        assertEquals(m, metrics.getObservations());
+        assertEquals(beta, metrics.getBeta(), TOLERANCE);
+        assertTrue(metrics.getBeta() > 1.1 && metrics.getBeta() < 1.5, "beta " + metrics.getBeta());
+        assertEquals(cov / Math.sqrt(varS * varB), metrics.getCorrelation(), TOLERANCE);
+        assertEquals(((meanS - RISK_FREE / 252) - beta * (meanB - RISK_FREE / 252)) * 252, metrics.getAlpha(),
+                TOLERANCE);
+        assertEquals(trackingError, metrics.getTrackingError(), TOLERANCE);
+        assertEquals(meanA * 252 / trackingError, metrics.getInformationRatio(), TOLERANCE);
+        assertEquals(upS / upB, metrics.getUpCapture(), TOLERANCE);
+        assertEquals(downS / downB, metrics.getDownCapture(), TOLERANCE);
+        assertEquals(benchmark[joined.get(m)] / benchmark[joined.get(0)] - 1, metrics.getBenchmarkReturn(),
+                TOLERANCE);
+    }
+
+    @Test
+    void disjointSeriesYieldNoObservations() {
+        BenchmarkAccumulator accumulator = new BenchmarkAccumulator("SPY",
+                new long[]{100 * DAY, 101 * DAY}, new double[]{1, 2}, RISK_FREE);
+        for (int i = 0; i < 50; i++) {
+            accumulator.add(i * DAY, 100 + i);
+        }
+
+        BenchmarkMetricsDto metrics = accumulator.result();
+
+        assertEquals(0, metrics.getObservations());
+        assertEquals(0, metrics.getBeta());
+        assertEquals(0, metrics.getBenchmarkReturn());
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+}
@@ -0,0 +1,62 @@
+package com.quantbackengine.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CointegrationTest {
+
+    private static final int BARS = 1_500;
+
+    @Test
+    void meanRevertingSpreadIsCointegrated() {
+        Random random = new Random(3);
+        double[] x = new double[BARS];
+        double[] y = new double[BARS];
+        double level = 4;
+        double spread = 0;
+        for (int t = 0; t < BARS; t++) {
+            level += random.nextGaussian() * 0.01;
+            spread = 0.9 * spread + random.nextGaussian() * 0.005;
+            x[t] = level;
+            y[t] = 0.3 + 1.2 * level + spread;
+        }
+
+        Cointegration.Result result = Cointegration.engleGranger(y, x, 1);
+
+        assertTrue(result.cointegrated(), "ADF " + result.adfStatistic());
+        assertEquals(1.2, result.hedgeRatio(), 0.05);
+        // AR(1) with phi = 0.9 halves in ln 2 / -ln 0.9 = 6.6 bars
+        assertEquals(Math.log(2) / -Math.log(0.9), result.halfLife(), 1.5);
+    }
+
+    @Test
+    void independentRandomWalksAreNot() {
+        Random random = new Random(4);
+        double[] x = new double[BARS];
+        double[] y = new double[BARS];
+        for (int t = 1; t < BARS; t++) {
+            x[t] = x[t - 1] + random.nextGaussian() * 0.01;
+            y[t] = y[t - 1] + random.nextGaussian() * 0.01;
+        }
+
+        Cointegration.Result result = Cointegration.engleGranger(y, x, 1);
+
+        assertFalse(result.cointegrated(), "ADF " + result.adfStatistic());
+        assertTrue(result.adfStatistic() > result.criticalValue());
+    }
+
+    @Test
+    void criticalValueApproachesTheAsymptoticValue() {
+        assertEquals(-3.33613, Cointegration.criticalValue(1_000_000), 1e-4);
+        assertTrue(Cointegration.criticalValue(100) < Cointegration.criticalValue(1_000));
+    }
+
+    @Test
+    void tooFewObservationsIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Cointegration.engleGranger(new double[5], new double[5], 1));
+    }
+}
@@ -0,0 +1,79 @@
+package com.quantbackengine.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tiled correlations of {@link CorrelationMatrix} against a direct Pearson
+ * computation, over more symbols than one tile and more bars than one
+ * time chunk.
+ */
+class CorrelationMatrixTest {
+
+    @Test
+    void tilesMatchPairwisePearsonCorrelation() {
+        int symbols = CorrelationMatrix.BLOCK * 2 + 7;
+        int bars = CorrelationMatrix.TIME_CHUNK * 3 + 11;
+        Random random = new Random(20);
+        double[] market = new double[bars];
+        for (int t = 1; t < bars; t++) {
+            market[t] = market[t - 1] + random.nextGaussian() * 0.01;
+        }
+        double[][] logPrices = new double[symbols][bars];
+        for (int s = 0; s < symbols; s++) {
+            double loading = random.nextDouble() * 2 - 0.5;
+            double idiosyncratic = 0;
+            for (int t = 0; t < bars; t++) {
+                idiosyncratic += random.nextGaussian() * 0.01;
+                logPrices[s][t] = 4 + loading * market[t] + idiosyncratic;
+            }
+        }
+
+        double[][] z = CorrelationMatrix.standardizedReturns(logPrices);
+        double[][] correlation = new double[symbols][symbols];
+        for (int tile = 0; tile < CorrelationMatrix.tileCount(symbols); tile++) {
+            CorrelationMatrix.computeTile(z, tile, correlation);
+        }
+
+        for (int i = 0; i < symbols; i++) {
+            for (int j = i + 1; j < symbols; j++) {
+                assertEquals(pearson(logPrices[i], logPrices[j]), correlation[i][j], 1e-10, i + "/" + j);
+            }
+        }
+    }
+
+    @Test
+    void flatSeriesCorrelatesWithNothing() {
+        double[][] logPrices = {{1, 1, 1, 1}, {1, 2, 1, 3}};
+
+        double[][] z = CorrelationMatrix.standardizedReturns(logPrices);
+        double[][] correlation = new double[2][2];
+        CorrelationMatrix.computeTile(z, 0, correlation);
+
+        assertEquals(0.0, correlation[0][1]);
+    }
+
+    private static double pearson(double[] logA, double[] logB) {
+        int n = logA.length - 1;
+        double meanA = 0;
+        double meanB = 0;
+        for (int t = 0; t < n; t++) {
+            meanA += (logA[t + 1] - logA[t]) / n;
+            meanB += (logB[t + 1] - logB[t]) / n;
+        }
+        double sab = 0;
+        double saa = 0;
+        double sbb = 0;
+        for (int t = 0; t < n; t++) {
+            double a = logA[t + 1] - logA[t] - meanA;
+            double b = logB[t + 1] - logB[t] - meanB;
+            sab += a * b;
+            saa += a * a;
+            sbb += b * b;
+        }
+        return sab / Math.sqrt(saa * sbb);
+    }
+}
@@ -0,0 +1,155 @@
+package com.quantbackengine.backend.util;
+
+import com.quantbackengine.backend.dto.BacktestResponse.MetricsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link MetricsAccumulator} against the textbook multi-pass formulas.
+ */
+class MetricsAccumulatorTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final double CAPITAL = 100_000;
+    private static final double RISK_FREE = 0.02;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void riskMetricsMatchTwoPassFormulas() {
+        double[] equity = randomEquity(1_500, 11L);
+        MetricsDto metrics = accumulate(equity, 0).result();
+
+        int n = equity.length - 1;
+        double[] returns = new double[n];
+        double mean = 0;
+        for (int i = 0; i < n; i++) {
+            returns[i] = (equity[i + 1] - equity[i]) / equity[i];
+            mean += returns[i] / n;
+        }
+        double variance = 0;
+        double downside = 0;
+        for (double r : returns) {
+            variance += (r - mean) * (r - mean) / (n - 1);
+            downside += Math.min(r, 0) * Math.min(r, 0) / n;
+        }
+        double excess = mean * 252 - RISK_FREE;
+        assertEquals(excess / (Math.sqrt(variance) * Math.sqrt(252)), metrics.getSharpeRatio(), TOLERANCE);
+        assertEquals(excess / (Math.sqrt(downside) * Math.sqrt(252)), metrics.getSortinoRatio(), TOLERANCE);
+
+        double peak = equity[0];
+        double sumSq = 0;
+        double maxDdPct = 0;
+        for (double value : equity) {
+            peak = Math.max(peak, value);
+            double dd = (peak - value) / peak;
+            sumSq += dd * dd;
+            maxDdPct = Math.max(maxDdPct, dd);
+        }
+        assertEquals(maxDdPct, metrics.getMaxDrawdownPercent(), TOLERANCE);
+        assertEquals(Math.sqrt(sumSq / equity.length), metrics.getUlcerIndex(), TOLERANCE);
+        assertEquals(metrics.getAnnualizedReturn() / maxDdPct, metrics.getCalmarRatio(), TOLERANCE);
+    }
+
+    @Test
+    void tradeMetricsAndExposure() {
+        MetricsAccumulator accumulator = accumulate(randomEquity(101, 3L), 0);
+        accumulator.addTrade(0, 10 * DAY, 500);
+        accumulator.addTrade(20 * DAY, 40 * DAY, -200);
+        accumulator.addTrade(50 * DAY, 60 * DAY, 300);
+        accumulator.openPosition(90 * DAY);
+
+        MetricsDto metrics = accumulator.result();
+
+        assertEquals(3, metrics.getTotalTrades());
+        assertEquals(2, metrics.getWinningTrades());
+        assertEquals(1, metrics.getLosingTrades());
+        assertEquals(800.0 / 200.0, metrics.getProfitFactor(), TOLERANCE);
+        assertEquals(40.0 / 3, metrics.getAverageTradeDays(), TOLERANCE);
+        // 40 days in closed trades plus 10 in the open one, over 100 days
+        assertEquals(0.5, metrics.getExposure(), TOLERANCE);
+    }
+
+    @Test
+    void noLosingTradesGivesZeroProfitFactor() {
+        MetricsAccumulator accumulator = accumulate(randomEquity(10, 1L), 0);
+        accumulator.addTrade(0, DAY, 100);
+
+        assertEquals(0, accumulator.result().getProfitFactor());
+    }
+
+    @Test
+    void rollingValuesMatchAFreshWindowAtEveryPoint() {
+        int window = 20;
+        double[] equity = randomEquity(400, 7L);
+        MetricsAccumulator accumulator = accumulate(equity, window);
+        double[] sharpe = accumulator.rollingSharpe();
+        double[] volatility = accumulator.rollingVolatility();
+
+        assertEquals(equity.length, sharpe.length);
+        for (int i = 0; i < window; i++) {
+            assertTrue(Double.isNaN(sharpe[i]) && Double.isNaN(volatility[i]));
+        }
+        for (int i = window; i < equity.length; i++) {
+            double mean = 0;
+            for (int j = i - window + 1; j <= i; j++) {
+                mean += (equity[j] - equity[j - 1]) / equity[j - 1] / window;
+            }
+            double variance = 0;
+            for (int j = i - window + 1; j <= i; j++) {
+                double r = (equity[j] - equity[j - 1]) / equity[j - 1];
+                variance += (r - mean) * (r - mean) / (window - 1);
+            }
+            double expectedVolatility = Math.sqrt(variance) * Math.sqrt(252);
+            assertEquals(expectedVolatility, volatility[i], 1e-9, "volatility at " + i);
+            assertEquals((mean * 252 - RISK_FREE) / expectedVolatility, sharpe[i], 1e-6, "sharpe at " + i);
+        }
+        assertNull(accumulate(equity, 0).rollingSharpe());
+    }
+
+    @Test
+    void restoredStateContinuesLikeOneRun() {
+        double[] equity = randomEquity(500, 13L);
+        MetricsAccumulator whole = accumulate(equity, 0);
+        whole.addTrade(10 * DAY, 30 * DAY, 120);
+        whole.addTrade(300 * DAY, 320 * DAY, -80);
+
+        MetricsAccumulator head = new MetricsAccumulator(CAPITAL, RISK_FREE);
+        for (int i = 0; i < 250; i++) {
+            head.add(i * DAY, equity[i]);
+        }
+        head.addTrade(10 * DAY, 30 * DAY, 120);
+        MetricsAccumulator tail = MetricsAccumulator.restore(head.state(), CAPITAL, RISK_FREE);
+        for (int i = 250; i < equity.length; i++) {
+            tail.add(i * DAY, equity[i]);
+        }
+        tail.addTrade(300 * DAY, 320 * DAY, -80);
+
+        assertEquals(whole.result(), tail.result());
+    }
+
+    @Test
+    void windowOfOneIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MetricsAccumulator(CAPITAL, RISK_FREE, 1, 10));
+    }
+
+    private static MetricsAccumulator accumulate(double[] equity, int window) {
+        MetricsAccumulator accumulator = new MetricsAccumulator(CAPITAL, RISK_FREE, window, equity.length);
+        for (int i = 0; i < equity.length; i++) {
+            accumulator.add(i * DAY, equity[i]);
+        }
+        return accumulator;
+    }
+
+    private static double[] randomEquity(int n, long seed) {
+        Random random = new Random(seed);
+        double[] equity = new double[n];
+        equity[0] = CAPITAL;
+        for (int i = 1; i < n; i++) {
+            equity[i] = equity[i - 1] * (1 + random.nextGaussian() * 0.01 + 0.0003);
+        }
+        return equity;
+    }
+}
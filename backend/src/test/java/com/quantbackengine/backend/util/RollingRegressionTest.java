@@ -0,0 +1,79 @@
+package com.quantbackengine.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RollingRegression} against ordinary least squares recomputed over
+ * each window.
+ */
+class RollingRegressionTest {
+
+    @Test
+    void matchesWindowedOlsAtEveryPoint() {
+        int window = 50;
+        int n = 2_000;
+        Random random = new Random(19);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double level = 50;
+        for (int i = 0; i < n; i++) {
+            level += random.nextGaussian();
+            x[i] = level;
+            y[i] = 10 + 1.5 * level + random.nextGaussian() * 2;
+        }
+
+        RollingRegression regression = new RollingRegression(window);
+        for (int i = 0; i < n; i++) {
+            regression.add(x[i], y[i]);
+            assertEquals(i + 1 >= window, regression.isFull());
+            if (i + 1 < window) {
+                continue;
+            }
+            int from = i + 1 - window;
+            double meanX = 0;
+            double meanY = 0;
+            for (int k = from; k <= i; k++) {
+                meanX += x[k] / window;
+                meanY += y[k] / window;
+            }
+            double sxx = 0;
+            double sxy = 0;
+            for (int k = from; k <= i; k++) {
+                sxx += (x[k] - meanX) * (x[k] - meanX);
+                sxy += (x[k] - meanX) * (y[k] - meanY);
+            }
+            double slope = sxy / sxx;
+            double intercept = meanY - slope * meanX;
+            double residualSumSq = 0;
+            for (int k = from; k <= i; k++) {
+                double residual = y[k] - intercept - slope * x[k];
+                residualSumSq += residual * residual;
+            }
+
+            assertEquals(slope, regression.slope(), 1e-9, "slope at " + i);
+            assertEquals(intercept, regression.intercept(), 1e-6, "intercept at " + i);
+            assertEquals(Math.sqrt(residualSumSq / (window - 2)), regression.residualStdDev(), 1e-8,
+                    "residual std dev at " + i);
+        }
+    }
+
+    @Test
+    void constantRegressorHasNoSlope() {
+        RollingRegression regression = new RollingRegression(5);
+        for (int i = 0; i < 10; i++) {
+            regression.add(3.0, i);
+        }
+
+        assertTrue(Double.isNaN(regression.slope()));
+        assertTrue(Double.isNaN(regression.residualStdDev()));
+    }
+
+    @Test
+    void windowBelowThreeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RollingRegression(2));
+    }
+}
@@ -36,9 +36,14 @@ async function proxy(req: NextRequest, { params }: { params: { path: string[] }
 
     try {
         const upstream = await fetch(url, init);
-        const body = await upstream.arrayBuffer();
 
-        console.log(`[PROXY] Upstream responded: ${upstream.status} ${upstream.statusText} (${body.byteLength} bytes)`);
+        // Streamed responses (NDJSON / SSE) are piped through so the browser sees lines as they are written
+        const upstreamType = upstream.headers.get('content-type') || '';
+        const streamed = upstreamType.includes('ndjson') || upstreamType.includes('event-stream');
+        const body = streamed ? upstream.body : await upstream.arrayBuffer();
+
+        console.log(`[PROXY] Upstream responded: ${upstream.status} ${upstream.statusText}`
+            + (body instanceof ArrayBuffer ? ` (${body.byteLength} bytes)` : ' (streamed)'));
 
         return new NextResponse(body, {
             status: upstream.status,